@@ -0,0 +1,93 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.matrix.Matrix4;
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.math.vector.MutableVector3;
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Buffer;
+import civitas.celestis.math.vector.Vector3fBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>BufferBenchmark</h2>
+ * <p>
+ * Compares transforming a {@code List<Vector3>} against transforming a {@link Vector3Buffer}
+ * and a {@link Vector3fBuffer} of the same points.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BufferBenchmark {
+    @Param({"1024", "65536"})
+    public int size;
+
+    private List<Vector3> list;
+    private Vector3Buffer source;
+    private Vector3Buffer buffer;
+    private Vector3fBuffer floats;
+    private Vector3 origin;
+    private Quaternion rq;
+    private Matrix4 matrix;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(0);
+        list = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            list.add(new Vector3(random.nextDouble(), random.nextDouble(), random.nextDouble()));
+        }
+
+        source = new Vector3Buffer(list);
+        buffer = source.copy();
+        floats = new Vector3fBuffer(source);
+        origin = new Vector3(0.5, 0.5, 0.5);
+        rq = new Rotation(new Vector3(1, 2, 3).normalize(), Math.toRadians(30)).quaternion();
+        matrix = Matrix4.transform(origin, rq, 2);
+    }
+
+    @Benchmark
+    public List<Vector3> transformList() {
+        final List<Vector3> result = new ArrayList<>(size);
+
+        for (final Vector3 v : list) {
+            result.add(v.subtract(origin).rotate(rq).multiply(2));
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public Vector3Buffer transformBuffer() {
+        // Buffers transform in place; copying keeps every invocation on the same input
+        return source.copy().transform(origin, rq, 2);
+    }
+
+    @Benchmark
+    public Vector3Buffer transformMatrix() {
+        return source.copy().transform(matrix);
+    }
+
+    @Benchmark
+    public Vector3fBuffer transformFloat() {
+        return floats.copy().transform(matrix);
+    }
+
+    @Benchmark
+    public MutableVector3 bounds() {
+        final MutableVector3 min = new MutableVector3();
+        final MutableVector3 max = new MutableVector3();
+        buffer.bounds(min, max);
+        return max;
+    }
+}
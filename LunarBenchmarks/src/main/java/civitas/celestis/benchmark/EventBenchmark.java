@@ -0,0 +1,179 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.event.Event;
+import civitas.celestis.event.EventHandler;
+import civitas.celestis.event.Listener;
+import civitas.celestis.event.internal.HandlerInvoker;
+import civitas.celestis.event.internal.HandlerReference;
+import civitas.celestis.event.internal.HandlerRegistry;
+import civitas.celestis.event.internal.InvocationStrategy;
+import civitas.celestis.event.internal.SyncEventManager;
+import civitas.celestis.metrics.EventMetrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>EventBenchmark</h2>
+ * <p>
+ * Measures event dispatch at three levels:
+ * a single handler invocation for each {@link InvocationStrategy},
+ * synchronous dispatch through a {@link HandlerRegistry},
+ * and end-to-end throughput of a running {@link SyncEventManager}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBenchmark {
+    /**
+     * Number of events called per end-to-end invocation.
+     */
+    private static final int BATCH = 1024;
+
+    public static final class BenchmarkEvent implements Event {
+        public long value;
+    }
+
+    public static final class BenchmarkListener implements Listener {
+        private volatile long received;
+
+        @EventHandler
+        public void onEvent(BenchmarkEvent e) {
+            received += e.value;
+        }
+    }
+
+    //
+    // Invocation
+    //
+
+    @State(Scope.Thread)
+    public static class InvokerState {
+        @Param({"REFLECTION", "METHOD_HANDLE", "LAMBDA"})
+        public InvocationStrategy strategy;
+
+        private HandlerInvoker invoker;
+        private BenchmarkEvent event;
+
+        @Setup
+        public void setup() throws NoSuchMethodException {
+            final BenchmarkListener listener = new BenchmarkListener();
+            final HandlerReference h = new HandlerReference(
+                    listener,
+                    BenchmarkListener.class.getMethod("onEvent", BenchmarkEvent.class),
+                    strategy
+            );
+
+            invoker = h.invoker();
+            event = new BenchmarkEvent();
+            event.value = 1;
+        }
+    }
+
+    @Benchmark
+    public void invoke(InvokerState s) throws Exception {
+        s.invoker.invoke(s.event);
+    }
+
+    //
+    // Registry
+    //
+
+    @State(Scope.Thread)
+    public static class RegistryState {
+        @Param({"1", "8"})
+        public int listeners;
+
+        @Param({"true", "false"})
+        public boolean metrics;
+
+        private HandlerRegistry registry;
+        private BenchmarkEvent event;
+        private List<BenchmarkEvent> batch;
+
+        @Setup
+        public void setup() {
+            final EventMetrics m = new EventMetrics(() -> 0);
+            m.setEnabled(metrics);
+
+            registry = new HandlerRegistry(m);
+
+            for (int i = 0; i < listeners; i++) {
+                registry.register(new BenchmarkListener());
+            }
+
+            event = new BenchmarkEvent();
+            batch = new ArrayList<>(BATCH);
+
+            for (int i = 0; i < BATCH; i++) {
+                batch.add(new BenchmarkEvent());
+            }
+        }
+    }
+
+    @Benchmark
+    public void dispatch(RegistryState s) {
+        s.registry.dispatch(s.event);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void dispatchAll(RegistryState s) {
+        s.registry.dispatchAll(s.batch);
+    }
+
+    //
+    // Manager
+    //
+
+    @State(Scope.Benchmark)
+    public static class ManagerState {
+        private SyncEventManager manager;
+        private CountingListener listener;
+
+        @Setup
+        public void setup() {
+            manager = new SyncEventManager();
+            listener = new CountingListener();
+
+            manager.register(listener);
+            manager.start();
+        }
+
+        @TearDown
+        public void tearDown() {
+            manager.stop();
+        }
+    }
+
+    public static final class CountingListener implements Listener {
+        private volatile long received;
+
+        @EventHandler
+        public void onEvent(BenchmarkEvent e) {
+            received++;
+        }
+    }
+
+    /**
+     * Calls a number of events, then waits until all of them have been handled.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void throughput(ManagerState s) {
+        final long target = s.listener.received + BATCH;
+
+        for (int i = 0; i < BATCH; i++) {
+            s.manager.call(new BenchmarkEvent());
+        }
+
+        while (s.listener.received < target) {
+            Thread.onSpinWait();
+        }
+    }
+}
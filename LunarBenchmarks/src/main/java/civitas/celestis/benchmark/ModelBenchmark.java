@@ -0,0 +1,249 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.graphics.model.IndexedMesh;
+import civitas.celestis.graphics.model.Model;
+import civitas.celestis.graphics.model.ModelTransform;
+import civitas.celestis.graphics.model.PredefinedModel;
+import civitas.celestis.graphics.vertex.Vertex;
+import civitas.celestis.math.matrix.Matrix4;
+import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.util.codec.BinaryCodec;
+import civitas.celestis.util.codec.MeshCache;
+import civitas.celestis.util.codec.WavefrontParser;
+import de.javagl.obj.Obj;
+import de.javagl.obj.ObjReader;
+import jakarta.annotation.Nonnull;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>ModelBenchmark</h2>
+ * <p>
+ * Measures loading a Wavefront OBJ file into a {@link PredefinedModel}.
+ * The model is a generated UV sphere, so that the benchmark does not depend on bundled assets
+ * and can be scaled by its number of segments.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ModelBenchmark {
+    /**
+     * Number of longitudinal segments. The sphere has half as many latitudinal segments.
+     */
+    @Param({"16", "64", "256"})
+    public int segments;
+
+    private String source;
+    private ByteBuffer sourceBytes;
+    private Path sourceFile;
+    private Obj obj;
+    private Model model;
+    private ByteBuffer encoded;
+    private List<Vertex> vertices;
+    private ModelTransform transform;
+    private Matrix4 matrix;
+    private double[] transformed;
+    private IndexedMesh mesh;
+
+    @Setup
+    public void setup() throws IOException {
+        source = sphere(segments, segments / 2);
+        sourceBytes = ByteBuffer.wrap(source.getBytes(StandardCharsets.US_ASCII));
+        sourceFile = Files.createTempFile("sphere", ".obj");
+        Files.writeString(sourceFile, source);
+        MeshCache.load(sourceFile, Color.GRAY); // Write the cache
+        obj = ObjReader.read(new StringReader(source));
+        model = new PredefinedModel(obj, Color.GRAY);
+        encoded = BinaryCodec.encode(model);
+        vertices = model.getVertices();
+        transform = new ModelTransform(model);
+        matrix = Matrix4.transform(new Vector3(1, 2, 3), new Rotation(new Vector3(1, 2, 3).normalize(), 0.7).quaternion(), 2);
+        transformed = new double[transform.getPointCount() * 3];
+        mesh = new IndexedMesh(model, true).withAttributes();
+    }
+
+    /**
+     * Parses the OBJ source and builds the model.
+     */
+    @Benchmark
+    public Model load() throws IOException {
+        return new PredefinedModel(ObjReader.read(new StringReader(source)), Color.GRAY);
+    }
+
+    /**
+     * Parses the OBJ source directly into an indexed mesh, for comparison with {@link #load()}.
+     */
+    @Benchmark
+    public IndexedMesh parse() {
+        return WavefrontParser.parse(sourceBytes, Color.GRAY, true, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Loads the mesh from its binary cache, for comparison with {@link #parse()}.
+     */
+    @Benchmark
+    public IndexedMesh cached() throws IOException {
+        return MeshCache.load(sourceFile, Color.GRAY);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(MeshCache.cachePath(sourceFile));
+        Files.deleteIfExists(sourceFile);
+    }
+
+    /**
+     * Builds the model from already-parsed OBJ data.
+     */
+    @Benchmark
+    public Model build() {
+        return new PredefinedModel(obj, Color.GRAY);
+    }
+
+    /**
+     * Deep-copies the vertices of the model, as done whenever a model is instantiated.
+     */
+    @Benchmark
+    public List<Vertex> vertices() {
+        return model.getVertices();
+    }
+
+    /**
+     * Sums the normals of every vertex of the model, which deep-copies and allocates each vertex.
+     */
+    @Benchmark
+    public double normals() {
+        double sum = 0;
+
+        for (final Vertex v : model.getVertices()) {
+            sum += v.normal().z();
+        }
+
+        return sum;
+    }
+
+    /**
+     * Sums the precomputed normals of every vertex of the indexed mesh.
+     */
+    @Benchmark
+    public double meshNormals() {
+        double sum = 0;
+
+        for (int i = 0; i < mesh.getVertexCount(); i++) {
+            sum += mesh.normal(i).z();
+        }
+
+        return sum;
+    }
+
+    /**
+     * Converts the model to an indexed mesh.
+     */
+    @Benchmark
+    public IndexedMesh mesh() {
+        return new IndexedMesh(model, true);
+    }
+
+    /**
+     * Encodes the model to the binary format.
+     */
+    @Benchmark
+    public ByteBuffer encode() {
+        return BinaryCodec.encode(model);
+    }
+
+    /**
+     * Decodes the model from the binary format, for comparison with {@link #load()}.
+     */
+    @Benchmark
+    public Model decode() {
+        return BinaryCodec.readModel(encoded.duplicate());
+    }
+
+    /**
+     * Transforms every vertex independently, which transforms shared points repeatedly.
+     */
+    @Benchmark
+    public List<Vertex> transformVertices() {
+        final List<Vertex> result = new ArrayList<>(vertices.size());
+
+        for (final Vertex v : vertices) {
+            result.add(v.transform(matrix));
+        }
+
+        return result;
+    }
+
+    /**
+     * Transforms each distinct point once, then rebuilds the vertices.
+     */
+    @Benchmark
+    public List<Vertex> transformModel() {
+        return transform.transform(matrix);
+    }
+
+    /**
+     * Transforms each distinct point once, without building vertices.
+     */
+    @Benchmark
+    public double[] transformPoints() {
+        return transform.transformPoints(matrix, transformed);
+    }
+
+    /**
+     * Generates the OBJ source of a triangulated unit UV sphere.
+     *
+     * @param slices Number of longitudinal segments
+     * @param stacks Number of latitudinal segments
+     * @return OBJ source
+     */
+    @Nonnull
+    static String sphere(int slices, int stacks) {
+        final StringBuilder sb = new StringBuilder();
+
+        // Vertices
+        for (int i = 0; i <= stacks; i++) {
+            final double phi = Math.PI * i / stacks;
+
+            for (int j = 0; j < slices; j++) {
+                final double theta = 2 * Math.PI * j / slices;
+
+                sb.append("v ")
+                        .append(Math.sin(phi) * Math.cos(theta)).append(' ')
+                        .append(Math.cos(phi)).append(' ')
+                        .append(Math.sin(phi) * Math.sin(theta)).append('\n');
+            }
+        }
+
+        // Faces (OBJ indices are one-based)
+        for (int i = 0; i < stacks; i++) {
+            for (int j = 0; j < slices; j++) {
+                final int a = i * slices + j + 1;
+                final int b = i * slices + (j + 1) % slices + 1;
+                final int c = a + slices;
+                final int d = b + slices;
+
+                sb.append("f ").append(a).append(' ').append(c).append(' ').append(b).append('\n');
+                sb.append("f ").append(b).append(' ').append(c).append(' ').append(d).append('\n');
+            }
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,60 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.Numbers;
+import civitas.celestis.math.Precision;
+import civitas.celestis.math.vector.Vector3;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>NumbersBenchmark</h2>
+ * <p>
+ * Compares the {@link Precision precision policies} of {@link Numbers}.
+ * {@code Math.sqrt} is an intrinsic on most platforms, which makes this the benchmark
+ * that decides whether the approximate policies are worth their precision loss.
+ * Error bounds of each policy are verified by {@code PrecisionTest}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NumbersBenchmark {
+    @Param({"EXACT", "FAST", "FLOAT"})
+    public String policy;
+
+    private Precision precision;
+    private double x;
+    private Vector3 v;
+
+    @Setup
+    public void setup() {
+        precision = switch (policy) {
+            case "FAST" -> Precision.FAST;
+            case "FLOAT" -> Precision.FLOAT;
+            default -> Precision.EXACT;
+        };
+
+        Numbers.setPrecision(precision);
+        x = 12345.6789;
+        v = new Vector3(1.5, -2.25, 3.125);
+    }
+
+    @Benchmark
+    public double isqrt() {
+        return precision.isqrt(x);
+    }
+
+    @Benchmark
+    public double sqrt() {
+        return precision.sqrt(x);
+    }
+
+    @Benchmark
+    public Vector3 normalize() {
+        return v.normalize();
+    }
+}
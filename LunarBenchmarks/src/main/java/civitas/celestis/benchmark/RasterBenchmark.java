@@ -0,0 +1,122 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.graphics.model.LevelOfDetail;
+import civitas.celestis.graphics.model.PredefinedModel;
+import civitas.celestis.graphics.vertex.ColoredVertex;
+import civitas.celestis.graphics.vertex.Vertex;
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.ui.component.viewport.Rasterizer;
+import de.javagl.obj.ObjReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>RasterBenchmark</h2>
+ * <p>
+ * Measures rendering a frame with the {@link Rasterizer}.
+ * The scene is the UV sphere generated by {@link ModelBenchmark}, placed in front of the camera.
+ * The distant scene places it far enough away for a {@link LevelOfDetail} to select a coarser level.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RasterBenchmark {
+    /**
+     * Number of longitudinal segments. The sphere has half as many latitudinal segments.
+     */
+    @Param({"16", "64", "256"})
+    public int segments;
+
+    private Rasterizer rasterizer;
+    private List<Vertex> opaque;
+    private List<Vertex> translucent;
+    private List<Vertex> distant;
+    private List<Vertex> distantLod;
+
+    @Setup
+    public void setup() throws IOException {
+        final PredefinedModel model =
+                new PredefinedModel(ObjReader.read(new StringReader(ModelBenchmark.sphere(segments, segments / 2))), Color.GRAY);
+
+        final Vector3 offset = new Vector3(0, 0, 3);
+        final Color glass = new Color(128, 192, 255, 96);
+
+        opaque = new ArrayList<>();
+        translucent = new ArrayList<>();
+
+        for (final Vertex vertex : model.getVertices()) {
+            final Vector3 a = vertex.a().add(offset);
+            final Vector3 b = vertex.b().add(offset);
+            final Vector3 c = vertex.c().add(offset);
+
+            opaque.add(new ColoredVertex(a, b, c, Color.GRAY));
+            translucent.add(new ColoredVertex(a, b, c, glass));
+        }
+
+        rasterizer = new Rasterizer(1280, 720);
+
+        // Focal length of the default 90 degree field of view
+        final double focalLength = 640;
+        final Vector3 far = new Vector3(0, 0, 40);
+        final Vector3 origin = far.negate(); // Transforming subtracts the origin
+        final LevelOfDetail lod = new LevelOfDetail(model);
+
+        distant = new ArrayList<>();
+        distantLod = new ArrayList<>();
+
+        for (final Vertex vertex : model.getVertices()) {
+            distant.add(vertex.transform(origin, Quaternion.IDENTITY, 1));
+        }
+
+        for (final Vertex vertex : lod.select(far.magnitude(), focalLength).getVertices()) {
+            distantLod.add(vertex.transform(origin, Quaternion.IDENTITY, 1));
+        }
+    }
+
+    /**
+     * Renders the opaque sphere.
+     */
+    @Benchmark
+    public int[] opaque() {
+        rasterizer.render(opaque);
+        return rasterizer.pixels();
+    }
+
+    /**
+     * Renders the distant sphere at full detail.
+     */
+    @Benchmark
+    public int[] distant() {
+        rasterizer.render(distant);
+        return rasterizer.pixels();
+    }
+
+    /**
+     * Renders the distant sphere at the level of detail selected for its distance.
+     */
+    @Benchmark
+    public int[] distantLod() {
+        rasterizer.render(distantLod);
+        return rasterizer.pixels();
+    }
+
+    /**
+     * Renders the translucent sphere, which is sorted and blended.
+     */
+    @Benchmark
+    public int[] translucent() {
+        rasterizer.render(translucent);
+        return rasterizer.pixels();
+    }
+}
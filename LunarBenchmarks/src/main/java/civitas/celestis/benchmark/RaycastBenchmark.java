@@ -0,0 +1,92 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.graphics.Solids;
+import civitas.celestis.graphics.bvh.BoundingVolumeHierarchy;
+import civitas.celestis.graphics.bvh.RayHit;
+import civitas.celestis.graphics.model.Model;
+import civitas.celestis.graphics.model.PredefinedModel;
+import civitas.celestis.graphics.ray.LightRay;
+import civitas.celestis.graphics.ray.Ray;
+import civitas.celestis.graphics.vertex.Vertex;
+import civitas.celestis.math.vector.Vector3;
+import de.javagl.obj.ObjReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>RaycastBenchmark</h2>
+ * <p>
+ * Measures casting a ray into a model, by testing every vertex linearly
+ * and by traversing a {@link BoundingVolumeHierarchy}.
+ * The model is the UV sphere generated by {@link ModelBenchmark}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RaycastBenchmark {
+    /**
+     * Number of longitudinal segments. The sphere has half as many latitudinal segments.
+     */
+    @Param({"16", "64", "256"})
+    public int segments;
+
+    private Model model;
+    private List<Vertex> vertices;
+    private BoundingVolumeHierarchy bvh;
+    private Ray ray;
+
+    @Setup
+    public void setup() throws IOException {
+        model = new PredefinedModel(ObjReader.read(new StringReader(ModelBenchmark.sphere(segments, segments / 2))), Color.GRAY);
+        vertices = model.getVertices();
+        bvh = new BoundingVolumeHierarchy(model);
+        ray = new LightRay(new Vector3(0.1, 0.2, -5), Vector3.POSITIVE_Z, Color.WHITE, 1);
+    }
+
+    /**
+     * Tests every vertex, keeping the closest intersection.
+     */
+    @Benchmark
+    public Vector3 linear() {
+        Vector3 closest = null;
+        double distance = Double.POSITIVE_INFINITY;
+
+        for (final Vertex v : vertices) {
+            final Vector3 hit = Solids.intersection(v, ray);
+            if (hit == null) continue;
+
+            final double d = hit.distance2(ray.origin());
+
+            if (d < distance) {
+                closest = hit;
+                distance = d;
+            }
+        }
+
+        return closest;
+    }
+
+    @Benchmark
+    public RayHit closestHit() {
+        return bvh.closestHit(ray);
+    }
+
+    @Benchmark
+    public boolean anyHit() {
+        return bvh.anyHit(ray);
+    }
+
+    @Benchmark
+    public BoundingVolumeHierarchy build() {
+        return new BoundingVolumeHierarchy(vertices);
+    }
+}
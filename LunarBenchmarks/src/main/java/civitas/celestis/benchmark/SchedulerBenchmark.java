@@ -0,0 +1,78 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.task.Task;
+import civitas.celestis.task.internal.AsyncScheduler;
+import civitas.celestis.task.internal.Scheduler;
+import civitas.celestis.task.internal.SyncScheduler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>SchedulerBenchmark</h2>
+ * <p>
+ * Measures the overhead of a scheduler tick.
+ * Empty tasks with an interval of zero are registered, so that the measured time
+ * is spent entirely in the scheduler's bookkeeping rather than in task bodies.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchedulerBenchmark {
+    /**
+     * Number of task executions per invocation.
+     */
+    private static final int TICKS = 1024;
+
+    @Param({"sync", "async"})
+    public String type;
+
+    @Param({"1", "64"})
+    public int tasks;
+
+    private Scheduler scheduler;
+    private volatile long executions;
+
+    @Setup
+    public void setup() {
+        scheduler = type.equals("sync") ? new SyncScheduler() : new AsyncScheduler();
+
+        for (int i = 0; i < tasks; i++) {
+            scheduler.register(new Task() {
+                @Override
+                public void execute(long delta) {
+                    executions++; // Racy across cores, but only used as a progress counter
+                }
+
+                @Override
+                public long interval() {
+                    return 0;
+                }
+            });
+        }
+
+        scheduler.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        scheduler.stop();
+    }
+
+    /**
+     * Waits until the scheduler has executed a number of tasks.
+     */
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public void tick() {
+        final long target = executions + TICKS;
+
+        while (executions < target) {
+            Thread.onSpinWait();
+        }
+    }
+}
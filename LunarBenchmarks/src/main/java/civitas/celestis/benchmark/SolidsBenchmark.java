@@ -0,0 +1,81 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.graphics.Solids;
+import civitas.celestis.graphics.ray.LightRay;
+import civitas.celestis.graphics.ray.Ray;
+import civitas.celestis.graphics.ray.RayPacket;
+import civitas.celestis.graphics.vertex.ColoredVertex;
+import civitas.celestis.graphics.vertex.Vertex;
+import civitas.celestis.math.vector.Vector3;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>SolidsBenchmark</h2>
+ * <p>
+ * Measures ray-vertex intersection, for both a ray which hits the vertex and a ray which misses it,
+ * using the signed volume test, the Möller–Trumbore kernel, and a packet of eight rays.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SolidsBenchmark {
+    private Vertex vertex;
+    private Ray hit;
+    private Ray miss;
+    private final double[] triangle = new double[9];
+    private final double[] out = new double[3];
+    private final RayPacket packet = new RayPacket(8);
+
+    @Setup
+    public void setup() {
+        vertex = new ColoredVertex(
+                new Vector3(-1, -1, 5),
+                new Vector3(1, -1, 5),
+                new Vector3(0, 1, 5),
+                Color.GRAY
+        );
+
+        hit = new LightRay(Vector3.ZERO, Vector3.POSITIVE_Z, Color.WHITE, 1);
+        miss = new LightRay(Vector3.ZERO, Vector3.POSITIVE_X, Color.WHITE, 1);
+
+        Solids.pack(vertex, triangle, 0);
+
+        // A 4x2 grid of rays, half of which hit the vertex
+        for (int i = 0; i < packet.size(); i++) {
+            packet.set(i, new Vector3((i % 4) * 0.5 - 1, (i / 4) * 2 - 1.5, 0), Vector3.POSITIVE_Z);
+        }
+    }
+
+    @Benchmark
+    public Vector3 intersectionHit() {
+        return Solids.intersection(vertex, hit);
+    }
+
+    @Benchmark
+    public Vector3 intersectionMiss() {
+        return Solids.intersection(vertex, miss);
+    }
+
+    @Benchmark
+    public boolean intersectHit() {
+        return Solids.intersect(vertex, hit, out);
+    }
+
+    @Benchmark
+    public boolean intersectMiss() {
+        return Solids.intersect(vertex, miss, out);
+    }
+
+    @Benchmark
+    public int intersectPacket() {
+        packet.reset();
+        return Solids.intersect(packet, triangle, 0, 0);
+    }
+}
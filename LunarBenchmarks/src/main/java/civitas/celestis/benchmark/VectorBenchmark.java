@@ -0,0 +1,129 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.math.vector.MutableVector3;
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.util.codec.BinaryCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>VectorBenchmark</h2>
+ * <p>
+ * Measures the cost of {@link Vector3} and {@link Quaternion} arithmetic.
+ * Operands are kept in non-final fields so that the JIT cannot constant-fold them.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VectorBenchmark {
+    private Vector3 a;
+    private Vector3 b;
+    private Quaternion p;
+    private Quaternion q;
+    private Quaternion rq;
+    private final MutableVector3 out = new MutableVector3();
+    private String text;
+    private final ByteBuffer buffer = ByteBuffer.allocate(24);
+
+    @Setup
+    public void setup() {
+        a = new Vector3(1.5, -2.25, 3.125);
+        b = new Vector3(-0.75, 4.5, 2);
+        p = new Quaternion(0.5, 1, -2, 3);
+        q = new Quaternion(-1, 0.25, 2, -0.5);
+        rq = new Rotation(new Vector3(1, 2, 3).normalize(), Math.toRadians(30)).quaternion();
+        text = a.toString();
+    }
+
+    //
+    // Vector3
+    //
+
+    @Benchmark
+    public Vector3 add() {
+        return a.add(b);
+    }
+
+    @Benchmark
+    public Vector3 subtract() {
+        return a.subtract(b);
+    }
+
+    @Benchmark
+    public Vector3 multiply() {
+        return a.multiply(2.5);
+    }
+
+    @Benchmark
+    public double dot() {
+        return a.dot(b);
+    }
+
+    @Benchmark
+    public Vector3 cross() {
+        return a.cross(b);
+    }
+
+    @Benchmark
+    public Vector3 normalize() {
+        return a.normalize();
+    }
+
+    @Benchmark
+    public Vector3 rotate() {
+        return a.rotate(rq);
+    }
+
+    @Benchmark
+    public Vector3 rotateIdentity() {
+        return a.rotate(Quaternion.IDENTITY);
+    }
+
+    @Benchmark
+    public MutableVector3 rotateInto() {
+        return a.rotateInto(rq, out);
+    }
+
+    //
+    // Quaternion
+    //
+
+    @Benchmark
+    public Quaternion quaternionMultiply() {
+        return p.multiply(q);
+    }
+
+    @Benchmark
+    public Quaternion quaternionMultiplyIdentity() {
+        return p.multiply(Quaternion.IDENTITY);
+    }
+
+    @Benchmark
+    public Quaternion quaternionConjugate() {
+        return p.conjugate();
+    }
+
+    //
+    // Serialization
+    //
+
+    @Benchmark
+    public Vector3 parse() {
+        return Vector3.parseVector(text);
+    }
+
+    @Benchmark
+    public Vector3 binaryRoundTrip() {
+        buffer.clear();
+        BinaryCodec.writeVector3(buffer, a);
+        return BinaryCodec.readVector3(buffer.flip());
+    }
+}
@@ -0,0 +1,66 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.graphics.vertex.ColoredVertex;
+import civitas.celestis.graphics.vertex.Vertex;
+import civitas.celestis.math.matrix.Matrix4;
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.math.vector.Vector3;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>VertexBenchmark</h2>
+ * <p>
+ * Measures per-vertex transformation, which is performed for every vertex of every model each frame.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VertexBenchmark {
+    private ColoredVertex vertex;
+    private Vector3 origin;
+    private Quaternion rq;
+    private Matrix4 matrix;
+
+    @Setup
+    public void setup() {
+        vertex = new ColoredVertex(
+                new Vector3(-1, -1, 5),
+                new Vector3(1, -1, 5),
+                new Vector3(0, 1, 5),
+                Color.GRAY
+        );
+
+        origin = new Vector3(0.5, 0.5, -2);
+        rq = new Rotation(new Vector3(1, 2, 3).normalize(), Math.toRadians(30)).quaternion();
+        matrix = Matrix4.transform(origin, rq, 2);
+    }
+
+    @Benchmark
+    public Vertex transform() {
+        return vertex.transform(origin, rq, 2);
+    }
+
+    @Benchmark
+    public Vertex transformMatrix() {
+        return vertex.transform(matrix);
+    }
+
+    @Benchmark
+    public Vertex transformChained() {
+        return vertex.translate(origin).rotate(rq).inflate(2);
+    }
+
+    @Benchmark
+    public Vector3 normal() {
+        vertex.invalidateCache();
+        return vertex.normal();
+    }
+}
@@ -1,6 +1,7 @@
 package civitas.celestis.graphics;
 
 import civitas.celestis.graphics.ray.Ray;
+import civitas.celestis.graphics.ray.RayPacket;
 import civitas.celestis.graphics.vertex.Vertex;
 import civitas.celestis.math.vector.Vector3;
 import jakarta.annotation.Nonnull;
@@ -9,6 +10,11 @@ import jakarta.annotation.Nullable;
 /**
  * <h2>Solids</h2>
  * <p>A utility class containing geometric functions.</p>
+ * <p>
+ * The {@code intersect} kernels use the Möller–Trumbore algorithm, which needs one division and no square roots,
+ * and report the distance and barycentric coordinates of a hit without allocating.
+ * Triangles are given as nine consecutive values: point A, edge AB and edge AC. (see {@link #pack(Vertex, double[], int)})
+ * </p>
  */
 public final class Solids {
     /**
@@ -73,4 +79,151 @@ public final class Solids {
         // Return intersection
         return ray.destination(t);
     }
+
+    //
+    // Möller–Trumbore
+    //
+
+    /**
+     * Writes a vertex to an array in the layout used by the intersection kernels:
+     * point A, edge AB and edge AC.
+     *
+     * @param vertex Vertex to pack
+     * @param out    Array to write to
+     * @param offset Index to write the first value to
+     */
+    public static void pack(@Nonnull Vertex vertex, @Nonnull double[] out, int offset) {
+        final Vector3 a = vertex.a();
+        final Vector3 b = vertex.b();
+        final Vector3 c = vertex.c();
+
+        out[offset] = a.x();
+        out[offset + 1] = a.y();
+        out[offset + 2] = a.z();
+        out[offset + 3] = b.x() - a.x();
+        out[offset + 4] = b.y() - a.y();
+        out[offset + 5] = b.z() - a.z();
+        out[offset + 6] = c.x() - a.x();
+        out[offset + 7] = c.y() - a.y();
+        out[offset + 8] = c.z() - a.z();
+    }
+
+    /**
+     * Intersects a ray with a vertex. Unlike {@link #intersection(Vertex, Ray)}, the ray is unbounded.
+     * Vertices are two-sided.
+     *
+     * @param vertex Vertex to check
+     * @param ray    Ray to check
+     * @param out    Array to write {@code t}, {@code u} and {@code v} of the hit to
+     * @return {@code true} if the ray hits the vertex
+     */
+    public static boolean intersect(@Nonnull Vertex vertex, @Nonnull Ray ray, @Nonnull double[] out) {
+        final Vector3 a = vertex.a();
+        final Vector3 b = vertex.b();
+        final Vector3 c = vertex.c();
+        final Vector3 o = ray.origin();
+        final Vector3 d = ray.direction();
+
+        return intersect(
+                o.x(), o.y(), o.z(),
+                d.x(), d.y(), d.z(),
+                a.x(), a.y(), a.z(),
+                b.x() - a.x(), b.y() - a.y(), b.z() - a.z(),
+                c.x() - a.x(), c.y() - a.y(), c.z() - a.z(),
+                Double.POSITIVE_INFINITY,
+                out
+        );
+    }
+
+    /**
+     * Intersects a ray with a packed triangle.
+     *
+     * @param ox       X component of ray origin
+     * @param oy       Y component of ray origin
+     * @param oz       Z component of ray origin
+     * @param dx       X component of ray direction
+     * @param dy       Y component of ray direction
+     * @param dz       Z component of ray direction
+     * @param triangle Array containing the packed triangle
+     * @param offset   Index of the first value of the triangle
+     * @param limit    Hits at or beyond this distance are ignored
+     * @param out      Array to write {@code t}, {@code u} and {@code v} of the hit to
+     * @return {@code true} if the ray hits the triangle closer than {@code limit}
+     */
+    public static boolean intersect(
+            double ox, double oy, double oz,
+            double dx, double dy, double dz,
+            @Nonnull double[] triangle,
+            int offset,
+            double limit,
+            @Nonnull double[] out
+    ) {
+        return intersect(
+                ox, oy, oz,
+                dx, dy, dz,
+                triangle[offset], triangle[offset + 1], triangle[offset + 2],
+                triangle[offset + 3], triangle[offset + 4], triangle[offset + 5],
+                triangle[offset + 6], triangle[offset + 7], triangle[offset + 8],
+                limit,
+                out
+        );
+    }
+
+    /**
+     * Intersects every ray of a packet with a packed triangle, keeping the closest hit of each ray.
+     *
+     * @param packet   Packet of rays
+     * @param triangle Array containing the packed triangle
+     * @param offset   Index of the first value of the triangle
+     * @param id       Identifier of the triangle, recorded for rays which hit it
+     * @return Number of rays whose closest hit is now this triangle
+     * @see RayPacket#intersect(double[], int, int)
+     */
+    public static int intersect(@Nonnull RayPacket packet, @Nonnull double[] triangle, int offset, int id) {
+        return packet.intersect(triangle, offset, id);
+    }
+
+    private static boolean intersect(
+            double ox, double oy, double oz,
+            double dx, double dy, double dz,
+            double ax, double ay, double az,
+            double e1x, double e1y, double e1z,
+            double e2x, double e2y, double e2z,
+            double limit,
+            @Nonnull double[] out
+    ) {
+        // P = D x E2
+        final double px = dy * e2z - dz * e2y;
+        final double py = dz * e2x - dx * e2z;
+        final double pz = dx * e2y - dy * e2x;
+
+        final double det = e1x * px + e1y * py + e1z * pz;
+        if (det == 0) return false; // Ray is parallel to the triangle
+
+        final double inv = 1 / det;
+
+        // T = O - A
+        final double tx = ox - ax;
+        final double ty = oy - ay;
+        final double tz = oz - az;
+
+        final double u = (tx * px + ty * py + tz * pz) * inv;
+        if (u < 0 || u > 1) return false;
+
+        // Q = T x E1
+        final double qx = ty * e1z - tz * e1y;
+        final double qy = tz * e1x - tx * e1z;
+        final double qz = tx * e1y - ty * e1x;
+
+        final double v = (dx * qx + dy * qy + dz * qz) * inv;
+        if (v < 0 || u + v > 1) return false;
+
+        final double t = (e2x * qx + e2y * qy + e2z * qz) * inv;
+        if (t < 0 || t >= limit) return false;
+
+        out[0] = t;
+        out[1] = u;
+        out[2] = v;
+        return true;
+    }
 }
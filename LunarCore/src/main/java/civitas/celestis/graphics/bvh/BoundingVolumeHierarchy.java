@@ -0,0 +1,622 @@
+package civitas.celestis.graphics.bvh;
+
+import civitas.celestis.graphics.Solids;
+import civitas.celestis.graphics.model.Model;
+import civitas.celestis.graphics.ray.Ray;
+import civitas.celestis.graphics.vertex.Vertex;
+import civitas.celestis.math.vector.Vector3;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <h2>BoundingVolumeHierarchy</h2>
+ * <p>
+ * An immutable bounding volume hierarchy over a list of vertices, used to accelerate ray queries.
+ * A ray query visits a number of nodes logarithmic in the number of vertices,
+ * instead of testing every vertex as {@link Solids#intersection(Vertex, Ray)} would.
+ * </p>
+ * <p>
+ * The hierarchy is built top-down using the surface area heuristic (SAH), evaluated over binned centroids.
+ * Nodes and triangles are flattened into primitive arrays in depth-first order,
+ * so that traversal does not allocate or chase references.
+ * </p>
+ * <p>
+ * Rays are treated as half-lines starting at their origin. Vertices are two-sided.
+ * The hierarchy takes a snapshot of the vertices' points, and does not observe later changes.
+ * </p>
+ */
+public final class BoundingVolumeHierarchy {
+    //
+    // Constants
+    //
+
+    /**
+     * The number of primitives at or below which a node always becomes a leaf.
+     */
+    private static final int MIN_LEAF_SIZE = 2;
+
+    /**
+     * The number of primitives above which a node is always split, even if the SAH prefers a leaf.
+     */
+    private static final int MAX_LEAF_SIZE = 8;
+
+    /**
+     * The number of bins used to evaluate split candidates along each axis.
+     */
+    private static final int BINS = 16;
+
+    /**
+     * The cost of traversing a node, relative to the cost of intersecting a triangle.
+     */
+    private static final double TRAVERSAL_COST = 1;
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Builds a hierarchy over the vertices of a model.
+     * Indices of hits refer to the order of {@link Model#getVertices()}.
+     *
+     * @param model Model to build the hierarchy of
+     */
+    public BoundingVolumeHierarchy(@Nonnull Model model) {
+        this(model.getVertices());
+    }
+
+    /**
+     * Builds a hierarchy over a list of vertices.
+     * Indices of hits refer to the order of given list.
+     *
+     * @param vertices Vertices to build the hierarchy of
+     */
+    public BoundingVolumeHierarchy(@Nonnull List<? extends Vertex> vertices) {
+        final int n = vertices.size();
+
+        this.vertices = vertices.toArray(new Vertex[0]);
+        this.indices = new int[n];
+        this.triangles = new double[n * 9];
+        this.nodes = new int[Math.max(1, 2 * n - 1) * 2];
+        this.bounds = new double[Math.max(1, 2 * n - 1) * 6];
+
+        final Builder builder = new Builder(this.vertices);
+        for (int i = 0; i < n; i++) indices[i] = i;
+
+        if (n > 0) {
+            depth = builder.build(0, 0, n, 1);
+            nodeCount = builder.allocated;
+        } else {
+            depth = 0;
+            nodeCount = 0;
+        }
+
+        // Flatten triangles in leaf order
+        for (int i = 0; i < n; i++) {
+            Solids.pack(this.vertices[indices[i]], triangles, i * 9);
+        }
+    }
+
+    //
+    // Variables
+    //
+
+    /**
+     * The vertices in their original order.
+     */
+    @Nonnull
+    private final Vertex[] vertices;
+
+    /**
+     * The original index of each primitive, in leaf order.
+     */
+    @Nonnull
+    private final int[] indices;
+
+    /**
+     * Nine values per primitive in leaf order, as packed by {@link Solids#pack(Vertex, double[], int)}.
+     */
+    @Nonnull
+    private final double[] triangles;
+
+    /**
+     * Two values per node. A leaf stores the index of its first primitive and the number of primitives.
+     * An interior node stores the index of its right child and zero. Its left child directly follows it.
+     */
+    @Nonnull
+    private final int[] nodes;
+
+    /**
+     * Six values per node: the minimum and maximum corners of its bounding box.
+     */
+    @Nonnull
+    private final double[] bounds;
+
+    private final int nodeCount;
+    private final int depth;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the number of vertices in this hierarchy.
+     *
+     * @return Number of vertices
+     */
+    public int size() {
+        return vertices.length;
+    }
+
+    /**
+     * Gets the number of nodes in this hierarchy.
+     *
+     * @return Number of nodes
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Gets the depth of this hierarchy. A hierarchy consisting of a single leaf has a depth of one.
+     *
+     * @return Depth of hierarchy
+     */
+    public int depth() {
+        return depth;
+    }
+
+    //
+    // Queries
+    //
+
+    /**
+     * Finds the closest intersection of a ray with any vertex.
+     *
+     * @param ray Ray to cast
+     * @return Closest hit if found, {@code null} if not
+     */
+    @Nullable
+    public RayHit closestHit(@Nonnull Ray ray) {
+        return closestHit(ray, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Finds the closest intersection of a ray with any vertex, within given distance.
+     *
+     * @param ray         Ray to cast
+     * @param maxDistance Maximum distance along the ray, in multiples of its direction
+     * @return Closest hit if found, {@code null} if not
+     */
+    @Nullable
+    public RayHit closestHit(@Nonnull Ray ray, double maxDistance) {
+        return closestHit(ray, maxDistance, new int[depth + 1], new double[3]);
+    }
+
+    /**
+     * Checks if a ray intersects any vertex. This is faster than {@link #closestHit(Ray)},
+     * as traversal stops at the first intersection found.
+     *
+     * @param ray Ray to cast
+     * @return {@code true} if the ray hits a vertex
+     */
+    public boolean anyHit(@Nonnull Ray ray) {
+        return anyHit(ray, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Checks if a ray intersects any vertex within given distance.
+     * This can be used to check for occlusion between two points.
+     *
+     * @param ray         Ray to cast
+     * @param maxDistance Maximum distance along the ray, in multiples of its direction
+     * @return {@code true} if the ray hits a vertex
+     */
+    public boolean anyHit(@Nonnull Ray ray, double maxDistance) {
+        return anyHit(ray, maxDistance, new int[depth + 1], new double[3]);
+    }
+
+    /**
+     * Finds the closest intersection of each ray with any vertex.
+     * Traversal state is shared between rays, so this does not allocate per ray other than for hits.
+     *
+     * @param rays Rays to cast
+     * @return Array of closest hits in the order of {@code rays}, {@code null} where a ray hit nothing
+     */
+    @Nonnull
+    public RayHit[] closestHits(@Nonnull List<? extends Ray> rays) {
+        final RayHit[] hits = new RayHit[rays.size()];
+        final int[] stack = new int[depth + 1];
+        final double[] scratch = new double[3];
+
+        for (int i = 0; i < hits.length; i++) {
+            hits[i] = closestHit(rays.get(i), Double.POSITIVE_INFINITY, stack, scratch);
+        }
+
+        return hits;
+    }
+
+    /**
+     * Checks whether each ray intersects any vertex within given distance.
+     * Traversal state is shared between rays, so this does not allocate per ray.
+     *
+     * @param rays        Rays to cast
+     * @param maxDistance Maximum distance along each ray, in multiples of its direction
+     * @return Array of results in the order of {@code rays}
+     */
+    @Nonnull
+    public boolean[] anyHits(@Nonnull List<? extends Ray> rays, double maxDistance) {
+        final boolean[] hits = new boolean[rays.size()];
+        final int[] stack = new int[depth + 1];
+        final double[] scratch = new double[3];
+
+        for (int i = 0; i < hits.length; i++) {
+            hits[i] = anyHit(rays.get(i), maxDistance, stack, scratch);
+        }
+
+        return hits;
+    }
+
+    //
+    // Traversal
+    //
+
+    @Nullable
+    private RayHit closestHit(@Nonnull Ray ray, double maxDistance, @Nonnull int[] stack, @Nonnull double[] hit) {
+        if (nodeCount == 0) return null;
+
+        final Vector3 origin = ray.origin();
+        final Vector3 direction = ray.direction();
+
+        final double ox = origin.x(), oy = origin.y(), oz = origin.z();
+        final double dx = direction.x(), dy = direction.y(), dz = direction.z();
+        final double ix = 1 / dx, iy = 1 / dy, iz = 1 / dz;
+
+        double closest = maxDistance;
+        int found = -1;
+
+        if (box(0, ox, oy, oz, ix, iy, iz, closest) == Double.POSITIVE_INFINITY) return null;
+
+        int top = 0;
+        stack[top++] = 0;
+
+        while (top > 0) {
+            final int node = stack[--top];
+
+            // The box may be farther than a hit found after it was pushed
+            if (box(node, ox, oy, oz, ix, iy, iz, closest) == Double.POSITIVE_INFINITY) continue;
+
+            final int count = nodes[node * 2 + 1];
+
+            if (count > 0) {
+                final int first = nodes[node * 2];
+
+                for (int p = first; p < first + count; p++) {
+                    if (Solids.intersect(ox, oy, oz, dx, dy, dz, triangles, p * 9, closest, hit)) {
+                        closest = hit[0];
+                        found = p;
+                    }
+                }
+
+                continue;
+            }
+
+            // Visit the nearer child first
+            final int left = node + 1;
+            final int right = nodes[node * 2];
+
+            final double tl = box(left, ox, oy, oz, ix, iy, iz, closest);
+            final double tr = box(right, ox, oy, oz, ix, iy, iz, closest);
+
+            if (tl <= tr) {
+                if (tr != Double.POSITIVE_INFINITY) stack[top++] = right;
+                if (tl != Double.POSITIVE_INFINITY) stack[top++] = left;
+            } else {
+                if (tl != Double.POSITIVE_INFINITY) stack[top++] = left;
+                stack[top++] = right;
+            }
+        }
+
+        if (found < 0) return null;
+
+        // Only closer hits are written, so the last hit written is the closest
+        final int index = indices[found];
+        return new RayHit(vertices[index], index, hit[0], hit[1], hit[2]);
+    }
+
+    private boolean anyHit(@Nonnull Ray ray, double maxDistance, @Nonnull int[] stack, @Nonnull double[] hit) {
+        if (nodeCount == 0) return false;
+
+        final Vector3 origin = ray.origin();
+        final Vector3 direction = ray.direction();
+
+        final double ox = origin.x(), oy = origin.y(), oz = origin.z();
+        final double dx = direction.x(), dy = direction.y(), dz = direction.z();
+        final double ix = 1 / dx, iy = 1 / dy, iz = 1 / dz;
+
+        int top = 0;
+        stack[top++] = 0;
+
+        while (top > 0) {
+            final int node = stack[--top];
+            if (box(node, ox, oy, oz, ix, iy, iz, maxDistance) == Double.POSITIVE_INFINITY) continue;
+
+            final int count = nodes[node * 2 + 1];
+
+            if (count > 0) {
+                final int first = nodes[node * 2];
+
+                for (int p = first; p < first + count; p++) {
+                    if (Solids.intersect(ox, oy, oz, dx, dy, dz, triangles, p * 9, maxDistance, hit)) return true;
+                }
+
+                continue;
+            }
+
+            stack[top++] = nodes[node * 2];
+            stack[top++] = node + 1;
+        }
+
+        return false;
+    }
+
+    /**
+     * Intersects a ray with the bounding box of a node using the slab method.
+     * An axis along which the result is undefined (a ray parallel to and on a face) is ignored,
+     * which errs on the side of visiting the node.
+     *
+     * @return Distance to the entry point, or {@link Double#POSITIVE_INFINITY} if the box is missed
+     */
+    private double box(int node, double ox, double oy, double oz, double ix, double iy, double iz, double limit) {
+        final int o = node * 6;
+        double near = 0;
+        double far = limit;
+
+        double t1 = (bounds[o] - ox) * ix;
+        double t2 = (bounds[o + 3] - ox) * ix;
+        if (t1 > t2) {final double t = t1; t1 = t2; t2 = t;}
+        if (t1 > near) near = t1;
+        if (t2 < far) far = t2;
+
+        t1 = (bounds[o + 1] - oy) * iy;
+        t2 = (bounds[o + 4] - oy) * iy;
+        if (t1 > t2) {final double t = t1; t1 = t2; t2 = t;}
+        if (t1 > near) near = t1;
+        if (t2 < far) far = t2;
+
+        t1 = (bounds[o + 2] - oz) * iz;
+        t2 = (bounds[o + 5] - oz) * iz;
+        if (t1 > t2) {final double t = t1; t1 = t2; t2 = t;}
+        if (t1 > near) near = t1;
+        if (t2 < far) far = t2;
+
+        return near <= far ? near : Double.POSITIVE_INFINITY;
+    }
+
+    //
+    // Construction
+    //
+
+    /**
+     * Temporary state used while building the hierarchy.
+     */
+    private final class Builder {
+        private Builder(@Nonnull Vertex[] vertices) {
+            final int n = vertices.length;
+
+            this.centroids = new double[n * 3];
+            this.boxes = new double[n * 6];
+
+            for (int i = 0; i < n; i++) {
+                final Vector3 a = vertices[i].a();
+                final Vector3 b = vertices[i].b();
+                final Vector3 c = vertices[i].c();
+
+                final int o = i * 6;
+                boxes[o] = Math.min(a.x(), Math.min(b.x(), c.x()));
+                boxes[o + 1] = Math.min(a.y(), Math.min(b.y(), c.y()));
+                boxes[o + 2] = Math.min(a.z(), Math.min(b.z(), c.z()));
+                boxes[o + 3] = Math.max(a.x(), Math.max(b.x(), c.x()));
+                boxes[o + 4] = Math.max(a.y(), Math.max(b.y(), c.y()));
+                boxes[o + 5] = Math.max(a.z(), Math.max(b.z(), c.z()));
+
+                // The centroid of the bounding box separates primitives as well as the true centroid
+                centroids[i * 3] = (boxes[o] + boxes[o + 3]) / 2;
+                centroids[i * 3 + 1] = (boxes[o + 1] + boxes[o + 4]) / 2;
+                centroids[i * 3 + 2] = (boxes[o + 2] + boxes[o + 5]) / 2;
+            }
+        }
+
+        /**
+         * Three values per original primitive: the centroid of its bounding box.
+         */
+        private final double[] centroids;
+
+        /**
+         * Six values per original primitive: its bounding box.
+         */
+        private final double[] boxes;
+
+        private final int[] binCounts = new int[BINS];
+        private final double[] binBounds = new double[BINS * 6];
+        private final double[] rightAreas = new double[BINS];
+
+        /**
+         * The number of nodes allocated so far, including the root.
+         */
+        private int allocated = 1;
+
+        /**
+         * Builds a node over a range of primitives.
+         *
+         * @param node  Index of node
+         * @param first Index of first primitive
+         * @param count Number of primitives
+         * @param level Depth of node
+         * @return Depth of the deepest leaf below this node
+         */
+        private int build(int node, int first, int count, int level) {
+            // Bounds of primitives and of their centroids
+            final double[] box = {
+                    Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                    Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY
+            };
+            final double[] cbox = box.clone();
+
+            for (int i = first; i < first + count; i++) {
+                final int p = indices[i];
+                extend(box, boxes, p * 6, p * 6 + 3);
+                extend(cbox, centroids, p * 3, p * 3);
+            }
+
+            System.arraycopy(box, 0, bounds, node * 6, 6);
+
+            if (count <= MIN_LEAF_SIZE) return leaf(node, first, count, level);
+
+            // Find the cheapest split
+            int bestAxis = -1;
+            int bestBin = 0;
+            double bestCost = Double.POSITIVE_INFINITY;
+
+            for (int axis = 0; axis < 3; axis++) {
+                final double lo = cbox[axis];
+                final double extent = cbox[axis + 3] - lo;
+                if (!(extent > 0)) continue;
+
+                final double scale = BINS / extent;
+                Arrays.fill(binCounts, 0);
+                for (int b = 0; b < BINS; b++) reset(binBounds, b * 6);
+
+                for (int i = first; i < first + count; i++) {
+                    final int p = indices[i];
+                    final int b = bin(centroids[p * 3 + axis], lo, scale);
+
+                    binCounts[b]++;
+                    include(binBounds, b * 6, boxes, p * 6);
+                }
+
+                // Sweep from the right to get the area of every right side
+                final double[] acc = new double[6];
+                reset(acc, 0);
+
+                for (int b = BINS - 1; b > 0; b--) {
+                    include(acc, 0, binBounds, b * 6);
+                    rightAreas[b] = area(acc);
+                }
+
+                // Sweep from the left to evaluate every split
+                reset(acc, 0);
+                int leftCount = 0;
+
+                for (int b = 0; b < BINS - 1; b++) {
+                    include(acc, 0, binBounds, b * 6);
+                    leftCount += binCounts[b];
+
+                    final int rightCount = count - leftCount;
+                    if (leftCount == 0 || rightCount == 0) continue;
+
+                    final double cost = area(acc) * leftCount + rightAreas[b + 1] * rightCount;
+
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        bestAxis = axis;
+                        bestBin = b;
+                    }
+                }
+            }
+
+            // Every centroid coincides, so primitives cannot be separated
+            if (bestAxis < 0) return leaf(node, first, count, level);
+
+            // Compare against the cost of a leaf, both relative to the area of this node
+            final double leafCost = count;
+            final double splitCost = TRAVERSAL_COST + bestCost / area(box);
+            if (splitCost >= leafCost && count <= MAX_LEAF_SIZE) return leaf(node, first, count, level);
+
+            // Partition primitives by the chosen bin
+            final double lo = cbox[bestAxis];
+            final double scale = BINS / (cbox[bestAxis + 3] - lo);
+
+            int i = first;
+            int j = first + count - 1;
+
+            while (i <= j) {
+                if (bin(centroids[indices[i] * 3 + bestAxis], lo, scale) <= bestBin) {
+                    i++;
+                } else {
+                    final int t = indices[i];
+                    indices[i] = indices[j];
+                    indices[j--] = t;
+                }
+            }
+
+            final int leftCount = i - first;
+
+            // Left child directly follows this node, right child follows the left subtree
+            final int left = allocated++;
+            final int leftDepth = build(left, first, leftCount, level + 1);
+
+            final int right = allocated++;
+            final int rightDepth = build(right, i, count - leftCount, level + 1);
+
+            nodes[node * 2] = right;
+            nodes[node * 2 + 1] = 0;
+
+            return Math.max(leftDepth, rightDepth);
+        }
+
+        private int leaf(int node, int first, int count, int level) {
+            nodes[node * 2] = first;
+            nodes[node * 2 + 1] = count;
+            return level;
+        }
+    }
+
+    //
+    // Helpers
+    //
+
+    private static int bin(double value, double lo, double scale) {
+        final int b = (int) ((value - lo) * scale);
+        return b < BINS ? b : BINS - 1;
+    }
+
+    private static void reset(@Nonnull double[] box, int o) {
+        box[o] = box[o + 1] = box[o + 2] = Double.POSITIVE_INFINITY;
+        box[o + 3] = box[o + 4] = box[o + 5] = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Grows a box to include the points at {@code lo} and {@code hi} of {@code src}.
+     */
+    private static void extend(@Nonnull double[] box, @Nonnull double[] src, int lo, int hi) {
+        for (int k = 0; k < 3; k++) {
+            if (src[lo + k] < box[k]) box[k] = src[lo + k];
+            if (src[hi + k] > box[k + 3]) box[k + 3] = src[hi + k];
+        }
+    }
+
+    /**
+     * Grows the box at {@code o} of {@code dst} to include the box at {@code s} of {@code src}.
+     */
+    private static void include(@Nonnull double[] dst, int o, @Nonnull double[] src, int s) {
+        for (int k = 0; k < 3; k++) {
+            if (src[s + k] < dst[o + k]) dst[o + k] = src[s + k];
+            if (src[s + k + 3] > dst[o + k + 3]) dst[o + k + 3] = src[s + k + 3];
+        }
+    }
+
+    /**
+     * Gets half the surface area of a box, or zero if the box is empty.
+     */
+    private static double area(@Nonnull double[] box) {
+        final double x = box[3] - box[0];
+        final double y = box[4] - box[1];
+        final double z = box[5] - box[2];
+        if (!(x >= 0 && y >= 0 && z >= 0)) return 0;
+
+        return x * y + y * z + z * x;
+    }
+}
@@ -0,0 +1,33 @@
+package civitas.celestis.graphics.bvh;
+
+import civitas.celestis.graphics.ray.Ray;
+import civitas.celestis.graphics.vertex.Vertex;
+import civitas.celestis.math.vector.Vector3;
+import jakarta.annotation.Nonnull;
+
+/**
+ * <h2>RayHit</h2>
+ * <p>
+ * The intersection of a {@link Ray} and a {@link Vertex}.
+ * The point of intersection is {@code a + u * (b - a) + v * (c - a)},
+ * which is also {@code ray.destination(t)}.
+ * </p>
+ *
+ * @param vertex Vertex which was hit
+ * @param index  Index of the vertex in the list the hierarchy was built from
+ * @param t      Distance along the ray, in multiples of its direction
+ * @param u      Barycentric coordinate of point B
+ * @param v      Barycentric coordinate of point C
+ */
+public record RayHit(@Nonnull Vertex vertex, int index, double t, double u, double v) {
+    /**
+     * Gets the point of intersection.
+     *
+     * @param ray Ray which produced this hit
+     * @return Point of intersection
+     */
+    @Nonnull
+    public Vector3 point(@Nonnull Ray ray) {
+        return ray.destination(t);
+    }
+}
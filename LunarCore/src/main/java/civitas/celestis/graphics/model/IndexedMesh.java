@@ -0,0 +1,544 @@
+package civitas.celestis.graphics.model;
+
+import civitas.celestis.graphics.vertex.ColoredVertex;
+import civitas.celestis.graphics.vertex.Vertex;
+import civitas.celestis.math.vector.Vector3;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.awt.*;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * <h2>IndexedMesh</h2>
+ * <p>
+ * A compact model which stores its data in primitive arrays instead of objects:
+ * </p>
+ * <ul>
+ *     <li>Positions, as consecutive X, Y and Z components in either double or single precision.</li>
+ *     <li>Indices, as consecutive triples of point indices, one triple per vertex.</li>
+ *     <li>Colors, as one packed ARGB value per vertex.</li>
+ *     <li>Optionally, the normal and centroid of each vertex. (see {@link #withAttributes()})</li>
+ * </ul>
+ * <p>
+ * A {@link PredefinedModel} holds a {@link ColoredVertex} with its own color and cached fields for every face,
+ * and deep-copies every vertex when {@link #getVertices()} is called. A mesh instead occupies sixteen bytes
+ * per vertex and twelve bytes per point in single precision, and {@link #getPoints()} and {@link #getVertices()}
+ * return read-only views which create elements when they are accessed.
+ * </p>
+ * <p>
+ * Arrays passed to the constructors are adopted without copying, and must not be modified afterwards.
+ * Meshes are otherwise immutable, and can be shared between threads.
+ * </p>
+ */
+public final class IndexedMesh implements Model {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new double-precision mesh.
+     *
+     * @param positions Consecutive X, Y and Z components of each point
+     * @param indices   Consecutive triples of point indices, one triple per vertex
+     * @param colors    ARGB color of each vertex
+     * @throws IllegalArgumentException When the array lengths do not match, or an index is out of bounds
+     */
+    public IndexedMesh(@Nonnull double[] positions, @Nonnull int[] indices, @Nonnull int[] colors)
+            throws IllegalArgumentException {
+        this(positions, null, indices, colors);
+    }
+
+    /**
+     * Creates a new single-precision mesh.
+     *
+     * @param positions Consecutive X, Y and Z components of each point
+     * @param indices   Consecutive triples of point indices, one triple per vertex
+     * @param colors    ARGB color of each vertex
+     * @throws IllegalArgumentException When the array lengths do not match, or an index is out of bounds
+     */
+    public IndexedMesh(@Nonnull float[] positions, @Nonnull int[] indices, @Nonnull int[] colors)
+            throws IllegalArgumentException {
+        this(null, positions, indices, colors);
+    }
+
+    /**
+     * Creates a new double-precision mesh from a model.
+     *
+     * @param model Model to copy
+     * @throws IllegalArgumentException When the model contains vertices which are not {@link ColoredVertex colored}
+     */
+    public IndexedMesh(@Nonnull Model model) throws IllegalArgumentException {
+        this(model, false);
+    }
+
+    /**
+     * Creates a new mesh from a model. Point instances shared between vertices of the model
+     * are stored once.
+     *
+     * @param model           Model to copy
+     * @param singlePrecision Whether to store positions in single precision
+     * @throws IllegalArgumentException When the model contains vertices which are not {@link ColoredVertex colored}
+     */
+    public IndexedMesh(@Nonnull Model model, boolean singlePrecision) throws IllegalArgumentException {
+        final List<Vertex> vertices = model.getVertices();
+
+        // Vectors do not implement hashCode(), so points are matched by identity
+        final Map<Vector3, Integer> points = new IdentityHashMap<>();
+
+        for (final Vector3 p : model.getPoints()) {
+            points.putIfAbsent(p, points.size());
+        }
+
+        this.indices = new int[vertices.size() * 3];
+        this.colors = new int[vertices.size()];
+
+        for (int i = 0; i < vertices.size(); i++) {
+            final Vertex v = vertices.get(i);
+
+            if (!(v instanceof ColoredVertex cv)) {
+                throw new IllegalArgumentException("Only colored vertices can be stored in a mesh.");
+            }
+
+            indices[i * 3] = points.computeIfAbsent(v.a(), p -> points.size());
+            indices[i * 3 + 1] = points.computeIfAbsent(v.b(), p -> points.size());
+            indices[i * 3 + 2] = points.computeIfAbsent(v.c(), p -> points.size());
+            colors[i] = cv.color().getRGB();
+        }
+
+        this.positions = singlePrecision ? null : new double[points.size() * 3];
+        this.positionsf = singlePrecision ? new float[points.size() * 3] : null;
+
+        points.forEach((p, i) -> {
+            if (positions != null) {
+                positions[i * 3] = p.x();
+                positions[i * 3 + 1] = p.y();
+                positions[i * 3 + 2] = p.z();
+            } else {
+                positionsf[i * 3] = (float) p.x();
+                positionsf[i * 3 + 1] = (float) p.y();
+                positionsf[i * 3 + 2] = (float) p.z();
+            }
+        });
+
+        this.normals = null;
+        this.normalsf = null;
+        this.centroids = null;
+        this.centroidsf = null;
+    }
+
+    /**
+     * Validating constructor. Exactly one of the position arrays is non-null.
+     */
+    private IndexedMesh(@Nullable double[] positions, @Nullable float[] positionsf, @Nonnull int[] indices, @Nonnull int[] colors)
+            throws IllegalArgumentException {
+        final int components = positions != null ? positions.length : positionsf.length;
+
+        if (components % 3 != 0) throw new IllegalArgumentException("Positions must be a multiple of three components.");
+        if (indices.length % 3 != 0) throw new IllegalArgumentException("Indices must be a multiple of three.");
+        if (colors.length != indices.length / 3) throw new IllegalArgumentException("Every vertex must have one color.");
+
+        final int pointCount = components / 3;
+
+        for (final int index : indices) {
+            if (index < 0 || index >= pointCount) {
+                throw new IllegalArgumentException("Vertex refers to a point which does not exist: " + index);
+            }
+        }
+
+        this.positions = positions;
+        this.positionsf = positionsf;
+        this.indices = indices;
+        this.colors = colors;
+        this.normals = null;
+        this.normalsf = null;
+        this.centroids = null;
+        this.centroidsf = null;
+    }
+
+    /**
+     * All-args constructor used by {@link #withAttributes()}.
+     * <b>Do not use elsewhere.</b>
+     */
+    private IndexedMesh(
+            @Nullable double[] positions,
+            @Nullable float[] positionsf,
+            @Nonnull int[] indices,
+            @Nonnull int[] colors,
+            @Nullable double[] normals,
+            @Nullable float[] normalsf,
+            @Nullable double[] centroids,
+            @Nullable float[] centroidsf
+    ) {
+        this.positions = positions;
+        this.positionsf = positionsf;
+        this.indices = indices;
+        this.colors = colors;
+        this.normals = normals;
+        this.normalsf = normalsf;
+        this.centroids = centroids;
+        this.centroidsf = centroidsf;
+    }
+
+    //
+    // Variables
+    //
+
+    /**
+     * Positions in double precision, or {@code null} if this mesh is in single precision.
+     * Every per-component array below follows the precision of the positions.
+     */
+    @Nullable
+    private final double[] positions;
+    @Nullable
+    private final float[] positionsf;
+    @Nonnull
+    private final int[] indices;
+    @Nonnull
+    private final int[] colors;
+    @Nullable
+    private final double[] normals;
+    @Nullable
+    private final float[] normalsf;
+    @Nullable
+    private final double[] centroids;
+    @Nullable
+    private final float[] centroidsf;
+
+    //
+    // Attributes
+    //
+
+    /**
+     * Checks if this mesh stores its positions in single precision.
+     *
+     * @return {@code true} if positions are stored as {@code float}s
+     */
+    public boolean singlePrecision() {
+        return positionsf != null;
+    }
+
+    /**
+     * Checks if this mesh has precomputed normals and centroids.
+     *
+     * @return {@code true} if normals and centroids are precomputed
+     */
+    public boolean hasAttributes() {
+        return normals != null || normalsf != null;
+    }
+
+    /**
+     * Returns a mesh with the normal and centroid of every vertex precomputed.
+     * The returned mesh shares its positions, indices and colors with this mesh.
+     * Normals follow {@link Vertex#normal()}, and are therefore not normalized.
+     *
+     * @return Mesh with precomputed attributes, or {@code this} if they are already present
+     */
+    @Nonnull
+    public IndexedMesh withAttributes() {
+        if (hasAttributes()) return this;
+
+        final int count = getVertexCount();
+        final double[] n = new double[count * 3];
+        final double[] c = new double[count * 3];
+
+        for (int i = 0; i < count; i++) {
+            final int a = indices[i * 3], b = indices[i * 3 + 1], d = indices[i * 3 + 2];
+
+            final double ax = x(a), ay = y(a), az = z(a);
+            final double e1x = x(b) - ax, e1y = y(b) - ay, e1z = z(b) - az;
+            final double e2x = x(d) - ax, e2y = y(d) - ay, e2z = z(d) - az;
+
+            n[i * 3] = e1y * e2z - e1z * e2y;
+            n[i * 3 + 1] = e1z * e2x - e1x * e2z;
+            n[i * 3 + 2] = e1x * e2y - e1y * e2x;
+
+            c[i * 3] = (ax + x(b) + x(d)) / 3;
+            c[i * 3 + 1] = (ay + y(b) + y(d)) / 3;
+            c[i * 3 + 2] = (az + z(b) + z(d)) / 3;
+        }
+
+        if (!singlePrecision()) {
+            return new IndexedMesh(positions, null, indices, colors, n, null, c, null);
+        }
+
+        return new IndexedMesh(null, positionsf, indices, colors, null, toFloats(n), null, toFloats(c));
+    }
+
+    //
+    // Views
+    //
+
+    /**
+     * Gets a read-only view of the positions of this mesh, as consecutive X, Y and Z components.
+     *
+     * @return Read-only view of positions
+     * @throws IllegalStateException When this mesh is in {@link #singlePrecision() single precision}
+     */
+    @Nonnull
+    public DoubleBuffer positions() throws IllegalStateException {
+        if (positions == null) throw new IllegalStateException("Mesh is in single precision.");
+        return DoubleBuffer.wrap(positions).asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets a read-only view of the positions of this mesh, as consecutive X, Y and Z components.
+     *
+     * @return Read-only view of positions
+     * @throws IllegalStateException When this mesh is not in {@link #singlePrecision() single precision}
+     */
+    @Nonnull
+    public FloatBuffer positionsf() throws IllegalStateException {
+        if (positionsf == null) throw new IllegalStateException("Mesh is in double precision.");
+        return FloatBuffer.wrap(positionsf).asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets a read-only view of the indices of this mesh, as consecutive triples of point indices.
+     *
+     * @return Read-only view of indices
+     */
+    @Nonnull
+    public IntBuffer indices() {
+        return IntBuffer.wrap(indices).asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets a read-only view of the ARGB colors of each vertex of this mesh.
+     *
+     * @return Read-only view of colors
+     */
+    @Nonnull
+    public IntBuffer colors() {
+        return IntBuffer.wrap(colors).asReadOnlyBuffer();
+    }
+
+    //
+    // Elements
+    //
+
+    /**
+     * Gets the X component of a point.
+     *
+     * @param point Index of point
+     * @return X component
+     */
+    public double x(int point) {
+        return positions != null ? positions[point * 3] : positionsf[point * 3];
+    }
+
+    /**
+     * Gets the Y component of a point.
+     *
+     * @param point Index of point
+     * @return Y component
+     */
+    public double y(int point) {
+        return positions != null ? positions[point * 3 + 1] : positionsf[point * 3 + 1];
+    }
+
+    /**
+     * Gets the Z component of a point.
+     *
+     * @param point Index of point
+     * @return Z component
+     */
+    public double z(int point) {
+        return positions != null ? positions[point * 3 + 2] : positionsf[point * 3 + 2];
+    }
+
+    /**
+     * Gets the index of a point of a vertex.
+     *
+     * @param vertex Index of vertex
+     * @param corner Corner of vertex, where {@code 0} is point A, {@code 1} is point B and {@code 2} is point C
+     * @return Index of point
+     */
+    public int index(int vertex, int corner) {
+        return indices[vertex * 3 + corner];
+    }
+
+    /**
+     * Gets the ARGB color of a vertex.
+     *
+     * @param vertex Index of vertex
+     * @return ARGB color
+     */
+    public int color(int vertex) {
+        return colors[vertex];
+    }
+
+    /**
+     * Gets a point of this mesh.
+     *
+     * @param point Index of point
+     * @return Point
+     */
+    @Nonnull
+    public Vector3 point(int point) {
+        return new Vector3(x(point), y(point), z(point));
+    }
+
+    /**
+     * Gets a vertex of this mesh. Every call returns a new vertex.
+     *
+     * @param vertex Index of vertex
+     * @return Vertex
+     */
+    @Nonnull
+    public Vertex vertex(int vertex) {
+        return new ColoredVertex(
+                point(indices[vertex * 3]),
+                point(indices[vertex * 3 + 1]),
+                point(indices[vertex * 3 + 2]),
+                new Color(colors[vertex], true)
+        );
+    }
+
+    /**
+     * Gets the normal of a vertex, as defined by {@link Vertex#normal()}.
+     * This is read from the precomputed attributes if present.
+     *
+     * @param vertex Index of vertex
+     * @return Normal of vertex
+     */
+    @Nonnull
+    public Vector3 normal(int vertex) {
+        if (normals != null) return new Vector3(normals[vertex * 3], normals[vertex * 3 + 1], normals[vertex * 3 + 2]);
+        if (normalsf != null) return new Vector3(normalsf[vertex * 3], normalsf[vertex * 3 + 1], normalsf[vertex * 3 + 2]);
+
+        final Vector3 a = point(indices[vertex * 3]);
+        return point(indices[vertex * 3 + 1]).subtract(a).cross(point(indices[vertex * 3 + 2]).subtract(a));
+    }
+
+    /**
+     * Gets the centroid of a vertex, as defined by {@link Vertex#centroid()}.
+     * This is read from the precomputed attributes if present.
+     *
+     * @param vertex Index of vertex
+     * @return Centroid of vertex
+     */
+    @Nonnull
+    public Vector3 centroid(int vertex) {
+        if (centroids != null) {
+            return new Vector3(centroids[vertex * 3], centroids[vertex * 3 + 1], centroids[vertex * 3 + 2]);
+        }
+
+        if (centroidsf != null) {
+            return new Vector3(centroidsf[vertex * 3], centroidsf[vertex * 3 + 1], centroidsf[vertex * 3 + 2]);
+        }
+
+        return point(indices[vertex * 3])
+                .add(point(indices[vertex * 3 + 1]))
+                .add(point(indices[vertex * 3 + 2]))
+                .divide(3);
+    }
+
+    //
+    // Model
+    //
+
+    /**
+     * {@inheritDoc}
+     * The returned list is a read-only view which creates each point when it is accessed.
+     *
+     * @return Read-only view of points
+     */
+    @Nonnull
+    @Override
+    public List<Vector3> getPoints() {
+        return new View<>(getPointCount()) {
+            @Override
+            public Vector3 get(int index) {
+                return point(checkIndex(index));
+            }
+        };
+    }
+
+    @Override
+    public int getPointCount() {
+        return (positions != null ? positions.length : positionsf.length) / 3;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The returned list is a read-only view which creates a new vertex each time one is accessed.
+     * Unlike those of a {@link PredefinedModel}, these vertices do not share point instances with each other.
+     *
+     * @return Read-only view of vertices
+     */
+    @Nonnull
+    @Override
+    public List<Vertex> getVertices() {
+        return new View<>(getVertexCount()) {
+            @Override
+            public Vertex get(int index) {
+                return vertex(checkIndex(index));
+            }
+        };
+    }
+
+    @Override
+    public int getVertexCount() {
+        return colors.length;
+    }
+
+    //
+    // Helpers
+    //
+
+    /**
+     * A read-only list of a fixed size, whose elements are created by {@link #get(int)}.
+     */
+    private static abstract class View<E> extends AbstractList<E> implements RandomAccess {
+        private View(int size) {
+            this.size = size;
+        }
+
+        private final int size;
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        protected int checkIndex(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+            return index;
+        }
+    }
+
+    @Nonnull
+    private static float[] toFloats(@Nonnull double[] values) {
+        final float[] result = new float[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (float) values[i];
+        }
+
+        return result;
+    }
+
+    /**
+     * Serializes this mesh into a string.
+     *
+     * @return Serialized string of {@code this}
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "IndexedMesh{" +
+                "points=" + getPointCount() +
+                ", vertices=" + getVertexCount() +
+                ", singlePrecision=" + singlePrecision() +
+                ", attributes=" + hasAttributes() +
+                '}';
+    }
+}
@@ -0,0 +1,237 @@
+package civitas.celestis.graphics.model;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h2>LevelOfDetail</h2>
+ * <p>
+ * A chain of progressively simplified versions of a model, and a selector which picks the coarsest version
+ * whose error is invisible at a given distance.
+ * </p>
+ * <p>
+ * Level {@code 0} is the original model. Each further level has a fixed fraction of the vertices of the previous one,
+ * and is generated by {@link MeshSimplifier} in a single pass. Every level records its geometric error,
+ * an estimate of the largest distance between it and the original surface. A level is selected when
+ * its error, projected onto the screen, is no larger than a tolerance in pixels. The work of rendering
+ * or intersecting the selected level therefore follows the screen coverage of the model, not its source detail.
+ * </p>
+ */
+public final class LevelOfDetail {
+    //
+    // Constants
+    //
+
+    /**
+     * The default number of levels, including the original model.
+     */
+    public static final int DEFAULT_LEVELS = 6;
+
+    /**
+     * The default fraction of vertices kept by each level relative to the previous one.
+     */
+    public static final double DEFAULT_RATIO = 0.5;
+
+    /**
+     * The default tolerance of projected error in pixels.
+     */
+    public static final double DEFAULT_TOLERANCE = 1;
+
+    /**
+     * Levels stop being generated when they would have fewer vertices than this.
+     */
+    private static final int MIN_VERTICES = 16;
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Generates levels of detail with the default number of levels and ratio.
+     *
+     * @param model Model to simplify
+     * @throws IllegalArgumentException When the model contains vertices which are not colored
+     */
+    public LevelOfDetail(@Nonnull Model model) throws IllegalArgumentException {
+        this(model, DEFAULT_LEVELS, DEFAULT_RATIO);
+    }
+
+    /**
+     * Generates levels of detail. Fewer levels are generated if the model becomes too small to simplify.
+     *
+     * @param model  Model to simplify
+     * @param levels Maximum number of levels, including the original model
+     * @param ratio  Fraction of vertices kept by each level relative to the previous one
+     * @throws IllegalArgumentException When the model contains vertices which are not colored,
+     *                                  there are no levels, or the ratio is not between {@code 0} and {@code 1}
+     */
+    public LevelOfDetail(@Nonnull Model model, int levels, double ratio) throws IllegalArgumentException {
+        if (levels < 1) throw new IllegalArgumentException("There must be at least one level.");
+        if (!(ratio > 0 && ratio < 1)) throw new IllegalArgumentException("Ratio must be between 0 and 1.");
+
+        final IndexedMesh mesh = model instanceof IndexedMesh m ? m : new IndexedMesh(model);
+
+        // Targets shrink geometrically until they become too small
+        final List<Integer> targets = new ArrayList<>();
+        double target = mesh.getVertexCount();
+
+        for (int i = 1; i < levels; i++) {
+            target *= ratio;
+            if (target < MIN_VERTICES) break;
+            targets.add((int) target);
+        }
+
+        final int[] t = targets.stream().mapToInt(Integer::intValue).toArray();
+        final double[] e = new double[t.length];
+        final List<IndexedMesh> simplified = MeshSimplifier.simplify(mesh, t, e);
+
+        this.levels = new ArrayList<>(t.length + 1);
+        this.errors = new double[t.length + 1];
+
+        this.levels.add(model);
+        this.levels.addAll(simplified);
+        System.arraycopy(e, 0, errors, 1, e.length);
+
+        this.radius = radius(mesh);
+    }
+
+    //
+    // Variables
+    //
+
+    @Nonnull
+    private final List<Model> levels;
+    @Nonnull
+    private final double[] errors;
+    private final double radius;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the number of levels, including the original model.
+     *
+     * @return Number of levels
+     */
+    public int getLevelCount() {
+        return levels.size();
+    }
+
+    /**
+     * Gets a level of detail.
+     *
+     * @param level Index of level, where {@code 0} is the original model
+     * @return Model of level
+     */
+    @Nonnull
+    public Model getLevel(int level) {
+        return levels.get(level);
+    }
+
+    /**
+     * Gets the geometric error of a level of detail, in the units of the model.
+     *
+     * @param level Index of level
+     * @return Geometric error of level
+     */
+    public double getError(int level) {
+        return errors[level];
+    }
+
+    /**
+     * Gets the radius of the bounding sphere of the model around its origin.
+     *
+     * @return Bounding radius
+     */
+    public double getRadius() {
+        return radius;
+    }
+
+    //
+    // Selection
+    //
+
+    /**
+     * Selects a level of detail with the default tolerance of one pixel.
+     *
+     * @param distance    Distance from the camera to the origin of the model
+     * @param focalLength Focal length of the camera in pixels, i.e. {@code (width / 2) / tan(fov / 2)}
+     * @return Selected model
+     */
+    @Nonnull
+    public Model select(double distance, double focalLength) {
+        return levels.get(selectLevel(distance, focalLength, DEFAULT_TOLERANCE));
+    }
+
+    /**
+     * Selects the coarsest level of detail whose projected error is within a tolerance.
+     * The error is projected at the nearest point of the bounding sphere of the model.
+     *
+     * @param distance    Distance from the camera to the origin of the model
+     * @param focalLength Focal length of the camera in pixels, i.e. {@code (width / 2) / tan(fov / 2)}
+     * @param tolerance   Maximum projected error in pixels
+     * @return Index of selected level
+     */
+    public int selectLevel(double distance, double focalLength, double tolerance) {
+        final double nearest = distance - radius;
+        if (!(nearest > 0)) return 0; // The camera is within the model
+
+        // Errors grow with each level, so the first level over the tolerance ends the search
+        int selected = 0;
+
+        for (int i = 1; i < errors.length; i++) {
+            if (projectedSize(errors[i], nearest, focalLength) > tolerance) break;
+            selected = i;
+        }
+
+        return selected;
+    }
+
+    /**
+     * Gets the size in pixels of a length facing the camera at a distance.
+     *
+     * @param size        Length in the units of the model
+     * @param distance    Distance from the camera
+     * @param focalLength Focal length of the camera in pixels
+     * @return Projected size in pixels
+     */
+    public static double projectedSize(double size, double distance, double focalLength) {
+        return size * focalLength / distance;
+    }
+
+    //
+    // Helpers
+    //
+
+    private static double radius(@Nonnull IndexedMesh mesh) {
+        double max = 0;
+
+        for (int i = 0; i < mesh.getPointCount(); i++) {
+            final double x = mesh.x(i), y = mesh.y(i), z = mesh.z(i);
+            max = Math.max(max, x * x + y * y + z * z);
+        }
+
+        return Math.sqrt(max);
+    }
+
+    /**
+     * Serializes this level of detail chain into a string.
+     *
+     * @return Serialized string of {@code this}
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        final StringBuilder out = new StringBuilder("LevelOfDetail{");
+
+        for (int i = 0; i < levels.size(); i++) {
+            if (i > 0) out.append(", ");
+            out.append(levels.get(i).getVertexCount()).append(" @ ").append(errors[i]);
+        }
+
+        return out.append('}').toString();
+    }
+}
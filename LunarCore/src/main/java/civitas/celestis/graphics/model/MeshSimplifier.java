@@ -0,0 +1,573 @@
+package civitas.celestis.graphics.model;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * <h2>MeshSimplifier</h2>
+ * <p>
+ * Simplifies an {@link IndexedMesh} by collapsing edges in order of their quadric error metric.
+ * </p>
+ * <p>
+ * Every point accumulates a quadric: the sum of squared distances to the planes of the triangles around it.
+ * Collapsing an edge merges its two points into the position which minimizes their combined quadric,
+ * and the edge with the lowest error is always collapsed first. Boundary edges are constrained
+ * by additional planes perpendicular to their triangle, so that open meshes keep their outline,
+ * and collapses which would flip a triangle are rejected.
+ * </p>
+ * <p>
+ * A single pass can produce several levels of detail, since the quadrics of later levels
+ * remember the original surface rather than that of the previous level.
+ * </p>
+ */
+public final class MeshSimplifier {
+    //
+    // Constants
+    //
+
+    /**
+     * The weight of the planes which constrain boundary edges, relative to the planes of triangles.
+     */
+    private static final double BOUNDARY_WEIGHT = 10;
+
+    //
+    // Simplification
+    //
+
+    /**
+     * Simplifies a mesh.
+     *
+     * @param mesh   Mesh to simplify
+     * @param target Maximum number of vertices of the simplified mesh
+     * @return Simplified mesh, which may have more vertices than the target
+     * if no further collapse is possible
+     */
+    @Nonnull
+    public static IndexedMesh simplify(@Nonnull IndexedMesh mesh, int target) {
+        return simplify(mesh, new int[]{target}, new double[1]).get(0);
+    }
+
+    /**
+     * Simplifies a mesh into several levels of detail in a single pass.
+     *
+     * @param mesh    Mesh to simplify
+     * @param targets Maximum number of vertices of each level, in descending order
+     * @param errors  Array to write the geometric error of each level to, which is an estimate
+     *                of the largest distance between the level and the original surface
+     * @return Simplified meshes, one per target
+     * @throws IllegalArgumentException When the targets are not in descending order,
+     *                                  or there are fewer errors than targets
+     */
+    @Nonnull
+    public static List<IndexedMesh> simplify(@Nonnull IndexedMesh mesh, @Nonnull int[] targets, @Nonnull double[] errors)
+            throws IllegalArgumentException {
+        if (errors.length < targets.length) throw new IllegalArgumentException("There must be an error for every target.");
+
+        for (int i = 1; i < targets.length; i++) {
+            if (targets[i] > targets[i - 1]) throw new IllegalArgumentException("Targets must be in descending order.");
+        }
+
+        return new State(mesh).run(targets, errors);
+    }
+
+    //
+    // State
+    //
+
+    /**
+     * A candidate edge collapse. Candidates are invalidated when either point changes,
+     * which is detected by comparing the stamps of the points.
+     */
+    private record Candidate(double cost, int a, int b, int stampA, int stampB, double x, double y, double z)
+            implements Comparable<Candidate> {
+        @Override
+        public int compareTo(@Nonnull Candidate other) {
+            return Double.compare(cost, other.cost);
+        }
+    }
+
+    /**
+     * The mutable state of a simplification pass.
+     */
+    private static final class State {
+        private State(@Nonnull IndexedMesh mesh) {
+            this.source = mesh;
+
+            final int pointCount = mesh.getPointCount();
+            final int vertexCount = mesh.getVertexCount();
+
+            this.positions = new double[pointCount * 3];
+            this.quadrics = new double[pointCount * 10];
+            this.alive = new boolean[pointCount];
+            this.stamps = new int[pointCount];
+            this.adjacency = new int[pointCount][];
+            this.adjacencySizes = new int[pointCount];
+
+            this.triangles = new int[vertexCount * 3];
+            this.triangleAlive = new boolean[vertexCount];
+            this.liveTriangles = vertexCount;
+
+            for (int i = 0; i < pointCount; i++) {
+                positions[i * 3] = mesh.x(i);
+                positions[i * 3 + 1] = mesh.y(i);
+                positions[i * 3 + 2] = mesh.z(i);
+                alive[i] = true;
+                adjacency[i] = new int[6];
+            }
+
+            for (int t = 0; t < vertexCount; t++) {
+                triangleAlive[t] = true;
+
+                for (int k = 0; k < 3; k++) {
+                    final int p = mesh.index(t, k);
+                    triangles[t * 3 + k] = p;
+                    attach(p, t);
+                }
+
+                addTrianglePlane(t);
+            }
+
+            final long[] sorted = edges();
+            addBoundaryPlanes(sorted);
+            this.edges = distinct(sorted);
+        }
+
+        @Nonnull
+        private final IndexedMesh source;
+
+        private final double[] positions;
+        private final double[] quadrics;
+        private final boolean[] alive;
+        private final int[] stamps;
+
+        /**
+         * Triangles around each point. Lists may contain removed triangles, which are skipped.
+         */
+        private final int[][] adjacency;
+        private final int[] adjacencySizes;
+
+        private final int[] triangles;
+        private final boolean[] triangleAlive;
+        private final long[] edges;
+        private int liveTriangles;
+
+        private final PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        private double maxCost;
+
+        @Nonnull
+        private List<IndexedMesh> run(@Nonnull int[] targets, @Nonnull double[] errors) {
+            // Queue every edge once
+            for (final long edge : edges) {
+                push((int) (edge >>> 32), (int) edge);
+            }
+
+            final List<IndexedMesh> levels = new ArrayList<>(targets.length);
+
+            for (int level = 0; level < targets.length; level++) {
+                while (liveTriangles > targets[level] && !queue.isEmpty()) {
+                    final Candidate c = queue.poll();
+
+                    if (!alive[c.a] || !alive[c.b] || stamps[c.a] != c.stampA || stamps[c.b] != c.stampB) {
+                        continue; // Stale
+                    }
+
+                    collapse(c);
+                }
+
+                levels.add(snapshot());
+                errors[level] = Math.sqrt(maxCost);
+            }
+
+            return levels;
+        }
+
+        //
+        // Quadrics
+        //
+
+        private void addTrianglePlane(int t) {
+            final int a = triangles[t * 3], b = triangles[t * 3 + 1], c = triangles[t * 3 + 2];
+            final double[] n = normal(a, b, c);
+
+            final double length = Math.sqrt(n[0] * n[0] + n[1] * n[1] + n[2] * n[2]);
+            if (length == 0) return; // Degenerate triangles have no plane
+
+            final double nx = n[0] / length, ny = n[1] / length, nz = n[2] / length;
+            final double d = -(nx * positions[a * 3] + ny * positions[a * 3 + 1] + nz * positions[a * 3 + 2]);
+
+            addPlane(a, nx, ny, nz, d, 1);
+            addPlane(b, nx, ny, nz, d, 1);
+            addPlane(c, nx, ny, nz, d, 1);
+        }
+
+        /**
+         * Adds a plane perpendicular to the triangle through every edge which belongs to only one triangle.
+         *
+         * @param sorted Every edge of every triangle, sorted
+         */
+        private void addBoundaryPlanes(@Nonnull long[] sorted) {
+            for (int i = 0; i < sorted.length; ) {
+                int j = i + 1;
+                while (j < sorted.length && sorted[j] == sorted[i]) j++;
+
+                if (j - i == 1) {
+                    final int p = (int) (sorted[i] >>> 32);
+                    final int q = (int) sorted[i];
+
+                    // Find the only triangle with this edge
+                    for (int k = 0; k < adjacencySizes[p]; k++) {
+                        final int t = adjacency[p][k];
+
+                        if (contains(t, q)) {
+                            addBoundaryPlane(p, q, t);
+                            break;
+                        }
+                    }
+                }
+
+                i = j;
+            }
+        }
+
+        private void addBoundaryPlane(int p, int q, int t) {
+            final int a = triangles[t * 3], b = triangles[t * 3 + 1], c = triangles[t * 3 + 2];
+            final double[] n = normal(a, b, c);
+
+            final double ex = positions[q * 3] - positions[p * 3];
+            final double ey = positions[q * 3 + 1] - positions[p * 3 + 1];
+            final double ez = positions[q * 3 + 2] - positions[p * 3 + 2];
+
+            // The plane contains the edge, and is perpendicular to the triangle
+            double px = ey * n[2] - ez * n[1];
+            double py = ez * n[0] - ex * n[2];
+            double pz = ex * n[1] - ey * n[0];
+
+            final double length = Math.sqrt(px * px + py * py + pz * pz);
+            if (length == 0) return;
+
+            px /= length;
+            py /= length;
+            pz /= length;
+
+            final double d = -(px * positions[p * 3] + py * positions[p * 3 + 1] + pz * positions[p * 3 + 2]);
+
+            addPlane(p, px, py, pz, d, BOUNDARY_WEIGHT);
+            addPlane(q, px, py, pz, d, BOUNDARY_WEIGHT);
+        }
+
+        /**
+         * Adds the quadric of a plane to a point. Quadrics are stored as the upper triangle
+         * of a symmetric 4x4 matrix: {@code aa, ab, ac, ad, bb, bc, bd, cc, cd, dd}.
+         */
+        private void addPlane(int p, double a, double b, double c, double d, double w) {
+            final int o = p * 10;
+
+            quadrics[o] += w * a * a;
+            quadrics[o + 1] += w * a * b;
+            quadrics[o + 2] += w * a * c;
+            quadrics[o + 3] += w * a * d;
+            quadrics[o + 4] += w * b * b;
+            quadrics[o + 5] += w * b * c;
+            quadrics[o + 6] += w * b * d;
+            quadrics[o + 7] += w * c * c;
+            quadrics[o + 8] += w * c * d;
+            quadrics[o + 9] += w * d * d;
+        }
+
+        private static double error(@Nonnull double[] q, double x, double y, double z) {
+            return q[0] * x * x + 2 * q[1] * x * y + 2 * q[2] * x * z + 2 * q[3] * x
+                    + q[4] * y * y + 2 * q[5] * y * z + 2 * q[6] * y
+                    + q[7] * z * z + 2 * q[8] * z
+                    + q[9];
+        }
+
+        //
+        // Collapses
+        //
+
+        /**
+         * Queues the collapse of an edge at the position which minimizes the combined quadric of its points.
+         * If the quadric is singular, the best of the endpoints and the midpoint is used instead.
+         */
+        private void push(int a, int b) {
+            final double[] q = new double[10];
+            for (int i = 0; i < 10; i++) q[i] = quadrics[a * 10 + i] + quadrics[b * 10 + i];
+
+            // Solve the 3x3 system [aa ab ac; ab bb bc; ac bc cc] * v = -[ad bd cd] by Cramer's rule
+            final double det = q[0] * (q[4] * q[7] - q[5] * q[5])
+                    - q[1] * (q[1] * q[7] - q[5] * q[2])
+                    + q[2] * (q[1] * q[5] - q[4] * q[2]);
+
+            double x, y, z;
+
+            if (Math.abs(det) > 1e-12) {
+                final double r0 = -q[3], r1 = -q[6], r2 = -q[8];
+
+                x = (r0 * (q[4] * q[7] - q[5] * q[5]) - q[1] * (r1 * q[7] - q[5] * r2) + q[2] * (r1 * q[5] - q[4] * r2)) / det;
+                y = (q[0] * (r1 * q[7] - q[5] * r2) - r0 * (q[1] * q[7] - q[5] * q[2]) + q[2] * (q[1] * r2 - r1 * q[2])) / det;
+                z = (q[0] * (q[4] * r2 - r1 * q[5]) - q[1] * (q[1] * r2 - r1 * q[2]) + r0 * (q[1] * q[5] - q[4] * q[2])) / det;
+            } else {
+                x = positions[a * 3];
+                y = positions[a * 3 + 1];
+                z = positions[a * 3 + 2];
+
+                double best = error(q, x, y, z);
+
+                final double bx = positions[b * 3], by = positions[b * 3 + 1], bz = positions[b * 3 + 2];
+                final double eb = error(q, bx, by, bz);
+
+                if (eb < best) {
+                    best = eb;
+                    x = bx;
+                    y = by;
+                    z = bz;
+                }
+
+                final double mx = (positions[a * 3] + bx) / 2;
+                final double my = (positions[a * 3 + 1] + by) / 2;
+                final double mz = (positions[a * 3 + 2] + bz) / 2;
+
+                if (error(q, mx, my, mz) < best) {
+                    x = mx;
+                    y = my;
+                    z = mz;
+                }
+            }
+
+            final double cost = Math.max(0, error(q, x, y, z));
+            queue.add(new Candidate(cost, a, b, stamps[a], stamps[b], x, y, z));
+        }
+
+        /**
+         * Merges point B of a candidate into point A.
+         */
+        private void collapse(@Nonnull Candidate c) {
+            final int a = c.a, b = c.b;
+
+            if (flips(a, b, c.x, c.y, c.z) || flips(b, a, c.x, c.y, c.z)) return;
+
+            positions[a * 3] = c.x;
+            positions[a * 3 + 1] = c.y;
+            positions[a * 3 + 2] = c.z;
+
+            for (int i = 0; i < 10; i++) quadrics[a * 10 + i] += quadrics[b * 10 + i];
+
+            alive[b] = false;
+            stamps[a]++;
+            stamps[b]++;
+            maxCost = Math.max(maxCost, c.cost);
+
+            // Triangles around B now refer to A, unless they contained the collapsed edge
+            for (int i = 0; i < adjacencySizes[b]; i++) {
+                final int t = adjacency[b][i];
+                if (!triangleAlive[t]) continue;
+
+                if (contains(t, a)) {
+                    triangleAlive[t] = false;
+                    liveTriangles--;
+                    continue;
+                }
+
+                for (int k = 0; k < 3; k++) {
+                    if (triangles[t * 3 + k] == b) triangles[t * 3 + k] = a;
+                }
+
+                attach(a, t);
+            }
+
+            adjacency[b] = null;
+            adjacencySizes[b] = 0;
+            compact(a);
+
+            // Queue the edges around A again, as its position and quadric have changed
+            for (int i = 0; i < adjacencySizes[a]; i++) {
+                final int t = adjacency[a][i];
+
+                for (int k = 0; k < 3; k++) {
+                    final int p = triangles[t * 3 + k];
+                    if (p != a) push(a, p);
+                }
+            }
+        }
+
+        /**
+         * Checks if moving a point to a new position would flip any of its triangles
+         * which do not also contain {@code other}. Triangles which are already degenerate
+         * have no orientation to flip, and never prevent a collapse.
+         */
+        private boolean flips(int point, int other, double x, double y, double z) {
+            for (int i = 0; i < adjacencySizes[point]; i++) {
+                final int t = adjacency[point][i];
+                if (!triangleAlive[t] || contains(t, other)) continue;
+
+                final int a = triangles[t * 3], b = triangles[t * 3 + 1], c = triangles[t * 3 + 2];
+
+                final double[] before = normal(a, b, c);
+                if (before[0] == 0 && before[1] == 0 && before[2] == 0) continue;
+
+                final double[] after = moved(a, b, c, point, x, y, z);
+
+                if (before[0] * after[0] + before[1] * after[1] + before[2] * after[2] <= 0) return true;
+            }
+
+            return false;
+        }
+
+        /**
+         * Gets the normal of a triangle with one point moved.
+         */
+        @Nonnull
+        private double[] moved(int a, int b, int c, int point, double x, double y, double z) {
+            final double[] p = new double[9];
+            final int[] corners = {a, b, c};
+
+            for (int k = 0; k < 3; k++) {
+                final int v = corners[k];
+                p[k * 3] = v == point ? x : positions[v * 3];
+                p[k * 3 + 1] = v == point ? y : positions[v * 3 + 1];
+                p[k * 3 + 2] = v == point ? z : positions[v * 3 + 2];
+            }
+
+            return cross(p[3] - p[0], p[4] - p[1], p[5] - p[2], p[6] - p[0], p[7] - p[1], p[8] - p[2]);
+        }
+
+        /**
+         * Gets the normal {@code (b - a) x (c - a)} of a triangle.
+         */
+        @Nonnull
+        private double[] normal(int a, int b, int c) {
+            return moved(a, b, c, -1, 0, 0, 0);
+        }
+
+        @Nonnull
+        private static double[] cross(double ux, double uy, double uz, double vx, double vy, double vz) {
+            return new double[]{uy * vz - uz * vy, uz * vx - ux * vz, ux * vy - uy * vx};
+        }
+
+        private boolean contains(int t, int p) {
+            return triangles[t * 3] == p || triangles[t * 3 + 1] == p || triangles[t * 3 + 2] == p;
+        }
+
+        //
+        // Adjacency
+        //
+
+        private void attach(int p, int t) {
+            if (adjacencySizes[p] == adjacency[p].length) {
+                adjacency[p] = Arrays.copyOf(adjacency[p], adjacency[p].length * 2);
+            }
+
+            adjacency[p][adjacencySizes[p]++] = t;
+        }
+
+        /**
+         * Removes dead and duplicate triangles from the adjacency list of a point.
+         */
+        private void compact(int p) {
+            final int[] list = adjacency[p];
+            int size = 0;
+
+            for (int i = 0; i < adjacencySizes[p]; i++) {
+                final int t = list[i];
+                if (!triangleAlive[t]) continue;
+
+                boolean duplicate = false;
+                for (int j = 0; j < size && !duplicate; j++) duplicate = list[j] == t;
+
+                if (!duplicate) list[size++] = t;
+            }
+
+            adjacencySizes[p] = size;
+        }
+
+        /**
+         * Gets the edges of every triangle, packed as {@code min << 32 | max} and sorted.
+         * Edges shared by several triangles appear once for each of them.
+         */
+        @Nonnull
+        private long[] edges() {
+            final long[] edges = new long[triangles.length];
+
+            for (int t = 0; t < triangles.length / 3; t++) {
+                for (int k = 0; k < 3; k++) {
+                    final int p = triangles[t * 3 + k];
+                    final int q = triangles[t * 3 + (k + 1) % 3];
+                    edges[t * 3 + k] = key(Math.min(p, q), Math.max(p, q));
+                }
+            }
+
+            Arrays.sort(edges);
+            return edges;
+        }
+
+        @Nonnull
+        private static long[] distinct(@Nonnull long[] sorted) {
+            final long[] result = new long[sorted.length];
+            int size = 0;
+
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) result[size++] = sorted[i];
+            }
+
+            return Arrays.copyOf(result, size);
+        }
+
+        private static long key(int p, int q) {
+            return ((long) p << 32) | (q & 0xffffffffL);
+        }
+
+        //
+        // Output
+        //
+
+        /**
+         * Copies the current state into a new mesh, keeping only the points still in use.
+         */
+        @Nonnull
+        private IndexedMesh snapshot() {
+            final int[] remap = new int[alive.length];
+            Arrays.fill(remap, -1);
+
+            final int[] indices = new int[liveTriangles * 3];
+            final int[] colors = new int[liveTriangles];
+            int pointCount = 0;
+            int vertexCount = 0;
+
+            for (int t = 0; t < triangleAlive.length; t++) {
+                if (!triangleAlive[t]) continue;
+
+                for (int k = 0; k < 3; k++) {
+                    final int p = triangles[t * 3 + k];
+                    if (remap[p] < 0) remap[p] = pointCount++;
+                    indices[vertexCount * 3 + k] = remap[p];
+                }
+
+                colors[vertexCount++] = source.color(t);
+            }
+
+            if (source.singlePrecision()) {
+                final float[] out = new float[pointCount * 3];
+
+                for (int p = 0; p < remap.length; p++) {
+                    if (remap[p] < 0) continue;
+                    for (int k = 0; k < 3; k++) out[remap[p] * 3 + k] = (float) positions[p * 3 + k];
+                }
+
+                return new IndexedMesh(out, indices, colors);
+            }
+
+            final double[] out = new double[pointCount * 3];
+
+            for (int p = 0; p < remap.length; p++) {
+                if (remap[p] < 0) continue;
+                System.arraycopy(positions, p * 3, out, remap[p] * 3, 3);
+            }
+
+            return new IndexedMesh(out, indices, colors);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package civitas.celestis.graphics.model;
+
+import civitas.celestis.graphics.vertex.ColoredVertex;
+import civitas.celestis.graphics.vertex.Vertex;
+import civitas.celestis.math.matrix.Matrix4;
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.vector.Vector3;
+import jakarta.annotation.Nonnull;
+
+import java.awt.*;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * <h2>ModelTransform</h2>
+ * <p>
+ * A transformation stage for a {@link Model}.
+ * Vertices of a model share point instances, but {@link Vertex#transform(Matrix4)} transforms each vertex
+ * independently, which transforms every shared point once per vertex using it.
+ * This stage indexes the distinct points of a model once, then transforms each point exactly once per call,
+ * and rebuilds the vertices from the transformed points. The cost of a transformation is therefore
+ * proportional to the number of points rather than three times the number of vertices.
+ * </p>
+ * <p>
+ * Large models are transformed in parallel on a {@link ForkJoinPool}.
+ * Instances are immutable after construction, and can be shared between threads.
+ * </p>
+ */
+public final class ModelTransform {
+    //
+    // Constants
+    //
+
+    /**
+     * The minimum number of points or vertices for work to be split between threads.
+     * Below this, the overhead of forking outweighs the work.
+     */
+    public static final int PARALLEL_THRESHOLD = 8192;
+
+    /**
+     * The number of points or vertices processed by each parallel task.
+     */
+    private static final int CHUNK_SIZE = 4096;
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new transformation stage which transforms large models in the common fork-join pool.
+     *
+     * @param model Model to transform
+     * @throws IllegalArgumentException When the model contains vertices which are not {@link ColoredVertex colored}
+     */
+    public ModelTransform(@Nonnull Model model) throws IllegalArgumentException {
+        this(model, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new transformation stage.
+     *
+     * @param model Model to transform
+     * @param pool  Pool to transform large models in
+     * @throws IllegalArgumentException When the model contains vertices which are not {@link ColoredVertex colored}
+     */
+    public ModelTransform(@Nonnull Model model, @Nonnull ForkJoinPool pool) throws IllegalArgumentException {
+        this.pool = pool;
+
+        // Meshes are already indexed, and other models are indexed by converting them to one
+        final IndexedMesh mesh = model instanceof IndexedMesh m ? m : new IndexedMesh(model, false);
+
+        this.positions = new double[mesh.getPointCount() * 3];
+        this.triangles = new int[mesh.getVertexCount() * 3];
+        this.colors = new Color[mesh.getVertexCount()];
+
+        for (int i = 0; i < mesh.getPointCount(); i++) {
+            positions[i * 3] = mesh.x(i);
+            positions[i * 3 + 1] = mesh.y(i);
+            positions[i * 3 + 2] = mesh.z(i);
+        }
+
+        mesh.indices().get(triangles);
+
+        for (int i = 0; i < colors.length; i++) {
+            colors[i] = new Color(mesh.color(i), true);
+        }
+    }
+
+    //
+    // Variables
+    //
+
+    /**
+     * Untransformed points, as consecutive X, Y and Z components.
+     */
+    @Nonnull
+    private final double[] positions;
+
+    /**
+     * Indices of the points of each vertex.
+     */
+    @Nonnull
+    private final int[] triangles;
+
+    /**
+     * Colors of each vertex.
+     */
+    @Nonnull
+    private final Color[] colors;
+
+    @Nonnull
+    private final ForkJoinPool pool;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the number of distinct points of the model.
+     *
+     * @return Number of points
+     */
+    public int getPointCount() {
+        return positions.length / 3;
+    }
+
+    /**
+     * Gets the number of vertices of the model.
+     *
+     * @return Number of vertices
+     */
+    public int getVertexCount() {
+        return colors.length;
+    }
+
+    /**
+     * Gets the indices of the points of each vertex, as consecutive triples.
+     * Indices refer to the points written by {@link #transformPoints(Matrix4, double[])}.
+     *
+     * @return Copy of point indices
+     */
+    @Nonnull
+    public int[] getIndices() {
+        return triangles.clone();
+    }
+
+    //
+    // Transformation
+    //
+
+    /**
+     * Transforms the model. This is equivalent to calling {@link Vertex#transform(Vector3, Quaternion, double)}
+     * on every vertex, except that each point is transformed once.
+     *
+     * @param origin New origin
+     * @param rq     Rotation quaternion to apply
+     * @param scale  Scale to inflate by (set to 1 for no inflation)
+     * @return Immutable list of transformed vertices, in the order of the model
+     */
+    @Nonnull
+    public List<Vertex> transform(@Nonnull Vector3 origin, @Nonnull Quaternion rq, double scale) {
+        return transform(Matrix4.transform(origin, rq, scale));
+    }
+
+    /**
+     * Transforms the model. This is equivalent to calling {@link Vertex#transform(Matrix4)}
+     * on every vertex, except that each point is transformed once.
+     * Transformed vertices share point instances the same way the vertices of the model do.
+     *
+     * @param m Transformation matrix
+     * @return Immutable list of transformed vertices, in the order of the model
+     */
+    @Nonnull
+    public List<Vertex> transform(@Nonnull Matrix4 m) {
+        final double[] transformed = transformPoints(m, new double[positions.length]);
+
+        final Vector3[] points = new Vector3[getPointCount()];
+        final Vertex[] vertices = new Vertex[getVertexCount()];
+
+        // Points must all exist before vertices can refer to them
+        forEachChunk(points.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                points[i] = new Vector3(transformed[i * 3], transformed[i * 3 + 1], transformed[i * 3 + 2]);
+            }
+        });
+
+        forEachChunk(vertices.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                vertices[i] = new ColoredVertex(
+                        points[triangles[i * 3]],
+                        points[triangles[i * 3 + 1]],
+                        points[triangles[i * 3 + 2]],
+                        colors[i]
+                );
+            }
+        });
+
+        return List.of(vertices);
+    }
+
+    /**
+     * Transforms every distinct point of the model without allocating.
+     * If the matrix is not affine, each result is divided by its homogeneous component.
+     *
+     * @param m   Transformation matrix
+     * @param out Array to write consecutive X, Y and Z components to, indexed as by {@link #getIndices()}
+     * @return {@code out}
+     * @throws IllegalArgumentException When the array is too small to hold every point
+     */
+    @Nonnull
+    public double[] transformPoints(@Nonnull Matrix4 m, @Nonnull double[] out) throws IllegalArgumentException {
+        if (out.length < positions.length) {
+            throw new IllegalArgumentException("Array must hold at least " + positions.length + " values.");
+        }
+
+        final double m00 = m.get(0, 0), m01 = m.get(0, 1), m02 = m.get(0, 2), m03 = m.get(0, 3);
+        final double m10 = m.get(1, 0), m11 = m.get(1, 1), m12 = m.get(1, 2), m13 = m.get(1, 3);
+        final double m20 = m.get(2, 0), m21 = m.get(2, 1), m22 = m.get(2, 2), m23 = m.get(2, 3);
+        final double m30 = m.get(3, 0), m31 = m.get(3, 1), m32 = m.get(3, 2), m33 = m.get(3, 3);
+        final boolean affine = m.affine();
+
+        forEachChunk(getPointCount(), (from, to) -> {
+            for (int i = from * 3; i < to * 3; i += 3) {
+                final double x = positions[i];
+                final double y = positions[i + 1];
+                final double z = positions[i + 2];
+
+                // Multiplying by one is exact, so affine results match Matrix4.multiply(Vector3)
+                final double iw = affine ? 1 : 1 / (m30 * x + m31 * y + m32 * z + m33);
+
+                out[i] = (m00 * x + m01 * y + m02 * z + m03) * iw;
+                out[i + 1] = (m10 * x + m11 * y + m12 * z + m13) * iw;
+                out[i + 2] = (m20 * x + m21 * y + m22 * z + m23) * iw;
+            }
+        });
+
+        return out;
+    }
+
+    //
+    // Helpers
+    //
+
+    /**
+     * A task which processes the range {@code [from, to)}.
+     */
+    @FunctionalInterface
+    private interface RangeTask {
+        void run(int from, int to);
+    }
+
+    /**
+     * Runs a task over {@code [0, count)}, splitting the range into chunks processed in parallel
+     * if it is at least {@link #PARALLEL_THRESHOLD} long.
+     */
+    private void forEachChunk(int count, @Nonnull RangeTask task) {
+        if (count < PARALLEL_THRESHOLD) {
+            task.run(0, count);
+            return;
+        }
+
+        final int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            final int from = chunk * CHUNK_SIZE;
+            task.run(from, Math.min(count, from + CHUNK_SIZE));
+        })).join();
+    }
+
+    /**
+     * Serializes this transformation stage into a string.
+     *
+     * @return Serialized string of {@code this}
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "ModelTransform{" +
+                "points=" + getPointCount() +
+                ", vertices=" + getVertexCount() +
+                '}';
+    }
+}
@@ -0,0 +1,216 @@
+package civitas.celestis.graphics.ray;
+
+import civitas.celestis.math.vector.Vector3;
+import jakarta.annotation.Nonnull;
+
+import java.util.Arrays;
+
+/**
+ * <h2>RayPacket</h2>
+ * <p>
+ * A fixed-size group of rays stored as arrays of components, which can be intersected with a triangle at once.
+ * Typical packets hold four or eight rays.
+ * Packets of coherent rays (such as neighbouring pixels) amortize loading the triangle across every ray.
+ * </p>
+ * <p>
+ * Each ray of the packet also holds the closest hit found so far:
+ * its distance {@link #t(int)}, barycentric coordinates {@link #u(int)} and {@link #v(int)},
+ * and the identifier of the triangle which was hit. Intersection tests only overwrite closer hits,
+ * so a packet can be tested against many triangles, then read once.
+ * </p>
+ */
+public final class RayPacket {
+    /**
+     * The identifier of a ray which has not hit anything.
+     */
+    public static final int NO_HIT = -1;
+
+    /**
+     * Creates a new packet. Every ray is initialized with its origin at zero and a zero direction,
+     * which does not hit anything.
+     *
+     * @param size Number of rays in this packet
+     * @throws IllegalArgumentException When the size is not positive
+     */
+    public RayPacket(int size) throws IllegalArgumentException {
+        if (size <= 0) throw new IllegalArgumentException("Packet size must be positive.");
+
+        this.ox = new double[size];
+        this.oy = new double[size];
+        this.oz = new double[size];
+        this.dx = new double[size];
+        this.dy = new double[size];
+        this.dz = new double[size];
+        this.t = new double[size];
+        this.u = new double[size];
+        this.v = new double[size];
+        this.hit = new int[size];
+
+        reset();
+    }
+
+    private final double[] ox, oy, oz;
+    private final double[] dx, dy, dz;
+    private final double[] t, u, v;
+    private final int[] hit;
+
+    //
+    // Rays
+    //
+
+    /**
+     * Gets the number of rays in this packet.
+     *
+     * @return Number of rays
+     */
+    public int size() {
+        return t.length;
+    }
+
+    /**
+     * Sets the ray at given index. This does not reset its hit.
+     *
+     * @param i   Index of ray
+     * @param ray Ray to copy
+     */
+    public void set(int i, @Nonnull Ray ray) {
+        set(i, ray.origin(), ray.direction());
+    }
+
+    /**
+     * Sets the ray at given index. This does not reset its hit.
+     *
+     * @param i         Index of ray
+     * @param origin    Origin of ray
+     * @param direction Direction of ray
+     */
+    public void set(int i, @Nonnull Vector3 origin, @Nonnull Vector3 direction) {
+        ox[i] = origin.x();
+        oy[i] = origin.y();
+        oz[i] = origin.z();
+        dx[i] = direction.x();
+        dy[i] = direction.y();
+        dz[i] = direction.z();
+    }
+
+    //
+    // Hits
+    //
+
+    /**
+     * Clears the hit of every ray.
+     */
+    public void reset() {
+        reset(Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Clears the hit of every ray, and limits the distance of future hits.
+     *
+     * @param maxDistance Maximum distance along each ray, in multiples of its direction
+     */
+    public void reset(double maxDistance) {
+        Arrays.fill(t, maxDistance);
+        Arrays.fill(u, 0);
+        Arrays.fill(v, 0);
+        Arrays.fill(hit, NO_HIT);
+    }
+
+    /**
+     * Gets the identifier of the triangle the ray at given index has hit.
+     *
+     * @param i Index of ray
+     * @return Identifier of triangle, or {@link #NO_HIT} if nothing has been hit
+     */
+    public int hit(int i) {
+        return hit[i];
+    }
+
+    /**
+     * Gets the distance of the closest hit of the ray at given index, in multiples of its direction.
+     * If nothing has been hit, this is the maximum distance given to {@link #reset(double)}.
+     *
+     * @param i Index of ray
+     * @return Distance to hit
+     */
+    public double t(int i) {
+        return t[i];
+    }
+
+    /**
+     * Gets the barycentric coordinate of point B of the closest hit of the ray at given index.
+     *
+     * @param i Index of ray
+     * @return Barycentric coordinate of point B
+     */
+    public double u(int i) {
+        return u[i];
+    }
+
+    /**
+     * Gets the barycentric coordinate of point C of the closest hit of the ray at given index.
+     *
+     * @param i Index of ray
+     * @return Barycentric coordinate of point C
+     */
+    public double v(int i) {
+        return v[i];
+    }
+
+    //
+    // Intersection
+    //
+
+    /**
+     * Intersects every ray of this packet with a triangle using the Möller–Trumbore algorithm,
+     * keeping the closer of the existing and the new hit.
+     * The triangle is given in the layout of {@link civitas.celestis.graphics.Solids#intersect(double, double, double, double, double, double, double[], int, double, double[])}.
+     *
+     * @param triangle Array containing point A, edge AB and edge AC of the triangle
+     * @param offset   Index of the first value of the triangle
+     * @param id       Identifier of the triangle, recorded for rays which hit it
+     * @return Number of rays whose closest hit is now this triangle
+     */
+    public int intersect(@Nonnull double[] triangle, int offset, int id) {
+        final double ax = triangle[offset], ay = triangle[offset + 1], az = triangle[offset + 2];
+        final double e1x = triangle[offset + 3], e1y = triangle[offset + 4], e1z = triangle[offset + 5];
+        final double e2x = triangle[offset + 6], e2y = triangle[offset + 7], e2z = triangle[offset + 8];
+
+        int hits = 0;
+
+        // The triangle is loaded once, and every lane performs the same arithmetic
+        for (int i = 0; i < t.length; i++) {
+            // P = D x E2
+            final double px = dy[i] * e2z - dz[i] * e2y;
+            final double py = dz[i] * e2x - dx[i] * e2z;
+            final double pz = dx[i] * e2y - dy[i] * e2x;
+
+            final double inv = 1 / (e1x * px + e1y * py + e1z * pz);
+
+            // T = O - A
+            final double tx = ox[i] - ax;
+            final double ty = oy[i] - ay;
+            final double tz = oz[i] - az;
+
+            // Q = T x E1
+            final double qx = ty * e1z - tz * e1y;
+            final double qy = tz * e1x - tx * e1z;
+            final double qz = tx * e1y - ty * e1x;
+
+            final double lu = (tx * px + ty * py + tz * pz) * inv;
+            final double lv = (dx[i] * qx + dy[i] * qy + dz[i] * qz) * inv;
+            final double lt = (e2x * qx + e2y * qy + e2z * qz) * inv;
+
+            // A parallel ray divides by zero, producing values which fail these comparisons
+            if (lu >= 0 && lv >= 0 && lu + lv <= 1 && lt >= 0 && lt < t[i]) {
+                t[i] = lt;
+                u[i] = lu;
+                v[i] = lv;
+                hit[i] = id;
+                hits++;
+            }
+        }
+
+        return hits;
+    }
+}
@@ -1,7 +1,9 @@
 package civitas.celestis.graphics.vertex;
 
 import civitas.celestis.graphics.Colors;
+import civitas.celestis.math.matrix.Matrix4;
 import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.vector.MutableVector3;
 import civitas.celestis.math.vector.Vector3;
 import civitas.celestis.util.group.Tuple;
 import jakarta.annotation.Nonnull;
@@ -254,14 +256,23 @@ public class ColoredVertex implements Vertex {
     @Nonnull
     @Override
     public Vertex transform(@Nonnull Vector3 origin, @Nonnull Quaternion rq, double scale) {
+        // Reuse a single scratch vector so that only the resulting points are allocated
+        final MutableVector3 p = new MutableVector3();
+
         return new ColoredVertex(
-                a.subtract(origin).rotate(rq).multiply(scale),
-                b.subtract(origin).rotate(rq).multiply(scale),
-                c.subtract(origin).rotate(rq).multiply(scale),
+                a.subtractInto(origin, p).rotate(rq).multiply(scale).toVector3(),
+                b.subtractInto(origin, p).rotate(rq).multiply(scale).toVector3(),
+                c.subtractInto(origin, p).rotate(rq).multiply(scale).toVector3(),
                 color
         );
     }
 
+    @Nonnull
+    @Override
+    public Vertex transform(@Nonnull Matrix4 m) {
+        return new ColoredVertex(m.multiply(a), m.multiply(b), m.multiply(c), color);
+    }
+
     //
     // Cloning
     //
@@ -1,5 +1,6 @@
 package civitas.celestis.graphics.vertex;
 
+import civitas.celestis.math.matrix.Matrix4;
 import civitas.celestis.math.quaternion.Quaternion;
 import civitas.celestis.math.vector.Vector3;
 import civitas.celestis.util.group.Tuple;
@@ -155,6 +156,24 @@ public interface Vertex extends Iterable<Vector3> {
     @Nonnull
     Vertex transform(@Nonnull Vector3 origin, @Nonnull Quaternion rq, double scale);
 
+    /**
+     * Transforms every point of this vertex by a matrix, then returns the resulting vertex.
+     * When many vertices share a transformation, building the matrix once
+     * (e.g. with {@link Matrix4#transform(Vector3, Quaternion, double)}) is faster than
+     * calling {@link Vertex#transform(Vector3, Quaternion, double)} on each vertex.
+     * <p>
+     * The default implementation multiplies {@link #a()}, {@link #b()} and {@link #c()}
+     * by the matrix through {@link #apply(UnaryOperator)}.
+     * </p>
+     *
+     * @param m Transformation matrix
+     * @return Resulting vertex
+     */
+    @Nonnull
+    default Vertex transform(@Nonnull Matrix4 m) {
+        return apply(m::multiply);
+    }
+
     //
     // Cloning
     //
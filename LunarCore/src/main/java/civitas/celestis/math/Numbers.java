@@ -1,5 +1,7 @@
 package civitas.celestis.math;
 
+import jakarta.annotation.Nonnull;
+
 /**
  * <h2>Numbers</h2>
  * <p>A numerical utility class.</p>
@@ -18,27 +20,66 @@ public final class Numbers {
     }
 
     /**
-     * Gets the inverse square root of given number.
+     * Denotes explicitly that a given field requires a finite value.
+     *
+     * @param v Value to check
+     * @return Value given as parameter
+     */
+    public static float requireFinite(float v) {
+        if (!Float.isFinite(v)) throw new IllegalArgumentException("Given field requires a finite float.");
+
+        return v;
+    }
+
+    //
+    // Roots
+    //
+
+    /**
+     * Gets the square root of given number, computed by the active {@link Precision precision policy}.
+     *
+     * @param x Number to square root
+     * @return Square root
+     */
+    public static double sqrt(double x) {
+        return precision.sqrt(x);
+    }
+
+    /**
+     * Gets the inverse square root of given number, computed by the active {@link Precision precision policy}.
      *
      * @param x Number to inverse square root
      * @return Inverse square root
      */
     public static double isqrt(double x) {
-        double result = x;
-        double xhalf = 0.5d * result;
-
-        long l = Double.doubleToLongBits(result);
-
-        // Fast inverse square root
-        l = 0x5fe6ec85e7de30daL - (l >> 1);
+        return precision.isqrt(x);
+    }
 
-        result = Double.longBitsToDouble(l);
+    //
+    // Precision
+    //
 
-        // 4 iterations of Newton's method
-        for (int i = 0; i < 4; i++) {
-            result = result * (1.5d - xhalf * result * result);
-        }
+    /**
+     * Gets the active precision policy.
+     *
+     * @return Precision policy
+     */
+    @Nonnull
+    public static Precision getPrecision() {
+        return precision;
+    }
 
-        return result;
+    /**
+     * Sets the precision policy used engine-wide.
+     * This should be set once before the engine starts, as threads which are already running
+     * are not guaranteed to observe the change immediately.
+     *
+     * @param precision Precision policy to use
+     */
+    public static void setPrecision(@Nonnull Precision precision) {
+        Numbers.precision = precision;
     }
+
+    @Nonnull
+    private static Precision precision = Precision.EXACT;
 }
@@ -0,0 +1,139 @@
+package civitas.celestis.math;
+
+/**
+ * <h2>Precision</h2>
+ * <p>
+ * A policy which determines how square roots and inverse square roots are computed.
+ * The active policy is selected engine-wide with {@link Numbers#setPrecision(Precision)},
+ * and is used by every vector magnitude and normalization.
+ * </p>
+ * <p>
+ * On HotSpot, {@link Math#sqrt(double)} is an intrinsic which compiles to a single instruction,
+ * so {@link #EXACT} is usually both the fastest and the most accurate policy.
+ * The approximate policies are kept for platforms without a hardware square root,
+ * and for reproducing results computed with them.
+ * The benchmarks in {@code NumbersBenchmark} should decide which policy to use.
+ * </p>
+ * <p>
+ * Custom policies can be implemented by extending this class.
+ * </p>
+ */
+public abstract class Precision {
+    //
+    // Policies
+    //
+
+    /**
+     * Computes roots exactly using {@link Math#sqrt(double)}.
+     * Results are correctly rounded.
+     */
+    public static final Precision EXACT = new Precision() {
+        @Override
+        public double sqrt(double x) {
+            return Math.sqrt(x);
+        }
+
+        @Override
+        public double isqrt(double x) {
+            return 1 / Math.sqrt(x);
+        }
+
+        @Override
+        public String toString() {
+            return "Precision{EXACT}";
+        }
+    };
+
+    /**
+     * Computes roots with the 64-bit fast inverse square root and four Newton iterations.
+     * This is the policy Lunar has historically used.
+     * The relative error is below {@code 1e-15}. (see {@link #approximate(int)})
+     */
+    public static final Precision FAST = approximate(4);
+
+    /**
+     * Computes roots in single precision, using the 32-bit fast inverse square root and two Newton iterations.
+     * The relative error is below {@code 5e-6}.
+     * Values outside the range of a {@code float} fall back to {@link #EXACT}.
+     */
+    public static final Precision FLOAT = new Precision() {
+        @Override
+        public double isqrt(double x) {
+            // Fall back when the value cannot be represented as a normal float
+            if (!(x >= Float.MIN_NORMAL && x <= Float.MAX_VALUE)) return EXACT.isqrt(x);
+
+            final float f = (float) x;
+            final float half = 0.5f * f;
+
+            float result = Float.intBitsToFloat(0x5f375a86 - (Float.floatToRawIntBits(f) >> 1));
+            result = result * (1.5f - half * result * result);
+            result = result * (1.5f - half * result * result);
+
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "Precision{FLOAT}";
+        }
+    };
+
+    /**
+     * Creates a policy which computes roots with the 64-bit fast inverse square root,
+     * refined by given number of Newton iterations.
+     * Each iteration roughly squares the relative error, which starts at about {@code 3.5e-2}.
+     *
+     * @param iterations Number of Newton iterations
+     * @return Approximate policy
+     * @throws IllegalArgumentException When the number of iterations is negative
+     */
+    public static Precision approximate(int iterations) throws IllegalArgumentException {
+        if (iterations < 0) throw new IllegalArgumentException("Iterations cannot be negative.");
+
+        return new Precision() {
+            @Override
+            public double isqrt(double x) {
+                final double xhalf = 0.5d * x;
+
+                // Fast inverse square root
+                double result = Double.longBitsToDouble(0x5fe6ec85e7de30daL - (Double.doubleToLongBits(x) >> 1));
+
+                // Newton's method
+                for (int i = 0; i < iterations; i++) {
+                    result = result * (1.5d - xhalf * result * result);
+                }
+
+                return result;
+            }
+
+            @Override
+            public String toString() {
+                return "Precision{iterations=" + iterations + "}";
+            }
+        };
+    }
+
+    //
+    // Methods
+    //
+
+    /**
+     * Gets the square root of given number.
+     * The default implementation multiplies the number by its inverse square root.
+     *
+     * @param x Number to square root
+     * @return Square root
+     */
+    public double sqrt(double x) {
+        if (x == 0) return 0;
+        return x * isqrt(x);
+    }
+
+    /**
+     * Gets the inverse square root of given number.
+     *
+     * @param x Number to inverse square root
+     * @return Inverse square root
+     */
+    public abstract double isqrt(double x);
+}
@@ -0,0 +1,344 @@
+package civitas.celestis.math.matrix;
+
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.math.vector.MutableVector3;
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Buffer;
+import jakarta.annotation.Nonnull;
+
+import java.io.Serializable;
+
+/**
+ * <h2>Matrix3</h2>
+ * <p>
+ * An immutable 3x3 matrix, used to represent linear transformations of three-dimensional vectors.
+ * </p>
+ * <p>
+ * A rotation matrix is built once from a {@link Quaternion} or {@link Rotation},
+ * after which rotating a vector costs nine multiplications,
+ * compared to two quaternion products for {@link Vector3#rotate(Quaternion)}.
+ * This pays off when the same rotation is applied to many vectors,
+ * such as every point of a model or a {@link Vector3Buffer}.
+ * </p>
+ */
+public final class Matrix3 implements Serializable {
+    //
+    // Constants
+    //
+
+    /**
+     * The identity matrix.
+     */
+    public static final Matrix3 IDENTITY = new Matrix3(
+            1, 0, 0,
+            0, 1, 0,
+            0, 0, 1
+    );
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new matrix. Values are given in row-major order.
+     *
+     * @param m00 Row 0, column 0
+     * @param m01 Row 0, column 1
+     * @param m02 Row 0, column 2
+     * @param m10 Row 1, column 0
+     * @param m11 Row 1, column 1
+     * @param m12 Row 1, column 2
+     * @param m20 Row 2, column 0
+     * @param m21 Row 2, column 1
+     * @param m22 Row 2, column 2
+     */
+    public Matrix3(
+            double m00, double m01, double m02,
+            double m10, double m11, double m12,
+            double m20, double m21, double m22
+    ) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+        this.m20 = m20;
+        this.m21 = m21;
+        this.m22 = m22;
+    }
+
+    //
+    // Factories
+    //
+
+    /**
+     * Creates a matrix which rotates vectors identically to {@link Vector3#rotate(Quaternion)}.
+     *
+     * @param rq Rotation quaternion
+     * @return Rotation matrix
+     */
+    @Nonnull
+    public static Matrix3 rotation(@Nonnull Quaternion rq) {
+        final double w = rq.w();
+        final double x = rq.x();
+        final double y = rq.y();
+        final double z = rq.z();
+
+        // Expansion of q' * v * q
+        return new Matrix3(
+                w * w + x * x - y * y - z * z, 2 * (x * y + w * z), 2 * (x * z - w * y),
+                2 * (x * y - w * z), w * w - x * x + y * y - z * z, 2 * (y * z + w * x),
+                2 * (x * z + w * y), 2 * (y * z - w * x), w * w - x * x - y * y + z * z
+        );
+    }
+
+    /**
+     * Creates a matrix which rotates vectors identically to {@link Vector3#rotate(Rotation)}.
+     *
+     * @param r Rotation
+     * @return Rotation matrix
+     */
+    @Nonnull
+    public static Matrix3 rotation(@Nonnull Rotation r) {
+        return rotation(r.quaternion());
+    }
+
+    /**
+     * Creates a uniform scaling matrix.
+     *
+     * @param s Scale
+     * @return Scaling matrix
+     */
+    @Nonnull
+    public static Matrix3 scale(double s) {
+        return new Matrix3(
+                s, 0, 0,
+                0, s, 0,
+                0, 0, s
+        );
+    }
+
+    //
+    // Variables
+    //
+
+    final double m00, m01, m02;
+    final double m10, m11, m12;
+    final double m20, m21, m22;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the value at given row and column.
+     *
+     * @param row    Index of row
+     * @param column Index of column
+     * @return Value of matrix
+     * @throws IndexOutOfBoundsException When the index is out of bounds
+     */
+    public double get(int row, int column) throws IndexOutOfBoundsException {
+        return switch (row * 3 + column) {
+            case 0 -> m00;
+            case 1 -> m01;
+            case 2 -> m02;
+            case 3 -> m10;
+            case 4 -> m11;
+            case 5 -> m12;
+            case 6 -> m20;
+            case 7 -> m21;
+            case 8 -> m22;
+            default -> throw new IndexOutOfBoundsException("Index out of bounds for 3x3 matrix.");
+        };
+    }
+
+    /**
+     * Gets the determinant of this matrix.
+     *
+     * @return Determinant
+     */
+    public double determinant() {
+        return m00 * (m11 * m22 - m12 * m21)
+                - m01 * (m10 * m22 - m12 * m20)
+                + m02 * (m10 * m21 - m11 * m20);
+    }
+
+    //
+    // Matrix-Vector Arithmetic
+    //
+
+    /**
+     * Multiplies a vector by this matrix.
+     *
+     * @param v Vector to transform
+     * @return Transformed vector
+     */
+    @Nonnull
+    public Vector3 multiply(@Nonnull Vector3 v) {
+        return multiply(v, new MutableVector3()).toVector3();
+    }
+
+    /**
+     * Multiplies a vector by this matrix, writing the result to {@code out}.
+     *
+     * @param v   Vector to transform
+     * @param out Vector to write the result to
+     * @return {@code out}
+     */
+    @Nonnull
+    public MutableVector3 multiply(@Nonnull Vector3 v, @Nonnull MutableVector3 out) {
+        return multiply(v.x(), v.y(), v.z(), out);
+    }
+
+    /**
+     * Multiplies a vector by this matrix, writing the result to {@code out}.
+     * {@code out} may be the vector given as parameter.
+     *
+     * @param v   Vector to transform
+     * @param out Vector to write the result to
+     * @return {@code out}
+     */
+    @Nonnull
+    public MutableVector3 multiply(@Nonnull MutableVector3 v, @Nonnull MutableVector3 out) {
+        return multiply(v.x(), v.y(), v.z(), out);
+    }
+
+    /**
+     * Multiplies a vector by this matrix, writing the result to {@code out}.
+     *
+     * @param x   X component of vector
+     * @param y   Y component of vector
+     * @param z   Z component of vector
+     * @param out Vector to write the result to
+     * @return {@code out}
+     */
+    @Nonnull
+    public MutableVector3 multiply(double x, double y, double z, @Nonnull MutableVector3 out) {
+        return out.set(
+                m00 * x + m01 * y + m02 * z,
+                m10 * x + m11 * y + m12 * z,
+                m20 * x + m21 * y + m22 * z
+        );
+    }
+
+    /**
+     * Multiplies every vector of a buffer by this matrix, in place.
+     *
+     * @param buffer Buffer to transform
+     * @return {@code buffer}
+     */
+    @Nonnull
+    public Vector3Buffer multiply(@Nonnull Vector3Buffer buffer) {
+        for (int i = 0; i < buffer.size(); i++) {
+            final double x = buffer.x(i);
+            final double y = buffer.y(i);
+            final double z = buffer.z(i);
+
+            buffer.set(
+                    i,
+                    m00 * x + m01 * y + m02 * z,
+                    m10 * x + m11 * y + m12 * z,
+                    m20 * x + m21 * y + m22 * z
+            );
+        }
+
+        return buffer;
+    }
+
+    //
+    // Matrix-Matrix Arithmetic
+    //
+
+    /**
+     * Multiplies this matrix by another matrix. ({@code this * m})
+     * The resulting matrix applies {@code m} first, then {@code this}.
+     *
+     * @param m Matrix to multiply with
+     * @return Resulting matrix
+     */
+    @Nonnull
+    public Matrix3 multiply(@Nonnull Matrix3 m) {
+        return new Matrix3(
+                m00 * m.m00 + m01 * m.m10 + m02 * m.m20,
+                m00 * m.m01 + m01 * m.m11 + m02 * m.m21,
+                m00 * m.m02 + m01 * m.m12 + m02 * m.m22,
+                m10 * m.m00 + m11 * m.m10 + m12 * m.m20,
+                m10 * m.m01 + m11 * m.m11 + m12 * m.m21,
+                m10 * m.m02 + m11 * m.m12 + m12 * m.m22,
+                m20 * m.m00 + m21 * m.m10 + m22 * m.m20,
+                m20 * m.m01 + m21 * m.m11 + m22 * m.m21,
+                m20 * m.m02 + m21 * m.m12 + m22 * m.m22
+        );
+    }
+
+    /**
+     * Multiplies every value of this matrix by a scalar.
+     *
+     * @param s Scalar to multiply by
+     * @return Resulting matrix
+     */
+    @Nonnull
+    public Matrix3 multiply(double s) {
+        return new Matrix3(
+                m00 * s, m01 * s, m02 * s,
+                m10 * s, m11 * s, m12 * s,
+                m20 * s, m21 * s, m22 * s
+        );
+    }
+
+    /**
+     * Gets the transpose of this matrix.
+     * The transpose of a rotation matrix is its inverse.
+     *
+     * @return Transpose
+     */
+    @Nonnull
+    public Matrix3 transpose() {
+        return new Matrix3(
+                m00, m10, m20,
+                m01, m11, m21,
+                m02, m12, m22
+        );
+    }
+
+    //
+    // Equality
+    //
+
+    /**
+     * Checks for equality.
+     *
+     * @param obj Object to compare to
+     * @return {@code true} if the values are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) return false;
+        if (!(obj instanceof Matrix3 m)) return false;
+        return m00 == m.m00 && m01 == m.m01 && m02 == m.m02 &&
+                m10 == m.m10 && m11 == m.m11 && m12 == m.m12 &&
+                m20 == m.m20 && m21 == m.m21 && m22 == m.m22;
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Serializes this matrix to a string.
+     *
+     * @return Stringified matrix
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "Matrix3{" +
+                "[" + m00 + ", " + m01 + ", " + m02 + "], " +
+                "[" + m10 + ", " + m11 + ", " + m12 + "], " +
+                "[" + m20 + ", " + m21 + ", " + m22 + "]" +
+                '}';
+    }
+}
@@ -0,0 +1,420 @@
+package civitas.celestis.math.matrix;
+
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.math.vector.MutableVector3;
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Buffer;
+import jakarta.annotation.Nonnull;
+
+import java.io.Serializable;
+
+/**
+ * <h2>Matrix4</h2>
+ * <p>
+ * An immutable 4x4 matrix, used to represent transformations of three-dimensional points
+ * in homogeneous coordinates. Unlike a {@link Matrix3}, it can also express translation and projection.
+ * </p>
+ * <p>
+ * Transformations are composed by multiplication, and the resulting matrix is applied in a single step.
+ * For example, {@link #transform(Vector3, Quaternion, double)} folds translation, rotation and scaling
+ * into one matrix, so that each point costs twelve multiply-adds regardless of how many steps were composed.
+ * </p>
+ */
+public final class Matrix4 implements Serializable {
+    //
+    // Constants
+    //
+
+    /**
+     * The identity matrix.
+     */
+    public static final Matrix4 IDENTITY = new Matrix4(
+            1, 0, 0, 0,
+            0, 1, 0, 0,
+            0, 0, 1, 0,
+            0, 0, 0, 1
+    );
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new matrix. Values are given in row-major order.
+     */
+    public Matrix4(
+            double m00, double m01, double m02, double m03,
+            double m10, double m11, double m12, double m13,
+            double m20, double m21, double m22, double m23,
+            double m30, double m31, double m32, double m33
+    ) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m03 = m03;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+        this.m13 = m13;
+        this.m20 = m20;
+        this.m21 = m21;
+        this.m22 = m22;
+        this.m23 = m23;
+        this.m30 = m30;
+        this.m31 = m31;
+        this.m32 = m32;
+        this.m33 = m33;
+    }
+
+    /**
+     * Creates a new affine matrix from a linear transformation and a translation.
+     * The linear transformation is applied first.
+     *
+     * @param linear      Linear transformation
+     * @param translation Translation
+     */
+    public Matrix4(@Nonnull Matrix3 linear, @Nonnull Vector3 translation) {
+        this(
+                linear.m00, linear.m01, linear.m02, translation.x(),
+                linear.m10, linear.m11, linear.m12, translation.y(),
+                linear.m20, linear.m21, linear.m22, translation.z(),
+                0, 0, 0, 1
+        );
+    }
+
+    //
+    // Factories
+    //
+
+    /**
+     * Creates a translation matrix.
+     *
+     * @param t Translation
+     * @return Translation matrix
+     */
+    @Nonnull
+    public static Matrix4 translation(@Nonnull Vector3 t) {
+        return new Matrix4(Matrix3.IDENTITY, t);
+    }
+
+    /**
+     * Creates a rotation matrix. (see {@link Matrix3#rotation(Quaternion)})
+     *
+     * @param rq Rotation quaternion
+     * @return Rotation matrix
+     */
+    @Nonnull
+    public static Matrix4 rotation(@Nonnull Quaternion rq) {
+        return new Matrix4(Matrix3.rotation(rq), Vector3.ZERO);
+    }
+
+    /**
+     * Creates a rotation matrix. (see {@link Matrix3#rotation(Rotation)})
+     *
+     * @param r Rotation
+     * @return Rotation matrix
+     */
+    @Nonnull
+    public static Matrix4 rotation(@Nonnull Rotation r) {
+        return rotation(r.quaternion());
+    }
+
+    /**
+     * Creates a uniform scaling matrix.
+     *
+     * @param s Scale
+     * @return Scaling matrix
+     */
+    @Nonnull
+    public static Matrix4 scale(double s) {
+        return new Matrix4(Matrix3.scale(s), Vector3.ZERO);
+    }
+
+    /**
+     * Creates a matrix which performs the following operations in sequence.
+     * This is equivalent to {@link civitas.celestis.graphics.vertex.Vertex#transform(Vector3, Quaternion, double)}.
+     * <ol>
+     *     <li>Translation to a coordinate system whose origin is {@code origin}</li>
+     *     <li>Rotation by {@code rq}</li>
+     *     <li>Inflation by {@code scale}</li>
+     * </ol>
+     *
+     * @param origin New origin
+     * @param rq     Rotation quaternion to apply
+     * @param scale  Scale to inflate by (set to 1 for no inflation)
+     * @return Transformation matrix
+     */
+    @Nonnull
+    public static Matrix4 transform(@Nonnull Vector3 origin, @Nonnull Quaternion rq, double scale) {
+        // s * R * (p - o) = (s * R) * p - (s * R) * o
+        final Matrix3 linear = Matrix3.rotation(rq).multiply(scale);
+        final MutableVector3 offset = linear.multiply(origin, new MutableVector3()).negate();
+
+        return new Matrix4(linear, offset.toVector3());
+    }
+
+    //
+    // Variables
+    //
+
+    private final double m00, m01, m02, m03;
+    private final double m10, m11, m12, m13;
+    private final double m20, m21, m22, m23;
+    private final double m30, m31, m32, m33;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the value at given row and column.
+     *
+     * @param row    Index of row
+     * @param column Index of column
+     * @return Value of matrix
+     * @throws IndexOutOfBoundsException When the index is out of bounds
+     */
+    public double get(int row, int column) throws IndexOutOfBoundsException {
+        return switch (row * 4 + column) {
+            case 0 -> m00;
+            case 1 -> m01;
+            case 2 -> m02;
+            case 3 -> m03;
+            case 4 -> m10;
+            case 5 -> m11;
+            case 6 -> m12;
+            case 7 -> m13;
+            case 8 -> m20;
+            case 9 -> m21;
+            case 10 -> m22;
+            case 11 -> m23;
+            case 12 -> m30;
+            case 13 -> m31;
+            case 14 -> m32;
+            case 15 -> m33;
+            default -> throw new IndexOutOfBoundsException("Index out of bounds for 4x4 matrix.");
+        };
+    }
+
+    /**
+     * Checks if this matrix is affine. (its bottom row is {@code [0, 0, 0, 1]})
+     * Affine matrices do not require a perspective divide.
+     *
+     * @return {@code true} if this matrix is affine
+     */
+    public boolean affine() {
+        return m30 == 0 && m31 == 0 && m32 == 0 && m33 == 1;
+    }
+
+    /**
+     * Gets the upper-left 3x3 linear part of this matrix.
+     *
+     * @return Linear part
+     */
+    @Nonnull
+    public Matrix3 linear() {
+        return new Matrix3(
+                m00, m01, m02,
+                m10, m11, m12,
+                m20, m21, m22
+        );
+    }
+
+    /**
+     * Gets the translation part of this matrix.
+     *
+     * @return Translation part
+     */
+    @Nonnull
+    public Vector3 translation() {
+        return new Vector3(m03, m13, m23);
+    }
+
+    //
+    // Matrix-Vector Arithmetic
+    //
+
+    /**
+     * Transforms a point by this matrix.
+     * If this matrix is not affine, the result is divided by its homogeneous component.
+     *
+     * @param v Point to transform
+     * @return Transformed point
+     */
+    @Nonnull
+    public Vector3 multiply(@Nonnull Vector3 v) {
+        return multiply(v.x(), v.y(), v.z(), new MutableVector3()).toVector3();
+    }
+
+    /**
+     * Transforms a point by this matrix, writing the result to {@code out}.
+     *
+     * @param v   Point to transform
+     * @param out Vector to write the result to
+     * @return {@code out}
+     */
+    @Nonnull
+    public MutableVector3 multiply(@Nonnull Vector3 v, @Nonnull MutableVector3 out) {
+        return multiply(v.x(), v.y(), v.z(), out);
+    }
+
+    /**
+     * Transforms a point by this matrix, writing the result to {@code out}.
+     * If this matrix is not affine, the result is divided by its homogeneous component.
+     *
+     * @param x   X component of point
+     * @param y   Y component of point
+     * @param z   Z component of point
+     * @param out Vector to write the result to
+     * @return {@code out}
+     */
+    @Nonnull
+    public MutableVector3 multiply(double x, double y, double z, @Nonnull MutableVector3 out) {
+        out.set(
+                m00 * x + m01 * y + m02 * z + m03,
+                m10 * x + m11 * y + m12 * z + m13,
+                m20 * x + m21 * y + m22 * z + m23
+        );
+
+        if (affine()) return out;
+
+        final double w = m30 * x + m31 * y + m32 * z + m33;
+        return out.divide(w);
+    }
+
+    /**
+     * Transforms every point of a buffer by this matrix, in place.
+     * If this matrix is not affine, each result is divided by its homogeneous component.
+     *
+     * @param buffer Buffer to transform
+     * @return {@code buffer}
+     */
+    @Nonnull
+    public Vector3Buffer multiply(@Nonnull Vector3Buffer buffer) {
+        final boolean affine = affine();
+
+        for (int i = 0; i < buffer.size(); i++) {
+            final double x = buffer.x(i);
+            final double y = buffer.y(i);
+            final double z = buffer.z(i);
+
+            final double tx = m00 * x + m01 * y + m02 * z + m03;
+            final double ty = m10 * x + m11 * y + m12 * z + m13;
+            final double tz = m20 * x + m21 * y + m22 * z + m23;
+
+            if (affine) {
+                buffer.set(i, tx, ty, tz);
+                continue;
+            }
+
+            final double w = m30 * x + m31 * y + m32 * z + m33;
+            buffer.set(i, tx / w, ty / w, tz / w);
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Transforms a direction by this matrix. Directions are not affected by translation or projection.
+     *
+     * @param v Direction to transform
+     * @return Transformed direction
+     */
+    @Nonnull
+    public Vector3 multiplyDirection(@Nonnull Vector3 v) {
+        return new Vector3(
+                m00 * v.x() + m01 * v.y() + m02 * v.z(),
+                m10 * v.x() + m11 * v.y() + m12 * v.z(),
+                m20 * v.x() + m21 * v.y() + m22 * v.z()
+        );
+    }
+
+    //
+    // Matrix-Matrix Arithmetic
+    //
+
+    /**
+     * Multiplies this matrix by another matrix. ({@code this * m})
+     * The resulting matrix applies {@code m} first, then {@code this}.
+     *
+     * @param m Matrix to multiply with
+     * @return Resulting matrix
+     */
+    @Nonnull
+    public Matrix4 multiply(@Nonnull Matrix4 m) {
+        return new Matrix4(
+                m00 * m.m00 + m01 * m.m10 + m02 * m.m20 + m03 * m.m30,
+                m00 * m.m01 + m01 * m.m11 + m02 * m.m21 + m03 * m.m31,
+                m00 * m.m02 + m01 * m.m12 + m02 * m.m22 + m03 * m.m32,
+                m00 * m.m03 + m01 * m.m13 + m02 * m.m23 + m03 * m.m33,
+                m10 * m.m00 + m11 * m.m10 + m12 * m.m20 + m13 * m.m30,
+                m10 * m.m01 + m11 * m.m11 + m12 * m.m21 + m13 * m.m31,
+                m10 * m.m02 + m11 * m.m12 + m12 * m.m22 + m13 * m.m32,
+                m10 * m.m03 + m11 * m.m13 + m12 * m.m23 + m13 * m.m33,
+                m20 * m.m00 + m21 * m.m10 + m22 * m.m20 + m23 * m.m30,
+                m20 * m.m01 + m21 * m.m11 + m22 * m.m21 + m23 * m.m31,
+                m20 * m.m02 + m21 * m.m12 + m22 * m.m22 + m23 * m.m32,
+                m20 * m.m03 + m21 * m.m13 + m22 * m.m23 + m23 * m.m33,
+                m30 * m.m00 + m31 * m.m10 + m32 * m.m20 + m33 * m.m30,
+                m30 * m.m01 + m31 * m.m11 + m32 * m.m21 + m33 * m.m31,
+                m30 * m.m02 + m31 * m.m12 + m32 * m.m22 + m33 * m.m32,
+                m30 * m.m03 + m31 * m.m13 + m32 * m.m23 + m33 * m.m33
+        );
+    }
+
+    /**
+     * Gets the transpose of this matrix.
+     *
+     * @return Transpose
+     */
+    @Nonnull
+    public Matrix4 transpose() {
+        return new Matrix4(
+                m00, m10, m20, m30,
+                m01, m11, m21, m31,
+                m02, m12, m22, m32,
+                m03, m13, m23, m33
+        );
+    }
+
+    //
+    // Equality
+    //
+
+    /**
+     * Checks for equality.
+     *
+     * @param obj Object to compare to
+     * @return {@code true} if the values are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) return false;
+        if (!(obj instanceof Matrix4 m)) return false;
+        return m00 == m.m00 && m01 == m.m01 && m02 == m.m02 && m03 == m.m03 &&
+                m10 == m.m10 && m11 == m.m11 && m12 == m.m12 && m13 == m.m13 &&
+                m20 == m.m20 && m21 == m.m21 && m22 == m.m22 && m23 == m.m23 &&
+                m30 == m.m30 && m31 == m.m31 && m32 == m.m32 && m33 == m.m33;
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Serializes this matrix to a string.
+     *
+     * @return Stringified matrix
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "Matrix4{" +
+                "[" + m00 + ", " + m01 + ", " + m02 + ", " + m03 + "], " +
+                "[" + m10 + ", " + m11 + ", " + m12 + ", " + m13 + "], " +
+                "[" + m20 + ", " + m21 + ", " + m22 + ", " + m23 + "], " +
+                "[" + m30 + ", " + m31 + ", " + m32 + ", " + m33 + "]" +
+                '}';
+    }
+}
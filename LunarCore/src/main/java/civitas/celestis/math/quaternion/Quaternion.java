@@ -4,10 +4,9 @@ import civitas.celestis.math.Numbers;
 import civitas.celestis.math.rotation.Rotation;
 import civitas.celestis.math.vector.Vector3;
 import civitas.celestis.math.vector.Vector4;
+import civitas.celestis.util.codec.TextCodec;
 import jakarta.annotation.Nonnull;
 
-import java.util.Arrays;
-
 /**
  * <h2>Quaternion</h2>
  * <p>Quaternions are used to represent the rotation of 3D vectors.</p>
@@ -71,6 +70,16 @@ public class Quaternion extends Vector4 {
         return new Vector3(x(), y(), z());
     }
 
+    /**
+     * Checks if this quaternion is the identity quaternion.
+     * Multiplying by or rotating by the identity quaternion has no effect.
+     *
+     * @return {@code true} if this is {@code [1, 0, 0, 0]}
+     */
+    public boolean isIdentity() {
+        return this == IDENTITY || (w() == 1 && x() == 0 && y() == 0 && z() == 0);
+    }
+
     //
     // Quaternion-Scalar Arithmetic
     //
@@ -127,9 +136,21 @@ public class Quaternion extends Vector4 {
      */
     @Nonnull
     public Quaternion multiply(@Nonnull Quaternion q) {
+        // Multiplying by the identity quaternion has no effect
+        if (q.isIdentity()) return this;
+        if (isIdentity()) return q;
+
+        final double w = w();
+        final double x = x();
+        final double y = y();
+        final double z = z();
+
+        // Expansion of (w * q.w - v . q.v, q.v * w + v * q.w + q.v x v)
         return new Quaternion(
-                (w() * q.w()) - vector().dot(q.vector()),
-                q.vector().multiply(w()).add(vector().multiply(q.w())).add(q.vector().cross(vector()))
+                w * q.w() - (x * q.x() + y * q.y() + z * q.z()),
+                q.x() * w + x * q.w() + (q.y() * z - q.z() * y),
+                q.y() * w + y * q.w() + (q.z() * x - q.x() * z),
+                q.z() * w + z * q.w() + (q.x() * y - q.y() * x)
         );
     }
 
@@ -202,28 +223,10 @@ public class Quaternion extends Vector4 {
      */
     @Nonnull
     public static Vector4 parseQuaternion(@Nonnull String s) throws NumberFormatException {
-        if (!s.startsWith("Quaternion{")) throw new NumberFormatException("Given string is not a quaternion.");
-
-        final String[] strings = s
-                .replaceAll("Quaternion\\{", "")
-                .replaceAll("}", "")
-                .split(", ");
-
-        final double[] values = {Double.NaN, Double.NaN, Double.NaN, Double.NaN};
-
-        Arrays.stream(strings).forEach(string -> {
-            final String[] split = string.split("=");
-            if (split.length != 2) throw new NumberFormatException("Given string is not a quaternion.");
-
-            switch (split[0]) {
-                case "w" -> values[0] = Double.parseDouble(split[1]);
-                case "x" -> values[1] = Double.parseDouble(split[1]);
-                case "y" -> values[2] = Double.parseDouble(split[1]);
-                case "z" -> values[3] = Double.parseDouble(split[1]);
-            }
-        });
+        final Quaternion result = TextCodec.parseQuaternion(s);
+        if (result == null) throw new NumberFormatException("Given string is not a quaternion.");
 
-        return new Vector4(values[0], values[1], values[2], values[3]);
+        return result;
     }
 
 
@@ -0,0 +1,215 @@
+package civitas.celestis.math.quaternion;
+
+import civitas.celestis.math.Numbers;
+import civitas.celestis.math.vector.Vector3f;
+import jakarta.annotation.Nonnull;
+
+import java.io.Serializable;
+
+/**
+ * <h2>Quaternionf</h2>
+ * <p>
+ * A quaternion of single precision, used to rotate {@link Vector3f single-precision vectors}.
+ * Conversion to a {@link Quaternion} is lossless.
+ * Conversion from a {@link Quaternion} rounds each component to the nearest {@code float}.
+ * </p>
+ */
+public final class Quaternionf implements Serializable {
+    //
+    // Constants
+    //
+
+    /**
+     * The identity quaternion.
+     */
+    public static final Quaternionf IDENTITY = new Quaternionf(1, 0, 0, 0);
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new quaternion.
+     *
+     * @param w W value of this quaternion
+     * @param x X value of this quaternion
+     * @param y Y value of this quaternion
+     * @param z Z value of this quaternion
+     */
+    public Quaternionf(float w, float x, float y, float z) {
+        this.w = Numbers.requireFinite(w);
+        this.x = Numbers.requireFinite(x);
+        this.y = Numbers.requireFinite(y);
+        this.z = Numbers.requireFinite(z);
+    }
+
+    /**
+     * Creates a new quaternion by rounding a double-precision quaternion.
+     *
+     * @param other Quaternion to convert
+     * @throws IllegalArgumentException When a component is out of the range of a {@code float}
+     */
+    public Quaternionf(@Nonnull Quaternion other) throws IllegalArgumentException {
+        this((float) other.w(), (float) other.x(), (float) other.y(), (float) other.z());
+    }
+
+    //
+    // Variables
+    //
+
+    private final float w;
+    private final float x;
+    private final float y;
+    private final float z;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the W value of this quaternion.
+     *
+     * @return W value
+     */
+    public float w() {return w;}
+
+    /**
+     * Gets the X value of this quaternion.
+     *
+     * @return X value
+     */
+    public float x() {return x;}
+
+    /**
+     * Gets the Y value of this quaternion.
+     *
+     * @return Y value
+     */
+    public float y() {return y;}
+
+    /**
+     * Gets the Z value of this quaternion.
+     *
+     * @return Z value
+     */
+    public float z() {return z;}
+
+    /**
+     * Gets the vector part of this quaternion.
+     *
+     * @return Vector part
+     */
+    @Nonnull
+    public Vector3f vector() {
+        return new Vector3f(x, y, z);
+    }
+
+    /**
+     * Gets the squared magnitude of this quaternion.
+     *
+     * @return Squared magnitude
+     */
+    public double magnitude2() {
+        return w * w + x * x + y * y + z * z;
+    }
+
+    //
+    // Quaternion-Quaternion Arithmetic
+    //
+
+    /**
+     * Multiplies this quaternion by another quaternion. (left-multiplication)
+     * This follows the same convention as {@link Quaternion#multiply(Quaternion)}.
+     *
+     * @param q Quaternion to multiply with
+     * @return Resulting quaternion
+     */
+    @Nonnull
+    public Quaternionf multiply(@Nonnull Quaternionf q) {
+        return new Quaternionf(
+                w * q.w - (x * q.x + y * q.y + z * q.z),
+                q.x * w + x * q.w + (q.y * z - q.z * y),
+                q.y * w + y * q.w + (q.z * x - q.x * z),
+                q.z * w + z * q.w + (q.x * y - q.y * x)
+        );
+    }
+
+    //
+    // Util
+    //
+
+    /**
+     * Gets the conjugate of this quaternion.
+     *
+     * @return Conjugate
+     */
+    @Nonnull
+    public Quaternionf conjugate() {
+        return new Quaternionf(w, -x, -y, -z);
+    }
+
+    /**
+     * Normalizes this quaternion to a unit quaternion.
+     *
+     * @return Normalized quaternion
+     */
+    @Nonnull
+    public Quaternionf normalize() {
+        final double m2 = magnitude2();
+        if (m2 == 0) return this;
+
+        final float s = (float) Numbers.isqrt(m2);
+        return new Quaternionf(w * s, x * s, y * s, z * s);
+    }
+
+    //
+    // Conversion
+    //
+
+    /**
+     * Converts this quaternion to a double-precision quaternion. This conversion is lossless.
+     *
+     * @return Double-precision quaternion
+     */
+    @Nonnull
+    public Quaternion toQuaternion() {
+        return new Quaternion(w, x, y, z);
+    }
+
+    //
+    // Equality
+    //
+
+    /**
+     * Checks for equality.
+     *
+     * @param obj Object to compare to
+     * @return {@code true} if the values are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) return false;
+        if (!(obj instanceof Quaternionf q)) return false;
+        return w == q.w && x == q.x && y == q.y && z == q.z;
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Serializes this quaternion to a string.
+     *
+     * @return Stringified quaternion
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "Quaternionf{" +
+                "w=" + w +
+                ", x=" + x +
+                ", y=" + y +
+                ", z=" + z +
+                '}';
+    }
+}
@@ -3,9 +3,9 @@ package civitas.celestis.math.rotation;
 import civitas.celestis.math.quaternion.Quaternion;
 import civitas.celestis.math.vector.Vector3;
 import civitas.celestis.math.vector.Vector4;
+import civitas.celestis.util.codec.TextCodec;
 import jakarta.annotation.Nonnull;
-
-import java.util.Arrays;
+import jakarta.annotation.Nullable;
 
 /**
  * <h2>Rotation</h2>
@@ -112,6 +112,7 @@ public class Rotation extends Vector4 {
      */
     @Nonnull
     public Rotation rotate(@Nonnull Rotation r) {
+        if (r.angle() == 0) return this; // Avoid computing the quaternion
         return rotate(r.quaternion());
     }
 
@@ -123,6 +124,7 @@ public class Rotation extends Vector4 {
      */
     @Nonnull
     public Rotation rotate(@Nonnull Quaternion rq) {
+        if (rq.isIdentity()) return this;
         return rq.multiply(quaternion()).rotation();
     }
 
@@ -133,9 +135,20 @@ public class Rotation extends Vector4 {
      */
     @Nonnull
     public Quaternion quaternion() {
-        return new Quaternion(Math.cos(w() / 2), axis().normalize().multiply(Math.sin(w() / 2)));
+        // Rotations are immutable, so the quaternion is computed once (racing threads compute equal values)
+        if (quaternion == null) {
+            // Rotations by zero radians share the identity quaternion
+            quaternion = w() == 0
+                    ? Quaternion.IDENTITY
+                    : new Quaternion(Math.cos(w() / 2), axis().multiply(Math.sin(w() / 2)));
+        }
+
+        return quaternion;
     }
 
+    @Nullable
+    private transient Quaternion quaternion;
+
     //
     // Serialization
     //
@@ -149,28 +162,10 @@ public class Rotation extends Vector4 {
      */
     @Nonnull
     public static Rotation parseRotation(@Nonnull String s) throws NumberFormatException {
-        if (!s.startsWith("Rotation{")) throw new NumberFormatException("Given string is not a rotation.");
-
-        final String[] strings = s
-                .replaceAll("Rotation\\{", "")
-                .replaceAll("}", "")
-                .split(", ");
-
-        final double[] values = {Double.NaN, Double.NaN, Double.NaN, Double.NaN};
-
-        Arrays.stream(strings).forEach(string -> {
-            final String[] split = string.split("=");
-            if (split.length != 2) throw new NumberFormatException("Given string is not a rotation.");
-
-            switch (split[0]) {
-                case "angle" -> values[0] = Double.parseDouble(split[1]);
-                case "x" -> values[1] = Double.parseDouble(split[1]);
-                case "y" -> values[2] = Double.parseDouble(split[1]);
-                case "z" -> values[3] = Double.parseDouble(split[1]);
-            }
-        });
+        final Rotation result = TextCodec.parseRotation(s);
+        if (result == null) throw new NumberFormatException("Given string is not a rotation.");
 
-        return new Rotation(new Vector3(values[1], values[2], values[3]), values[0]);
+        return result;
     }
 
 
@@ -23,9 +23,11 @@ public enum LengthUnit {
      */
     LengthUnit(double scale) {
         this.scale = scale;
+        this.inverse = 1 / scale;
     }
 
     private final double scale;
+    private final double inverse;
 
     /**
      * Converts a length unit to {@code this}.
@@ -35,7 +37,8 @@ public enum LengthUnit {
      * @return Converted value
      */
     public double convert(@Nonnull LengthUnit sourceUnit, double value) {
-        return value / sourceUnit.scale * this.scale;
+        if (sourceUnit == this) return value;
+        return value * FACTORS[sourceUnit.ordinal()][ordinal()];
     }
 
     /**
@@ -45,6 +48,65 @@ public enum LengthUnit {
      * @return Value in meters
      */
     public double toMeters(double value) {
-        return value / this.scale;
+        return value * inverse;
+    }
+
+    /**
+     * Converts an array of values from a length unit to {@code this}, in place.
+     *
+     * @param sourceUnit Source unit
+     * @param values     Values to convert
+     * @return {@code values}
+     */
+    @Nonnull
+    public double[] convert(@Nonnull LengthUnit sourceUnit, @Nonnull double[] values) {
+        if (sourceUnit == this) return values;
+        return multiply(values, FACTORS[sourceUnit.ordinal()][ordinal()]);
+    }
+
+    /**
+     * Converts an array of values in this unit to meters, in place.
+     *
+     * @param values Values to convert
+     * @return {@code values}
+     */
+    @Nonnull
+    public double[] toMeters(@Nonnull double[] values) {
+        if (scale == 1) return values;
+        return multiply(values, inverse);
+    }
+
+    //
+    // Conversion Table
+    //
+
+    /**
+     * Conversion factors, indexed by the ordinals of the source and target units.
+     */
+    private static final double[][] FACTORS = factors(values());
+
+    /**
+     * Builds the conversion table of given units.
+     */
+    @Nonnull
+    private static double[][] factors(@Nonnull LengthUnit[] units) {
+        final double[][] factors = new double[units.length][units.length];
+
+        for (final LengthUnit source : units) {
+            for (final LengthUnit target : units) {
+                factors[source.ordinal()][target.ordinal()] = target.scale / source.scale;
+            }
+        }
+
+        return factors;
+    }
+
+    @Nonnull
+    private static double[] multiply(@Nonnull double[] values, double factor) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] *= factor;
+        }
+
+        return values;
     }
 }
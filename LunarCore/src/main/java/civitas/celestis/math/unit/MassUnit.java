@@ -27,9 +27,11 @@ public enum MassUnit {
      */
     MassUnit(double scale) {
         this.scale = scale;
+        this.inverse = 1 / scale;
     }
 
     private final double scale;
+    private final double inverse;
 
     /**
      * Converts a mass unit to {@code this}.
@@ -39,7 +41,8 @@ public enum MassUnit {
      * @return Converted value
      */
     public double convert(@Nonnull MassUnit sourceUnit, double value) {
-        return value / sourceUnit.scale * this.scale;
+        if (sourceUnit == this) return value;
+        return value * FACTORS[sourceUnit.ordinal()][ordinal()];
     }
 
     /**
@@ -49,6 +52,65 @@ public enum MassUnit {
      * @return Value in kilograms
      */
     public double toKilograms(double value) {
-        return value / this.scale;
+        return value * inverse;
+    }
+
+    /**
+     * Converts an array of values from a mass unit to {@code this}, in place.
+     *
+     * @param sourceUnit Source unit
+     * @param values     Values to convert
+     * @return {@code values}
+     */
+    @Nonnull
+    public double[] convert(@Nonnull MassUnit sourceUnit, @Nonnull double[] values) {
+        if (sourceUnit == this) return values;
+        return multiply(values, FACTORS[sourceUnit.ordinal()][ordinal()]);
+    }
+
+    /**
+     * Converts an array of values in this unit to kilograms, in place.
+     *
+     * @param values Values to convert
+     * @return {@code values}
+     */
+    @Nonnull
+    public double[] toKilograms(@Nonnull double[] values) {
+        if (scale == 1) return values;
+        return multiply(values, inverse);
+    }
+
+    //
+    // Conversion Table
+    //
+
+    /**
+     * Conversion factors, indexed by the ordinals of the source and target units.
+     */
+    private static final double[][] FACTORS = factors(values());
+
+    /**
+     * Builds the conversion table of given units.
+     */
+    @Nonnull
+    private static double[][] factors(@Nonnull MassUnit[] units) {
+        final double[][] factors = new double[units.length][units.length];
+
+        for (final MassUnit source : units) {
+            for (final MassUnit target : units) {
+                factors[source.ordinal()][target.ordinal()] = target.scale / source.scale;
+            }
+        }
+
+        return factors;
+    }
+
+    @Nonnull
+    private static double[] multiply(@Nonnull double[] values, double factor) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] *= factor;
+        }
+
+        return values;
     }
 }
@@ -0,0 +1,316 @@
+package civitas.celestis.math.vector;
+
+import civitas.celestis.math.Numbers;
+import civitas.celestis.math.quaternion.Quaternion;
+import jakarta.annotation.Nonnull;
+
+/**
+ * <h2>MutableVector3</h2>
+ * <p>
+ * A mutable three-dimensional vector, used as an allocation-free scratch space.
+ * All arithmetic is performed in place and returns {@code this}, so that operations can be chained.
+ * </p>
+ * <p>
+ * Mutable vectors are intended for physics and rendering loops.
+ * They are not thread-safe, and should not be exposed in APIs;
+ * use {@link #toVector3()} to obtain an immutable {@link Vector3}.
+ * Unlike {@link Vector3}, components are not checked for finiteness until converted.
+ * </p>
+ */
+public final class MutableVector3 {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new mutable vector at origin.
+     */
+    public MutableVector3() {
+    }
+
+    /**
+     * Creates a new mutable vector.
+     *
+     * @param x X value of this vector
+     * @param y Y value of this vector
+     * @param z Z value of this vector
+     */
+    public MutableVector3(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Creates a new mutable vector from an immutable vector.
+     *
+     * @param v Vector to copy
+     */
+    public MutableVector3(@Nonnull Vector3 v) {
+        this(v.x(), v.y(), v.z());
+    }
+
+    //
+    // Variables
+    //
+
+    private double x;
+    private double y;
+    private double z;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the X value of this vector.
+     *
+     * @return X value
+     */
+    public double x() {return x;}
+
+    /**
+     * Gets the Y value of this vector.
+     *
+     * @return Y value
+     */
+    public double y() {return y;}
+
+    /**
+     * Gets the Z value of this vector.
+     *
+     * @return Z value
+     */
+    public double z() {return z;}
+
+    /**
+     * Gets the magnitude of this vector.
+     *
+     * @return Magnitude
+     */
+    public double magnitude() {
+        return Numbers.sqrt(magnitude2());
+    }
+
+    /**
+     * Gets the squared magnitude of this vector.
+     *
+     * @return Squared magnitude
+     */
+    public double magnitude2() {
+        return x * x + y * y + z * z;
+    }
+
+    /**
+     * Gets the dot product of {@code this} and {@code v}.
+     *
+     * @param v Vector to multiply with
+     * @return Dot product of two vectors
+     */
+    public double dot(@Nonnull Vector3 v) {
+        return x * v.x() + y * v.y() + z * v.z();
+    }
+
+    //
+    // Setters
+    //
+
+    /**
+     * Sets the components of this vector.
+     *
+     * @param x X value to set to
+     * @param y Y value to set to
+     * @param z Z value to set to
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 set(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Sets the components of this vector to those of an immutable vector.
+     *
+     * @param v Vector to copy
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 set(@Nonnull Vector3 v) {
+        return set(v.x(), v.y(), v.z());
+    }
+
+    /**
+     * Sets the components of this vector to those of another mutable vector.
+     *
+     * @param v Vector to copy
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 set(@Nonnull MutableVector3 v) {
+        return set(v.x, v.y, v.z);
+    }
+
+    //
+    // In-place Arithmetic
+    //
+
+    /**
+     * Adds a scalar to each component of this vector.
+     *
+     * @param s Scalar to add
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 add(double s) {
+        return set(x + s, y + s, z + s);
+    }
+
+    /**
+     * Adds another vector to this vector.
+     *
+     * @param v Vector to add
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 add(@Nonnull Vector3 v) {
+        return set(x + v.x(), y + v.y(), z + v.z());
+    }
+
+    /**
+     * Adds another mutable vector to this vector.
+     *
+     * @param v Vector to add
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 add(@Nonnull MutableVector3 v) {
+        return set(x + v.x, y + v.y, z + v.z);
+    }
+
+    /**
+     * Subtracts another vector from this vector.
+     *
+     * @param v Vector to subtract
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 subtract(@Nonnull Vector3 v) {
+        return set(x - v.x(), y - v.y(), z - v.z());
+    }
+
+    /**
+     * Subtracts another mutable vector from this vector.
+     *
+     * @param v Vector to subtract
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 subtract(@Nonnull MutableVector3 v) {
+        return set(x - v.x, y - v.y, z - v.z);
+    }
+
+    /**
+     * Multiplies this vector by a scalar.
+     *
+     * @param s Scalar to multiply by
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 multiply(double s) {
+        return set(x * s, y * s, z * s);
+    }
+
+    /**
+     * Divides this vector by a scalar.
+     *
+     * @param s Scalar to divide by
+     * @return {@code this}
+     * @throws ArithmeticException When the scalar is zero
+     */
+    @Nonnull
+    public MutableVector3 divide(double s) throws ArithmeticException {
+        if (s == 0) throw new ArithmeticException("Cannot divide by zero.");
+        return set(x / s, y / s, z / s);
+    }
+
+    /**
+     * Sets this vector to the cross product of {@code this} and {@code v}.
+     *
+     * @param v Vector to multiply with
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 cross(@Nonnull Vector3 v) {
+        return set(
+                y * v.z() - z * v.y(),
+                z * v.x() - x * v.z(),
+                x * v.y() - y * v.x()
+        );
+    }
+
+    /**
+     * Negates this vector.
+     *
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 negate() {
+        return set(-x, -y, -z);
+    }
+
+    /**
+     * Normalizes this vector. A zero vector is left unchanged.
+     *
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 normalize() {
+        final double m2 = magnitude2();
+        if (m2 == 0) return this;
+
+        return multiply(Numbers.isqrt(m2));
+    }
+
+    /**
+     * Rotates this vector by a rotation quaternion.
+     *
+     * @param rq Rotation quaternion to rotate by
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 rotate(@Nonnull Quaternion rq) {
+        return Vectors.rotate(x, y, z, rq, this);
+    }
+
+    //
+    // Conversion
+    //
+
+    /**
+     * Converts this vector to an immutable vector.
+     *
+     * @return Immutable copy of {@code this}
+     * @throws IllegalArgumentException When a component is not finite
+     */
+    @Nonnull
+    public Vector3 toVector3() throws IllegalArgumentException {
+        return new Vector3(x, y, z);
+    }
+
+    //
+    // Util
+    //
+
+    @Override
+    @Nonnull
+    public String toString() {
+        return "MutableVector3{" +
+                "x=" + x +
+                ", y=" + y +
+                ", z=" + z +
+                '}';
+    }
+}
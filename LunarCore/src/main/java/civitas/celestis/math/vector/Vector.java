@@ -1,7 +1,6 @@
 package civitas.celestis.math.vector;
 
-import civitas.celestis.math.quaternion.Quaternion;
-import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.util.codec.TextCodec;
 import jakarta.annotation.Nonnull;
 
 import java.io.Serializable;
@@ -87,26 +86,9 @@ public interface Vector extends Serializable {
      */
     @Nonnull
     static Vector parse(@Nonnull String s) throws NumberFormatException {
-        try {
-            return Vector2.parseVector(s);
-        } catch (NumberFormatException e1) {
-            try {
-                return Vector3.parseVector(s);
-            } catch (NumberFormatException e2) {
-                try {
-                    return Vector4.parseVector(s);
-                } catch (NumberFormatException e3) {
-                    try {
-                        return Quaternion.parseQuaternion(s);
-                    } catch (NumberFormatException e4) {
-                        try {
-                            return Rotation.parseRotation(s);
-                        } catch (NumberFormatException e5) {
-                            throw new NumberFormatException("String is not a vector.");
-                        }
-                    }
-                }
-            }
-        }
+        final Vector result = TextCodec.parse(s);
+        if (result == null) throw new NumberFormatException("String is not a vector.");
+
+        return result;
     }
 }
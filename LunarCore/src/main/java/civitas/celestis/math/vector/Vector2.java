@@ -1,10 +1,9 @@
 package civitas.celestis.math.vector;
 
 import civitas.celestis.math.Numbers;
+import civitas.celestis.util.codec.TextCodec;
 import jakarta.annotation.Nonnull;
 
-import java.util.Arrays;
-
 /**
  * <h2>Vector3</h2>
  * <p>A two-dimensional vector.</p>
@@ -76,10 +75,7 @@ public final class Vector2 implements Vector {
 
     @Override
     public double magnitude() {
-        final double isqrt = Numbers.isqrt(magnitude2());
-        if (isqrt == 0) return 0;
-
-        return 1 / isqrt;
+        return Numbers.sqrt(magnitude2());
     }
 
     @Override
@@ -194,7 +190,10 @@ public final class Vector2 implements Vector {
     @Nonnull
     @Override
     public Vector2 normalize() {
-        return multiply(Numbers.isqrt(magnitude2()));
+        final double m2 = magnitude2();
+        if (m2 == 0) return this; // Zero vectors cannot be normalized
+
+        return multiply(Numbers.isqrt(m2));
     }
 
     /**
@@ -241,26 +240,10 @@ public final class Vector2 implements Vector {
      */
     @Nonnull
     public static Vector2 parseVector(@Nonnull String s) throws NumberFormatException {
-        if (!s.startsWith("Vector2{")) throw new NumberFormatException("Given string is not a vector.");
-
-        final String[] strings = s
-                .replaceAll("Vector2\\{", "")
-                .replaceAll("}", "")
-                .split(", ");
-
-        final double[] values = {Double.NaN, Double.NaN};
-
-        Arrays.stream(strings).forEach(string -> {
-            final String[] split = string.split("=");
-            if (split.length != 2) throw new NumberFormatException("Given string is not a vector.");
-
-            switch (split[0]) {
-                case "x" -> values[0] = Double.parseDouble(split[1]);
-                case "y" -> values[1] = Double.parseDouble(split[1]);
-            }
-        });
+        final Vector2 result = TextCodec.parseVector2(s);
+        if (result == null) throw new NumberFormatException("Given string is not a vector.");
 
-        return new Vector2(values[0], values[1]);
+        return result;
     }
 
     /**
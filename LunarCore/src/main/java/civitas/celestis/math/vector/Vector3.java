@@ -3,10 +3,9 @@ package civitas.celestis.math.vector;
 import civitas.celestis.math.Numbers;
 import civitas.celestis.math.quaternion.Quaternion;
 import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.util.codec.TextCodec;
 import jakarta.annotation.Nonnull;
 
-import java.util.Arrays;
-
 /**
  * <h2>Vector3</h2>
  * <p>A three-dimensional vector.</p>
@@ -91,10 +90,7 @@ public final class Vector3 implements Vector {
 
     @Override
     public double magnitude() {
-        final double isqrt = Numbers.isqrt(magnitude2());
-        if (isqrt == 0) return 0;
-
-        return 1 / isqrt;
+        return Numbers.sqrt(magnitude2());
     }
 
     @Override
@@ -182,6 +178,77 @@ public final class Vector3 implements Vector {
         );
     }
 
+    //
+    // In-place Arithmetic
+    //
+    // These write their results to a mutable vector instead of allocating a new vector.
+    //
+
+    /**
+     * Adds another vector to this vector, writing the result to {@code out}.
+     *
+     * @param v   Vector to add
+     * @param out Vector to write the result to
+     * @return {@code out}
+     */
+    @Nonnull
+    public MutableVector3 addInto(@Nonnull Vector3 v, @Nonnull MutableVector3 out) {
+        return out.set(x + v.x, y + v.y, z + v.z);
+    }
+
+    /**
+     * Subtracts another vector from this vector, writing the result to {@code out}.
+     *
+     * @param v   Vector to subtract
+     * @param out Vector to write the result to
+     * @return {@code out}
+     */
+    @Nonnull
+    public MutableVector3 subtractInto(@Nonnull Vector3 v, @Nonnull MutableVector3 out) {
+        return out.set(x - v.x, y - v.y, z - v.z);
+    }
+
+    /**
+     * Multiplies this vector by a scalar, writing the result to {@code out}.
+     *
+     * @param s   Scalar to multiply by
+     * @param out Vector to write the result to
+     * @return {@code out}
+     */
+    @Nonnull
+    public MutableVector3 multiplyInto(double s, @Nonnull MutableVector3 out) {
+        return out.set(x * s, y * s, z * s);
+    }
+
+    /**
+     * Gets the cross product of {@code this} and {@code v}, writing the result to {@code out}.
+     *
+     * @param v   Vector to multiply with
+     * @param out Vector to write the result to
+     * @return {@code out}
+     */
+    @Nonnull
+    public MutableVector3 crossInto(@Nonnull Vector3 v, @Nonnull MutableVector3 out) {
+        return out.set(
+                y * v.z - z * v.y,
+                z * v.x - x * v.z,
+                x * v.y - y * v.x
+        );
+    }
+
+    /**
+     * Rotates this vector by a rotation quaternion, writing the result to {@code out}.
+     *
+     * @param rq  Rotation quaternion to rotate by
+     * @param out Vector to write the result to
+     * @return {@code out}
+     */
+    @Nonnull
+    public MutableVector3 rotateInto(@Nonnull Quaternion rq, @Nonnull MutableVector3 out) {
+        if (rq.isIdentity()) return out.set(x, y, z);
+        return Vectors.rotate(x, y, z, rq, out);
+    }
+
 
     //
     // Equality
@@ -214,7 +281,10 @@ public final class Vector3 implements Vector {
     @Nonnull
     @Override
     public Vector3 normalize() {
-        return multiply(Numbers.isqrt(magnitude2()));
+        final double m2 = magnitude2();
+        if (m2 == 0) return this; // Zero vectors cannot be normalized
+
+        return multiply(Numbers.isqrt(m2));
     }
 
     /**
@@ -245,6 +315,7 @@ public final class Vector3 implements Vector {
      */
     @Nonnull
     public Vector3 rotate(@Nonnull Rotation r) {
+        if (r.angle() == 0) return this; // Avoid computing the quaternion
         return rotate(r.quaternion());
     }
 
@@ -256,7 +327,9 @@ public final class Vector3 implements Vector {
      */
     @Nonnull
     public Vector3 rotate(@Nonnull Quaternion rq) {
-        return rq.multiply(quaternion()).multiply(rq.conjugate()).vector();
+        // Rotating by the identity quaternion or rotating the zero vector has no effect
+        if (rq.isIdentity() || (x == 0 && y == 0 && z == 0)) return this;
+        return rotateInto(rq, new MutableVector3()).toVector3();
     }
 
     /**
@@ -282,27 +355,10 @@ public final class Vector3 implements Vector {
      */
     @Nonnull
     public static Vector3 parseVector(@Nonnull String s) throws NumberFormatException {
-        if (!s.startsWith("Vector3{")) throw new NumberFormatException("Given string is not a vector.");
-
-        final String[] strings = s
-                .replaceAll("Vector3\\{", "")
-                .replaceAll("}", "")
-                .split(", ");
-
-        final double[] values = {Double.NaN, Double.NaN, Double.NaN};
-
-        Arrays.stream(strings).forEach(string -> {
-            final String[] split = string.split("=");
-            if (split.length != 2) throw new NumberFormatException("Given string is not a vector.");
-
-            switch (split[0]) {
-                case "x" -> values[0] = Double.parseDouble(split[1]);
-                case "y" -> values[1] = Double.parseDouble(split[1]);
-                case "z" -> values[2] = Double.parseDouble(split[1]);
-            }
-        });
+        final Vector3 result = TextCodec.parseVector3(s);
+        if (result == null) throw new NumberFormatException("Given string is not a vector.");
 
-        return new Vector3(values[0], values[1], values[2]);
+        return result;
     }
 
     /**
@@ -0,0 +1,470 @@
+package civitas.celestis.math.vector;
+
+import civitas.celestis.math.matrix.Matrix3;
+import civitas.celestis.math.matrix.Matrix4;
+import civitas.celestis.math.quaternion.Quaternion;
+import jakarta.annotation.Nonnull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <h2>Vector3Buffer</h2>
+ * <p>
+ * A fixed-size buffer of three-dimensional vectors, stored as a structure of arrays.
+ * The X, Y and Z components of every vector are kept in three separate primitive arrays,
+ * so that bulk operations stream through contiguous memory instead of chasing
+ * a pointer per vector as a {@code List<Vector3>} does.
+ * </p>
+ * <p>
+ * Bulk operations are written as simple counted loops over each component array,
+ * which the JIT compiles to SIMD instructions where the platform supports them.
+ * All bulk operations modify the buffer in place; use {@link #copy()} to preserve the original.
+ * </p>
+ * <p>
+ * Like {@link MutableVector3}, buffers are not thread-safe,
+ * and components are only checked for finiteness when converted to a {@link Vector3}.
+ * </p>
+ */
+public final class Vector3Buffer {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new buffer of vectors at origin.
+     *
+     * @param size Number of vectors in this buffer
+     * @throws IllegalArgumentException When the size is negative
+     */
+    public Vector3Buffer(int size) throws IllegalArgumentException {
+        if (size < 0) throw new IllegalArgumentException("Buffer size cannot be negative.");
+
+        this.x = new double[size];
+        this.y = new double[size];
+        this.z = new double[size];
+    }
+
+    /**
+     * Creates a new buffer from a collection of vectors.
+     *
+     * @param vectors Vectors to copy into this buffer
+     */
+    public Vector3Buffer(@Nonnull Collection<Vector3> vectors) {
+        this(vectors.size());
+
+        int i = 0;
+
+        for (final Vector3 v : vectors) {
+            x[i] = v.x();
+            y[i] = v.y();
+            z[i] = v.z();
+            i++;
+        }
+    }
+
+    /**
+     * Creates a new buffer from existing component arrays. The arrays are not copied.
+     *
+     * @param x Array of X components
+     * @param y Array of Y components
+     * @param z Array of Z components
+     * @throws IllegalArgumentException When the arrays are of different lengths
+     */
+    public Vector3Buffer(@Nonnull double[] x, @Nonnull double[] y, @Nonnull double[] z) throws IllegalArgumentException {
+        if (x.length != y.length || y.length != z.length) {
+            throw new IllegalArgumentException("Component arrays must be of equal length.");
+        }
+
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    //
+    // Variables
+    //
+
+    @Nonnull
+    private final double[] x;
+    @Nonnull
+    private final double[] y;
+    @Nonnull
+    private final double[] z;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the number of vectors in this buffer.
+     *
+     * @return Size of buffer
+     */
+    public int size() {
+        return x.length;
+    }
+
+    /**
+     * Gets the X component of the {@code i}th vector.
+     *
+     * @param i Index of vector
+     * @return X component
+     */
+    public double x(int i) {return x[i];}
+
+    /**
+     * Gets the Y component of the {@code i}th vector.
+     *
+     * @param i Index of vector
+     * @return Y component
+     */
+    public double y(int i) {return y[i];}
+
+    /**
+     * Gets the Z component of the {@code i}th vector.
+     *
+     * @param i Index of vector
+     * @return Z component
+     */
+    public double z(int i) {return z[i];}
+
+    /**
+     * Gets the {@code i}th vector of this buffer.
+     *
+     * @param i Index of vector
+     * @return Immutable copy of vector
+     * @throws IllegalArgumentException When a component is not finite
+     */
+    @Nonnull
+    public Vector3 get(int i) throws IllegalArgumentException {
+        return new Vector3(x[i], y[i], z[i]);
+    }
+
+    /**
+     * Copies the {@code i}th vector of this buffer into {@code out}.
+     *
+     * @param i   Index of vector
+     * @param out Vector to write to
+     * @return {@code out}
+     */
+    @Nonnull
+    public MutableVector3 get(int i, @Nonnull MutableVector3 out) {
+        return out.set(x[i], y[i], z[i]);
+    }
+
+    //
+    // Setters
+    //
+
+    /**
+     * Sets the {@code i}th vector of this buffer.
+     *
+     * @param i  Index of vector
+     * @param vx X component
+     * @param vy Y component
+     * @param vz Z component
+     */
+    public void set(int i, double vx, double vy, double vz) {
+        x[i] = vx;
+        y[i] = vy;
+        z[i] = vz;
+    }
+
+    /**
+     * Sets the {@code i}th vector of this buffer.
+     *
+     * @param i Index of vector
+     * @param v Vector to set to
+     */
+    public void set(int i, @Nonnull Vector3 v) {
+        set(i, v.x(), v.y(), v.z());
+    }
+
+    //
+    // Vector-Buffer Arithmetic
+    //
+
+    /**
+     * Adds a vector to every vector of this buffer.
+     *
+     * @param v Vector to add
+     * @return {@code this}
+     */
+    @Nonnull
+    public Vector3Buffer add(@Nonnull Vector3 v) {
+        add(x, v.x());
+        add(y, v.y());
+        add(z, v.z());
+        return this;
+    }
+
+    /**
+     * Subtracts a vector from every vector of this buffer.
+     * This translates the buffer to a coordinate system whose origin is {@code v}.
+     *
+     * @param v Vector to subtract
+     * @return {@code this}
+     */
+    @Nonnull
+    public Vector3Buffer subtract(@Nonnull Vector3 v) {
+        add(x, -v.x());
+        add(y, -v.y());
+        add(z, -v.z());
+        return this;
+    }
+
+    /**
+     * Multiplies every vector of this buffer by a scalar.
+     *
+     * @param s Scalar to multiply by
+     * @return {@code this}
+     */
+    @Nonnull
+    public Vector3Buffer multiply(double s) {
+        multiply(x, s);
+        multiply(y, s);
+        multiply(z, s);
+        return this;
+    }
+
+    /**
+     * Rotates every vector of this buffer by a rotation quaternion.
+     * The quaternion is expanded into a rotation matrix once, so that each vector
+     * only costs nine multiplications, instead of two quaternion products.
+     *
+     * @param rq Rotation quaternion to rotate by
+     * @return {@code this}
+     * @see Matrix3#rotation(Quaternion)
+     */
+    @Nonnull
+    public Vector3Buffer rotate(@Nonnull Quaternion rq) {
+        if (rq.isIdentity()) return this;
+        return Matrix3.rotation(rq).multiply(this);
+    }
+
+    /**
+     * Transforms every vector of this buffer by a matrix.
+     * Composing several transformations into one matrix beforehand allows them to be applied in a single pass.
+     *
+     * @param m Matrix to transform by
+     * @return {@code this}
+     */
+    @Nonnull
+    public Vector3Buffer transform(@Nonnull Matrix4 m) {
+        return m.multiply(this);
+    }
+
+    /**
+     * Performs the following operations in sequence.
+     * This is equivalent to {@link civitas.celestis.graphics.vertex.Vertex#transform(Vector3, Quaternion, double)}
+     * applied to every vector of this buffer.
+     * <ol>
+     *     <li>{@link #subtract(Vector3)}</li>
+     *     <li>{@link #rotate(Quaternion)}</li>
+     *     <li>{@link #multiply(double)}</li>
+     * </ol>
+     *
+     * @param origin New origin of this buffer
+     * @param rq     Rotation quaternion to apply
+     * @param scale  Scale to inflate by (set to 1 for no inflation)
+     * @return {@code this}
+     */
+    @Nonnull
+    public Vector3Buffer transform(@Nonnull Vector3 origin, @Nonnull Quaternion rq, double scale) {
+        return subtract(origin).rotate(rq).multiply(scale);
+    }
+
+    //
+    // Buffer-Buffer Arithmetic
+    //
+
+    /**
+     * Adds another buffer to this buffer element-wise.
+     *
+     * @param b Buffer to add
+     * @return {@code this}
+     * @throws IllegalArgumentException When the buffers are of different sizes
+     */
+    @Nonnull
+    public Vector3Buffer add(@Nonnull Vector3Buffer b) throws IllegalArgumentException {
+        requireSameSize(b);
+
+        add(x, b.x);
+        add(y, b.y);
+        add(z, b.z);
+        return this;
+    }
+
+    /**
+     * Subtracts another buffer from this buffer element-wise.
+     *
+     * @param b Buffer to subtract
+     * @return {@code this}
+     * @throws IllegalArgumentException When the buffers are of different sizes
+     */
+    @Nonnull
+    public Vector3Buffer subtract(@Nonnull Vector3Buffer b) throws IllegalArgumentException {
+        requireSameSize(b);
+
+        for (int i = 0; i < x.length; i++) {
+            x[i] -= b.x[i];
+            y[i] -= b.y[i];
+            z[i] -= b.z[i];
+        }
+
+        return this;
+    }
+
+    /**
+     * Gets the element-wise dot products of this buffer and another buffer.
+     *
+     * @param b   Buffer to multiply with
+     * @param out Array to write the dot products to
+     * @return {@code out}
+     * @throws IllegalArgumentException When the buffers or the output array are of different sizes
+     */
+    @Nonnull
+    public double[] dot(@Nonnull Vector3Buffer b, @Nonnull double[] out) throws IllegalArgumentException {
+        requireSameSize(b);
+        if (out.length != x.length) throw new IllegalArgumentException("Output array must match buffer size.");
+
+        for (int i = 0; i < x.length; i++) {
+            out[i] = x[i] * b.x[i] + y[i] * b.y[i] + z[i] * b.z[i];
+        }
+
+        return out;
+    }
+
+    /**
+     * Gets the element-wise cross products of this buffer and another buffer.
+     * The output buffer may be {@code this} or {@code b}.
+     *
+     * @param b   Buffer to multiply with
+     * @param out Buffer to write the cross products to
+     * @return {@code out}
+     * @throws IllegalArgumentException When the buffers are of different sizes
+     */
+    @Nonnull
+    public Vector3Buffer cross(@Nonnull Vector3Buffer b, @Nonnull Vector3Buffer out) throws IllegalArgumentException {
+        requireSameSize(b);
+        requireSameSize(out);
+
+        for (int i = 0; i < x.length; i++) {
+            final double ax = x[i], ay = y[i], az = z[i];
+            final double bx = b.x[i], by = b.y[i], bz = b.z[i];
+
+            out.x[i] = ay * bz - az * by;
+            out.y[i] = az * bx - ax * bz;
+            out.z[i] = ax * by - ay * bx;
+        }
+
+        return out;
+    }
+
+    //
+    // Bounds
+    //
+
+    /**
+     * Gets the axis-aligned bounding box of this buffer.
+     * The bounds of an empty buffer are left unchanged. {@code NaN} components are ignored.
+     *
+     * @param min Vector to write the minimum corner to
+     * @param max Vector to write the maximum corner to
+     */
+    public void bounds(@Nonnull MutableVector3 min, @Nonnull MutableVector3 max) {
+        if (x.length == 0) return;
+
+        min.set(min(x), min(y), min(z));
+        max.set(max(x), max(y), max(z));
+    }
+
+    //
+    // Conversion
+    //
+
+    /**
+     * Returns a deep copy of this buffer.
+     *
+     * @return Copy of {@code this}
+     */
+    @Nonnull
+    public Vector3Buffer copy() {
+        return new Vector3Buffer(x.clone(), y.clone(), z.clone());
+    }
+
+    /**
+     * Converts this buffer to a list of immutable vectors.
+     *
+     * @return List of vectors
+     * @throws IllegalArgumentException When a component is not finite
+     */
+    @Nonnull
+    public List<Vector3> toList() throws IllegalArgumentException {
+        final List<Vector3> list = new ArrayList<>(x.length);
+
+        for (int i = 0; i < x.length; i++) {
+            list.add(new Vector3(x[i], y[i], z[i]));
+        }
+
+        return list;
+    }
+
+    //
+    // Kernels
+    //
+    // Each kernel is a single loop over one component array, which keeps it eligible for auto-vectorization.
+    //
+
+    private void requireSameSize(@Nonnull Vector3Buffer b) throws IllegalArgumentException {
+        if (b.x.length != x.length) throw new IllegalArgumentException("Buffers must be of equal size.");
+    }
+
+    private static void add(@Nonnull double[] a, double s) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] += s;
+        }
+    }
+
+    private static void add(@Nonnull double[] a, @Nonnull double[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] += b[i];
+        }
+    }
+
+    private static void multiply(@Nonnull double[] a, double s) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] *= s;
+        }
+    }
+
+    private static double min(@Nonnull double[] a) {
+        double m = Double.POSITIVE_INFINITY;
+
+        for (final double v : a) {
+            if (v < m) m = v;
+        }
+
+        return m;
+    }
+
+    private static double max(@Nonnull double[] a) {
+        double m = Double.NEGATIVE_INFINITY;
+
+        for (final double v : a) {
+            if (v > m) m = v;
+        }
+
+        return m;
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+        return "Vector3Buffer{" +
+                "size=" + x.length +
+                '}';
+    }
+}
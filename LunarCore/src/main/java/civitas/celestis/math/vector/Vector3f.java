@@ -0,0 +1,313 @@
+package civitas.celestis.math.vector;
+
+import civitas.celestis.math.Numbers;
+import civitas.celestis.math.quaternion.Quaternionf;
+import jakarta.annotation.Nonnull;
+
+/**
+ * <h2>Vector3f</h2>
+ * <p>
+ * A three-dimensional vector of single precision.
+ * Single-precision vectors are half the size of a {@link Vector3},
+ * and are intended for rendering data and model storage, which do not require double precision.
+ * </p>
+ * <p>
+ * Conversion to a {@link Vector3} is lossless.
+ * Conversion from a {@link Vector3} rounds each component to the nearest {@code float}.
+ * </p>
+ */
+public final class Vector3f implements Vector {
+    //
+    // Constants
+    //
+
+    /**
+     * Absolute zero. Represents origin.
+     */
+    public static final Vector3f ZERO = new Vector3f(0, 0, 0);
+
+    public static final Vector3f POSITIVE_X = new Vector3f(1, 0, 0);
+    public static final Vector3f POSITIVE_Y = new Vector3f(0, 1, 0);
+    public static final Vector3f POSITIVE_Z = new Vector3f(0, 0, 1);
+    public static final Vector3f NEGATIVE_X = new Vector3f(-1, 0, 0);
+    public static final Vector3f NEGATIVE_Y = new Vector3f(0, -1, 0);
+    public static final Vector3f NEGATIVE_Z = new Vector3f(0, 0, -1);
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new vector.
+     *
+     * @param x X value of this vector
+     * @param y Y value of this vector
+     * @param z Z value of this vector
+     */
+    public Vector3f(float x, float y, float z) {
+        this.x = Numbers.requireFinite(x);
+        this.y = Numbers.requireFinite(y);
+        this.z = Numbers.requireFinite(z);
+    }
+
+    /**
+     * Creates a new vector by rounding a double-precision vector.
+     *
+     * @param other Vector to convert
+     * @throws IllegalArgumentException When a component is out of the range of a {@code float}
+     */
+    public Vector3f(@Nonnull Vector3 other) throws IllegalArgumentException {
+        this((float) other.x(), (float) other.y(), (float) other.z());
+    }
+
+    /**
+     * Creates a new vector from an existing vector.
+     *
+     * @param other Vector to copy
+     */
+    public Vector3f(@Nonnull Vector3f other) {
+        this.x = other.x;
+        this.y = other.y;
+        this.z = other.z;
+    }
+
+    //
+    // Variables
+    //
+
+    private final float x;
+    private final float y;
+    private final float z;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the X value of this vector.
+     *
+     * @return X value
+     */
+    public float x() {return x;}
+
+    /**
+     * Gets the Y value of this vector.
+     *
+     * @return Y value
+     */
+    public float y() {return y;}
+
+    /**
+     * Gets the Z value of this vector.
+     *
+     * @return Z value
+     */
+    public float z() {return z;}
+
+    @Override
+    public double magnitude() {
+        return Numbers.sqrt(magnitude2());
+    }
+
+    @Override
+    public double magnitude2() {
+        return x * x + y * y + z * z;
+    }
+
+    //
+    // Vector-Scalar Arithmetic
+    //
+
+    @Nonnull
+    @Override
+    public Vector3f add(double s) {
+        return new Vector3f((float) (x + s), (float) (y + s), (float) (z + s));
+    }
+
+    @Nonnull
+    @Override
+    public Vector3f subtract(double s) {
+        return new Vector3f((float) (x - s), (float) (y - s), (float) (z - s));
+    }
+
+    @Nonnull
+    @Override
+    public Vector3f multiply(double s) {
+        return new Vector3f((float) (x * s), (float) (y * s), (float) (z * s));
+    }
+
+    @Nonnull
+    @Override
+    public Vector3f divide(double s) throws ArithmeticException {
+        if (s == 0) throw new ArithmeticException("Cannot divide by zero.");
+        return new Vector3f((float) (x / s), (float) (y / s), (float) (z / s));
+    }
+
+    //
+    // Vector-Vector Arithmetic
+    //
+
+    /**
+     * Adds another vector to this vector.
+     *
+     * @param v Vector to add
+     * @return Resulting vector
+     */
+    @Nonnull
+    public Vector3f add(@Nonnull Vector3f v) {
+        return new Vector3f(x + v.x, y + v.y, z + v.z);
+    }
+
+    /**
+     * Subtracts another vector from this vector.
+     *
+     * @param v Vector to subtract
+     * @return Resulting vector
+     */
+    @Nonnull
+    public Vector3f subtract(@Nonnull Vector3f v) {
+        return new Vector3f(x - v.x, y - v.y, z - v.z);
+    }
+
+    /**
+     * Gets the dot product of {@code this} and {@code v}.
+     *
+     * @param v Vector to multiply with
+     * @return Dot product of two vectors
+     */
+    public float dot(@Nonnull Vector3f v) {
+        return x * v.x + y * v.y + z * v.z;
+    }
+
+    /**
+     * Gets the cross product of {@code this} and {@code v}.
+     *
+     * @param v Vector to multiply with
+     * @return Cross product of two vectors
+     */
+    @Nonnull
+    public Vector3f cross(@Nonnull Vector3f v) {
+        return new Vector3f(
+                y * v.z - z * v.y,
+                z * v.x - x * v.z,
+                x * v.y - y * v.x
+        );
+    }
+
+    //
+    // Equality
+    //
+
+    /**
+     * Checks for equality.
+     *
+     * @param obj Object to compare to
+     * @return {@code true} if the values are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) return false;
+        if (!(obj instanceof Vector3f v3)) return false;
+        return x == v3.x && y == v3.y && z == v3.z;
+    }
+
+    //
+    // Util
+    //
+
+    @Nonnull
+    @Override
+    public Vector3f negate() {
+        return new Vector3f(-x, -y, -z);
+    }
+
+    @Nonnull
+    @Override
+    public Vector3f normalize() {
+        final double m2 = magnitude2();
+        if (m2 == 0) return this; // Zero vectors cannot be normalized
+
+        return multiply(Numbers.isqrt(m2));
+    }
+
+    /**
+     * Gets the distance between {@code this} and {@code v}.
+     *
+     * @param v Vector to get distance to
+     * @return Distance between two vectors
+     */
+    public double distance(@Nonnull Vector3f v) {
+        return subtract(v).magnitude();
+    }
+
+    /**
+     * Gets the squared distance between {@code this} and {@code v}.
+     *
+     * @param v Vector to get distance to
+     * @return Distance between two vectors
+     */
+    public double distance2(@Nonnull Vector3f v) {
+        return subtract(v).magnitude2();
+    }
+
+    /**
+     * Rotates this vector by a rotation quaternion.
+     * This follows the same convention as {@link Vector3#rotate(civitas.celestis.math.quaternion.Quaternion)}.
+     *
+     * @param rq Rotation quaternion to rotate by
+     * @return Rotated vector
+     */
+    @Nonnull
+    public Vector3f rotate(@Nonnull Quaternionf rq) {
+        final float qw = rq.w();
+        final float qx = rq.x();
+        final float qy = rq.y();
+        final float qz = rq.z();
+
+        // t = v * q
+        final float tw = -(x * qx + y * qy + z * qz);
+        final float tx = qw * x + y * qz - z * qy;
+        final float ty = qw * y + z * qx - x * qz;
+        final float tz = qw * z + x * qy - y * qx;
+
+        // r = q' * t
+        return new Vector3f(
+                qw * tx - tw * qx + qz * ty - qy * tz,
+                qw * ty - tw * qy + qx * tz - qz * tx,
+                qw * tz - tw * qz + qy * tx - qx * ty
+        );
+    }
+
+    //
+    // Conversion
+    //
+
+    /**
+     * Converts this vector to a double-precision vector. This conversion is lossless.
+     *
+     * @return Double-precision vector
+     */
+    @Nonnull
+    public Vector3 toVector3() {
+        return new Vector3(x, y, z);
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Serializes this vector to a string.
+     *
+     * @return Stringified vector
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "Vector3f{" +
+                "x=" + x +
+                ", y=" + y +
+                ", z=" + z +
+                '}';
+    }
+}
@@ -0,0 +1,399 @@
+package civitas.celestis.math.vector;
+
+import civitas.celestis.math.matrix.Matrix4;
+import civitas.celestis.math.quaternion.Quaternionf;
+import jakarta.annotation.Nonnull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <h2>Vector3fBuffer</h2>
+ * <p>
+ * A fixed-size buffer of single-precision vectors, stored as a structure of arrays.
+ * This is the single-precision counterpart of {@link Vector3Buffer},
+ * and occupies half of its memory, which makes it suitable for model storage and rendering.
+ * </p>
+ * <p>
+ * All bulk operations modify the buffer in place; use {@link #copy()} to preserve the original.
+ * Buffers are not thread-safe.
+ * </p>
+ */
+public final class Vector3fBuffer {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new buffer of vectors at origin.
+     *
+     * @param size Number of vectors in this buffer
+     * @throws IllegalArgumentException When the size is negative
+     */
+    public Vector3fBuffer(int size) throws IllegalArgumentException {
+        if (size < 0) throw new IllegalArgumentException("Buffer size cannot be negative.");
+
+        this.x = new float[size];
+        this.y = new float[size];
+        this.z = new float[size];
+    }
+
+    /**
+     * Creates a new buffer from a collection of vectors.
+     *
+     * @param vectors Vectors to copy into this buffer
+     */
+    public Vector3fBuffer(@Nonnull Collection<Vector3f> vectors) {
+        this(vectors.size());
+
+        int i = 0;
+
+        for (final Vector3f v : vectors) {
+            x[i] = v.x();
+            y[i] = v.y();
+            z[i] = v.z();
+            i++;
+        }
+    }
+
+    /**
+     * Creates a new buffer by rounding a double-precision buffer.
+     *
+     * @param buffer Buffer to convert
+     */
+    public Vector3fBuffer(@Nonnull Vector3Buffer buffer) {
+        this(buffer.size());
+
+        for (int i = 0; i < x.length; i++) {
+            x[i] = (float) buffer.x(i);
+            y[i] = (float) buffer.y(i);
+            z[i] = (float) buffer.z(i);
+        }
+    }
+
+    /**
+     * Creates a new buffer from existing component arrays. The arrays are not copied.
+     *
+     * @param x Array of X components
+     * @param y Array of Y components
+     * @param z Array of Z components
+     * @throws IllegalArgumentException When the arrays are of different lengths
+     */
+    public Vector3fBuffer(@Nonnull float[] x, @Nonnull float[] y, @Nonnull float[] z) throws IllegalArgumentException {
+        if (x.length != y.length || y.length != z.length) {
+            throw new IllegalArgumentException("Component arrays must be of equal length.");
+        }
+
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    //
+    // Variables
+    //
+
+    @Nonnull
+    private final float[] x;
+    @Nonnull
+    private final float[] y;
+    @Nonnull
+    private final float[] z;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the number of vectors in this buffer.
+     *
+     * @return Size of buffer
+     */
+    public int size() {
+        return x.length;
+    }
+
+    /**
+     * Gets the X component of the {@code i}th vector.
+     *
+     * @param i Index of vector
+     * @return X component
+     */
+    public float x(int i) {return x[i];}
+
+    /**
+     * Gets the Y component of the {@code i}th vector.
+     *
+     * @param i Index of vector
+     * @return Y component
+     */
+    public float y(int i) {return y[i];}
+
+    /**
+     * Gets the Z component of the {@code i}th vector.
+     *
+     * @param i Index of vector
+     * @return Z component
+     */
+    public float z(int i) {return z[i];}
+
+    /**
+     * Gets the {@code i}th vector of this buffer.
+     *
+     * @param i Index of vector
+     * @return Immutable copy of vector
+     * @throws IllegalArgumentException When a component is not finite
+     */
+    @Nonnull
+    public Vector3f get(int i) throws IllegalArgumentException {
+        return new Vector3f(x[i], y[i], z[i]);
+    }
+
+    //
+    // Setters
+    //
+
+    /**
+     * Sets the {@code i}th vector of this buffer.
+     *
+     * @param i  Index of vector
+     * @param vx X component
+     * @param vy Y component
+     * @param vz Z component
+     */
+    public void set(int i, float vx, float vy, float vz) {
+        x[i] = vx;
+        y[i] = vy;
+        z[i] = vz;
+    }
+
+    /**
+     * Sets the {@code i}th vector of this buffer.
+     *
+     * @param i Index of vector
+     * @param v Vector to set to
+     */
+    public void set(int i, @Nonnull Vector3f v) {
+        set(i, v.x(), v.y(), v.z());
+    }
+
+    //
+    // Arithmetic
+    //
+
+    /**
+     * Adds a vector to every vector of this buffer.
+     *
+     * @param v Vector to add
+     * @return {@code this}
+     */
+    @Nonnull
+    public Vector3fBuffer add(@Nonnull Vector3f v) {
+        add(x, v.x());
+        add(y, v.y());
+        add(z, v.z());
+        return this;
+    }
+
+    /**
+     * Subtracts a vector from every vector of this buffer.
+     *
+     * @param v Vector to subtract
+     * @return {@code this}
+     */
+    @Nonnull
+    public Vector3fBuffer subtract(@Nonnull Vector3f v) {
+        add(x, -v.x());
+        add(y, -v.y());
+        add(z, -v.z());
+        return this;
+    }
+
+    /**
+     * Multiplies every vector of this buffer by a scalar.
+     *
+     * @param s Scalar to multiply by
+     * @return {@code this}
+     */
+    @Nonnull
+    public Vector3fBuffer multiply(float s) {
+        multiply(x, s);
+        multiply(y, s);
+        multiply(z, s);
+        return this;
+    }
+
+    /**
+     * Rotates every vector of this buffer by a rotation quaternion.
+     * This follows the same convention as {@link Vector3f#rotate(Quaternionf)}.
+     *
+     * @param rq Rotation quaternion to rotate by
+     * @return {@code this}
+     */
+    @Nonnull
+    public Vector3fBuffer rotate(@Nonnull Quaternionf rq) {
+        final float w = rq.w();
+        final float qx = rq.x();
+        final float qy = rq.y();
+        final float qz = rq.z();
+
+        // Matrix of q' * v * q (see civitas.celestis.math.matrix.Matrix3#rotation)
+        apply(
+                w * w + qx * qx - qy * qy - qz * qz, 2 * (qx * qy + w * qz), 2 * (qx * qz - w * qy), 0,
+                2 * (qx * qy - w * qz), w * w - qx * qx + qy * qy - qz * qz, 2 * (qy * qz + w * qx), 0,
+                2 * (qx * qz + w * qy), 2 * (qy * qz - w * qx), w * w - qx * qx - qy * qy + qz * qz, 0
+        );
+
+        return this;
+    }
+
+    /**
+     * Transforms every vector of this buffer by an affine matrix.
+     * The matrix is rounded to single precision once, before it is applied.
+     *
+     * @param m Affine matrix to transform by
+     * @return {@code this}
+     * @throws IllegalArgumentException When the matrix is not affine
+     */
+    @Nonnull
+    public Vector3fBuffer transform(@Nonnull Matrix4 m) throws IllegalArgumentException {
+        if (!m.affine()) throw new IllegalArgumentException("Single-precision buffers only support affine matrices.");
+
+        apply(
+                (float) m.get(0, 0), (float) m.get(0, 1), (float) m.get(0, 2), (float) m.get(0, 3),
+                (float) m.get(1, 0), (float) m.get(1, 1), (float) m.get(1, 2), (float) m.get(1, 3),
+                (float) m.get(2, 0), (float) m.get(2, 1), (float) m.get(2, 2), (float) m.get(2, 3)
+        );
+
+        return this;
+    }
+
+    /**
+     * Applies an affine transformation to every vector of this buffer.
+     */
+    private void apply(
+            float m00, float m01, float m02, float m03,
+            float m10, float m11, float m12, float m13,
+            float m20, float m21, float m22, float m23
+    ) {
+        for (int i = 0; i < x.length; i++) {
+            final float vx = x[i];
+            final float vy = y[i];
+            final float vz = z[i];
+
+            x[i] = m00 * vx + m01 * vy + m02 * vz + m03;
+            y[i] = m10 * vx + m11 * vy + m12 * vz + m13;
+            z[i] = m20 * vx + m21 * vy + m22 * vz + m23;
+        }
+    }
+
+    //
+    // Bounds
+    //
+
+    /**
+     * Gets the axis-aligned bounding box of this buffer.
+     * The bounds of an empty buffer are left unchanged. {@code NaN} components are ignored.
+     *
+     * @param min Vector to write the minimum corner to
+     * @param max Vector to write the maximum corner to
+     */
+    public void bounds(@Nonnull MutableVector3 min, @Nonnull MutableVector3 max) {
+        if (x.length == 0) return;
+
+        min.set(min(x), min(y), min(z));
+        max.set(max(x), max(y), max(z));
+    }
+
+    //
+    // Conversion
+    //
+
+    /**
+     * Returns a deep copy of this buffer.
+     *
+     * @return Copy of {@code this}
+     */
+    @Nonnull
+    public Vector3fBuffer copy() {
+        return new Vector3fBuffer(x.clone(), y.clone(), z.clone());
+    }
+
+    /**
+     * Converts this buffer to a double-precision buffer. This conversion is lossless.
+     *
+     * @return Double-precision buffer
+     */
+    @Nonnull
+    public Vector3Buffer toVector3Buffer() {
+        final Vector3Buffer buffer = new Vector3Buffer(x.length);
+
+        for (int i = 0; i < x.length; i++) {
+            buffer.set(i, x[i], y[i], z[i]);
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Converts this buffer to a list of immutable vectors.
+     *
+     * @return List of vectors
+     * @throws IllegalArgumentException When a component is not finite
+     */
+    @Nonnull
+    public List<Vector3f> toList() throws IllegalArgumentException {
+        final List<Vector3f> list = new ArrayList<>(x.length);
+
+        for (int i = 0; i < x.length; i++) {
+            list.add(new Vector3f(x[i], y[i], z[i]));
+        }
+
+        return list;
+    }
+
+    //
+    // Kernels
+    //
+
+    private static void add(@Nonnull float[] a, float s) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] += s;
+        }
+    }
+
+    private static void multiply(@Nonnull float[] a, float s) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] *= s;
+        }
+    }
+
+    private static float min(@Nonnull float[] a) {
+        float m = Float.POSITIVE_INFINITY;
+
+        for (final float v : a) {
+            if (v < m) m = v;
+        }
+
+        return m;
+    }
+
+    private static float max(@Nonnull float[] a) {
+        float m = Float.NEGATIVE_INFINITY;
+
+        for (final float v : a) {
+            if (v > m) m = v;
+        }
+
+        return m;
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+        return "Vector3fBuffer{" +
+                "size=" + x.length +
+                '}';
+    }
+}
@@ -1,10 +1,9 @@
 package civitas.celestis.math.vector;
 
 import civitas.celestis.math.Numbers;
+import civitas.celestis.util.codec.TextCodec;
 import jakarta.annotation.Nonnull;
 
-import java.util.Arrays;
-
 /**
  * <h2>Vector4</h2>
  * <p>A four-dimensional vector.</p>
@@ -102,10 +101,7 @@ public class Vector4 implements Vector {
 
     @Override
     public double magnitude() {
-        final double isqrt = Numbers.isqrt(magnitude2());
-        if (isqrt == 0) return 0;
-
-        return 1 / isqrt;
+        return Numbers.sqrt(magnitude2());
     }
 
     @Override
@@ -165,7 +161,7 @@ public class Vector4 implements Vector {
      */
     @Nonnull
     public Vector4 subtract(@Nonnull Vector4 v) {
-        return new Vector4(w - v.w, x - v.x, y - v.y, z - v.y);
+        return new Vector4(w - v.w, x - v.x, y - v.y, z - v.z);
     }
 
     //
@@ -198,7 +194,10 @@ public class Vector4 implements Vector {
     @Nonnull
     @Override
     public Vector4 normalize() {
-        return multiply(Numbers.isqrt(magnitude2()));
+        final double m2 = magnitude2();
+        if (m2 == 0) return this; // Zero vectors cannot be normalized
+
+        return multiply(Numbers.isqrt(m2));
     }
 
     /**
@@ -234,28 +233,10 @@ public class Vector4 implements Vector {
      */
     @Nonnull
     public static Vector4 parseVector(@Nonnull String s) throws NumberFormatException {
-        if (!s.startsWith("Vector4{")) throw new NumberFormatException("Given string is not a vector.");
-
-        final String[] strings = s
-                .replaceAll("Vector4\\{", "")
-                .replaceAll("}", "")
-                .split(", ");
-
-        final double[] values = {Double.NaN, Double.NaN, Double.NaN, Double.NaN};
-
-        Arrays.stream(strings).forEach(string -> {
-            final String[] split = string.split("=");
-            if (split.length != 2) throw new NumberFormatException("Given string is not a vector.");
-
-            switch (split[0]) {
-                case "w" -> values[0] = Double.parseDouble(split[1]);
-                case "x" -> values[1] = Double.parseDouble(split[1]);
-                case "y" -> values[2] = Double.parseDouble(split[1]);
-                case "z" -> values[3] = Double.parseDouble(split[1]);
-            }
-        });
+        final Vector4 result = TextCodec.parseVector4(s);
+        if (result == null) throw new NumberFormatException("Given string is not a vector.");
 
-        return new Vector4(values[0], values[1], values[2], values[3]);
+        return result;
     }
 
     /**
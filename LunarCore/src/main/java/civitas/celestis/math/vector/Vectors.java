@@ -0,0 +1,129 @@
+package civitas.celestis.math.vector;
+
+import civitas.celestis.math.quaternion.Quaternion;
+import jakarta.annotation.Nonnull;
+
+/**
+ * <h2>Vectors</h2>
+ * <p>
+ * A utility class containing allocation-free vector kernels.
+ * Kernels operate on primitive components, and write their results to
+ * a {@link MutableVector3} or to an array of interleaved {@code x, y, z} components.
+ * </p>
+ * <p>
+ * Kernels do not check their inputs for finiteness.
+ * Results are checked once they are converted to an immutable {@link Vector3}.
+ * </p>
+ */
+public final class Vectors {
+    //
+    // Rotation
+    //
+
+    /**
+     * Rotates a vector by a rotation quaternion.
+     * This is equivalent to {@link Vector3#rotate(Quaternion)}, without intermediate quaternions.
+     *
+     * @param x   X component of vector
+     * @param y   Y component of vector
+     * @param z   Z component of vector
+     * @param rq  Rotation quaternion
+     * @param out Vector to write the result to
+     * @return {@code out}
+     */
+    @Nonnull
+    public static MutableVector3 rotate(double x, double y, double z, @Nonnull Quaternion rq, @Nonnull MutableVector3 out) {
+        final double qw = rq.w();
+        final double qx = rq.x();
+        final double qy = rq.y();
+        final double qz = rq.z();
+
+        // t = v * q
+        final double tw = -(x * qx + y * qy + z * qz);
+        final double tx = qw * x + y * qz - z * qy;
+        final double ty = qw * y + z * qx - x * qz;
+        final double tz = qw * z + x * qy - y * qx;
+
+        // r = q' * t
+        return out.set(
+                qw * tx - tw * qx + qz * ty - qy * tz,
+                qw * ty - tw * qy + qx * tz - qz * tx,
+                qw * tz - tw * qz + qy * tx - qx * ty
+        );
+    }
+
+    //
+    // Bulk Kernels
+    //
+
+    /**
+     * Translates, rotates, then scales a number of interleaved points.
+     * This is equivalent to calling {@code subtract(origin).rotate(rq).multiply(scale)} on every point.
+     * The source and destination arrays may be the same array.
+     *
+     * @param src       Source array of interleaved components
+     * @param srcOffset Index of the first component in {@code src}
+     * @param dst       Destination array of interleaved components
+     * @param dstOffset Index of the first component in {@code dst}
+     * @param count     Number of points to transform
+     * @param origin    New origin of the points
+     * @param rq        Rotation quaternion
+     * @param scale     Scale to inflate by
+     * @throws IndexOutOfBoundsException When either array is too small
+     */
+    public static void transform(
+            @Nonnull double[] src,
+            int srcOffset,
+            @Nonnull double[] dst,
+            int dstOffset,
+            int count,
+            @Nonnull Vector3 origin,
+            @Nonnull Quaternion rq,
+            double scale
+    ) throws IndexOutOfBoundsException {
+        final MutableVector3 p = new MutableVector3();
+
+        for (int i = 0; i < count; i++) {
+            final int s = srcOffset + i * 3;
+            final int d = dstOffset + i * 3;
+
+            rotate(src[s] - origin.x(), src[s + 1] - origin.y(), src[s + 2] - origin.z(), rq, p);
+
+            dst[d] = p.x() * scale;
+            dst[d + 1] = p.y() * scale;
+            dst[d + 2] = p.z() * scale;
+        }
+    }
+
+    /**
+     * Adds two arrays of interleaved points component-wise.
+     *
+     * @param a     First array of interleaved components
+     * @param b     Second array of interleaved components
+     * @param dst   Destination array (may be {@code a} or {@code b})
+     * @param count Number of points to add
+     * @throws IndexOutOfBoundsException When any array is too small
+     */
+    public static void add(@Nonnull double[] a, @Nonnull double[] b, @Nonnull double[] dst, int count)
+            throws IndexOutOfBoundsException {
+        for (int i = 0; i < count * 3; i++) {
+            dst[i] = a[i] + b[i];
+        }
+    }
+
+    /**
+     * Multiplies an array of interleaved points by a scalar.
+     *
+     * @param src   Source array of interleaved components
+     * @param s     Scalar to multiply by
+     * @param dst   Destination array (may be {@code src})
+     * @param count Number of points to multiply
+     * @throws IndexOutOfBoundsException When either array is too small
+     */
+    public static void multiply(@Nonnull double[] src, double s, @Nonnull double[] dst, int count)
+            throws IndexOutOfBoundsException {
+        for (int i = 0; i < count * 3; i++) {
+            dst[i] = src[i] * s;
+        }
+    }
+}
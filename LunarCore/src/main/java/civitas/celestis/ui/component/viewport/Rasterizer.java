@@ -0,0 +1,568 @@
+package civitas.celestis.ui.component.viewport;
+
+import civitas.celestis.graphics.vertex.ColoredVertex;
+import civitas.celestis.graphics.vertex.Vertex;
+import civitas.celestis.math.vector.Vector3;
+import jakarta.annotation.Nonnull;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * <h2>Rasterizer</h2>
+ * <p>
+ * A tiled software rasterizer which renders vertices into an {@code int[]} framebuffer with a depth buffer.
+ * The framebuffer is the backing array of a {@link BufferedImage}, so a rendered frame can be drawn without copying.
+ * </p>
+ * <p>
+ * Vertices are given in camera space: the camera is at the origin, looking towards {@code +Z},
+ * with {@code +X} to the right and {@code +Y} upwards. Rendering a frame consists of three phases:
+ * </p>
+ * <ol>
+ *     <li>Setup: vertices facing away from the camera are culled using {@link Vertex#normal()},
+ *     the rest are clipped against the near plane, projected, and binned into screen tiles.</li>
+ *     <li>Rasterization: tiles are rendered in parallel. Each tile owns its pixels, so no synchronization is needed.</li>
+ *     <li>Within a tile, opaque vertices are drawn first with depth writes, then translucent vertices are
+ *     blended back to front using {@link Vertex#alpha()}, without depth writes.</li>
+ * </ol>
+ * <p>
+ * Vertices are flat-shaded using the color of a {@link ColoredVertex}. Other vertices are drawn white.
+ * Instances are not thread-safe; a frame must be rendered before the next one is started.
+ * </p>
+ */
+public final class Rasterizer {
+    //
+    // Constants
+    //
+
+    /**
+     * The width and height of a tile in pixels.
+     */
+    public static final int TILE_SIZE = 64;
+
+    /**
+     * The number of values stored per projected triangle: screen X, screen Y and {@code 1 / z} of each point.
+     */
+    private static final int STRIDE = 9;
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new rasterizer which renders tiles in the common fork-join pool.
+     *
+     * @param width  Width of the framebuffer in pixels
+     * @param height Height of the framebuffer in pixels
+     * @throws IllegalArgumentException When either dimension is not positive
+     */
+    public Rasterizer(int width, int height) throws IllegalArgumentException {
+        this(width, height, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new rasterizer.
+     *
+     * @param width  Width of the framebuffer in pixels
+     * @param height Height of the framebuffer in pixels
+     * @param pool   Pool to render tiles in
+     * @throws IllegalArgumentException When either dimension is not positive
+     */
+    public Rasterizer(int width, int height, @Nonnull ForkJoinPool pool) throws IllegalArgumentException {
+        this.pool = pool;
+        resize(width, height);
+    }
+
+    //
+    // Variables
+    //
+
+    @Nonnull
+    private final ForkJoinPool pool;
+
+    private int width;
+    private int height;
+    private int tilesX;
+    private int tilesY;
+
+    private BufferedImage image;
+    private int[] pixels;
+    private float[] depth;
+
+    private double fieldOfView = Math.toRadians(90);
+    private double near = 0.01;
+    private int background = 0x000000;
+    private boolean culling = true;
+
+    /**
+     * Projected triangles of the current frame.
+     */
+    private float[] triangles = new float[STRIDE * 1024];
+    private int[] colors = new int[1024];
+    private boolean[] translucent = new boolean[1024];
+    private int triangleCount;
+
+    /**
+     * Indices of triangles overlapping each tile, in drawing order.
+     */
+    private int[][] bins;
+    private int[] binSizes;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the width of the framebuffer.
+     *
+     * @return Width in pixels
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the framebuffer.
+     *
+     * @return Height in pixels
+     */
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Gets the image backed by the framebuffer. The image is replaced when the rasterizer is resized.
+     *
+     * @return Framebuffer image
+     */
+    @Nonnull
+    public BufferedImage image() {
+        return image;
+    }
+
+    /**
+     * Gets the framebuffer in {@code 0xRRGGBB}, in row-major order.
+     * This is the backing array of {@link #image()}.
+     *
+     * @return Framebuffer
+     */
+    @Nonnull
+    public int[] pixels() {
+        return pixels;
+    }
+
+    /**
+     * Gets the number of triangles drawn in the last frame, after culling and clipping.
+     *
+     * @return Number of triangles
+     */
+    public int triangleCount() {
+        return triangleCount;
+    }
+
+    //
+    // Setters
+    //
+
+    /**
+     * Resizes the framebuffer. The contents of the framebuffer are discarded.
+     *
+     * @param width  Width of the framebuffer in pixels
+     * @param height Height of the framebuffer in pixels
+     * @throws IllegalArgumentException When either dimension is not positive
+     */
+    public void resize(int width, int height) throws IllegalArgumentException {
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException("Dimensions must be positive.");
+
+        this.width = width;
+        this.height = height;
+        this.tilesX = (width + TILE_SIZE - 1) / TILE_SIZE;
+        this.tilesY = (height + TILE_SIZE - 1) / TILE_SIZE;
+
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        this.depth = new float[width * height];
+
+        this.bins = new int[tilesX * tilesY][16];
+        this.binSizes = new int[tilesX * tilesY];
+    }
+
+    /**
+     * Replaces the framebuffer image, and returns the previous one.
+     * This allows a finished frame to be displayed while the next frame is rendered into another image.
+     * The depth buffer is unaffected, since it is cleared before every frame.
+     *
+     * @param image Image of type {@link BufferedImage#TYPE_INT_RGB} with the dimensions of the framebuffer
+     * @return Previous framebuffer image
+     * @throws IllegalArgumentException When the image is not of the required type or dimensions
+     */
+    @Nonnull
+    public BufferedImage swap(@Nonnull BufferedImage image) throws IllegalArgumentException {
+        if (image.getType() != BufferedImage.TYPE_INT_RGB || image.getWidth() != width || image.getHeight() != height) {
+            throw new IllegalArgumentException("Image must be of type TYPE_INT_RGB and " + width + "x" + height + ".");
+        }
+
+        final BufferedImage previous = this.image;
+
+        this.image = image;
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
+        return previous;
+    }
+
+    /**
+     * Sets the horizontal field of view.
+     *
+     * @param fieldOfView Field of view in radians
+     * @throws IllegalArgumentException When the field of view is not between {@code 0} and {@code π}
+     */
+    public void setFieldOfView(double fieldOfView) throws IllegalArgumentException {
+        if (!(fieldOfView > 0 && fieldOfView < Math.PI)) {
+            throw new IllegalArgumentException("Field of view must be between 0 and π.");
+        }
+
+        this.fieldOfView = fieldOfView;
+    }
+
+    /**
+     * Sets the distance of the near clipping plane. Geometry closer than this is clipped.
+     *
+     * @param near Distance of near plane
+     * @throws IllegalArgumentException When the distance is not positive
+     */
+    public void setNear(double near) throws IllegalArgumentException {
+        if (!(near > 0)) throw new IllegalArgumentException("Near plane must be positive.");
+        this.near = near;
+    }
+
+    /**
+     * Sets the color pixels are cleared to before each frame.
+     *
+     * @param background Background color in {@code 0xRRGGBB}, where any alpha byte is ignored
+     */
+    public void setBackground(int background) {
+        this.background = background & 0xffffff;
+    }
+
+    /**
+     * Sets whether vertices facing away from the camera are culled.
+     *
+     * @param culling {@code true} to enable back-face culling
+     */
+    public void setCulling(boolean culling) {
+        this.culling = culling;
+    }
+
+    //
+    // Rendering
+    //
+
+    /**
+     * Renders a frame. The framebuffer is cleared, then every vertex is drawn.
+     *
+     * @param vertices Vertices in camera space
+     */
+    public void render(@Nonnull List<? extends Vertex> vertices) {
+        setup(vertices);
+        bin();
+
+        final int tiles = tilesX * tilesY;
+        pool.submit(() -> IntStream.range(0, tiles).parallel().forEach(this::rasterize)).join();
+    }
+
+    //
+    // Setup
+    //
+
+    private void setup(@Nonnull List<? extends Vertex> vertices) {
+        triangleCount = 0;
+
+        final double focal = (width / 2d) / Math.tan(fieldOfView / 2);
+        final double[] clipped = new double[12];
+
+        for (final Vertex vertex : vertices) {
+            final Vector3 a = vertex.a();
+            final Vector3 b = vertex.b();
+            final Vector3 c = vertex.c();
+
+            // The camera is at the origin, so the view vector of a point is the point itself
+            if (culling && vertex.normal().dot(a) >= 0) continue;
+
+            final int color = color(vertex);
+            final boolean blend = vertex.translucent();
+
+            // Clip against the near plane, producing a polygon of up to four points
+            final int count = clip(a, b, c, clipped);
+
+            // Triangulate as a fan
+            for (int i = 1; i + 1 < count; i++) {
+                emit(clipped, 0, i * 3, (i + 1) * 3, focal, color, blend);
+            }
+        }
+    }
+
+    private static int color(@Nonnull Vertex vertex) {
+        final int alpha = (int) Math.round(vertex.alpha() * 255);
+
+        if (vertex instanceof ColoredVertex cv) {
+            return (alpha << 24) | (cv.color().getRGB() & 0xffffff);
+        }
+
+        return (alpha << 24) | 0xffffff;
+    }
+
+    /**
+     * Clips a triangle against the plane {@code z = near} using the Sutherland–Hodgman algorithm.
+     *
+     * @param out Array to write the points of the clipped polygon to
+     * @return Number of points in the clipped polygon
+     */
+    private int clip(@Nonnull Vector3 a, @Nonnull Vector3 b, @Nonnull Vector3 c, @Nonnull double[] out) {
+        final Vector3[] in = {a, b, c};
+        int count = 0;
+
+        for (int i = 0; i < 3; i++) {
+            final Vector3 p = in[i];
+            final Vector3 q = in[(i + 1) % 3];
+            final boolean pInside = p.z() >= near;
+            final boolean qInside = q.z() >= near;
+
+            if (pInside) {
+                out[count * 3] = p.x();
+                out[count * 3 + 1] = p.y();
+                out[count * 3 + 2] = p.z();
+                count++;
+            }
+
+            // Edge crosses the plane
+            if (pInside != qInside) {
+                final double s = (near - p.z()) / (q.z() - p.z());
+                out[count * 3] = p.x() + (q.x() - p.x()) * s;
+                out[count * 3 + 1] = p.y() + (q.y() - p.y()) * s;
+                out[count * 3 + 2] = near;
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private void emit(@Nonnull double[] points, int p0, int p1, int p2, double focal, int color, boolean blend) {
+        if (triangleCount == colors.length) {
+            final int capacity = colors.length * 2;
+            triangles = Arrays.copyOf(triangles, capacity * STRIDE);
+            colors = Arrays.copyOf(colors, capacity);
+            translucent = Arrays.copyOf(translucent, capacity);
+        }
+
+        final int o = triangleCount * STRIDE;
+        project(points, p0, focal, o);
+        project(points, p1, focal, o + 3);
+        project(points, p2, focal, o + 6);
+
+        colors[triangleCount] = color;
+        translucent[triangleCount] = blend;
+        triangleCount++;
+    }
+
+    private void project(@Nonnull double[] points, int p, double focal, int o) {
+        final double iz = 1 / points[p + 2];
+
+        triangles[o] = (float) (width / 2d + points[p] * focal * iz);
+        triangles[o + 1] = (float) (height / 2d - points[p + 1] * focal * iz);
+        triangles[o + 2] = (float) iz;
+    }
+
+    //
+    // Binning
+    //
+
+    private void bin() {
+        Arrays.fill(binSizes, 0);
+
+        // Opaque triangles are drawn in submission order
+        int translucentCount = 0;
+
+        for (int t = 0; t < triangleCount; t++) {
+            if (translucent[t]) {
+                translucentCount++;
+                continue;
+            }
+
+            bin(t);
+        }
+
+        if (translucentCount == 0) return;
+
+        // Translucent triangles are drawn back to front, ordered by the depth of their centroid
+        // Keys pack the depth above the index, and positive floats order the same as their bits
+        final long[] keys = new long[translucentCount];
+        int k = 0;
+
+        for (int t = 0; t < triangleCount; t++) {
+            if (!translucent[t]) continue;
+
+            final int o = t * STRIDE;
+            final float z = 3 / (triangles[o + 2] + triangles[o + 5] + triangles[o + 8]);
+            keys[k++] = ((long) Float.floatToIntBits(z) << 32) | t;
+        }
+
+        Arrays.sort(keys);
+
+        for (int i = keys.length - 1; i >= 0; i--) {
+            bin((int) keys[i]);
+        }
+    }
+
+    private void bin(int t) {
+        final int o = t * STRIDE;
+
+        final float minX = Math.min(triangles[o], Math.min(triangles[o + 3], triangles[o + 6]));
+        final float maxX = Math.max(triangles[o], Math.max(triangles[o + 3], triangles[o + 6]));
+        final float minY = Math.min(triangles[o + 1], Math.min(triangles[o + 4], triangles[o + 7]));
+        final float maxY = Math.max(triangles[o + 1], Math.max(triangles[o + 4], triangles[o + 7]));
+
+        // Entirely off screen
+        if (maxX < 0 || maxY < 0 || minX >= width || minY >= height) return;
+
+        final int tx0 = Math.max(0, (int) minX / TILE_SIZE);
+        final int ty0 = Math.max(0, (int) minY / TILE_SIZE);
+        final int tx1 = Math.min(tilesX - 1, (int) maxX / TILE_SIZE);
+        final int ty1 = Math.min(tilesY - 1, (int) maxY / TILE_SIZE);
+
+        for (int ty = ty0; ty <= ty1; ty++) {
+            for (int tx = tx0; tx <= tx1; tx++) {
+                final int tile = ty * tilesX + tx;
+                final int size = binSizes[tile];
+
+                if (size == bins[tile].length) bins[tile] = Arrays.copyOf(bins[tile], size * 2);
+
+                bins[tile][size] = t;
+                binSizes[tile] = size + 1;
+            }
+        }
+    }
+
+    //
+    // Rasterization
+    //
+
+    private void rasterize(int tile) {
+        final int x0 = (tile % tilesX) * TILE_SIZE;
+        final int y0 = (tile / tilesX) * TILE_SIZE;
+        final int x1 = Math.min(width, x0 + TILE_SIZE);
+        final int y1 = Math.min(height, y0 + TILE_SIZE);
+
+        // Clear this tile
+        for (int y = y0; y < y1; y++) {
+            Arrays.fill(pixels, y * width + x0, y * width + x1, background);
+            Arrays.fill(depth, y * width + x0, y * width + x1, 0);
+        }
+
+        final int[] bin = bins[tile];
+        final int size = binSizes[tile];
+
+        for (int i = 0; i < size; i++) {
+            draw(bin[i], x0, y0, x1, y1);
+        }
+    }
+
+    /**
+     * Draws a triangle within the bounds of a tile.
+     * Coverage is determined with edge functions evaluated at pixel centers, using the top-left fill rule
+     * so that pixels on an edge shared by two triangles are drawn exactly once.
+     */
+    private void draw(int t, int tileX0, int tileY0, int tileX1, int tileY1) {
+        final int o = t * STRIDE;
+
+        float ax = triangles[o], ay = triangles[o + 1], az = triangles[o + 2];
+        float bx = triangles[o + 3], by = triangles[o + 4], bz = triangles[o + 5];
+        final float cx = triangles[o + 6], cy = triangles[o + 7], cz = triangles[o + 8];
+
+        float area = (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+        if (area == 0) return;
+
+        // Make the winding consistent, so that covered pixels have non-negative edge functions
+        if (area < 0) {
+            float s = ax; ax = bx; bx = s;
+            s = ay; ay = by; by = s;
+            s = az; az = bz; bz = s;
+            area = -area;
+        }
+
+        final int minX = Math.max(tileX0, (int) Math.floor(Math.min(ax, Math.min(bx, cx))));
+        final int maxX = Math.min(tileX1 - 1, (int) Math.ceil(Math.max(ax, Math.max(bx, cx))));
+        final int minY = Math.max(tileY0, (int) Math.floor(Math.min(ay, Math.min(by, cy))));
+        final int maxY = Math.min(tileY1 - 1, (int) Math.ceil(Math.max(ay, Math.max(by, cy))));
+        if (minX > maxX || minY > maxY) return;
+
+        // Edge function coefficients: e(x, y) = A * x + B * y + C, one edge opposite each point
+        final float a0 = by - cy, b0 = cx - bx;
+        final float a1 = cy - ay, b1 = ax - cx;
+        final float a2 = ay - by, b2 = bx - ax;
+
+        // Top-left rule: pixels exactly on an edge are only covered by top or left edges
+        final boolean edge0 = topLeft(a0, b0);
+        final boolean edge1 = topLeft(a1, b1);
+        final boolean edge2 = topLeft(a2, b2);
+
+        // Reciprocal depth interpolates linearly in screen space
+        final float inverseArea = 1 / area;
+        final int color = colors[t];
+        final boolean blend = translucent[t];
+        final int alpha = color >>> 24;
+
+        final float px = minX + 0.5f;
+        final float py = minY + 0.5f;
+
+        float row0 = a0 * (px - bx) + b0 * (py - by);
+        float row1 = a1 * (px - cx) + b1 * (py - cy);
+        float row2 = a2 * (px - ax) + b2 * (py - ay);
+
+        for (int y = minY; y <= maxY; y++) {
+            float e0 = row0, e1 = row1, e2 = row2;
+            int index = y * width + minX;
+
+            for (int x = minX; x <= maxX; x++, index++, e0 += a0, e1 += a1, e2 += a2) {
+                if (e0 < 0 || e1 < 0 || e2 < 0) continue;
+                if ((e0 == 0 && !edge0) || (e1 == 0 && !edge1) || (e2 == 0 && !edge2)) continue;
+
+                final float z = (e0 * az + e1 * bz + e2 * cz) * inverseArea;
+                if (z <= depth[index]) continue; // Larger reciprocal depth is closer
+
+                if (blend) {
+                    pixels[index] = blend(pixels[index], color, alpha);
+                } else {
+                    pixels[index] = color & 0xffffff;
+                    depth[index] = z;
+                }
+            }
+
+            row0 += b0;
+            row1 += b1;
+            row2 += b2;
+        }
+    }
+
+    /**
+     * Checks if an edge is a top edge or a left edge, given a clockwise winding in screen space.
+     * The interior of a left edge is towards {@code +X}, and the interior of a top edge is towards {@code +Y}.
+     */
+    private static boolean topLeft(float a, float b) {
+        return a > 0 || (a == 0 && b > 0);
+    }
+
+    private static int blend(int dst, int src, int alpha) {
+        final int inverse = 255 - alpha;
+
+        final int r = (((src >> 16) & 0xff) * alpha + ((dst >> 16) & 0xff) * inverse) / 255;
+        final int g = (((src >> 8) & 0xff) * alpha + ((dst >> 8) & 0xff) * inverse) / 255;
+        final int b = ((src & 0xff) * alpha + (dst & 0xff) * inverse) / 255;
+
+        return (r << 16) | (g << 8) | b;
+    }
+}
@@ -1,4 +1,119 @@
 package civitas.celestis.ui.component.viewport;
 
-public class Viewport {
+import civitas.celestis.graphics.vertex.Vertex;
+import civitas.celestis.ui.LPanel;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <h2>Viewport</h2>
+ * <p>
+ * A panel which displays vertices rendered by a {@link Rasterizer}.
+ * The framebuffer follows the size of this panel, and is drawn without copying.
+ * </p>
+ * <p>
+ * Frames are double-buffered. A frame is rendered into a back buffer while the previous frame is displayed,
+ * and the two are exchanged once it is finished. Painting therefore never waits for a frame to be rendered.
+ * </p>
+ */
+public class Viewport extends LPanel {
+    /**
+     * Creates a new viewport which renders in the common fork-join pool.
+     */
+    public Viewport() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new viewport.
+     *
+     * @param pool Pool to render tiles in
+     */
+    public Viewport(@Nonnull ForkJoinPool pool) {
+        super(false); // The framebuffer is already a complete frame
+        this.rasterizer = new Rasterizer(1, 1, pool);
+
+        // Components may only be queried on the event dispatch thread, so their size is recorded here
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(@Nonnull ComponentEvent e) {
+                size = new Dimension(Math.max(1, getWidth()), Math.max(1, getHeight()));
+            }
+        });
+    }
+
+    @Nonnull
+    private final Rasterizer rasterizer;
+
+    /**
+     * Size of this panel, written on the event dispatch thread.
+     */
+    @Nonnull
+    private volatile Dimension size = new Dimension(1, 1);
+
+    /**
+     * The last finished frame, which is the one displayed. Only exchanged while holding {@link #frontLock}.
+     */
+    @Nullable
+    private volatile BufferedImage front = null;
+    private final Object frontLock = new Object();
+
+    /**
+     * Gets the rasterizer of this viewport, which can be used to configure rendering.
+     * The rasterizer must not be configured while a frame is being rendered.
+     *
+     * @return Rasterizer
+     */
+    @Nonnull
+    public Rasterizer rasterizer() {
+        return rasterizer;
+    }
+
+    /**
+     * Renders a frame, then schedules this viewport to be repainted.
+     * This can be called from any thread, and does not block painting.
+     *
+     * @param vertices Vertices in camera space
+     */
+    public void render(@Nonnull List<? extends Vertex> vertices) {
+        synchronized (rasterizer) {
+            final Dimension d = size;
+
+            if (d.width != rasterizer.width() || d.height != rasterizer.height()) {
+                rasterizer.resize(d.width, d.height);
+            }
+
+            rasterizer.render(vertices);
+
+            // The displayed frame becomes the next back buffer, unless the size has changed
+            final BufferedImage previous = front;
+            final BufferedImage back = previous != null && previous.getWidth() == d.width && previous.getHeight() == d.height
+                    ? previous
+                    : new BufferedImage(d.width, d.height, BufferedImage.TYPE_INT_RGB);
+
+            // Painting holds the lock while drawing, so the old front is not written to until it is drawn
+            synchronized (frontLock) {
+                front = rasterizer.swap(back);
+            }
+        }
+
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(@Nonnull Graphics g) {
+        super.paintComponent(g);
+
+        synchronized (frontLock) {
+            final BufferedImage image = front;
+            if (image != null) g.drawImage(image, 0, 0, null);
+        }
+    }
 }
@@ -0,0 +1,550 @@
+package civitas.celestis.util.codec;
+
+import civitas.celestis.graphics.model.IndexedMesh;
+import civitas.celestis.graphics.model.Model;
+import civitas.celestis.graphics.model.PredefinedModel;
+import civitas.celestis.graphics.vertex.ColoredVertex;
+import civitas.celestis.graphics.vertex.Vertex;
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.math.vector.*;
+import jakarta.annotation.Nonnull;
+
+import java.awt.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h2>BinaryCodec</h2>
+ * <p>
+ * A compact binary format for vectors, rotations, vertices and models.
+ * Every value is written in little-endian byte order, and the byte order of given buffers is changed accordingly.
+ * </p>
+ * <p>
+ * Vectors are written as their raw components, without any framing, so that arrays of vectors
+ * can be read and written in a single pass. {@link #write(ByteBuffer, Vector)} additionally prefixes
+ * a one-byte tag so that the type can be recovered by {@link #read(ByteBuffer)}.
+ * </p>
+ * <p>
+ * Models are prefixed with a header of {@link #MAGIC} and {@link #VERSION}.
+ * Points are stored once, and each vertex refers to its points by index.
+ * </p>
+ * <p>
+ * Reading from a buffer which ends prematurely throws a {@link java.nio.BufferUnderflowException},
+ * and writing to a buffer which is too small throws a {@link java.nio.BufferOverflowException}.
+ * </p>
+ */
+public final class BinaryCodec {
+    //
+    // Constants
+    //
+
+    /**
+     * The magic number at the start of every encoded model. ({@code LUNA} in ASCII)
+     */
+    public static final int MAGIC = 0x414e554c;
+
+    /**
+     * The current version of the model format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The size of a model header in bytes.
+     */
+    private static final int HEADER_SIZE = 4 + 4;
+
+    private static final byte TAG_VECTOR2 = 1;
+    private static final byte TAG_VECTOR3 = 2;
+    private static final byte TAG_VECTOR3F = 3;
+    private static final byte TAG_VECTOR4 = 4;
+    private static final byte TAG_QUATERNION = 5;
+    private static final byte TAG_ROTATION = 6;
+
+    //
+    // Vectors
+    //
+
+    /**
+     * Writes a vector to given buffer. (16 bytes)
+     *
+     * @param buf Buffer to write to
+     * @param v   Vector to write
+     */
+    public static void writeVector2(@Nonnull ByteBuffer buf, @Nonnull Vector2 v) {
+        buf.order(ByteOrder.LITTLE_ENDIAN).putDouble(v.x()).putDouble(v.y());
+    }
+
+    /**
+     * Reads a vector from given buffer.
+     *
+     * @param buf Buffer to read from
+     * @return Read vector
+     */
+    @Nonnull
+    public static Vector2 readVector2(@Nonnull ByteBuffer buf) {
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        return new Vector2(buf.getDouble(), buf.getDouble());
+    }
+
+    /**
+     * Writes a vector to given buffer. (24 bytes)
+     *
+     * @param buf Buffer to write to
+     * @param v   Vector to write
+     */
+    public static void writeVector3(@Nonnull ByteBuffer buf, @Nonnull Vector3 v) {
+        buf.order(ByteOrder.LITTLE_ENDIAN).putDouble(v.x()).putDouble(v.y()).putDouble(v.z());
+    }
+
+    /**
+     * Reads a vector from given buffer.
+     *
+     * @param buf Buffer to read from
+     * @return Read vector
+     */
+    @Nonnull
+    public static Vector3 readVector3(@Nonnull ByteBuffer buf) {
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        return new Vector3(buf.getDouble(), buf.getDouble(), buf.getDouble());
+    }
+
+    /**
+     * Writes a vector to given buffer. (12 bytes)
+     *
+     * @param buf Buffer to write to
+     * @param v   Vector to write
+     */
+    public static void writeVector3f(@Nonnull ByteBuffer buf, @Nonnull Vector3f v) {
+        buf.order(ByteOrder.LITTLE_ENDIAN).putFloat(v.x()).putFloat(v.y()).putFloat(v.z());
+    }
+
+    /**
+     * Reads a vector from given buffer.
+     *
+     * @param buf Buffer to read from
+     * @return Read vector
+     */
+    @Nonnull
+    public static Vector3f readVector3f(@Nonnull ByteBuffer buf) {
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        return new Vector3f(buf.getFloat(), buf.getFloat(), buf.getFloat());
+    }
+
+    /**
+     * Writes a vector to given buffer. (32 bytes)
+     * This also writes quaternions and rotations, which can be read back with
+     * {@link #readQuaternion(ByteBuffer)} and {@link #readRotation(ByteBuffer)}.
+     *
+     * @param buf Buffer to write to
+     * @param v   Vector to write
+     */
+    public static void writeVector4(@Nonnull ByteBuffer buf, @Nonnull Vector4 v) {
+        buf.order(ByteOrder.LITTLE_ENDIAN).putDouble(v.w()).putDouble(v.x()).putDouble(v.y()).putDouble(v.z());
+    }
+
+    /**
+     * Reads a vector from given buffer.
+     *
+     * @param buf Buffer to read from
+     * @return Read vector
+     */
+    @Nonnull
+    public static Vector4 readVector4(@Nonnull ByteBuffer buf) {
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        return new Vector4(buf.getDouble(), buf.getDouble(), buf.getDouble(), buf.getDouble());
+    }
+
+    /**
+     * Reads a quaternion from given buffer.
+     *
+     * @param buf Buffer to read from
+     * @return Read quaternion
+     */
+    @Nonnull
+    public static Quaternion readQuaternion(@Nonnull ByteBuffer buf) {
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        return new Quaternion(buf.getDouble(), buf.getDouble(), buf.getDouble(), buf.getDouble());
+    }
+
+    /**
+     * Reads a rotation from given buffer.
+     *
+     * @param buf Buffer to read from
+     * @return Read rotation
+     */
+    @Nonnull
+    public static Rotation readRotation(@Nonnull ByteBuffer buf) {
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        return new Rotation(buf.getDouble(), buf.getDouble(), buf.getDouble(), buf.getDouble());
+    }
+
+    //
+    // Tagged Vectors
+    //
+
+    /**
+     * Writes a vector to given buffer, prefixed by a one-byte tag denoting its type.
+     *
+     * @param buf Buffer to write to
+     * @param v   Vector to write
+     * @throws IllegalArgumentException When the type of vector is not supported
+     */
+    public static void write(@Nonnull ByteBuffer buf, @Nonnull Vector v) throws IllegalArgumentException {
+        // Subclasses must be checked before their superclass
+        if (v instanceof Rotation r) {
+            buf.put(TAG_ROTATION);
+            writeVector4(buf, r);
+        } else if (v instanceof Quaternion q) {
+            buf.put(TAG_QUATERNION);
+            writeVector4(buf, q);
+        } else if (v instanceof Vector4 v4) {
+            buf.put(TAG_VECTOR4);
+            writeVector4(buf, v4);
+        } else if (v instanceof Vector3 v3) {
+            buf.put(TAG_VECTOR3);
+            writeVector3(buf, v3);
+        } else if (v instanceof Vector3f v3f) {
+            buf.put(TAG_VECTOR3F);
+            writeVector3f(buf, v3f);
+        } else if (v instanceof Vector2 v2) {
+            buf.put(TAG_VECTOR2);
+            writeVector2(buf, v2);
+        } else {
+            throw new IllegalArgumentException("Unsupported vector type: " + v.getClass().getName());
+        }
+    }
+
+    /**
+     * Reads a vector written by {@link #write(ByteBuffer, Vector)}.
+     *
+     * @param buf Buffer to read from
+     * @return Read vector
+     * @throws IllegalArgumentException When the tag is unknown
+     */
+    @Nonnull
+    public static Vector read(@Nonnull ByteBuffer buf) throws IllegalArgumentException {
+        final byte tag = buf.get();
+
+        return switch (tag) {
+            case TAG_VECTOR2 -> readVector2(buf);
+            case TAG_VECTOR3 -> readVector3(buf);
+            case TAG_VECTOR3F -> readVector3f(buf);
+            case TAG_VECTOR4 -> readVector4(buf);
+            case TAG_QUATERNION -> readQuaternion(buf);
+            case TAG_ROTATION -> readRotation(buf);
+            default -> throw new IllegalArgumentException("Unknown vector tag: " + tag);
+        };
+    }
+
+    //
+    // Bulk Vectors
+    //
+
+    /**
+     * Writes a list of vectors to given buffer.
+     * The vectors are written as a count followed by interleaved components.
+     *
+     * @param buf     Buffer to write to
+     * @param vectors Vectors to write
+     */
+    public static void writeVector3s(@Nonnull ByteBuffer buf, @Nonnull List<Vector3> vectors) {
+        buf.order(ByteOrder.LITTLE_ENDIAN).putInt(vectors.size());
+
+        for (final Vector3 v : vectors) {
+            buf.putDouble(v.x()).putDouble(v.y()).putDouble(v.z());
+        }
+    }
+
+    /**
+     * Reads a list of vectors written by {@link #writeVector3s(ByteBuffer, List)}.
+     *
+     * @param buf Buffer to read from
+     * @return Read vectors
+     * @throws IllegalArgumentException When the count is invalid
+     */
+    @Nonnull
+    public static List<Vector3> readVector3s(@Nonnull ByteBuffer buf) throws IllegalArgumentException {
+        final int count = readCount(buf, 24);
+        final Vector3[] vectors = new Vector3[count];
+
+        for (int i = 0; i < count; i++) {
+            vectors[i] = new Vector3(buf.getDouble(), buf.getDouble(), buf.getDouble());
+        }
+
+        return List.of(vectors);
+    }
+
+    /**
+     * Writes a buffer of vectors to given byte buffer.
+     * The vectors are written as a count followed by each array of components.
+     *
+     * @param buf     Buffer to write to
+     * @param vectors Vectors to write
+     */
+    public static void writeBuffer(@Nonnull ByteBuffer buf, @Nonnull Vector3Buffer vectors) {
+        final int size = vectors.size();
+        buf.order(ByteOrder.LITTLE_ENDIAN).putInt(size);
+
+        for (int i = 0; i < size; i++) buf.putDouble(vectors.x(i));
+        for (int i = 0; i < size; i++) buf.putDouble(vectors.y(i));
+        for (int i = 0; i < size; i++) buf.putDouble(vectors.z(i));
+    }
+
+    /**
+     * Reads a buffer of vectors written by {@link #writeBuffer(ByteBuffer, Vector3Buffer)}.
+     *
+     * @param buf Buffer to read from
+     * @return Read vectors
+     * @throws IllegalArgumentException When the count is invalid or a component is not finite
+     */
+    @Nonnull
+    public static Vector3Buffer readVector3Buffer(@Nonnull ByteBuffer buf) throws IllegalArgumentException {
+        final int size = readCount(buf, 24);
+        final double[] x = new double[size];
+        final double[] y = new double[size];
+        final double[] z = new double[size];
+
+        buf.asDoubleBuffer().get(x).get(y).get(z);
+        buf.position(buf.position() + size * 24);
+
+        requireFinite(x);
+        requireFinite(y);
+        requireFinite(z);
+
+        return new Vector3Buffer(x, y, z);
+    }
+
+    /**
+     * Writes a buffer of vectors to given byte buffer.
+     * The vectors are written as a count followed by each array of components.
+     *
+     * @param buf     Buffer to write to
+     * @param vectors Vectors to write
+     */
+    public static void writeBuffer(@Nonnull ByteBuffer buf, @Nonnull Vector3fBuffer vectors) {
+        final int size = vectors.size();
+        buf.order(ByteOrder.LITTLE_ENDIAN).putInt(size);
+
+        for (int i = 0; i < size; i++) buf.putFloat(vectors.x(i));
+        for (int i = 0; i < size; i++) buf.putFloat(vectors.y(i));
+        for (int i = 0; i < size; i++) buf.putFloat(vectors.z(i));
+    }
+
+    /**
+     * Reads a buffer of vectors written by {@link #writeBuffer(ByteBuffer, Vector3fBuffer)}.
+     *
+     * @param buf Buffer to read from
+     * @return Read vectors
+     * @throws IllegalArgumentException When the count is invalid or a component is not finite
+     */
+    @Nonnull
+    public static Vector3fBuffer readVector3fBuffer(@Nonnull ByteBuffer buf) throws IllegalArgumentException {
+        final int size = readCount(buf, 12);
+        final float[] x = new float[size];
+        final float[] y = new float[size];
+        final float[] z = new float[size];
+
+        buf.asFloatBuffer().get(x).get(y).get(z);
+        buf.position(buf.position() + size * 12);
+
+        requireFinite(x);
+        requireFinite(y);
+        requireFinite(z);
+
+        return new Vector3fBuffer(x, y, z);
+    }
+
+    //
+    // Vertices
+    //
+
+    /**
+     * Writes a vertex to given buffer. (76 bytes)
+     * The vertex is written as its three points, followed by its color in ARGB.
+     *
+     * @param buf Buffer to write to
+     * @param v   Vertex to write
+     * @throws IllegalArgumentException When the vertex is not a {@link ColoredVertex}
+     */
+    public static void writeVertex(@Nonnull ByteBuffer buf, @Nonnull Vertex v) throws IllegalArgumentException {
+        writeVector3(buf, v.a());
+        writeVector3(buf, v.b());
+        writeVector3(buf, v.c());
+        buf.putInt(argb(v));
+    }
+
+    /**
+     * Reads a vertex written by {@link #writeVertex(ByteBuffer, Vertex)}.
+     *
+     * @param buf Buffer to read from
+     * @return Read vertex
+     */
+    @Nonnull
+    public static ColoredVertex readVertex(@Nonnull ByteBuffer buf) {
+        final Vector3 a = readVector3(buf);
+        final Vector3 b = readVector3(buf);
+        final Vector3 c = readVector3(buf);
+
+        return new ColoredVertex(a, b, c, new Color(buf.getInt(), true));
+    }
+
+    //
+    // Models
+    //
+
+    /**
+     * Gets the number of bytes required to encode given model.
+     *
+     * @param model Model to measure
+     * @return Encoded size in bytes
+     * @throws IllegalArgumentException When the model contains vertices which are not {@link ColoredVertex colored}
+     */
+    public static int encodedSize(@Nonnull Model model) throws IllegalArgumentException {
+        final IndexedMesh mesh = index(model);
+        return encodedSize(mesh.getPointCount(), mesh.getVertexCount());
+    }
+
+    private static int encodedSize(int points, int vertices) {
+        return HEADER_SIZE + 4 + points * 24 + 4 + vertices * 16;
+    }
+
+    /**
+     * Encodes a model to a new buffer.
+     *
+     * @param model Model to encode
+     * @return Buffer containing the model, ready to be read
+     * @throws IllegalArgumentException When the model contains vertices which are not {@link ColoredVertex colored}
+     */
+    @Nonnull
+    public static ByteBuffer encode(@Nonnull Model model) throws IllegalArgumentException {
+        // Models may copy their lists on every call, so they are indexed once for both measuring and writing
+        final IndexedMesh mesh = index(model);
+
+        final ByteBuffer buf = ByteBuffer.allocate(encodedSize(mesh.getPointCount(), mesh.getVertexCount()));
+        writeModel(buf, mesh);
+        return buf.flip();
+    }
+
+    /**
+     * Writes a model to given buffer.
+     * Each point is written once, and vertices refer to points by index.
+     * Points of vertices which are not in the model's point list are appended to it.
+     *
+     * @param buf   Buffer to write to
+     * @param model Model to write
+     * @throws IllegalArgumentException When the model contains vertices which are not {@link ColoredVertex colored}
+     */
+    public static void writeModel(@Nonnull ByteBuffer buf, @Nonnull Model model) throws IllegalArgumentException {
+        writeModel(buf, index(model));
+    }
+
+    private static void writeModel(@Nonnull ByteBuffer buf, @Nonnull IndexedMesh mesh) {
+        buf.order(ByteOrder.LITTLE_ENDIAN).putInt(MAGIC).putInt(VERSION);
+
+        // Points, in order of index
+        buf.putInt(mesh.getPointCount());
+
+        for (int i = 0; i < mesh.getPointCount(); i++) {
+            buf.putDouble(mesh.x(i)).putDouble(mesh.y(i)).putDouble(mesh.z(i));
+        }
+
+        // Vertices
+        buf.putInt(mesh.getVertexCount());
+
+        for (int i = 0; i < mesh.getVertexCount(); i++) {
+            buf.putInt(mesh.index(i, 0));
+            buf.putInt(mesh.index(i, 1));
+            buf.putInt(mesh.index(i, 2));
+            buf.putInt(mesh.color(i));
+        }
+    }
+
+    /**
+     * Reads a model written by {@link #writeModel(ByteBuffer, Model)}.
+     * Vertices of the returned model share point instances with each other and with the point list.
+     *
+     * @param buf Buffer to read from
+     * @return Read model
+     * @throws IllegalArgumentException When the header is invalid, or the data is corrupt
+     */
+    @Nonnull
+    public static Model readModel(@Nonnull ByteBuffer buf) throws IllegalArgumentException {
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buf.getInt() != MAGIC) throw new IllegalArgumentException("Buffer does not contain a model.");
+
+        final int version = buf.getInt();
+        if (version != VERSION) throw new IllegalArgumentException("Unsupported model version: " + version);
+
+        final List<Vector3> points = readVector3s(buf);
+        final int count = readCount(buf, 16);
+        final List<Vertex> vertices = new ArrayList<>(count);
+
+        try {
+            for (int i = 0; i < count; i++) {
+                final Vector3 a = points.get(buf.getInt());
+                final Vector3 b = points.get(buf.getInt());
+                final Vector3 c = points.get(buf.getInt());
+
+                vertices.add(new ColoredVertex(a, b, c, new Color(buf.getInt(), true)));
+            }
+        } catch (final IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Vertex refers to a point which does not exist.", e);
+        }
+
+        return new PredefinedModel(points, vertices);
+    }
+
+    //
+    // Helpers
+    //
+
+    /**
+     * Reads a count of elements, and checks that the buffer has enough bytes remaining to hold them.
+     * This prevents corrupt data from causing huge allocations.
+     */
+    private static int readCount(@Nonnull ByteBuffer buf, int elementSize) throws IllegalArgumentException {
+        final int count = buf.order(ByteOrder.LITTLE_ENDIAN).getInt();
+
+        if (count < 0 || (long) count * elementSize > buf.remaining()) {
+            throw new IllegalArgumentException("Invalid element count: " + count);
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the color of a vertex in ARGB.
+     */
+    private static int argb(@Nonnull Vertex v) throws IllegalArgumentException {
+        if (!(v instanceof ColoredVertex cv)) {
+            throw new IllegalArgumentException("Only colored vertices can be encoded.");
+        }
+
+        return cv.color().getRGB();
+    }
+
+    /**
+     * Indexes the distinct points of a model. Meshes are already indexed, and are used as they are.
+     * Positions are kept in double precision, as they are encoded in double precision.
+     */
+    @Nonnull
+    private static IndexedMesh index(@Nonnull Model model) throws IllegalArgumentException {
+        return model instanceof IndexedMesh mesh ? mesh : new IndexedMesh(model, false);
+    }
+
+    private static void requireFinite(@Nonnull double[] components) throws IllegalArgumentException {
+        for (final double c : components) {
+            if (!Double.isFinite(c)) throw new IllegalArgumentException("Vector component is not finite: " + c);
+        }
+    }
+
+    private static void requireFinite(@Nonnull float[] components) throws IllegalArgumentException {
+        for (final float c : components) {
+            if (!Float.isFinite(c)) throw new IllegalArgumentException("Vector component is not finite: " + c);
+        }
+    }
+}
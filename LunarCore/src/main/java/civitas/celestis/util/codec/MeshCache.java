@@ -0,0 +1,403 @@
+package civitas.celestis.util.codec;
+
+import civitas.celestis.graphics.model.IndexedMesh;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <h2>MeshCache</h2>
+ * <p>
+ * A binary cache of {@link IndexedMesh meshes} imported from Wavefront OBJ files.
+ * The first import of a file parses it with {@link WavefrontParser} and writes the mesh next to it;
+ * later imports memory-map the cache and bulk-copy its sections, without parsing any text.
+ * </p>
+ * <p>
+ * A cache is valid if it was written from a source of the same size, and either the same modification time
+ * or the same content hash. The hash is only computed when the modification time differs,
+ * so that touching or checking out an unchanged file does not invalidate its cache;
+ * the new modification time is then recorded in the cache.
+ * </p>
+ * <p>
+ * All values of a cache file are little-endian. The file begins with a 64-byte header:
+ * </p>
+ * <pre>
+ *  0  int   magic ("LMSH")
+ *  4  int   version
+ *  8  int   flags (bit 0: single precision)
+ * 12  int   ARGB color the source was imported with
+ * 16  int   number of points
+ * 20  int   number of vertices
+ * 24  long  size of source in bytes
+ * 32  long  modification time of source in milliseconds
+ * 40  long  hash of source
+ * 48        reserved
+ * </pre>
+ * <p>
+ * The header is followed by the positions, indices and colors of the mesh,
+ * each starting at the next multiple of {@link #ALIGNMENT} bytes.
+ * </p>
+ */
+public final class MeshCache {
+    //
+    // Constants
+    //
+
+    /**
+     * The magic number of a cache file, {@code "LMSH"} in little-endian.
+     */
+    public static final int MAGIC = 0x48534d4c;
+
+    /**
+     * The current version of the format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The file extension appended to the path of a source to get its default cache path.
+     */
+    public static final String EXTENSION = ".lmesh";
+
+    /**
+     * The alignment of each section in bytes.
+     */
+    public static final int ALIGNMENT = 64;
+
+    private static final int HEADER_SIZE = 64;
+    private static final int SINGLE_PRECISION = 1;
+
+    //
+    // Loading
+    //
+
+    /**
+     * Loads a single-precision mesh from a Wavefront OBJ file, using the cache next to it if valid.
+     *
+     * @param source Path of OBJ file
+     * @param color  Color to set all vertices to
+     * @return Loaded mesh
+     * @throws IOException              When the source cannot be read
+     * @throws IllegalArgumentException When the source is malformed
+     * @see #load(Path, Path, Color, boolean, ForkJoinPool)
+     */
+    @Nonnull
+    public static IndexedMesh load(@Nonnull Path source, @Nonnull Color color) throws IOException, IllegalArgumentException {
+        return load(source, cachePath(source), color, true, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Loads a mesh from a Wavefront OBJ file. If the cache is valid for the source, color and precision,
+     * the mesh is read from the cache. Otherwise, the source is parsed and the cache is rewritten.
+     * Failing to write the cache does not prevent the mesh from being returned.
+     *
+     * @param source          Path of OBJ file
+     * @param cache           Path of cache file
+     * @param color           Color to set all vertices to
+     * @param singlePrecision Whether to store positions in single precision
+     * @param pool            Pool to parse the source in
+     * @return Loaded mesh
+     * @throws IOException              When the source cannot be read
+     * @throws IllegalArgumentException When the source is malformed
+     */
+    @Nonnull
+    public static IndexedMesh load(
+            @Nonnull Path source,
+            @Nonnull Path cache,
+            @Nonnull Color color,
+            boolean singlePrecision,
+            @Nonnull ForkJoinPool pool
+    ) throws IOException, IllegalArgumentException {
+        final IndexedMesh cached = readIfValid(cache, source, color, singlePrecision);
+        if (cached != null) return cached;
+
+        // The modification time is taken before the source is read, and the hash covers the exact bytes parsed,
+        // so that a source which changes during the import fails validation on the next load
+        final long modified = Files.getLastModifiedTime(source).toMillis();
+        final Stamp stamp;
+        final IndexedMesh mesh;
+
+        try (final FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            final ByteBuffer data = map(channel);
+
+            stamp = new Stamp(data.limit(), modified, hash(data));
+            mesh = WavefrontParser.parse(data, color, singlePrecision, pool);
+        }
+
+        try {
+            write(cache, mesh, color, stamp);
+        } catch (final IOException e) {
+            // The cache is an optimization; the mesh is still usable
+        }
+
+        return mesh;
+    }
+
+    /**
+     * Gets the default cache path of a source.
+     *
+     * @param source Path of source
+     * @return Path of cache
+     */
+    @Nonnull
+    public static Path cachePath(@Nonnull Path source) {
+        return source.resolveSibling(source.getFileName() + EXTENSION);
+    }
+
+    //
+    // Reading
+    //
+
+    /**
+     * Reads a mesh from a cache file, without checking whether its source has changed.
+     *
+     * @param cache Path of cache file
+     * @return Read mesh
+     * @throws IOException              When the file cannot be read
+     * @throws IllegalArgumentException When the file is not a valid cache
+     */
+    @Nonnull
+    public static IndexedMesh read(@Nonnull Path cache) throws IOException, IllegalArgumentException {
+        try (final FileChannel channel = FileChannel.open(cache, StandardOpenOption.READ)) {
+            return read(map(channel));
+        }
+    }
+
+    /**
+     * Reads a mesh from a cache file if it is valid for the given source and import settings.
+     *
+     * @return Read mesh, or {@code null} if the cache does not exist, is corrupt or is out of date
+     */
+    @Nullable
+    private static IndexedMesh readIfValid(@Nonnull Path cache, @Nonnull Path source, @Nonnull Color color, boolean singlePrecision)
+            throws IOException {
+        if (!Files.isRegularFile(cache)) return null;
+
+        try (final FileChannel channel = FileChannel.open(cache, StandardOpenOption.READ)) {
+            final ByteBuffer buf = map(channel);
+            if (buf.limit() < HEADER_SIZE || buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION) return null;
+
+            final boolean cachedPrecision = (buf.getInt(8) & SINGLE_PRECISION) != 0;
+            if (cachedPrecision != singlePrecision || buf.getInt(12) != color.getRGB()) return null;
+
+            if (buf.getLong(24) != Files.size(source)) return null;
+
+            final long modified = Files.getLastModifiedTime(source).toMillis();
+
+            if (buf.getLong(32) != modified) {
+                if (buf.getLong(40) != hash(source)) return null;
+
+                // The content is unchanged, so record the new time to avoid hashing on every load
+                touch(cache, modified);
+            }
+
+            return read(buf);
+        } catch (final IllegalArgumentException e) {
+            return null; // Corrupt caches are rewritten
+        }
+    }
+
+    @Nonnull
+    private static IndexedMesh read(@Nonnull ByteBuffer buf) throws IllegalArgumentException {
+        if (buf.limit() < HEADER_SIZE || buf.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("File is not a mesh cache.");
+        }
+
+        final int version = buf.getInt(4);
+        if (version != VERSION) throw new IllegalArgumentException("Unsupported mesh cache version: " + version);
+
+        final boolean singlePrecision = (buf.getInt(8) & SINGLE_PRECISION) != 0;
+        final int pointCount = buf.getInt(16);
+        final int vertexCount = buf.getInt(20);
+
+        if (pointCount < 0 || vertexCount < 0) throw new IllegalArgumentException("Invalid mesh cache header.");
+
+        final long positionBytes = (long) pointCount * 3 * (singlePrecision ? Float.BYTES : Double.BYTES);
+        final long positionOffset = HEADER_SIZE;
+        final long indexOffset = align(positionOffset + positionBytes);
+        final long colorOffset = align(indexOffset + (long) vertexCount * 3 * Integer.BYTES);
+        final long end = colorOffset + (long) vertexCount * Integer.BYTES;
+
+        if (end > buf.limit()) throw new IllegalArgumentException("Mesh cache is truncated.");
+
+        final int[] indices = new int[vertexCount * 3];
+        final int[] colors = new int[vertexCount];
+
+        slice(buf, indexOffset, indices.length * Integer.BYTES).asIntBuffer().get(indices);
+        slice(buf, colorOffset, colors.length * Integer.BYTES).asIntBuffer().get(colors);
+
+        if (singlePrecision) {
+            final float[] positions = new float[pointCount * 3];
+            slice(buf, positionOffset, (int) positionBytes).asFloatBuffer().get(positions);
+            return new IndexedMesh(positions, indices, colors);
+        }
+
+        final double[] positions = new double[pointCount * 3];
+        slice(buf, positionOffset, (int) positionBytes).asDoubleBuffer().get(positions);
+        return new IndexedMesh(positions, indices, colors);
+    }
+
+    //
+    // Writing
+    //
+
+    /**
+     * Writes a mesh to a cache file, recording the current state of its source.
+     * The file is written to a temporary file first, then moved into place,
+     * so that readers never observe a partially written cache.
+     * The mesh must have been imported from the source as it is now.
+     *
+     * @param cache  Path of cache file
+     * @param mesh   Mesh to write
+     * @param source Path of the source the mesh was imported from
+     * @param color  Color the mesh was imported with
+     * @throws IOException When the cache cannot be written, or the source cannot be read
+     */
+    public static void write(@Nonnull Path cache, @Nonnull IndexedMesh mesh, @Nonnull Path source, @Nonnull Color color)
+            throws IOException {
+        final long modified = Files.getLastModifiedTime(source).toMillis();
+        write(cache, mesh, color, new Stamp(Files.size(source), modified, hash(source)));
+    }
+
+    private static void write(@Nonnull Path cache, @Nonnull IndexedMesh mesh, @Nonnull Color color, @Nonnull Stamp stamp)
+            throws IOException {
+        final boolean singlePrecision = mesh.singlePrecision();
+        final int pointCount = mesh.getPointCount();
+        final int vertexCount = mesh.getVertexCount();
+
+        final long positionBytes = (long) pointCount * 3 * (singlePrecision ? Float.BYTES : Double.BYTES);
+        final long indexOffset = align(HEADER_SIZE + positionBytes);
+        final long colorOffset = align(indexOffset + (long) vertexCount * 3 * Integer.BYTES);
+        final long size = colorOffset + (long) vertexCount * Integer.BYTES;
+
+        if (size > Integer.MAX_VALUE) throw new IOException("Mesh is too large to cache.");
+
+        final ByteBuffer buf = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+
+        // Header
+        buf.putInt(0, MAGIC);
+        buf.putInt(4, VERSION);
+        buf.putInt(8, singlePrecision ? SINGLE_PRECISION : 0);
+        buf.putInt(12, color.getRGB());
+        buf.putInt(16, pointCount);
+        buf.putInt(20, vertexCount);
+        buf.putLong(24, stamp.size());
+        buf.putLong(32, stamp.modified());
+        buf.putLong(40, stamp.hash());
+
+        // Sections
+        if (singlePrecision) {
+            slice(buf, HEADER_SIZE, (int) positionBytes).asFloatBuffer().put(mesh.positionsf());
+        } else {
+            slice(buf, HEADER_SIZE, (int) positionBytes).asDoubleBuffer().put(mesh.positions());
+        }
+
+        slice(buf, indexOffset, vertexCount * 3 * Integer.BYTES).asIntBuffer().put(mesh.indices());
+        slice(buf, colorOffset, vertexCount * Integer.BYTES).asIntBuffer().put(mesh.colors());
+
+        // Every writer has its own temporary file, so that concurrent imports of a source cannot interleave
+        final Path temporary = Files.createTempFile(cache.toAbsolutePath().getParent(), cache.getFileName().toString(), ".tmp");
+
+        try {
+            try (final FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (buf.hasRemaining()) channel.write(buf);
+            }
+
+            Files.move(temporary, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            // Nothing is left once the file has been moved
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Updates the modification time of the source recorded in a cache file.
+     * Failing to do so only means that the source will be hashed again on the next load.
+     */
+    private static void touch(@Nonnull Path cache, long modified) {
+        final ByteBuffer buf = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(0, modified);
+
+        try (final FileChannel channel = FileChannel.open(cache, StandardOpenOption.WRITE)) {
+            channel.write(buf, 32);
+        } catch (final IOException e) {
+            // The cache remains valid through its hash
+        }
+    }
+
+    //
+    // Helpers
+    //
+
+    /**
+     * Computes a non-cryptographic 64-bit hash of the contents of a file.
+     * The file is memory-mapped and hashed eight bytes at a time.
+     *
+     * @param path Path of file
+     * @return Hash of file
+     * @throws IOException When the file cannot be read
+     */
+    public static long hash(@Nonnull Path path) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return hash(map(channel));
+        }
+    }
+
+    /**
+     * Computes the hash of a little-endian buffer between index {@code 0} and its limit.
+     */
+    private static long hash(@Nonnull ByteBuffer buf) {
+        final int words = buf.limit() / Long.BYTES;
+
+        long h = 0x9e3779b97f4a7c15L ^ buf.limit();
+
+        for (int i = 0; i < words; i++) {
+            h = Long.rotateLeft(h ^ buf.getLong(i * Long.BYTES) * 0xc2b2ae3d27d4eb4fL, 31) * 0x9e3779b97f4a7c15L;
+        }
+
+        for (int i = words * Long.BYTES; i < buf.limit(); i++) {
+            h = (h ^ buf.get(i)) * 0x100000001b3L;
+        }
+
+        // Final avalanche
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+
+        return h;
+    }
+
+    @Nonnull
+    private static ByteBuffer map(@Nonnull FileChannel channel) throws IOException {
+        final long size = channel.size();
+        if (size > Integer.MAX_VALUE) throw new IOException("File is too large to map.");
+
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Nonnull
+    private static ByteBuffer slice(@Nonnull ByteBuffer buf, long offset, int length) {
+        return buf.slice((int) offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static long align(long offset) {
+        return (offset + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    /**
+     * The state of a source which a cache is valid for.
+     *
+     * @param size     Size of source in bytes
+     * @param modified Modification time of source in milliseconds
+     * @param hash     Hash of source
+     */
+    private record Stamp(long size, long modified, long hash) {}
+}
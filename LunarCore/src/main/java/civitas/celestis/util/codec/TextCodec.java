@@ -0,0 +1,270 @@
+package civitas.celestis.util.codec;
+
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.math.vector.*;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * <h2>TextCodec</h2>
+ * <p>
+ * A single-pass parser for the string format produced by the {@code toString()} methods of vectors,
+ * e.g. {@code Vector3{x=1.0, y=2.0, z=3.0}}.
+ * </p>
+ * <p>
+ * Unlike the regex-based parsers this replaces, the string is scanned once without intermediate strings
+ * (other than for each number), and malformed input results in {@code null} instead of an exception.
+ * Components may appear in any order, and unknown components are ignored.
+ * Every known component is required, and must be finite.
+ * </p>
+ */
+public final class TextCodec {
+    //
+    // Parsers
+    //
+
+    /**
+     * Parses a string to a vector of the type named by its prefix.
+     *
+     * @param s String to parse
+     * @return Parsed vector, or {@code null} if the string is not a valid vector
+     */
+    @Nullable
+    public static Vector parse(@Nonnull CharSequence s) {
+        final int open = indexOf(s, '{', 0);
+        if (open < 0) return null;
+
+        return switch (s.subSequence(0, open).toString()) {
+            case "Vector2" -> parseVector2(s);
+            case "Vector3" -> parseVector3(s);
+            case "Vector3f" -> parseVector3f(s);
+            case "Vector4" -> parseVector4(s);
+            case "Quaternion" -> parseQuaternion(s);
+            case "Rotation" -> parseRotation(s);
+            default -> null;
+        };
+    }
+
+    /**
+     * Parses a string to a {@link Vector2}.
+     *
+     * @param s String to parse
+     * @return Parsed vector, or {@code null} if the string is not a valid vector
+     */
+    @Nullable
+    public static Vector2 parseVector2(@Nonnull CharSequence s) {
+        final double[] v = new double[2];
+        if (!parse(s, "Vector2", XY, v)) return null;
+
+        return new Vector2(v[0], v[1]);
+    }
+
+    /**
+     * Parses a string to a {@link Vector3}.
+     *
+     * @param s String to parse
+     * @return Parsed vector, or {@code null} if the string is not a valid vector
+     */
+    @Nullable
+    public static Vector3 parseVector3(@Nonnull CharSequence s) {
+        final double[] v = new double[3];
+        if (!parse(s, "Vector3", XYZ, v)) return null;
+
+        return new Vector3(v[0], v[1], v[2]);
+    }
+
+    /**
+     * Parses a string to a {@link Vector3f}.
+     *
+     * @param s String to parse
+     * @return Parsed vector, or {@code null} if the string is not a valid vector
+     */
+    @Nullable
+    public static Vector3f parseVector3f(@Nonnull CharSequence s) {
+        final double[] v = new double[3];
+        if (!parse(s, "Vector3f", XYZ, v)) return null;
+
+        // Components must also be finite in single precision
+        final float x = (float) v[0], y = (float) v[1], z = (float) v[2];
+        if (!Float.isFinite(x) || !Float.isFinite(y) || !Float.isFinite(z)) return null;
+
+        return new Vector3f(x, y, z);
+    }
+
+    /**
+     * Parses a string to a {@link Vector4}.
+     *
+     * @param s String to parse
+     * @return Parsed vector, or {@code null} if the string is not a valid vector
+     */
+    @Nullable
+    public static Vector4 parseVector4(@Nonnull CharSequence s) {
+        final double[] v = new double[4];
+        if (!parse(s, "Vector4", WXYZ, v)) return null;
+
+        return new Vector4(v[0], v[1], v[2], v[3]);
+    }
+
+    /**
+     * Parses a string to a {@link Quaternion}.
+     *
+     * @param s String to parse
+     * @return Parsed quaternion, or {@code null} if the string is not a valid quaternion
+     */
+    @Nullable
+    public static Quaternion parseQuaternion(@Nonnull CharSequence s) {
+        final double[] v = new double[4];
+        if (!parse(s, "Quaternion", WXYZ, v)) return null;
+
+        return new Quaternion(v[0], v[1], v[2], v[3]);
+    }
+
+    /**
+     * Parses a string to a {@link Rotation}.
+     *
+     * @param s String to parse
+     * @return Parsed rotation, or {@code null} if the string is not a valid rotation
+     */
+    @Nullable
+    public static Rotation parseRotation(@Nonnull CharSequence s) {
+        final double[] v = new double[4];
+        if (!parse(s, "Rotation", ANGLE_XYZ, v)) return null;
+
+        return new Rotation(v[0], v[1], v[2], v[3]);
+    }
+
+    //
+    // Scanner
+    //
+
+    private static final String[] XY = {"x", "y"};
+    private static final String[] XYZ = {"x", "y", "z"};
+    private static final String[] WXYZ = {"w", "x", "y", "z"};
+    private static final String[] ANGLE_XYZ = {"angle", "x", "y", "z"};
+
+    /**
+     * Parses a string of the form {@code Name{k1=v1, k2=v2, ...}}.
+     *
+     * @param s    String to parse
+     * @param name Expected name
+     * @param keys Expected keys
+     * @param out  Array to write values to, in order of {@code keys}
+     * @return {@code true} if the string was parsed successfully
+     */
+    private static boolean parse(@Nonnull CharSequence s, @Nonnull String name, @Nonnull String[] keys, @Nonnull double[] out) {
+        final int length = s.length();
+        final int n = name.length();
+
+        // Name and opening brace
+        if (length < n + 2 || s.charAt(n) != '{' || s.charAt(length - 1) != '}') return false;
+
+        for (int i = 0; i < n; i++) {
+            if (s.charAt(i) != name.charAt(i)) return false;
+        }
+
+        int found = 0; // Bit set of keys found
+        int i = n + 1;
+        final int end = length - 1;
+
+        while (i < end) {
+            // Skip separators
+            while (i < end && (s.charAt(i) == ' ' || s.charAt(i) == ',')) i++;
+            if (i >= end) break;
+
+            // Key
+            final int eq = indexOf(s, '=', i);
+            if (eq < 0 || eq >= end) return false;
+
+            final int key = keyIndex(s, i, eq, keys);
+
+            // Value
+            int valueEnd = eq + 1;
+            while (valueEnd < end && s.charAt(valueEnd) != ',') valueEnd++;
+
+            if (key >= 0) {
+                if (!isNumber(s, eq + 1, valueEnd)) return false;
+
+                // Large exponents or long mantissas overflow to infinity
+                final double value = Double.parseDouble(s.subSequence(eq + 1, valueEnd).toString());
+                if (!Double.isFinite(value)) return false;
+
+                out[key] = value;
+                found |= 1 << key;
+            }
+
+            i = valueEnd;
+        }
+
+        // Every key is required
+        return found == (1 << keys.length) - 1;
+    }
+
+    /**
+     * Finds the index of the key in the given range.
+     *
+     * @return Index of key, or {@code -1} if it is not a known key
+     */
+    private static int keyIndex(@Nonnull CharSequence s, int start, int end, @Nonnull String[] keys) {
+        outer:
+        for (int k = 0; k < keys.length; k++) {
+            final String key = keys[k];
+            if (key.length() != end - start) continue;
+
+            for (int j = 0; j < key.length(); j++) {
+                if (s.charAt(start + j) != key.charAt(j)) continue outer;
+            }
+
+            return k;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Checks if the given range is a decimal number, as produced by {@link Double#toString(double)}.
+     * This guarantees that {@link Double#parseDouble(String)} will not throw an exception,
+     * but not that the result is finite.
+     */
+    private static boolean isNumber(@Nonnull CharSequence s, int start, int end) {
+        int i = start;
+
+        if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) i++;
+
+        // Integer and fraction parts
+        int digits = 0;
+        while (i < end && isDigit(s.charAt(i))) {i++; digits++;}
+
+        if (i < end && s.charAt(i) == '.') {
+            i++;
+            while (i < end && isDigit(s.charAt(i))) {i++; digits++;}
+        }
+
+        if (digits == 0) return false;
+
+        // Exponent
+        if (i < end && (s.charAt(i) == 'E' || s.charAt(i) == 'e')) {
+            i++;
+            if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) i++;
+
+            int exponent = 0;
+            while (i < end && isDigit(s.charAt(i))) {i++; exponent++;}
+
+            if (exponent == 0) return false;
+        }
+
+        return i == end;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int indexOf(@Nonnull CharSequence s, char c, int from) {
+        for (int i = from; i < s.length(); i++) {
+            if (s.charAt(i) == c) return i;
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,432 @@
+package civitas.celestis.util.codec;
+
+import civitas.celestis.graphics.model.IndexedMesh;
+import jakarta.annotation.Nonnull;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * <h2>WavefrontParser</h2>
+ * <p>
+ * A streaming parser for Wavefront OBJ files, which writes directly into an {@link IndexedMesh}.
+ * Files are memory-mapped and split into chunks at line boundaries, which are parsed in parallel.
+ * Each chunk collects its own points and faces, then the chunks are concatenated into the mesh.
+ * Points and faces are not boxed, and no intermediate object model is built.
+ * </p>
+ * <p>
+ * Only {@code v} and {@code f} statements are read; every other statement is skipped.
+ * Faces with more than three points are triangulated as a fan around their first point,
+ * and texture and normal references of face points ({@code v/vt/vn}) are ignored.
+ * Negative (relative) point references are supported.
+ * </p>
+ * <p>
+ * Points are converted to Lunar coordinates the same way as {@link civitas.celestis.util.translation.Translator},
+ * by swapping their X and Z components.
+ * </p>
+ */
+public final class WavefrontParser {
+    //
+    // Constants
+    //
+
+    /**
+     * The minimum number of bytes parsed by each parallel task.
+     * Smaller files are parsed in a single chunk.
+     */
+    public static final int CHUNK_SIZE = 1 << 20;
+
+    /**
+     * Exact powers of ten representable as doubles.
+     */
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    //
+    // Reading
+    //
+
+    /**
+     * Reads a Wavefront OBJ file into a single-precision mesh, using the common fork-join pool.
+     *
+     * @param path  Path of file
+     * @param color Color to set all vertices to
+     * @return Parsed mesh
+     * @throws IOException              When the file cannot be read, or is larger than 2 GiB
+     * @throws IllegalArgumentException When the file is malformed
+     */
+    @Nonnull
+    public static IndexedMesh read(@Nonnull Path path, @Nonnull Color color) throws IOException, IllegalArgumentException {
+        return read(path, color, true, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Reads a Wavefront OBJ file into a mesh.
+     *
+     * @param path            Path of file
+     * @param color           Color to set all vertices to
+     * @param singlePrecision Whether to store positions in single precision
+     * @param pool            Pool to parse chunks in
+     * @return Parsed mesh
+     * @throws IOException              When the file cannot be read, or is larger than 2 GiB
+     * @throws IllegalArgumentException When the file is malformed
+     */
+    @Nonnull
+    public static IndexedMesh read(@Nonnull Path path, @Nonnull Color color, boolean singlePrecision, @Nonnull ForkJoinPool pool)
+            throws IOException, IllegalArgumentException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("File is too large to map: " + path);
+
+            // The mapping remains valid after the channel is closed
+            return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), color, singlePrecision, pool);
+        }
+    }
+
+    /**
+     * Parses Wavefront OBJ data between the position and the limit of a buffer.
+     * The position of the buffer is not modified.
+     *
+     * @param source          Buffer to parse
+     * @param color           Color to set all vertices to
+     * @param singlePrecision Whether to store positions in single precision
+     * @param pool            Pool to parse chunks in
+     * @return Parsed mesh
+     * @throws IllegalArgumentException When the data is malformed
+     */
+    @Nonnull
+    public static IndexedMesh parse(@Nonnull ByteBuffer source, @Nonnull Color color, boolean singlePrecision, @Nonnull ForkJoinPool pool)
+            throws IllegalArgumentException {
+        final Chunk[] chunks = split(source, pool.getParallelism());
+
+        // Parse each chunk independently
+        run(pool, chunks.length, i -> chunks[i].parse());
+
+        // Each chunk starts after the points and faces of the chunks before it
+        final int[] pointOffsets = new int[chunks.length + 1];
+        final int[] indexOffsets = new int[chunks.length + 1];
+
+        for (int i = 0; i < chunks.length; i++) {
+            pointOffsets[i + 1] = pointOffsets[i] + chunks[i].pointCount;
+            indexOffsets[i + 1] = indexOffsets[i] + chunks[i].indexCount;
+        }
+
+        final int pointCount = pointOffsets[chunks.length];
+        final double[] positions = singlePrecision ? null : new double[pointCount * 3];
+        final float[] positionsf = singlePrecision ? new float[pointCount * 3] : null;
+        final int[] indices = new int[indexOffsets[chunks.length]];
+
+        // Concatenate chunks, resolving relative references against the points of earlier chunks
+        run(pool, chunks.length, i -> {
+            final Chunk chunk = chunks[i];
+            final int components = chunk.pointCount * 3;
+
+            if (positions != null) {
+                System.arraycopy(chunk.points, 0, positions, pointOffsets[i] * 3, components);
+            } else {
+                for (int j = 0; j < components; j++) {
+                    positionsf[pointOffsets[i] * 3 + j] = (float) chunk.points[j];
+                }
+            }
+
+            System.arraycopy(chunk.indices, 0, indices, indexOffsets[i], chunk.indexCount);
+
+            for (int j = chunk.relative.nextSetBit(0); j >= 0; j = chunk.relative.nextSetBit(j + 1)) {
+                indices[indexOffsets[i] + j] += pointOffsets[i];
+            }
+        });
+
+        final int[] colors = new int[indices.length / 3];
+        Arrays.fill(colors, color.getRGB());
+
+        return positions != null
+                ? new IndexedMesh(positions, indices, colors)
+                : new IndexedMesh(positionsf, indices, colors);
+    }
+
+    //
+    // Chunking
+    //
+
+    /**
+     * Splits a buffer into chunks which start at the beginning of a line.
+     */
+    @Nonnull
+    private static Chunk[] split(@Nonnull ByteBuffer source, int parallelism) {
+        final int start = source.position();
+        final int end = source.limit();
+        final int count = Math.max(1, Math.min(parallelism * 4, (end - start) / CHUNK_SIZE));
+
+        final Chunk[] chunks = new Chunk[count];
+        int from = start;
+
+        for (int i = 0; i < count; i++) {
+            int to = i == count - 1 ? end : Math.max(from, start + (int) ((long) (end - start) * (i + 1) / count));
+
+            // Move the boundary past the end of the line it falls in
+            while (to < end && to > from && source.get(to - 1) != '\n') to++;
+
+            chunks[i] = new Chunk(source, from, to);
+            from = to;
+        }
+
+        return chunks;
+    }
+
+    /**
+     * Runs a task for each index in {@code [0, count)}, in parallel if there is more than one.
+     */
+    private static void run(@Nonnull ForkJoinPool pool, int count, @Nonnull IntConsumer task) {
+        if (count == 1) {
+            task.accept(0);
+            return;
+        }
+
+        pool.submit(() -> IntStream.range(0, count).parallel().forEach(task)).join();
+    }
+
+    /**
+     * A range of lines, and the points and faces parsed from it.
+     */
+    private static final class Chunk {
+        private Chunk(@Nonnull ByteBuffer source, int start, int end) {
+            this.source = source;
+            this.pos = start;
+            this.end = end;
+        }
+
+        @Nonnull
+        private final ByteBuffer source;
+        private int pos;
+        private final int end;
+
+        /**
+         * Points, already converted to Lunar coordinates.
+         */
+        private double[] points = new double[3 * 1024];
+        private int pointCount;
+
+        /**
+         * Point indices of triangles. Absolute references are resolved,
+         * and relative references are resolved against the start of this chunk.
+         */
+        private int[] indices = new int[3 * 1024];
+        private int indexCount;
+
+        /**
+         * Positions in {@link #indices} which hold relative references.
+         */
+        private final BitSet relative = new BitSet();
+
+        /**
+         * Point references of the current face.
+         */
+        private int[] face = new int[8];
+        private boolean[] faceRelative = new boolean[8];
+
+        private void parse() {
+            while (pos < end) {
+                skipBlanks();
+                if (pos >= end) break;
+
+                final byte c = source.get(pos);
+
+                if (c == 'v' && blank(pos + 1)) {
+                    pos++;
+                    point();
+                } else if (c == 'f' && blank(pos + 1)) {
+                    pos++;
+                    face();
+                }
+
+                skipLine();
+            }
+        }
+
+        private void point() {
+            final double x = number();
+            final double y = number();
+            final double z = number();
+
+            if (pointCount * 3 == points.length) points = Arrays.copyOf(points, points.length * 2);
+
+            // Swap X and Z, as Translator does
+            points[pointCount * 3] = z;
+            points[pointCount * 3 + 1] = y;
+            points[pointCount * 3 + 2] = x;
+            pointCount++;
+        }
+
+        private void face() {
+            int corners = 0;
+
+            while (true) {
+                skipBlanks();
+                if (pos >= end || lineEnd(source.get(pos))) break;
+
+                final int reference = integer();
+                if (reference == 0) throw malformed("Point reference cannot be zero");
+
+                // Skip texture and normal references
+                while (pos < end && source.get(pos) == '/') {
+                    pos++;
+                    if (pos < end && (digit(source.get(pos)) || source.get(pos) == '-')) integer();
+                }
+
+                if (corners == face.length) {
+                    face = Arrays.copyOf(face, corners * 2);
+                    faceRelative = Arrays.copyOf(faceRelative, corners * 2);
+                }
+
+                // References are one-based, or relative to the last point when negative
+                face[corners] = reference > 0 ? reference - 1 : pointCount + reference;
+                faceRelative[corners] = reference < 0;
+                corners++;
+            }
+
+            if (corners < 3) throw malformed("Face must have at least three points");
+
+            // Triangulate as a fan around the first point
+            for (int i = 1; i + 1 < corners; i++) {
+                add(0);
+                add(i);
+                add(i + 1);
+            }
+        }
+
+        private void add(int corner) {
+            if (indexCount == indices.length) indices = Arrays.copyOf(indices, indices.length * 2);
+            if (faceRelative[corner]) relative.set(indexCount);
+
+            indices[indexCount++] = face[corner];
+        }
+
+        //
+        // Scanning
+        //
+
+        private int integer() {
+            boolean negative = false;
+
+            if (pos < end && (source.get(pos) == '-' || source.get(pos) == '+')) {
+                negative = source.get(pos) == '-';
+                pos++;
+            }
+
+            if (pos >= end || !digit(source.get(pos))) throw malformed("Expected an integer");
+
+            long value = 0;
+
+            while (pos < end && digit(source.get(pos))) {
+                value = value * 10 + (source.get(pos++) - '0');
+                if (value > Integer.MAX_VALUE) throw malformed("Integer is too large");
+            }
+
+            return (int) (negative ? -value : value);
+        }
+
+        /**
+         * Parses a decimal number. Numbers with at most seventeen significant digits and a small exponent
+         * are computed with a single correctly rounded operation; others fall back to {@link Double#parseDouble(String)}.
+         */
+        private double number() {
+            skipBlanks();
+            final int start = pos;
+
+            boolean negative = false;
+
+            if (pos < end && (source.get(pos) == '-' || source.get(pos) == '+')) {
+                negative = source.get(pos) == '-';
+                pos++;
+            }
+
+            long mantissa = 0;
+            int exponent = 0;
+            boolean digits = false;
+            boolean exact = true;
+
+            while (pos < end && digit(source.get(pos))) {
+                if (mantissa < 100_000_000_000_000_000L) {
+                    mantissa = mantissa * 10 + (source.get(pos) - '0');
+                } else {
+                    exponent++;
+                    exact = false;
+                }
+
+                pos++;
+                digits = true;
+            }
+
+            if (pos < end && source.get(pos) == '.') {
+                pos++;
+
+                while (pos < end && digit(source.get(pos))) {
+                    if (mantissa < 100_000_000_000_000_000L) {
+                        mantissa = mantissa * 10 + (source.get(pos) - '0');
+                        exponent--;
+                    } else {
+                        exact = false;
+                    }
+
+                    pos++;
+                    digits = true;
+                }
+            }
+
+            if (!digits) throw malformed("Expected a number");
+
+            if (pos < end && (source.get(pos) == 'e' || source.get(pos) == 'E')) {
+                pos++;
+                exponent += integer();
+            }
+
+            if (exact && mantissa < (1L << 53) && exponent >= -22 && exponent <= 22) {
+                final double value = exponent < 0 ? mantissa / POW10[-exponent] : mantissa * POW10[exponent];
+                return negative ? -value : value;
+            }
+
+            final byte[] text = new byte[pos - start];
+            source.get(start, text);
+
+            return Double.parseDouble(new String(text, StandardCharsets.US_ASCII));
+        }
+
+        private void skipBlanks() {
+            while (pos < end && blank(pos)) pos++;
+        }
+
+        private void skipLine() {
+            while (pos < end && source.get(pos) != '\n') pos++;
+            pos++;
+        }
+
+        private boolean blank(int i) {
+            return i < end && (source.get(i) == ' ' || source.get(i) == '\t');
+        }
+
+        private static boolean digit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+
+        private static boolean lineEnd(byte b) {
+            return b == '\n' || b == '\r' || b == '#';
+        }
+
+        @Nonnull
+        private IllegalArgumentException malformed(@Nonnull String message) {
+            return new IllegalArgumentException(message + " at byte " + pos + ".");
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package civitas.celestis.util.concurrent;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <h2>MpscQueue</h2>
+ * <p>
+ * A lock-free, multi-producer single-consumer queue.
+ * Any thread may offer elements, but only one thread may poll or take elements.
+ * </p>
+ * <p>
+ * When the queue is empty, {@link #take()} first spins, then yields,
+ * then parks the consumer thread until a producer offers an element.
+ * An idle consumer therefore does not occupy a processor core.
+ * </p>
+ *
+ * @param <E> Type of element to hold
+ */
+public final class MpscQueue<E> {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new unbounded queue.
+     */
+    public MpscQueue() {
+        this(UNBOUNDED);
+    }
+
+    /**
+     * Creates a new queue.
+     *
+     * @param capacity Maximum number of elements, or {@link #UNBOUNDED} for no limit
+     * @throws IllegalArgumentException When the capacity is not positive
+     */
+    public MpscQueue(int capacity) throws IllegalArgumentException {
+        this(capacity, DEFAULT_SPINS, DEFAULT_YIELDS);
+    }
+
+    /**
+     * Creates a new queue.
+     *
+     * @param capacity Maximum number of elements, or {@link #UNBOUNDED} for no limit
+     * @param spins    Number of busy-spins before the consumer starts yielding
+     * @param yields   Number of yields before the consumer parks
+     * @throws IllegalArgumentException When the capacity is not positive, or a backoff count is negative
+     */
+    public MpscQueue(int capacity, int spins, int yields) throws IllegalArgumentException {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive.");
+        if (spins < 0 || yields < 0) throw new IllegalArgumentException("Backoff counts cannot be negative.");
+
+        this.capacity = capacity;
+        this.spins = spins;
+        this.yields = yields;
+
+        final Node<E> stub = new Node<>(null);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+    }
+
+    //
+    // Constants
+    //
+
+    /**
+     * Denotes a queue without a capacity limit.
+     */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private static final int DEFAULT_SPINS = 100;
+    private static final int DEFAULT_YIELDS = 10;
+
+    //
+    // Variables
+    //
+
+    private final int capacity;
+    private final int spins;
+    private final int yields;
+
+    private final AtomicReference<Node<E>> tail;
+    private final AtomicInteger size = new AtomicInteger();
+    private Node<E> head; // Only accessed by the consumer
+    @Nullable
+    private volatile Thread waiter;
+
+    //
+    // Producer
+    //
+
+    /**
+     * Offers an element to this queue.
+     * This method may be called from any thread.
+     *
+     * @param e Element to offer
+     * @return {@code true} if the element was added, {@code false} if the queue is full
+     */
+    public boolean offer(@Nonnull E e) {
+        Objects.requireNonNull(e);
+
+        if (size.getAndIncrement() >= capacity) {
+            size.getAndDecrement();
+            return false;
+        }
+
+        final Node<E> node = new Node<>(e);
+        tail.getAndSet(node).next = node;
+
+        signal();
+        return true;
+    }
+
+    /**
+     * Wakes the consumer if it is parked.
+     */
+    private void signal() {
+        final Thread w = waiter;
+        if (w != null) LockSupport.unpark(w);
+    }
+
+    //
+    // Consumer
+    //
+
+    /**
+     * Retrieves and removes the head of this queue.
+     * This method may only be called from the consumer thread.
+     *
+     * @return Head of this queue, or {@code null} if this queue is empty
+     */
+    @Nullable
+    public E poll() {
+        final Node<E> next = head.next;
+        if (next == null) return null;
+
+        final E value = next.value;
+        next.value = null; // Let the value be collected
+        head = next;
+
+        size.getAndDecrement();
+        return value;
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, waiting until an element becomes available.
+     * This method may only be called from the consumer thread.
+     *
+     * @return Head of this queue
+     * @throws InterruptedException When the consumer thread is interrupted while waiting
+     */
+    @Nonnull
+    public E take() throws InterruptedException {
+        for (int idle = 0; ; idle++) {
+            final E e = poll();
+            if (e != null) return e;
+
+            if (idle < spins) {
+                Thread.onSpinWait();
+            } else if (idle < spins + yields) {
+                Thread.yield();
+            } else {
+                // Publish the waiter before re-checking, so that a concurrent offer cannot be missed
+                waiter = Thread.currentThread();
+                if (head.next == null) LockSupport.park(this);
+                waiter = null;
+
+                idle = spins + yields; // Remain in parking mode
+            }
+
+            if (Thread.interrupted()) throw new InterruptedException();
+        }
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, waiting up to given duration for an element.
+     * This method may only be called from the consumer thread.
+     *
+     * @param nanos Maximum duration to wait in nanoseconds
+     * @return Head of this queue, or {@code null} if no element became available in time
+     * @throws InterruptedException When the consumer thread is interrupted while waiting
+     */
+    @Nullable
+    public E poll(long nanos) throws InterruptedException {
+        final long deadline = System.nanoTime() + nanos;
+
+        for (int idle = 0; ; idle++) {
+            final E e = poll();
+            if (e != null) return e;
+
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return null;
+
+            if (idle < spins) {
+                Thread.onSpinWait();
+            } else if (idle < spins + yields) {
+                Thread.yield();
+            } else {
+                // Publish the waiter before re-checking, so that a concurrent offer cannot be missed
+                waiter = Thread.currentThread();
+                if (head.next == null) LockSupport.parkNanos(this, remaining);
+                waiter = null;
+
+                idle = spins + yields; // Remain in parking mode
+            }
+
+            if (Thread.interrupted()) throw new InterruptedException();
+        }
+    }
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the approximate number of elements in this queue.
+     *
+     * @return Number of elements
+     */
+    public int size() {
+        return Math.max(0, size.get());
+    }
+
+    /**
+     * Checks if this queue is empty.
+     *
+     * @return {@code true} if this queue has no elements
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Gets the capacity of this queue.
+     *
+     * @return Capacity, or {@link #UNBOUNDED} if this queue is unbounded
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    //
+    // Nodes
+    //
+
+    private static final class Node<E> {
+        private Node(@Nullable E value) {
+            this.value = value;
+        }
+
+        @Nullable
+        private E value;
+        @Nullable
+        private volatile Node<E> next;
+    }
+}
@@ -1,6 +1,7 @@
 package civitas.celestis.util.translation;
 
 import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3f;
 import de.javagl.obj.FloatTuple;
 import jakarta.annotation.Nonnull;
 
@@ -21,4 +22,16 @@ public final class Translator {
     public static Vector3 wavefrontVertexToVector3(@Nonnull FloatTuple in) {
         return new Vector3(in.getZ(), in.getY(), in.getX());
     }
+
+    /**
+     * Converts a Wavefront vertex to a {@link Vector3f}. Wavefront vertices are already
+     * single-precision, so this conversion is lossless.
+     *
+     * @param in Input values
+     * @return Converted vector
+     */
+    @Nonnull
+    public static Vector3f wavefrontVertexToVector3f(@Nonnull FloatTuple in) {
+        return new Vector3f(in.getZ(), in.getY(), in.getX());
+    }
 }
@@ -0,0 +1,104 @@
+package civitas.celestis;
+
+import civitas.celestis.graphics.Solids;
+import civitas.celestis.graphics.bvh.BoundingVolumeHierarchy;
+import civitas.celestis.graphics.bvh.RayHit;
+import civitas.celestis.graphics.ray.LightRay;
+import civitas.celestis.graphics.ray.Ray;
+import civitas.celestis.graphics.vertex.ColoredVertex;
+import civitas.celestis.graphics.vertex.Vertex;
+import civitas.celestis.math.vector.Vector3;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class BoundingVolumeHierarchyTest {
+    public static void main(String[] args) {
+        final Random random = new Random(0);
+        final List<Vertex> vertices = new ArrayList<>();
+
+        // A soup of triangles of varied sizes, some of them clustered and some degenerate
+        for (int i = 0; i < 3000; i++) {
+            final Vector3 a = point(random, i % 3 == 0 ? 10 : 100);
+            final double size = i % 50 == 0 ? 0 : random.nextDouble() * 8;
+
+            vertices.add(new ColoredVertex(a, a.add(point(random, size)), a.add(point(random, size)), Color.GRAY));
+        }
+
+        final BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy(vertices);
+
+        if (bvh.size() != vertices.size()) throw new AssertionError("Hierarchy has " + bvh.size() + " vertices.");
+
+        final List<Ray> rays = new ArrayList<>();
+
+        for (int i = 0; i < 3000; i++) {
+            final Vector3 origin = point(random, 150);
+
+            // Half of the rays are aimed at a vertex, so that most of them hit something
+            final Vector3 direction = i % 2 == 0
+                    ? point(random, 1)
+                    : vertices.get(random.nextInt(vertices.size())).centroid().subtract(origin);
+
+            rays.add(new LightRay(origin, direction, Color.WHITE, 1));
+        }
+
+        final RayHit[] batch = bvh.closestHits(rays);
+        final double[] out = new double[3];
+        int hits = 0;
+
+        for (int r = 0; r < rays.size(); r++) {
+            final Ray ray = rays.get(r);
+
+            // Brute force
+            double closest = Double.POSITIVE_INFINITY;
+
+            for (final Vertex v : vertices) {
+                if (Solids.intersect(v, ray, out) && out[0] < closest) closest = out[0];
+            }
+
+            final RayHit hit = bvh.closestHit(ray);
+
+            if (Double.isInfinite(closest)) {
+                if (hit != null) throw new AssertionError("Ray " + r + " hit " + hit + ", but brute force found nothing.");
+                if (bvh.anyHit(ray)) throw new AssertionError("Ray " + r + " reported a hit, but brute force found nothing.");
+                if (batch[r] != null) throw new AssertionError("Batched ray " + r + " hit " + batch[r] + ".");
+                continue;
+            }
+
+            hits++;
+
+            // Triangles sharing the closest distance may be reported in any order
+            if (hit == null || hit.t() != closest) {
+                throw new AssertionError("Ray " + r + ": expected t=" + closest + ", got " + hit + ".");
+            }
+
+            if (!Solids.intersect(vertices.get(hit.index()), ray, out) || out[0] != hit.t() || hit.vertex() != vertices.get(hit.index())) {
+                throw new AssertionError("Ray " + r + " reported a hit on the wrong vertex.");
+            }
+
+            if (batch[r] == null || batch[r].t() != closest) throw new AssertionError("Batched ray " + r + " disagrees.");
+
+            // Distance limits are exclusive
+            if (!bvh.anyHit(ray)) throw new AssertionError("Ray " + r + " reported no hit.");
+            if (bvh.anyHit(ray, closest)) throw new AssertionError("Ray " + r + " hit before its closest hit.");
+            if (bvh.closestHit(ray, closest) != null) throw new AssertionError("Ray " + r + " ignored its distance limit.");
+            if (bvh.closestHit(ray, Math.nextUp(closest)) == null) throw new AssertionError("Ray " + r + " missed within its limit.");
+        }
+
+        if (hits < rays.size() / 3) throw new AssertionError("Only " + hits + " rays hit, so the test is too weak.");
+
+        // An empty hierarchy hits nothing
+        final BoundingVolumeHierarchy empty = new BoundingVolumeHierarchy(List.<Vertex>of());
+        if (empty.closestHit(rays.get(0)) != null || empty.anyHit(rays.get(0))) throw new AssertionError("Empty hierarchy was hit.");
+    }
+
+    private static Vector3 point(Random random, double scale) {
+        return new Vector3(
+                (random.nextDouble() * 2 - 1) * scale,
+                (random.nextDouble() * 2 - 1) * scale,
+                (random.nextDouble() * 2 - 1) * scale
+        );
+    }
+}
@@ -0,0 +1,236 @@
+package civitas.celestis;
+
+import civitas.celestis.graphics.model.Model;
+import civitas.celestis.graphics.model.PredefinedModel;
+import civitas.celestis.graphics.vertex.ColoredVertex;
+import civitas.celestis.graphics.vertex.Vertex;
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.math.vector.*;
+import civitas.celestis.util.codec.BinaryCodec;
+import civitas.celestis.util.codec.TextCodec;
+
+import java.awt.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+
+public class CodecTest {
+    public static void main(String[] args) {
+        final Random random = new Random(0);
+
+        for (int i = 0; i < 1000; i++) {
+            final List<Vector> vectors = List.of(
+                    new Vector2(value(random), value(random)),
+                    new Vector3(value(random), value(random), value(random)),
+                    new Vector3f((float) value(random), (float) value(random), (float) value(random)),
+                    new Vector4(value(random), value(random), value(random), value(random)),
+                    new Quaternion(value(random), value(random), value(random), value(random)),
+                    new Rotation(value(random), value(random), value(random), value(random))
+            );
+
+            for (final Vector v : vectors) {
+                text(v);
+                binary(v);
+            }
+        }
+
+        malformed();
+        buffers(random);
+        model(random);
+    }
+
+    /**
+     * Every number Double.toString() can produce, across many orders of magnitude.
+     */
+    private static double value(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> 0;
+            case 1 -> random.nextInt(200) - 100;
+            case 2 -> random.nextGaussian();
+            default -> (random.nextBoolean() ? 1 : -1) * Math.pow(10, random.nextDouble() * 60 - 30);
+        };
+    }
+
+    private static void text(Vector v) {
+        final Vector parsed = TextCodec.parse(v.toString());
+        expect(v, parsed, "Text");
+    }
+
+    private static void binary(Vector v) {
+        final ByteBuffer buf = ByteBuffer.allocate(64);
+        BinaryCodec.write(buf, v);
+        buf.flip();
+
+        expect(v, BinaryCodec.read(buf), "Binary");
+        if (buf.hasRemaining()) throw new AssertionError("Binary codec did not consume " + v + ".");
+    }
+
+    private static void expect(Vector expected, Vector actual, String codec) {
+        // Double.toString() is exact, so equal strings mean equal components
+        if (actual == null || actual.getClass() != expected.getClass() || !actual.toString().equals(expected.toString())) {
+            throw new AssertionError(codec + " codec changed " + expected + " into " + actual + ".");
+        }
+    }
+
+    /**
+     * Malformed strings must result in {@code null} rather than an exception.
+     */
+    private static void malformed() {
+        final String[] inputs = {
+                "",
+                "Vector3",
+                "Vector3{}",
+                "Vector3{x=1.0, y=2.0}",
+                "Vector3{x=1.0, y=2.0, z=}",
+                "Vector3{x=1.0, y=2.0, z=three}",
+                "Vector3{x=1.0, y=2.0, z=3.0",
+                "Vector3{x=1.0, y=2.0, z=NaN}",
+                "Vector3{x=1.0, y=2.0, z=Infinity}",
+                "Vector3{x=1e400, y=2.0, z=3.0}",
+                "Vector3{x=-1e400, y=2.0, z=3.0}",
+                "Vector3{x=" + "9".repeat(400) + ", y=2.0, z=3.0}",
+                "Vector3f{x=1e39, y=2.0, z=3.0}",
+                "Vector5{x=1.0}",
+                "Quaternion{w=1.0, x=0.0, y=0.0, z=1e999}"
+        };
+
+        for (final String s : inputs) {
+            final Vector v;
+
+            try {
+                v = TextCodec.parse(s);
+            } catch (RuntimeException e) {
+                throw new AssertionError("Parsing \"" + s + "\" threw " + e + ".");
+            }
+
+            if (v != null) throw new AssertionError("Parsing \"" + s + "\" returned " + v + ".");
+        }
+
+        // Unknown components are ignored, and components may appear in any order
+        expect(new Vector3(1, 2, 3), TextCodec.parse("Vector3{z=3.0, w=9.0, y=2.0, x=1.0}"), "Text");
+    }
+
+    /**
+     * Models must keep their points, vertices, colors and the sharing of points between vertices.
+     */
+    private static void buffers(Random random) {
+        final List<Vector3> vectors = new ArrayList<>();
+        for (int i = 0; i < 50; i++) vectors.add(new Vector3(value(random), value(random), value(random)));
+
+        final Vector3Buffer doubles = new Vector3Buffer(vectors);
+        final Vector3fBuffer floats = new Vector3fBuffer(doubles);
+
+        final ByteBuffer buf = ByteBuffer.allocate(4 + 50 * 24 + 4 + 50 * 12);
+        BinaryCodec.writeBuffer(buf, doubles);
+        BinaryCodec.writeBuffer(buf, floats);
+        buf.flip();
+
+        final Vector3Buffer readDoubles = BinaryCodec.readVector3Buffer(buf);
+        final Vector3fBuffer readFloats = BinaryCodec.readVector3fBuffer(buf);
+
+        for (int i = 0; i < vectors.size(); i++) {
+            if (readDoubles.x(i) != doubles.x(i) || readDoubles.y(i) != doubles.y(i) || readDoubles.z(i) != doubles.z(i)) {
+                throw new AssertionError("Vector " + i + " of a double buffer changed.");
+            }
+
+            if (readFloats.x(i) != floats.x(i) || readFloats.y(i) != floats.y(i) || readFloats.z(i) != floats.z(i)) {
+                throw new AssertionError("Vector " + i + " of a float buffer changed.");
+            }
+        }
+
+        // A non-finite component in any of the arrays is corrupt
+        for (final double corrupt : new double[]{Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+            for (int array = 0; array < 3; array++) {
+                final int index = random.nextInt(vectors.size());
+
+                buf.clear();
+                BinaryCodec.writeBuffer(buf, doubles);
+                BinaryCodec.writeBuffer(buf, floats);
+
+                buf.putDouble(4 + (array * 50 + index) * 8, corrupt);
+                buf.putFloat(4 + 50 * 24 + 4 + (array * 50 + index) * 4, (float) corrupt);
+
+                try {
+                    BinaryCodec.readVector3Buffer(buf.position(0));
+                    throw new AssertionError("Double buffer containing " + corrupt + " was read.");
+                } catch (IllegalArgumentException e) {
+                    // Expected
+                }
+
+                try {
+                    BinaryCodec.readVector3fBuffer(buf.position(4 + 50 * 24));
+                    throw new AssertionError("Float buffer containing " + corrupt + " was read.");
+                } catch (IllegalArgumentException e) {
+                    // Expected
+                }
+            }
+        }
+    }
+
+    private static void model(Random random) {
+        final List<Vector3> points = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            points.add(new Vector3(value(random), value(random), value(random)));
+        }
+
+        final List<Vertex> vertices = new ArrayList<>();
+
+        for (int i = 0; i < 300; i++) {
+            vertices.add(new ColoredVertex(
+                    points.get(random.nextInt(points.size())),
+                    points.get(random.nextInt(points.size())),
+                    points.get(random.nextInt(points.size())),
+                    new Color(random.nextInt(), true)
+            ));
+        }
+
+        final Model model = new PredefinedModel(points, vertices);
+        final ByteBuffer buf = BinaryCodec.encode(model);
+
+        if (buf.remaining() != BinaryCodec.encodedSize(model)) {
+            throw new AssertionError("Encoded " + buf.remaining() + " bytes, expected " + BinaryCodec.encodedSize(model) + ".");
+        }
+
+        final Model decoded = BinaryCodec.readModel(buf);
+
+        if (decoded.getPointCount() != points.size() || decoded.getVertexCount() != vertices.size()) {
+            throw new AssertionError("Decoded model has the wrong size: " + decoded + ".");
+        }
+
+        final IdentityHashMap<Vector3, Vector3> shared = new IdentityHashMap<>();
+
+        for (int i = 0; i < vertices.size(); i++) {
+            final ColoredVertex expected = (ColoredVertex) vertices.get(i);
+            final ColoredVertex actual = (ColoredVertex) decoded.getVertices().get(i);
+
+            if (!actual.color().equals(expected.color())) throw new AssertionError("Vertex " + i + " changed color.");
+
+            checkPoint(expected.a(), actual.a(), shared);
+            checkPoint(expected.b(), actual.b(), shared);
+            checkPoint(expected.c(), actual.c(), shared);
+        }
+
+        // A vertex referring to a point which does not exist is corrupt
+        final ByteBuffer corrupt = BinaryCodec.encode(model);
+        corrupt.putInt(corrupt.limit() - 16, points.size());
+
+        try {
+            BinaryCodec.readModel(corrupt);
+            throw new AssertionError("Corrupt model was read.");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    private static void checkPoint(Vector3 expected, Vector3 actual, IdentityHashMap<Vector3, Vector3> shared) {
+        if (!expected.toString().equals(actual.toString())) throw new AssertionError(expected + " was decoded as " + actual + ".");
+
+        // A point shared by several vertices must still be a single instance
+        final Vector3 previous = shared.putIfAbsent(expected, actual);
+        if (previous != null && previous != actual) throw new AssertionError(expected + " is no longer shared.");
+    }
+}
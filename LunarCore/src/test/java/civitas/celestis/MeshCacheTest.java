@@ -0,0 +1,191 @@
+package civitas.celestis;
+
+import civitas.celestis.graphics.model.IndexedMesh;
+import civitas.celestis.util.codec.MeshCache;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+public class MeshCacheTest {
+    private static final String SQUARE = "v 0 0 0\nv 1 0 0\nv 1 1 0\nv 0 1 0\nf 1 2 3 4\n";
+
+    // Same size as the square, but different points
+    private static final String OTHER = "v 0 0 0\nv 2 0 0\nv 2 2 0\nv 0 2 0\nf 1 2 3 4\n";
+
+    public static void main(String[] args) throws Exception {
+        final Path directory = Files.createTempDirectory("mesh-cache-test");
+
+        try {
+            invalidation(directory);
+            recovery(directory);
+            concurrency(directory);
+        } finally {
+            try (final Stream<Path> files = Files.walk(directory)) {
+                for (final Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.delete(p);
+            }
+        }
+    }
+
+    private static void invalidation(Path directory) throws Exception {
+        final Path source = directory.resolve("square.obj");
+        final Path cache = MeshCache.cachePath(source);
+
+        Files.writeString(source, SQUARE);
+        final FileTime time = FileTime.fromMillis(1_000_000_000_000L);
+        Files.setLastModifiedTime(source, time);
+
+        final IndexedMesh square = MeshCache.load(source, Color.GRAY);
+        if (!Files.isRegularFile(cache)) throw new AssertionError("Cache was not written.");
+        if (square.getVertexCount() != 2 || square.x(2) != 0 || square.y(2) != 1) throw new AssertionError("Square was parsed incorrectly.");
+
+        // Same size and time means the cache is used without reading the source
+        Files.writeString(source, OTHER);
+        Files.setLastModifiedTime(source, time);
+        expect(MeshCache.load(source, Color.GRAY), square, "Unchanged size and time must use the cache.");
+
+        // A new time with the same content is validated by hash, and the new time is recorded
+        Files.writeString(source, SQUARE);
+        Files.setLastModifiedTime(source, FileTime.fromMillis(time.toMillis() + 5000));
+        expect(MeshCache.load(source, Color.GRAY), square, "Touched source must use the cache.");
+
+        if (recordedTime(cache) != time.toMillis() + 5000) throw new AssertionError("New modification time was not recorded.");
+
+        // New content of the same size with a new time must be imported again
+        Files.writeString(source, OTHER);
+        Files.setLastModifiedTime(source, FileTime.fromMillis(time.toMillis() + 10_000));
+
+        final IndexedMesh other = MeshCache.load(source, Color.GRAY);
+        if (other.y(2) != 2) throw new AssertionError("Changed source was not imported again.");
+
+        // A different size must be imported again
+        Files.writeString(source, SQUARE + "# Comment\n");
+        Files.setLastModifiedTime(source, FileTime.fromMillis(time.toMillis() + 10_000));
+        expect(MeshCache.load(source, Color.GRAY), square, "Resized source was not imported again.");
+
+        // Import settings are part of the cache
+        final IndexedMesh red = MeshCache.load(source, cache, Color.RED, true, ForkJoinPool.commonPool());
+        if (red.color(0) != Color.RED.getRGB()) throw new AssertionError("Color change was not imported again.");
+
+        final IndexedMesh precise = MeshCache.load(source, cache, Color.RED, false, ForkJoinPool.commonPool());
+        if (precise.singlePrecision()) throw new AssertionError("Precision change was not imported again.");
+
+        expect(MeshCache.read(cache), precise, "Cache does not hold the last import.");
+        checkNoTemporaryFiles(directory);
+    }
+
+    private static void recovery(Path directory) throws Exception {
+        final Path source = directory.resolve("recovery.obj");
+        final Path cache = MeshCache.cachePath(source);
+
+        Files.writeString(source, SQUARE);
+        final IndexedMesh square = MeshCache.load(source, Color.GRAY);
+
+        final byte[] valid = Files.readAllBytes(cache);
+        final List<byte[]> corruptions = new ArrayList<>();
+
+        corruptions.add(new byte[0]);
+        corruptions.add("not a cache".getBytes());
+        corruptions.add(java.util.Arrays.copyOf(valid, valid.length / 2));
+
+        final byte[] badVersion = valid.clone();
+        badVersion[4] = 99;
+        corruptions.add(badVersion);
+
+        final byte[] badCount = valid.clone();
+        ByteBuffer.wrap(badCount).order(ByteOrder.LITTLE_ENDIAN).putInt(16, Integer.MAX_VALUE);
+        corruptions.add(badCount);
+
+        for (final byte[] corrupt : corruptions) {
+            Files.write(cache, corrupt);
+
+            expect(MeshCache.load(source, Color.GRAY), square, "Corrupt cache was not recovered from.");
+            expect(MeshCache.read(cache), square, "Corrupt cache was not rewritten.");
+        }
+
+        checkNoTemporaryFiles(directory);
+    }
+
+    /**
+     * Concurrent imports of the same source must not corrupt each other's cache.
+     */
+    private static void concurrency(Path directory) throws Exception {
+        final Path source = directory.resolve("concurrent.obj");
+        final Path cache = MeshCache.cachePath(source);
+        final StringBuilder obj = new StringBuilder();
+
+        for (int i = 0; i < 20_000; i++) {
+            obj.append("v ").append(i).append(" 0 0\nv ").append(i).append(" 1 0\nv ").append(i).append(" 0 1\n");
+            obj.append("f -3 -2 -1\n");
+        }
+
+        Files.writeString(source, obj);
+
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            for (int round = 0; round < 5; round++) {
+                Files.deleteIfExists(cache);
+
+                final CyclicBarrier barrier = new CyclicBarrier(threads);
+                final List<Future<IndexedMesh>> results = new ArrayList<>();
+
+                for (int i = 0; i < threads; i++) {
+                    results.add(executor.submit(() -> {
+                        barrier.await();
+                        return MeshCache.load(source, Color.GRAY);
+                    }));
+                }
+
+                final IndexedMesh first = results.get(0).get();
+
+                for (final Future<IndexedMesh> r : results) {
+                    expect(r.get(), first, "Concurrent imports disagree.");
+                }
+
+                expect(MeshCache.read(cache), first, "Concurrent imports corrupted the cache.");
+                checkNoTemporaryFiles(directory);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long recordedTime(Path cache) throws IOException {
+        return ByteBuffer.wrap(Files.readAllBytes(cache)).order(ByteOrder.LITTLE_ENDIAN).getLong(32);
+    }
+
+    private static void checkNoTemporaryFiles(Path directory) throws IOException {
+        try (final Stream<Path> files = Files.list(directory)) {
+            final List<Path> temporary = files.filter(p -> p.toString().endsWith(".tmp")).toList();
+            if (!temporary.isEmpty()) throw new AssertionError("Temporary files were left behind: " + temporary);
+        }
+    }
+
+    private static void expect(IndexedMesh actual, IndexedMesh expected, String message) {
+        boolean equal = actual.getPointCount() == expected.getPointCount()
+                && actual.getVertexCount() == expected.getVertexCount()
+                && actual.singlePrecision() == expected.singlePrecision();
+
+        for (int i = 0; equal && i < expected.getPointCount(); i++) {
+            equal = actual.x(i) == expected.x(i) && actual.y(i) == expected.y(i) && actual.z(i) == expected.z(i);
+        }
+
+        for (int t = 0; equal && t < expected.getVertexCount(); t++) {
+            equal = actual.color(t) == expected.color(t);
+            for (int k = 0; equal && k < 3; k++) equal = actual.index(t, k) == expected.index(t, k);
+        }
+
+        if (!equal) throw new AssertionError(message);
+    }
+}
@@ -0,0 +1,203 @@
+package civitas.celestis;
+
+import civitas.celestis.graphics.model.IndexedMesh;
+import civitas.celestis.graphics.model.LevelOfDetail;
+import civitas.celestis.graphics.model.MeshSimplifier;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class MeshSimplifierTest {
+    public static void main(String[] args) {
+        sphere();
+        grid();
+        levels();
+    }
+
+    /**
+     * A UV sphere whose poles are rings of coincident points, as most exporters write them.
+     * Half of the triangles touching each pole are degenerate.
+     */
+    private static void sphere() {
+        final IndexedMesh sphere = sphere(48, 32);
+        final int degenerate = degenerate(sphere);
+
+        if (degenerate == 0) throw new AssertionError("Sphere has no degenerate triangles, so the test is too weak.");
+
+        final int[] targets = {sphere.getVertexCount() / 2, sphere.getVertexCount() / 8, 200};
+        final double[] errors = new double[targets.length];
+        final List<IndexedMesh> levels = MeshSimplifier.simplify(sphere, targets, errors);
+
+        for (int i = 0; i < levels.size(); i++) {
+            final IndexedMesh level = levels.get(i);
+
+            if (level.getVertexCount() > targets[i]) {
+                throw new AssertionError("Level " + i + " has " + level.getVertexCount() + " vertices, expected at most " + targets[i] + ".");
+            }
+
+            if (i > 0 && errors[i] < errors[i - 1]) throw new AssertionError("Errors decrease at level " + i + ".");
+
+            // Every remaining triangle still faces outwards
+            for (int t = 0; t < level.getVertexCount(); t++) {
+                final double[] n = normal(level, t);
+                if (n[0] == 0 && n[1] == 0 && n[2] == 0) continue;
+
+                final int a = level.index(t, 0), b = level.index(t, 1), c = level.index(t, 2);
+                final double cx = level.x(a) + level.x(b) + level.x(c);
+                final double cy = level.y(a) + level.y(b) + level.y(c);
+                final double cz = level.z(a) + level.z(b) + level.z(c);
+
+                if (n[0] * cx + n[1] * cy + n[2] * cz <= 0) throw new AssertionError("Level " + i + " has a flipped triangle.");
+            }
+        }
+
+        // Degenerate triangles cost nothing to collapse, so they are the first to go
+        final int remaining = degenerate(levels.get(0));
+
+        if (remaining > 0) {
+            throw new AssertionError(remaining + " of " + degenerate + " degenerate triangles survived simplification.");
+        }
+    }
+
+    /**
+     * An open grid keeps its outline.
+     */
+    private static void grid() {
+        final int size = 30;
+        final double[] positions = new double[(size + 1) * (size + 1) * 3];
+
+        for (int i = 0; i <= size; i++) {
+            for (int j = 0; j <= size; j++) {
+                final int p = (i * (size + 1) + j) * 3;
+                positions[p] = i;
+                positions[p + 2] = j;
+            }
+        }
+
+        final int[] indices = new int[size * size * 6];
+        int n = 0;
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                final int a = i * (size + 1) + j, b = a + 1, c = a + size + 1, d = c + 1;
+                indices[n++] = a;
+                indices[n++] = b;
+                indices[n++] = c;
+                indices[n++] = b;
+                indices[n++] = d;
+                indices[n++] = c;
+            }
+        }
+
+        final int[] colors = new int[size * size * 2];
+        Arrays.fill(colors, Color.GRAY.getRGB());
+
+        final IndexedMesh grid = new IndexedMesh(positions, indices, colors);
+        final IndexedMesh simple = MeshSimplifier.simplify(grid, 100);
+
+        if (simple.getVertexCount() > 100) throw new AssertionError("Grid has " + simple.getVertexCount() + " vertices.");
+
+        // The total area is unchanged only if the outline is
+        double area = 0;
+
+        for (int t = 0; t < simple.getVertexCount(); t++) {
+            final double[] normal = normal(simple, t);
+            if (normal[1] < 0 || normal[0] != 0 || normal[2] != 0) throw new AssertionError("Grid triangle " + t + " left the plane or flipped.");
+            area += normal[1] / 2;
+        }
+
+        if (Math.abs(area - size * size) > 1e-6) throw new AssertionError("Grid area changed to " + area + ".");
+
+        for (int p = 0; p < simple.getPointCount(); p++) {
+            final double x = simple.x(p), z = simple.z(p);
+            if (x < 0 || x > size || z < 0 || z > size) throw new AssertionError("Point " + simple.point(p) + " left the grid.");
+        }
+    }
+
+    private static void levels() {
+        final LevelOfDetail lod = new LevelOfDetail(sphere(48, 32));
+
+        if (lod.getLevelCount() < 2) throw new AssertionError("Sphere was not simplified.");
+
+        for (int i = 1; i < lod.getLevelCount(); i++) {
+            if (lod.getLevel(i).getVertexCount() >= lod.getLevel(i - 1).getVertexCount()) {
+                throw new AssertionError("Level " + i + " is not simpler than the previous level.");
+            }
+
+            if (lod.getError(i) < lod.getError(i - 1)) throw new AssertionError("Errors decrease at level " + i + ".");
+        }
+
+        // Farther cameras never select finer levels
+        int previous = 0;
+
+        for (double distance = 0.5; distance < 10_000; distance *= 1.1) {
+            final int level = lod.selectLevel(distance, 800, 1);
+
+            if (level < previous) throw new AssertionError("A finer level was selected at distance " + distance + ".");
+            previous = level;
+        }
+
+        if (previous != lod.getLevelCount() - 1) throw new AssertionError("The coarsest level was never selected.");
+        if (lod.selectLevel(0.5, 800, 1) != 0) throw new AssertionError("A camera within the model must select the original.");
+    }
+
+    private static IndexedMesh sphere(int segments, int rings) {
+        final List<double[]> points = new ArrayList<>();
+
+        for (int r = 0; r <= rings; r++) {
+            final double phi = Math.PI * r / rings;
+
+            for (int s = 0; s <= segments; s++) {
+                final double theta = 2 * Math.PI * s / segments;
+                points.add(new double[]{Math.sin(phi) * Math.cos(theta), Math.cos(phi), Math.sin(phi) * Math.sin(theta)});
+            }
+        }
+
+        final double[] positions = new double[points.size() * 3];
+        for (int i = 0; i < points.size(); i++) System.arraycopy(points.get(i), 0, positions, i * 3, 3);
+
+        final int[] indices = new int[rings * segments * 6];
+        int n = 0;
+
+        for (int r = 0; r < rings; r++) {
+            for (int s = 0; s < segments; s++) {
+                final int a = r * (segments + 1) + s, b = a + 1, c = a + segments + 1, d = c + 1;
+
+                // Wound so that normals face outwards
+                indices[n++] = a;
+                indices[n++] = b;
+                indices[n++] = c;
+                indices[n++] = b;
+                indices[n++] = d;
+                indices[n++] = c;
+            }
+        }
+
+        final int[] colors = new int[rings * segments * 2];
+        Arrays.fill(colors, Color.GRAY.getRGB());
+
+        return new IndexedMesh(positions, indices, colors);
+    }
+
+    private static int degenerate(IndexedMesh mesh) {
+        int count = 0;
+
+        for (int t = 0; t < mesh.getVertexCount(); t++) {
+            final double[] n = normal(mesh, t);
+            if (n[0] == 0 && n[1] == 0 && n[2] == 0) count++;
+        }
+
+        return count;
+    }
+
+    private static double[] normal(IndexedMesh mesh, int t) {
+        final int a = mesh.index(t, 0), b = mesh.index(t, 1), c = mesh.index(t, 2);
+
+        final double ux = mesh.x(b) - mesh.x(a), uy = mesh.y(b) - mesh.y(a), uz = mesh.z(b) - mesh.z(a);
+        final double vx = mesh.x(c) - mesh.x(a), vy = mesh.y(c) - mesh.y(a), vz = mesh.z(c) - mesh.z(a);
+
+        return new double[]{uy * vz - uz * vy, uz * vx - ux * vz, ux * vy - uy * vx};
+    }
+}
@@ -0,0 +1,148 @@
+package civitas.celestis;
+
+import civitas.celestis.util.concurrent.MpscQueue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class MpscQueueTest {
+    public static void main(String[] args) throws Exception {
+        wake();
+        order();
+        capacity();
+        timeout();
+    }
+
+    /**
+     * A parked consumer must be woken by every offer.
+     */
+    private static void wake() throws Exception {
+        // No spinning or yielding, so the consumer parks as soon as the queue is empty
+        final MpscQueue<Integer> queue = new MpscQueue<>(MpscQueue.UNBOUNDED, 0, 0);
+        final AtomicReference<Integer> received = new AtomicReference<>();
+
+        final Thread consumer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 100; i++) {
+                    received.set(queue.take());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        consumer.start();
+
+        for (int i = 0; i < 100; i++) {
+            awaitParked(consumer);
+            queue.offer(i);
+
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+            while (!Integer.valueOf(i).equals(received.get())) {
+                if (System.nanoTime() > deadline) throw new AssertionError("Parked consumer was not woken by offer " + i + ".");
+                Thread.onSpinWait();
+            }
+        }
+
+        consumer.join(5000);
+        if (consumer.isAlive()) throw new AssertionError("Consumer did not finish.");
+
+        // An interrupted consumer must leave take()
+        final Thread interrupted = new Thread(() -> {
+            try {
+                queue.take();
+                throw new AssertionError("Take returned without an element.");
+            } catch (InterruptedException e) {
+                // Expected
+            }
+        });
+
+        interrupted.start();
+        awaitParked(interrupted);
+        interrupted.interrupt();
+        interrupted.join(5000);
+        if (interrupted.isAlive()) throw new AssertionError("Interrupted consumer is still waiting.");
+    }
+
+    /**
+     * Elements of each producer must be taken in the order they were offered, and none may be lost.
+     */
+    private static void order() throws Exception {
+        final int producers = 4;
+        final int count = 200_000;
+
+        final MpscQueue<long[]> queue = new MpscQueue<>();
+        final Thread[] threads = new Thread[producers];
+
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < count; i++) {
+                    queue.offer(new long[]{producer, i});
+                }
+            });
+
+            threads[p].start();
+        }
+
+        final long[] next = new long[producers];
+
+        for (int i = 0; i < producers * count; i++) {
+            final long[] e = queue.take();
+            final int producer = (int) e[0];
+
+            if (e[1] != next[producer]) {
+                throw new AssertionError("Producer " + producer + ": expected " + next[producer] + ", got " + e[1]);
+            }
+
+            next[producer]++;
+        }
+
+        for (final Thread t : threads) t.join();
+
+        if (queue.poll() != null || !queue.isEmpty()) throw new AssertionError("Queue has extra elements.");
+    }
+
+    /**
+     * A bounded queue must reject offers while full, and accept them again once polled.
+     */
+    private static void capacity() {
+        final MpscQueue<Integer> queue = new MpscQueue<>(2);
+
+        if (!queue.offer(1) || !queue.offer(2)) throw new AssertionError("Queue rejected an offer below capacity.");
+        if (queue.offer(3)) throw new AssertionError("Full queue accepted an offer.");
+        if (queue.size() != 2) throw new AssertionError("Size is " + queue.size() + ", expected 2.");
+
+        if (queue.poll() != 1) throw new AssertionError("Queue is not FIFO.");
+        if (!queue.offer(3)) throw new AssertionError("Queue rejected an offer after polling.");
+        if (queue.poll() != 2 || queue.poll() != 3 || queue.poll() != null) throw new AssertionError("Queue is not FIFO.");
+    }
+
+    /**
+     * Polling an empty queue with a timeout must return {@code null} after roughly that timeout.
+     */
+    private static void timeout() throws Exception {
+        final MpscQueue<Integer> queue = new MpscQueue<>();
+
+        final long start = System.nanoTime();
+        final Integer e = queue.poll(TimeUnit.MILLISECONDS.toNanos(50));
+        final long elapsed = System.nanoTime() - start;
+
+        if (e != null) throw new AssertionError("Empty queue returned an element.");
+        if (elapsed < TimeUnit.MILLISECONDS.toNanos(50)) throw new AssertionError("Poll returned before its timeout.");
+
+        queue.offer(1);
+        if (queue.poll(TimeUnit.SECONDS.toNanos(1)) != 1) throw new AssertionError("Poll missed an available element.");
+    }
+
+    private static void awaitParked(Thread t) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (t.getState() != Thread.State.WAITING && t.getState() != Thread.State.TIMED_WAITING) {
+            if (System.nanoTime() > deadline) throw new AssertionError("Consumer did not park.");
+            Thread.sleep(1);
+        }
+    }
+}
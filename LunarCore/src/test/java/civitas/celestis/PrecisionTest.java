@@ -0,0 +1,49 @@
+package civitas.celestis;
+
+import civitas.celestis.math.Precision;
+
+import java.util.Map;
+import java.util.Random;
+
+public class PrecisionTest {
+    public static void main(String[] args) {
+        // Documented upper bounds of relative error
+        final Map<Precision, Double> bounds = Map.of(
+                Precision.EXACT, 1e-15,
+                Precision.FAST, 1e-15,
+                Precision.FLOAT, 5e-6,
+                Precision.approximate(3), 1e-9,
+                Precision.approximate(2), 1e-5
+        );
+
+        final Random random = new Random(0);
+        final double[] samples = new double[1_000_000];
+
+        for (int i = 0; i < samples.length; i++) {
+            // Spread samples across many orders of magnitude
+            samples[i] = Math.pow(10, random.nextDouble() * 40 - 20);
+        }
+
+        bounds.forEach((precision, bound) -> {
+            double maxIsqrt = 0;
+            double maxSqrt = 0;
+
+            for (final double x : samples) {
+                final double exact = Math.sqrt(x);
+
+                maxIsqrt = Math.max(maxIsqrt, Math.abs(precision.isqrt(x) * exact - 1));
+                maxSqrt = Math.max(maxSqrt, Math.abs(precision.sqrt(x) / exact - 1));
+            }
+
+            System.out.println(precision + ": isqrt=" + maxIsqrt + ", sqrt=" + maxSqrt + " (bound " + bound + ")");
+
+            if (maxIsqrt > bound || maxSqrt > bound) {
+                throw new AssertionError(precision + " exceeds its error bound of " + bound);
+            }
+        });
+
+        if (Precision.EXACT.sqrt(0) != 0 || Precision.FAST.sqrt(0) != 0 || Precision.FLOAT.sqrt(0) != 0) {
+            throw new AssertionError("Square root of zero must be zero.");
+        }
+    }
+}
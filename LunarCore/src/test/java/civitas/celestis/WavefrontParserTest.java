@@ -0,0 +1,99 @@
+package civitas.celestis;
+
+import civitas.celestis.graphics.model.IndexedMesh;
+import civitas.celestis.util.codec.WavefrontParser;
+
+import java.awt.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class WavefrontParserTest {
+    public static void main(String[] args) {
+        final Random random = new Random(0);
+        final StringBuilder obj = new StringBuilder("# Generated\no test\n");
+
+        final List<double[]> points = new ArrayList<>();
+        final List<int[]> triangles = new ArrayList<>();
+
+        // Large enough to be split into several chunks
+        while (obj.length() < WavefrontParser.CHUNK_SIZE * 6) {
+            if (points.size() < 3 || random.nextInt(3) != 0) {
+                final double[] p = {random.nextInt(2000) - 1000, random.nextDouble() * 100, -random.nextDouble()};
+                points.add(p);
+                obj.append("v ").append(p[0]).append(' ').append(p[1]).append(' ').append(p[2]).append('\n');
+                continue;
+            }
+
+            // Faces refer far back, so that relative references cross chunk boundaries
+            final int corners = random.nextInt(3, 6);
+            final int[] face = new int[corners];
+            obj.append('f');
+
+            for (int i = 0; i < corners; i++) {
+                face[i] = Math.max(0, points.size() - 1 - random.nextInt(Math.min(points.size(), 100_000)));
+
+                final int reference = random.nextBoolean() ? face[i] + 1 : face[i] - points.size();
+                obj.append(' ').append(reference);
+
+                switch (random.nextInt(3)) {
+                    case 1 -> obj.append("/1");
+                    case 2 -> obj.append("//-1");
+                    default -> {}
+                }
+            }
+
+            obj.append('\n');
+
+            for (int i = 1; i + 1 < corners; i++) {
+                triangles.add(new int[]{face[0], face[i], face[i + 1]});
+            }
+        }
+
+        final byte[] bytes = obj.toString().getBytes(StandardCharsets.US_ASCII);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            final IndexedMesh parallel = WavefrontParser.parse(ByteBuffer.wrap(bytes), Color.GRAY, false, pool);
+            final IndexedMesh serial = WavefrontParser.parse(ByteBuffer.wrap(bytes), Color.GRAY, false, new ForkJoinPool(1));
+
+            check(parallel, points, triangles);
+            check(serial, points, triangles);
+
+            // The position of the buffer is the start of the data
+            final ByteBuffer offset = ByteBuffer.wrap(("v 9 9 9\n" + obj).getBytes(StandardCharsets.US_ASCII));
+            offset.position(8);
+            check(WavefrontParser.parse(offset, Color.GRAY, false, pool), points, triangles);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void check(IndexedMesh mesh, List<double[]> points, List<int[]> triangles) {
+        if (mesh.getPointCount() != points.size() || mesh.getVertexCount() != triangles.size()) {
+            throw new AssertionError("Parsed " + mesh.getPointCount() + " points and " + mesh.getVertexCount() +
+                    " triangles, expected " + points.size() + " and " + triangles.size() + ".");
+        }
+
+        for (int i = 0; i < points.size(); i++) {
+            final double[] p = points.get(i);
+
+            // X and Z are swapped on import
+            if (mesh.x(i) != p[2] || mesh.y(i) != p[1] || mesh.z(i) != p[0]) {
+                throw new AssertionError("Point " + i + " was parsed as " + mesh.point(i) + ".");
+            }
+        }
+
+        for (int t = 0; t < triangles.size(); t++) {
+            for (int k = 0; k < 3; k++) {
+                if (mesh.index(t, k) != triangles.get(t)[k]) {
+                    throw new AssertionError("Triangle " + t + " refers to point " + mesh.index(t, k) +
+                            " instead of " + triangles.get(t)[k] + ".");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package civitas.celestis.event;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * <h2>EventBatch</h2>
+ * <p>
+ * A reusable builder of event batches.
+ * Events are collected into this batch, then published to an event manager in a single step.
+ * Calling the batch clears it, so that the same instance can be used again on the next tick.
+ * </p>
+ *
+ * @see EventManager#callAll(Collection)
+ */
+public final class EventBatch implements Iterable<Event> {
+    /**
+     * Creates a new event batch.
+     */
+    public EventBatch() {
+        this.events = new ArrayList<>();
+    }
+
+    /**
+     * Creates a new event batch.
+     *
+     * @param initialCapacity Expected number of events per batch
+     */
+    public EventBatch(int initialCapacity) {
+        this.events = new ArrayList<>(initialCapacity);
+    }
+
+    @Nonnull
+    private final List<Event> events;
+
+    /**
+     * Adds an event to this batch.
+     *
+     * @param event Event to add
+     * @return {@code this}
+     */
+    @Nonnull
+    public EventBatch add(@Nonnull Event event) {
+        events.add(event);
+        return this;
+    }
+
+    /**
+     * Adds multiple events to this batch.
+     *
+     * @param events Events to add
+     * @return {@code this}
+     */
+    @Nonnull
+    public EventBatch addAll(@Nonnull Collection<? extends Event> events) {
+        this.events.addAll(events);
+        return this;
+    }
+
+    /**
+     * Gets the number of events in this batch.
+     *
+     * @return Number of events
+     */
+    public int size() {
+        return events.size();
+    }
+
+    /**
+     * Checks if this batch is empty.
+     *
+     * @return {@code true} if this batch has no events
+     */
+    public boolean isEmpty() {
+        return events.isEmpty();
+    }
+
+    /**
+     * Removes all events from this batch.
+     */
+    public void clear() {
+        events.clear();
+    }
+
+    /**
+     * Calls every event of this batch to given event manager, then clears this batch.
+     *
+     * @param manager Event manager to call events to
+     */
+    public void call(@Nonnull EventManager manager) {
+        if (events.isEmpty()) return;
+
+        manager.callAll(events);
+        events.clear();
+    }
+
+    @Override
+    @Nonnull
+    public Iterator<Event> iterator() {
+        return events.iterator();
+    }
+}
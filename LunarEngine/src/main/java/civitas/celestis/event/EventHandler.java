@@ -25,4 +25,16 @@ public @interface EventHandler {
      */
     @Nonnull
     HandlerPriority priority() default HandlerPriority.NORMAL;
+
+    /**
+     * Whether this event handler receives events in batches.
+     * <p>
+     * A batch handler takes a single {@link java.util.List List} of events (e.g. {@code List<MyEvent>}),
+     * and is invoked once per batch published with {@link EventManager#callAll(java.util.Collection)}.
+     * Events called individually are passed to batch handlers as a list of one event.
+     * </p>
+     *
+     * @return {@code true} if this is a batch handler
+     */
+    boolean batch() default false;
 }
@@ -1,5 +1,6 @@
 package civitas.celestis.event;
 
+import civitas.celestis.metrics.EventMetrics;
 import jakarta.annotation.Nonnull;
 
 import java.util.Collection;
@@ -35,6 +36,19 @@ public interface EventManager {
      */
     <E extends Event> void call(@Nonnull E event);
 
+    /**
+     * Calls multiple events to be handled.
+     * Implementations should publish the whole batch at once, rather than calling each event separately.
+     * Events are handled in iteration order of the collection.
+     * The collection is not retained, and may be modified once this method returns.
+     *
+     * @param events Collection of events to call
+     * @see EventBatch
+     */
+    default void callAll(@Nonnull Collection<? extends Event> events) {
+        events.forEach(this::call);
+    }
+
     /**
      * Registers an event listener.
      *
@@ -62,4 +76,12 @@ public interface EventManager {
      * @param listeners Collection of listener references to unregister
      */
     void unregister(@Nonnull Collection<Listener> listeners);
+
+    /**
+     * Gets the runtime metrics of this event manager.
+     *
+     * @return Event metrics
+     */
+    @Nonnull
+    EventMetrics metrics();
 }
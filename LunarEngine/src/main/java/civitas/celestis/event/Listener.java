@@ -16,29 +16,48 @@ import java.util.List;
  */
 public interface Listener {
     /**
-     * Gets a list of event handler in this listener.
+     * Gets a list of every event handler in this listener.
+     * <p>
+     * Event managers call this once when the listener is registered,
+     * and reuse the returned references (and their invokers) until it is unregistered.
+     * </p>
      * <p>
      * <b>Only override this method if you are changing the architecture of the event manager.</b>
      * Any changes here will be reflected in the event manager's code,
      * and may cause issues when modified without proper context.
      * </p>
      *
-     * @param eventClass Class of event to query
-     * @param <E>        Type of event to query
-     * @return List of handler references which listen to given event
+     * @return List of handler references
      */
     @Nonnull
-    default <E extends Event> List<HandlerReference> getEventHandlers(@Nonnull Class<E> eventClass) {
+    default List<HandlerReference> getEventHandlers() {
         final List<HandlerReference> handlers = new ArrayList<>();
 
         for (final Method m : getClass().getDeclaredMethods()) {
-            if (!m.isAnnotationPresent(EventHandler.class)) continue;
+            final EventHandler annotation = m.getAnnotation(EventHandler.class);
+
+            if (annotation == null) continue;
             if (m.getParameterCount() != 1) continue;
-            if (!m.getParameterTypes()[0].isAssignableFrom(eventClass)) continue;
+            if (HandlerReference.eventType(m, annotation.batch()) == null) continue;
 
             handlers.add(new HandlerReference(this, m));
         }
 
         return handlers;
     }
+
+    /**
+     * Gets a list of event handler in this listener which listen to given class of event.
+     * This creates new handler references on every call.
+     *
+     * @param eventClass Class of event to query
+     * @param <E>        Type of event to query
+     * @return List of handler references which listen to given event
+     */
+    @Nonnull
+    default <E extends Event> List<HandlerReference> getEventHandlers(@Nonnull Class<E> eventClass) {
+        final List<HandlerReference> handlers = new ArrayList<>(getEventHandlers());
+        handlers.removeIf(h -> !h.accepts(eventClass));
+        return handlers;
+    }
 }
@@ -0,0 +1,238 @@
+package civitas.celestis.event.internal;
+
+import civitas.celestis.event.Event;
+import civitas.celestis.event.EventManager;
+import civitas.celestis.event.Listener;
+import civitas.celestis.metrics.EventMetrics;
+import civitas.celestis.util.concurrent.MpscQueue;
+import jakarta.annotation.Nonnull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+
+/**
+ * <h2>AsyncEventManager</h2>
+ * <p>
+ * An asynchronous implementation of {@link EventManager}.
+ * Events are processed in parallel by a fixed number of lanes,
+ * each of which owns an event queue and a worker thread.
+ * </p>
+ * <p>
+ * Every event is assigned a key, and events of the same key are always sent to the same lane.
+ * Events sharing a key are therefore handled one at a time, in the order they were called,
+ * while events of different keys may be handled in parallel.
+ * By default, the key of an event is its class.
+ * Within a single event, handlers are called in order of their {@link civitas.celestis.event.HandlerPriority priority}.
+ * </p>
+ * <p>
+ * Worker threads are created by a {@link ThreadFactory},
+ * which allows lanes to run on virtual threads (e.g. {@code Thread.ofVirtual().factory()}).
+ * </p>
+ */
+public final class AsyncEventManager implements EventManager {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new asynchronous event manager with one lane per available processor.
+     * Events are ordered per event class.
+     */
+    public AsyncEventManager() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new asynchronous event manager.
+     * Events are ordered per event class.
+     *
+     * @param lanes Number of lanes to process events with
+     */
+    public AsyncEventManager(int lanes) {
+        this(lanes, Event::getClass);
+    }
+
+    /**
+     * Creates a new asynchronous event manager.
+     *
+     * @param lanes Number of lanes to process events with
+     * @param key   Function which maps an event to its ordering key, which may be {@code null}
+     */
+    public AsyncEventManager(int lanes, @Nonnull Function<? super Event, ?> key) {
+        this(lanes, key, Thread::new);
+    }
+
+    /**
+     * Creates a new asynchronous event manager.
+     *
+     * @param lanes   Number of lanes to process events with
+     * @param key     Function which maps an event to its ordering key, which may be {@code null}
+     * @param factory Factory used to create worker threads
+     * @throws IllegalArgumentException When the number of lanes is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public AsyncEventManager(
+            int lanes,
+            @Nonnull Function<? super Event, ?> key,
+            @Nonnull ThreadFactory factory
+    ) throws IllegalArgumentException {
+        if (lanes <= 0) throw new IllegalArgumentException("An event manager requires at least one lane.");
+
+        this.key = key;
+        this.queues = new MpscQueue[lanes];
+        this.threads = new Thread[lanes];
+        this.metrics = new EventMetrics(this::depth);
+        this.registry = new HandlerRegistry(metrics);
+
+        for (int i = 0; i < lanes; i++) {
+            final MpscQueue<Object> queue = new MpscQueue<>();
+
+            queues[i] = queue;
+            threads[i] = factory.newThread(() -> {
+
+                while (true) {
+                    // Wait for next event or batch (respects interruption)
+                    final Object next;
+
+                    try {
+                        next = queue.take();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+
+                    // Dispatch to precompiled handlers (already sorted by priority)
+                    registry.dispatchQueued(next);
+                }
+
+            });
+
+            threads[i].setName("AsyncEventManager-" + (i + 1));
+        }
+    }
+
+    //
+    // Lifecycle
+    //
+
+    @Override
+    public void start() {
+        for (final Thread t : threads) {
+            t.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        for (final Thread t : threads) {
+            t.interrupt();
+        }
+    }
+
+    //
+    // Events
+    //
+
+    @Override
+    public <E extends Event> void call(@Nonnull E event) {
+        queues[lane(event)].offer(event);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The batch is split by lane, and each lane receives its part of the batch in a single step.
+     *
+     * @param events Collection of events to call
+     */
+    @Override
+    public void callAll(@Nonnull Collection<? extends Event> events) {
+        if (events.isEmpty()) return;
+
+        // Single-lane fast path
+        if (queues.length == 1) {
+            queues[0].offer(List.copyOf(events));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        final List<Event>[] parts = new List[queues.length];
+
+        for (final Event e : events) {
+            final int i = lane(e);
+
+            if (parts[i] == null) parts[i] = new ArrayList<>();
+            parts[i].add(e);
+        }
+
+        for (int i = 0; i < queues.length; i++) {
+            if (parts[i] != null) queues[i].offer(Collections.unmodifiableList(parts[i]));
+        }
+    }
+
+    /**
+     * Gets the index of the lane given event should be processed by.
+     *
+     * @param event Event to route
+     * @return Index of lane
+     */
+    private int lane(@Nonnull Event event) {
+        final int h = Objects.hashCode(key.apply(event)); // A null key is a key of its own
+        return Math.floorMod(h ^ (h >>> 16), queues.length);
+    }
+
+    /**
+     * Gets the total number of queued entries across all lanes.
+     *
+     * @return Queue depth
+     */
+    private int depth() {
+        int sum = 0;
+
+        for (final MpscQueue<Object> q : queues) {
+            sum += q.size();
+        }
+
+        return sum;
+    }
+
+    //
+    // Listeners
+    //
+
+    @Override
+    public void register(@Nonnull Listener l) {
+        registry.register(l);
+    }
+
+    @Override
+    public void register(@Nonnull Collection<Listener> l) {
+        registry.register(l);
+    }
+
+    @Override
+    public void unregister(@Nonnull Listener l) {
+        registry.unregister(l);
+    }
+
+    @Override
+    public void unregister(@Nonnull Collection<Listener> l) {
+        registry.unregister(l);
+    }
+
+    @Nonnull
+    @Override
+    public EventMetrics metrics() {
+        return metrics;
+    }
+
+    @Nonnull
+    private final Function<? super Event, ?> key;
+    private final MpscQueue<Object>[] queues;
+    private final Thread[] threads;
+    private final EventMetrics metrics;
+    private final HandlerRegistry registry;
+}
@@ -0,0 +1,24 @@
+package civitas.celestis.event.internal;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * <h2>HandlerInvoker</h2>
+ * <p>
+ * A precompiled call site of a single event handler, bound to its listener.
+ * Invokers are created once when a handler reference is created,
+ * so that calling a handler does not go through core reflection.
+ * </p>
+ *
+ * @see InvocationStrategy
+ */
+@FunctionalInterface
+public interface HandlerInvoker {
+    /**
+     * Invokes the event handler.
+     *
+     * @param argument Event to pass to the handler, or a list of events if the handler is a batch handler
+     * @throws Exception When the handler throws an exception, or cannot be invoked
+     */
+    void invoke(@Nonnull Object argument) throws Exception;
+}
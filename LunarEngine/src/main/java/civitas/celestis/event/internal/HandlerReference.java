@@ -4,8 +4,10 @@ import civitas.celestis.event.EventHandler;
 import civitas.celestis.event.HandlerPriority;
 import civitas.celestis.event.Listener;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 
-import java.lang.reflect.Method;
+import java.lang.reflect.*;
+import java.util.List;
 
 /**
  * <h2>HandlerReference</h2>
@@ -15,15 +17,91 @@ import java.lang.reflect.Method;
  *
  * @param listener Listener object
  * @param handler  Handler to call
+ * @param priority Priority of the handler
+ * @param batch    Whether the handler receives a list of events
+ * @param invoker  Precompiled invoker of the handler
  */
-public record HandlerReference(@Nonnull Listener listener, @Nonnull Method handler) {
+public record HandlerReference(
+        @Nonnull Listener listener,
+        @Nonnull Method handler,
+        @Nonnull HandlerPriority priority,
+        boolean batch,
+        @Nonnull HandlerInvoker invoker
+) {
     /**
-     * Gets the priority of this handler reference.
+     * Creates a new handler reference using the default invocation strategy.
+     * The priority and batch flag are read from the handler's {@link EventHandler} annotation once,
+     * so that sorting handlers does not repeatedly query annotations.
      *
-     * @return Handler priority
+     * @param listener Listener object
+     * @param handler  Handler to call
      */
-    @Nonnull
-    public HandlerPriority priority() {
-        return handler.getAnnotation(EventHandler.class).priority();
+    public HandlerReference(@Nonnull Listener listener, @Nonnull Method handler) {
+        this(listener, handler, InvocationStrategy.DEFAULT);
+    }
+
+    /**
+     * Creates a new handler reference.
+     *
+     * @param listener Listener object
+     * @param handler  Handler to call
+     * @param strategy Strategy used to create the invoker of the handler
+     */
+    public HandlerReference(@Nonnull Listener listener, @Nonnull Method handler, @Nonnull InvocationStrategy strategy) {
+        this(listener, handler, handler.getAnnotation(EventHandler.class), strategy);
+    }
+
+    /**
+     * Internal constructor used to read the annotation once.
+     */
+    private HandlerReference(
+            @Nonnull Listener listener,
+            @Nonnull Method handler,
+            @Nonnull EventHandler annotation,
+            @Nonnull InvocationStrategy strategy
+    ) {
+        this(listener, handler, annotation.priority(), annotation.batch(), strategy.invoker(listener, handler));
+    }
+
+    /**
+     * Checks whether this handler listens to given class of event.
+     * Handlers are matched by assignability, so handlers declared for a superclass
+     * or interface of the event also listen to it.
+     *
+     * @param eventClass Class of event
+     * @return {@code true} if this handler should be called for events of given class
+     */
+    public boolean accepts(@Nonnull Class<?> eventClass) {
+        final Class<?> type = eventType(handler, batch);
+        return type != null && type.isAssignableFrom(eventClass);
+    }
+
+    /**
+     * Gets the type of event a handler accepts.
+     * Given a batch handler which takes a {@code List<E>}, this returns {@code E}.
+     *
+     * @param m     Handler method
+     * @param batch Whether the handler is a batch handler
+     * @return Type of event, or {@code null} if a batch handler does not take a list
+     */
+    @Nullable
+    public static Class<?> eventType(@Nonnull Method m, boolean batch) {
+        if (!batch) return m.getParameterTypes()[0];
+        if (!m.getParameterTypes()[0].isAssignableFrom(List.class)) return null;
+
+        // Raw lists accept any event
+        if (!(m.getGenericParameterTypes()[0] instanceof ParameterizedType p)) return Object.class;
+
+        Type argument = p.getActualTypeArguments()[0];
+
+        // Resolve wildcards and type variables to their upper bound
+        while (!(argument instanceof Class<?>)) {
+            if (argument instanceof WildcardType w) argument = w.getUpperBounds()[0];
+            else if (argument instanceof TypeVariable<?> v) argument = v.getBounds()[0];
+            else if (argument instanceof ParameterizedType pt) argument = pt.getRawType();
+            else return null;
+        }
+
+        return (Class<?>) argument;
     }
 }
@@ -0,0 +1,316 @@
+package civitas.celestis.event.internal;
+
+import civitas.celestis.LunarEngine;
+import civitas.celestis.event.Event;
+import civitas.celestis.event.Listener;
+import civitas.celestis.metrics.EventMetrics;
+import civitas.celestis.metrics.FlightRecording;
+import civitas.celestis.metrics.HandlerInvocationEvent;
+import civitas.celestis.metrics.HandlerMetrics;
+import jakarta.annotation.Nonnull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h2>HandlerRegistry</h2>
+ * <p>
+ * Holds the registered listeners of an event manager,
+ * and a precompiled dispatch table for each class of event.
+ * </p>
+ * <p>
+ * A dispatch table is an array of handler references sorted by priority,
+ * along with the metrics of each handler.
+ * Tables are built the first time an event class is dispatched,
+ * and are rebuilt whenever a listener is registered or unregistered.
+ * The handler references of a listener, including their invokers, are created once when it is registered,
+ * and are reused by every rebuild.
+ * Dispatching an event is a single lookup followed by an array walk,
+ * without any reflection, sorting, or allocation.
+ * </p>
+ */
+public final class HandlerRegistry {
+    /**
+     * Creates a new handler registry.
+     *
+     * @param metrics Metrics to record dispatches to
+     */
+    public HandlerRegistry(@Nonnull EventMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    private static final HandlerReference[] NO_HANDLERS = new HandlerReference[0];
+    private static final Table EMPTY = new Table(NO_HANDLERS, new HandlerMetrics[0]);
+    private static final FlightRecording RECORDING = new FlightRecording(HandlerInvocationEvent.class);
+
+    @Nonnull
+    private final EventMetrics metrics;
+    private final List<Registration> registrations = new ArrayList<>();
+    private final Map<Class<?>, Table> tables = new ConcurrentHashMap<>();
+
+    //
+    // Listeners
+    //
+
+    /**
+     * Registers an event listener.
+     *
+     * @param l Listener to register
+     */
+    public synchronized void register(@Nonnull Listener l) {
+        registrations.add(new Registration(l, l.getEventHandlers()));
+        rebuild();
+    }
+
+    /**
+     * Registers multiple event listeners.
+     *
+     * @param l Listeners to register
+     */
+    public synchronized void register(@Nonnull Collection<Listener> l) {
+        l.forEach(listener -> registrations.add(new Registration(listener, listener.getEventHandlers())));
+        rebuild();
+    }
+
+    /**
+     * Unregisters an event listener.
+     *
+     * @param l Listener to unregister
+     */
+    public synchronized void unregister(@Nonnull Listener l) {
+        for (int i = 0; i < registrations.size(); i++) {
+            if (registrations.get(i).listener().equals(l)) {
+                registrations.remove(i);
+                break;
+            }
+        }
+
+        metrics.remove(l);
+        rebuild();
+    }
+
+    /**
+     * Unregisters multiple event listeners.
+     *
+     * @param l Listeners to unregister
+     */
+    public synchronized void unregister(@Nonnull Collection<Listener> l) {
+        registrations.removeIf(r -> l.contains(r.listener()));
+        l.forEach(metrics::remove);
+        rebuild();
+    }
+
+    //
+    // Dispatch Tables
+    //
+
+    /**
+     * Gets the dispatch table of given event class.
+     * The returned array is shared, and <b>must not be modified</b>.
+     *
+     * @param eventClass Class of event
+     * @return Array of handler references sorted by priority
+     */
+    @Nonnull
+    public HandlerReference[] handlers(@Nonnull Class<? extends Event> eventClass) {
+        return table(eventClass).handlers();
+    }
+
+    /**
+     * Gets the dispatch table of given event class, building it if it does not exist.
+     *
+     * @param eventClass Class of event
+     * @return Dispatch table
+     */
+    @Nonnull
+    private Table table(@Nonnull Class<? extends Event> eventClass) {
+        final Table table = tables.get(eventClass);
+        if (table != null) return table;
+
+        synchronized (this) {
+            return tables.computeIfAbsent(eventClass, this::build);
+        }
+    }
+
+    /**
+     * Dispatches an event to its handlers in order of priority.
+     * Batch handlers receive a list containing only this event.
+     * Exceptions thrown by handlers are logged, and do not stop the remaining handlers.
+     *
+     * @param event Event to dispatch
+     */
+    public void dispatch(@Nonnull Event event) {
+        final Table table = table(event.getClass());
+        final HandlerReference[] handlers = table.handlers();
+
+        for (int i = 0; i < handlers.length; i++) {
+            final HandlerReference h = handlers[i];
+            invoke(h, table.metrics()[i], h.batch() ? List.of(event) : event);
+        }
+
+        metrics.dispatched(1);
+    }
+
+    /**
+     * Dispatches a batch of events in order.
+     * <p>
+     * Consecutive events of the same class form a run, and runs are dispatched one after another.
+     * For each run, handlers are walked in order of priority;
+     * regular handlers are called once per event, and batch handlers are called once with the whole run.
+     * Events are never reordered across runs, so a batch handler may be called several times per batch.
+     * </p>
+     *
+     * @param events Unmodifiable list of events to dispatch
+     */
+    public void dispatchAll(@Nonnull List<? extends Event> events) {
+        final int size = events.size();
+
+        for (int start = 0; start < size; ) {
+            final Class<? extends Event> eventClass = events.get(start).getClass();
+            int end = start + 1;
+
+            while (end < size && events.get(end).getClass() == eventClass) end++;
+
+            // The common case of a batch of one class is dispatched without a view
+            dispatchGroup(eventClass, start == 0 && end == size ? events : events.subList(start, end));
+            start = end;
+        }
+    }
+
+    /**
+     * Dispatches an element taken from an event queue.
+     * Event managers enqueue single events as-is,
+     * and batches published with {@link civitas.celestis.event.EventManager#callAll(Collection)}
+     * as a single unmodifiable list of events.
+     *
+     * @param element Event, or list of events
+     */
+    @SuppressWarnings("unchecked")
+    public void dispatchQueued(@Nonnull Object element) {
+        if (element instanceof Event e) dispatch(e);
+        else dispatchAll((List<? extends Event>) element);
+    }
+
+    /**
+     * Dispatches a run of consecutive events which share the same class.
+     *
+     * @param eventClass Class of events
+     * @param group      Unmodifiable list of events
+     */
+    private void dispatchGroup(@Nonnull Class<? extends Event> eventClass, @Nonnull List<? extends Event> group) {
+        final Table table = table(eventClass);
+        final HandlerReference[] handlers = table.handlers();
+
+        for (int i = 0; i < handlers.length; i++) {
+            final HandlerReference h = handlers[i];
+
+            if (h.batch()) {
+                invoke(h, table.metrics()[i], group);
+                continue;
+            }
+
+            for (final Event e : group) {
+                invoke(h, table.metrics()[i], e);
+            }
+        }
+
+        metrics.dispatched(group.size());
+    }
+
+    /**
+     * Invokes a handler, logging any exception thrown.
+     * While metrics are enabled, the latency of the handler is recorded.
+     * A JFR event is only created while one is being recorded.
+     *
+     * @param h        Handler to invoke
+     * @param m        Metrics of the handler
+     * @param argument Event or list of events
+     */
+    private void invoke(@Nonnull HandlerReference h, @Nonnull HandlerMetrics m, @Nonnull Object argument) {
+        final HandlerInvocationEvent event = RECORDING.isEnabled() ? new HandlerInvocationEvent() : null;
+        if (event != null) event.begin();
+
+        final boolean measure = metrics.isEnabled();
+        final long start = measure ? System.nanoTime() : 0;
+        boolean failed = false;
+
+        try {
+            // Try to call event
+            h.invoker().invoke(argument);
+        } catch (Exception e) {
+            // Handle exception
+            failed = true;
+            metrics.failed();
+
+            LunarEngine.getLogger().warning("Error occurred while handling an event.");
+            LunarEngine.getLogger().warning(e.getMessage());
+        }
+
+        if (measure) m.record(System.nanoTime() - start, failed);
+
+        if (event != null && event.shouldCommit()) {
+            event.listener = h.listener().getClass().getName();
+            event.handler = h.handler().getName();
+            event.event = argument.getClass().getName();
+            event.failed = failed;
+            event.commit();
+        }
+    }
+
+    /**
+     * Rebuilds every known dispatch table.
+     * Called with the monitor of {@code this} held.
+     */
+    private void rebuild() {
+        tables.replaceAll((eventClass, table) -> build(eventClass));
+    }
+
+    /**
+     * Builds the dispatch table of given event class.
+     * Since {@link HandlerReference#accepts(Class)} matches handlers by assignability,
+     * handlers declared for a superclass or interface of the event are included.
+     *
+     * @param eventClass Class of event
+     * @return Dispatch table
+     */
+    @Nonnull
+    private Table build(@Nonnull Class<?> eventClass) {
+        final List<HandlerReference> handlers = new ArrayList<>();
+
+        for (final Registration r : registrations) {
+            for (final HandlerReference h : r.handlers()) {
+                if (h.accepts(eventClass)) handlers.add(h);
+            }
+        }
+
+        if (handlers.isEmpty()) return EMPTY;
+
+        // Stable sort; handlers of equal priority keep registration order
+        handlers.sort(Comparator.comparing(HandlerReference::priority));
+
+        final HandlerMetrics[] handlerMetrics = new HandlerMetrics[handlers.size()];
+
+        for (int i = 0; i < handlerMetrics.length; i++) {
+            final HandlerReference h = handlers.get(i);
+            handlerMetrics[i] = metrics.handler(h.listener(), h.handler());
+        }
+
+        return new Table(handlers.toArray(NO_HANDLERS), handlerMetrics);
+    }
+
+    /**
+     * A dispatch table of a single event class.
+     *
+     * @param handlers Handler references sorted by priority
+     * @param metrics  Metrics of each handler, in the same order
+     */
+    private record Table(@Nonnull HandlerReference[] handlers, @Nonnull HandlerMetrics[] metrics) {}
+
+    /**
+     * A registered listener.
+     *
+     * @param listener Listener object
+     * @param handlers Every handler of the listener, created when it was registered
+     */
+    private record Registration(@Nonnull Listener listener, @Nonnull List<HandlerReference> handlers) {}
+}
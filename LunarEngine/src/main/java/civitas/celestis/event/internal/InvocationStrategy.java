@@ -0,0 +1,118 @@
+package civitas.celestis.event.internal;
+
+import civitas.celestis.LunarEngine;
+import civitas.celestis.event.Listener;
+import jakarta.annotation.Nonnull;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * <h2>InvocationStrategy</h2>
+ * <p>
+ * The method used to convert an event handler into a {@link HandlerInvoker}.
+ * </p>
+ * <ul>
+ *     <li>{@link #REFLECTION} calls {@link Method#invoke(Object, Object...)} for every event.</li>
+ *     <li>{@link #METHOD_HANDLE} binds a {@link MethodHandle} to the listener.</li>
+ *     <li>
+ *         {@link #LAMBDA} spins a class implementing {@link HandlerInvoker} through {@link LambdaMetafactory},
+ *         which calls the handler directly and can be inlined by the JIT.
+ *     </li>
+ * </ul>
+ */
+public enum InvocationStrategy {
+    REFLECTION {
+        @Nonnull
+        @Override
+        public HandlerInvoker invoker(@Nonnull Listener listener, @Nonnull Method handler) {
+            final Object receiver = Modifier.isStatic(handler.getModifiers()) ? null : listener;
+            return argument -> handler.invoke(receiver, argument);
+        }
+    },
+
+    METHOD_HANDLE {
+        @Nonnull
+        @Override
+        public HandlerInvoker invoker(@Nonnull Listener listener, @Nonnull Method handler) {
+            final MethodHandle mh;
+
+            try {
+                final MethodHandle target = lookup(handler).unreflect(handler);
+                final MethodHandle bound = Modifier.isStatic(handler.getModifiers()) ? target : target.bindTo(listener);
+
+                mh = bound.asType(MethodType.methodType(void.class, Object.class));
+            } catch (IllegalAccessException e) {
+                return REFLECTION.invoker(listener, handler);
+            }
+
+            return argument -> {
+                try {
+                    mh.invokeExact(argument);
+                } catch (Exception | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new RuntimeException(t);
+                }
+            };
+        }
+    },
+
+    LAMBDA {
+        @Nonnull
+        @Override
+        public HandlerInvoker invoker(@Nonnull Listener listener, @Nonnull Method handler) {
+            final boolean isStatic = Modifier.isStatic(handler.getModifiers());
+            try {
+                final MethodHandles.Lookup lookup = lookup(handler);
+
+                final CallSite site = LambdaMetafactory.metafactory(
+                        lookup,
+                        "invoke",
+                        isStatic
+                                ? MethodType.methodType(HandlerInvoker.class)
+                                : MethodType.methodType(HandlerInvoker.class, handler.getDeclaringClass()),
+                        MethodType.methodType(void.class, Object.class),
+                        lookup.unreflect(handler),
+                        MethodType.methodType(void.class, handler.getParameterTypes()[0])
+                );
+
+                return isStatic
+                        ? (HandlerInvoker) site.getTarget().invoke()
+                        : (HandlerInvoker) site.getTarget().invoke(listener);
+            } catch (Throwable t) {
+                // Handler cannot be spun into a class (e.g. inaccessible or incompatible signature)
+                LunarEngine.getLogger().fine("Falling back to method handle invocation for " + handler + ".");
+                return METHOD_HANDLE.invoker(listener, handler);
+            }
+        }
+    };
+
+    /**
+     * The default invocation strategy.
+     */
+    public static final InvocationStrategy DEFAULT = LAMBDA;
+
+    /**
+     * Creates an invoker for given handler.
+     *
+     * @param listener Listener which declares the handler
+     * @param handler  Handler method
+     * @return Invoker of the handler
+     */
+    @Nonnull
+    public abstract HandlerInvoker invoker(@Nonnull Listener listener, @Nonnull Method handler);
+
+    /**
+     * Gets a lookup with private access to the declaring class of a handler.
+     *
+     * @param handler Handler method
+     * @return Lookup object
+     * @throws IllegalAccessException When private access to the declaring class cannot be obtained
+     */
+    @Nonnull
+    private static MethodHandles.Lookup lookup(@Nonnull Method handler) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(handler.getDeclaringClass(), MethodHandles.lookup());
+    }
+}
@@ -4,10 +4,12 @@ import civitas.celestis.LunarEngine;
 import civitas.celestis.event.Event;
 import civitas.celestis.event.EventManager;
 import civitas.celestis.event.Listener;
+import civitas.celestis.metrics.EventMetrics;
+import civitas.celestis.util.concurrent.MpscQueue;
 import jakarta.annotation.Nonnull;
 
-import java.lang.reflect.InvocationTargetException;
-import java.util.*;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * <h2>SyncEventManager</h2>
@@ -17,12 +19,48 @@ import java.util.*;
  * which do not require asynchronous event processing.
  * </p>
  * <p>
- * While there are advantages to use the asynchronous implementation,
+ * While there are advantages to use the {@link AsyncEventManager asynchronous implementation},
  * the additional overhead may slow down small-sized projects more
  * than the benefits of additional performance.
  * </p>
  */
 public final class SyncEventManager implements EventManager {
+    /**
+     * Creates a new synchronous event manager with an unbounded event queue.
+     */
+    public SyncEventManager() {
+        this(MpscQueue.UNBOUNDED);
+    }
+
+    /**
+     * Creates a new synchronous event manager.
+     * When the event queue is full, newly called events are discarded.
+     *
+     * @param capacity Capacity of the event queue, or {@link MpscQueue#UNBOUNDED} for no limit
+     */
+    public SyncEventManager(int capacity) {
+        this.queue = new MpscQueue<>(capacity);
+        this.metrics = new EventMetrics(queue::size);
+        this.registry = new HandlerRegistry(metrics);
+        this.thread = new Thread(() -> {
+
+            while (true) {
+                // Wait for next event or batch (respects interruption)
+                final Object next;
+
+                try {
+                    next = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                // Dispatch to precompiled handlers (already sorted by priority)
+                registry.dispatchQueued(next);
+            }
+
+        }, "SyncEventManager");
+    }
+
     @Override
     public void start() {
         thread.start();
@@ -35,66 +73,56 @@ public final class SyncEventManager implements EventManager {
 
     @Override
     public <E extends Event> void call(@Nonnull E event) {
-        queue.add(event);
+        if (!queue.offer(event)) {
+            metrics.dropped(1);
+            LunarEngine.getLogger().warning("Event queue is full. An event has been discarded.");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The whole batch is published to the event queue in a single step, and occupies a single slot.
+     *
+     * @param events Collection of events to call
+     */
+    @Override
+    public void callAll(@Nonnull Collection<? extends Event> events) {
+        if (events.isEmpty()) return;
+
+        if (!queue.offer(List.copyOf(events))) {
+            metrics.dropped(events.size());
+            LunarEngine.getLogger().warning("Event queue is full. A batch of " + events.size() + " events has been discarded.");
+        }
     }
 
     @Override
     public void register(@Nonnull Listener l) {
-        listeners.add(l);
+        registry.register(l);
     }
 
     @Override
     public void register(@Nonnull Collection<Listener> l) {
-        listeners.addAll(l);
+        registry.register(l);
     }
 
     @Override
     public void unregister(@Nonnull Listener l) {
-        listeners.remove(l);
+        registry.unregister(l);
     }
 
     @Override
     public void unregister(@Nonnull Collection<Listener> l) {
-        listeners.removeAll(l);
+        registry.unregister(l);
     }
 
-    private final Queue<Event> queue = new LinkedList<>();
-    private final List<Listener> listeners = new ArrayList<>();
-    private final Thread thread = new Thread(() -> {
-
-        while (true) {
-            // Respect interruption
-            if (Thread.interrupted()) return;
-
-            // Poll next event
-            final Event event = queue.poll();
-
-            // Null check
-            if (event == null) continue;
-
-            // Initialize empty reference list
-            final List<HandlerReference> handlers = new ArrayList<>();
-
-            // Add handler references
-            for (final Listener l : List.copyOf(listeners)) {
-                handlers.addAll(l.getEventHandlers(event.getClass()));
-            }
-
-            // Sort handlers by priority
-            handlers.sort(Comparator.comparing(HandlerReference::priority));
-
-            // Iterate through handlers
-            for (final HandlerReference h : handlers) {
-                try {
-                    // Try to call event
-                    h.handler().invoke(h.listener(), event);
-                } catch (IllegalAccessException | InvocationTargetException e) {
-                    // Handle exception
-                    LunarEngine.getLogger().warning("Error occurred while handling an event.");
-                    LunarEngine.getLogger().warning(e.getMessage());
-                }
-            }
-        }
+    @Nonnull
+    @Override
+    public EventMetrics metrics() {
+        return metrics;
+    }
 
-    }, "SyncEventManager");
+    private final MpscQueue<Object> queue;
+    private final EventMetrics metrics;
+    private final HandlerRegistry registry;
+    private final Thread thread;
 }
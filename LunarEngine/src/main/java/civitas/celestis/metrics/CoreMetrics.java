@@ -0,0 +1,96 @@
+package civitas.celestis.metrics;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h2>CoreMetrics</h2>
+ * <p>
+ * Runtime statistics of a single scheduler thread.
+ * </p>
+ */
+public final class CoreMetrics {
+    /**
+     * Creates a new set of core metrics.
+     *
+     * @param name Name of the core
+     */
+    public CoreMetrics(@Nonnull String name) {
+        this.name = name;
+    }
+
+    @Nonnull
+    private final String name;
+    private final LongAdder busy = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+    private volatile long since = System.nanoTime();
+
+    /**
+     * Records the execution of a task on this core.
+     *
+     * @param duration Execution time in nanoseconds
+     */
+    public void record(long duration) {
+        busy.add(duration);
+        executions.increment();
+    }
+
+    /**
+     * Gets the name of this core.
+     *
+     * @return Name
+     */
+    @Nonnull
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Gets the total time spent executing tasks since the last reset.
+     *
+     * @return Busy time in nanoseconds
+     */
+    public long busy() {
+        return busy.sum();
+    }
+
+    /**
+     * Gets the number of tasks executed since the last reset.
+     *
+     * @return Number of executions
+     */
+    public long executions() {
+        return executions.sum();
+    }
+
+    /**
+     * Gets the fraction of time this core spent executing tasks since the last reset.
+     *
+     * @return Utilization in the range of {@code [0, 1]}
+     */
+    public double utilization() {
+        final long elapsed = System.nanoTime() - since;
+        if (elapsed <= 0) return 0;
+
+        return Math.min(1, (double) busy() / elapsed);
+    }
+
+    /**
+     * Resets every statistic of this core.
+     */
+    public void reset() {
+        busy.reset();
+        executions.reset();
+        since = System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+        return "CoreMetrics{" +
+                "name=" + name +
+                ", executions=" + executions() +
+                ", utilization=" + utilization() +
+                '}';
+    }
+}
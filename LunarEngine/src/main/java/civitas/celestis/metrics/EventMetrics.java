@@ -0,0 +1,198 @@
+package civitas.celestis.metrics;
+
+import civitas.celestis.event.Listener;
+import jakarta.annotation.Nonnull;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * <h2>EventMetrics</h2>
+ * <p>
+ * Runtime statistics of an event manager.
+ * Metrics can be polled at any time, or pushed to a {@link MetricsSink} by a {@link MetricsReporter}.
+ * </p>
+ * <p>
+ * Per-handler latencies are only collected while these metrics are enabled (the default).
+ * Dispatch, drop and failure counts are always collected.
+ * </p>
+ */
+public final class EventMetrics {
+    /**
+     * Creates a new set of event metrics.
+     *
+     * @param depth Supplier of the current number of queued entries
+     */
+    public EventMetrics(@Nonnull IntSupplier depth) {
+        this.depth = depth;
+    }
+
+    @Nonnull
+    private final IntSupplier depth;
+    private final Map<HandlerKey, HandlerMetrics> handlers = new ConcurrentHashMap<>();
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile boolean enabled = true;
+
+    //
+    // Toggle
+    //
+
+    /**
+     * Checks if per-handler latencies are collected.
+     *
+     * @return {@code true} if these metrics are enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether per-handler latencies are collected.
+     *
+     * @param enabled {@code true} to enable these metrics
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    //
+    // Recording
+    //
+
+    /**
+     * Records that events were taken from the queue and dispatched.
+     *
+     * @param count Number of events
+     */
+    public void dispatched(int count) {
+        dispatched.add(count);
+    }
+
+    /**
+     * Records that events were discarded because the queue was full.
+     *
+     * @param count Number of events
+     */
+    public void dropped(int count) {
+        dropped.add(count);
+    }
+
+    /**
+     * Records that a handler threw an exception.
+     */
+    public void failed() {
+        failures.increment();
+    }
+
+    //
+    // Handlers
+    //
+
+    /**
+     * Gets the metrics of a handler, creating them if they do not exist.
+     *
+     * @param listener Listener which declares the handler
+     * @param handler  Handler method
+     * @return Metrics of the handler
+     */
+    @Nonnull
+    public HandlerMetrics handler(@Nonnull Listener listener, @Nonnull Method handler) {
+        return handlers.computeIfAbsent(new HandlerKey(listener, handler), k -> new HandlerMetrics(listener, handler));
+    }
+
+    /**
+     * Removes the metrics of every handler of a listener. Called when a listener is unregistered.
+     *
+     * @param listener Listener to remove metrics of
+     */
+    public void remove(@Nonnull Listener listener) {
+        handlers.keySet().removeIf(k -> k.listener() == listener);
+    }
+
+    /**
+     * Gets the metrics of every registered handler.
+     *
+     * @return Unmodifiable view of handler metrics
+     */
+    @Nonnull
+    public Collection<HandlerMetrics> handlers() {
+        return Collections.unmodifiableCollection(handlers.values());
+    }
+
+    //
+    // Readings
+    //
+
+    /**
+     * Gets the current number of queued entries.
+     * A batch published with {@link civitas.celestis.event.EventManager#callAll(Collection)} counts as one entry.
+     *
+     * @return Queue depth
+     */
+    public int depth() {
+        return depth.getAsInt();
+    }
+
+    /**
+     * Gets the number of events dispatched since the last reset.
+     *
+     * @return Number of dispatched events
+     */
+    public long dispatched() {
+        return dispatched.sum();
+    }
+
+    /**
+     * Gets the number of events discarded since the last reset.
+     *
+     * @return Number of dropped events
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Gets the number of handler invocations which threw an exception since the last reset.
+     *
+     * @return Number of failures
+     */
+    public long failures() {
+        return failures.sum();
+    }
+
+    /**
+     * Resets every statistic.
+     */
+    public void reset() {
+        handlers.values().forEach(HandlerMetrics::reset);
+        dispatched.reset();
+        dropped.reset();
+        failures.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "EventMetrics{" +
+                "depth=" + depth() +
+                ", dispatched=" + dispatched() +
+                ", dropped=" + dropped() +
+                ", failures=" + failures() +
+                ", handlers=" + handlers.values() +
+                '}';
+    }
+
+    /**
+     * Identifies a handler of a specific listener instance.
+     *
+     * @param listener Listener instance
+     * @param handler  Handler method
+     */
+    private record HandlerKey(@Nonnull Listener listener, @Nonnull Method handler) {}
+}
@@ -0,0 +1,48 @@
+package civitas.celestis.metrics;
+
+import jakarta.annotation.Nonnull;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * <h2>FlightRecording</h2>
+ * <p>
+ * A guard which checks whether a JFR event type is being recorded,
+ * so that hot paths only instantiate their events while it is.
+ * </p>
+ * <p>
+ * Initializing the first event class starts the JFR machinery, which takes hundreds of milliseconds.
+ * This guard does not touch the event class until JFR has been initialized by a recording,
+ * and afterward only reads the enabled state of the event type.
+ * While nothing is recorded, checking the guard allocates nothing.
+ * </p>
+ */
+public final class FlightRecording {
+    /**
+     * Creates a new guard. This does not initialize the event class.
+     *
+     * @param eventClass Class of event to guard
+     */
+    public FlightRecording(@Nonnull Class<? extends Event> eventClass) {
+        this.eventClass = eventClass;
+    }
+
+    @Nonnull
+    private final Class<? extends Event> eventClass;
+    private volatile EventType type = null;
+
+    /**
+     * Checks whether events of the guarded class are currently recorded.
+     *
+     * @return {@code true} if JFR is initialized and the event type is enabled
+     */
+    public boolean isEnabled() {
+        if (!FlightRecorder.isInitialized()) return false;
+
+        EventType t = type;
+        if (t == null) type = t = EventType.getEventType(eventClass);
+
+        return t.isEnabled();
+    }
+}
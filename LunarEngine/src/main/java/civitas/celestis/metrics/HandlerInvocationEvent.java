@@ -0,0 +1,28 @@
+package civitas.celestis.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * <h2>HandlerInvocationEvent</h2>
+ * <p>
+ * A JFR event recorded for each invocation of an event handler.
+ * The duration of the event is the latency of the handler.
+ * </p>
+ */
+@Name("civitas.celestis.HandlerInvocation")
+@Label("Handler Invocation")
+@Category("Lunar")
+@StackTrace(false)
+public final class HandlerInvocationEvent extends Event {
+    @Label("Listener")
+    public String listener;
+
+    @Label("Handler")
+    public String handler;
+
+    @Label("Event")
+    public String event;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,101 @@
+package civitas.celestis.metrics;
+
+import civitas.celestis.event.Listener;
+import jakarta.annotation.Nonnull;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h2>HandlerMetrics</h2>
+ * <p>
+ * Runtime statistics of a single event handler.
+ * All durations are in nanoseconds.
+ * </p>
+ */
+public final class HandlerMetrics {
+    /**
+     * Creates a new set of handler metrics.
+     *
+     * @param listener Listener which declares the handler
+     * @param handler  Handler method
+     */
+    HandlerMetrics(@Nonnull Listener listener, @Nonnull Method handler) {
+        this.listener = listener;
+        this.handler = handler;
+    }
+
+    @Nonnull
+    private final Listener listener;
+    @Nonnull
+    private final Method handler;
+    private final Histogram latency = new Histogram();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Records an invocation of the handler.
+     *
+     * @param duration Duration of the invocation
+     * @param failed   Whether the handler threw an exception
+     */
+    public void record(long duration, boolean failed) {
+        latency.record(duration);
+        if (failed) failures.increment();
+    }
+
+    /**
+     * Gets the listener which declares the handler.
+     *
+     * @return Listener
+     */
+    @Nonnull
+    public Listener listener() {
+        return listener;
+    }
+
+    /**
+     * Gets the handler method.
+     *
+     * @return Handler
+     */
+    @Nonnull
+    public Method handler() {
+        return handler;
+    }
+
+    /**
+     * Gets the histogram of invocation latencies.
+     *
+     * @return Latency histogram
+     */
+    @Nonnull
+    public Histogram latency() {
+        return latency;
+    }
+
+    /**
+     * Gets the number of invocations which threw an exception.
+     *
+     * @return Number of failed invocations
+     */
+    public long failures() {
+        return failures.sum();
+    }
+
+    /**
+     * Resets every statistic of this handler.
+     */
+    public void reset() {
+        latency.reset();
+        failures.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "HandlerMetrics{" +
+                "handler=" + handler.getDeclaringClass().getSimpleName() + "#" + handler.getName() +
+                ", latency=" + latency +
+                ", failures=" + failures() +
+                '}';
+    }
+}
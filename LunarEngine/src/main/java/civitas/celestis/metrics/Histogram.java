@@ -0,0 +1,192 @@
+package civitas.celestis.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h2>Histogram</h2>
+ * <p>
+ * A lock-free, log-linear histogram of non-negative {@code long} values (typically nanoseconds).
+ * </p>
+ * <p>
+ * Like an HDR histogram, values are grouped into buckets whose width grows with the magnitude of the value,
+ * so that every recorded value is represented with a relative error of at most {@code 1 / 32}.
+ * Values below {@code 32} are recorded exactly.
+ * Recording a value is a few bit operations and an atomic increment, with no allocation.
+ * </p>
+ * <p>
+ * Readings are not taken atomically with respect to concurrent recordings,
+ * and should be treated as approximate while values are being recorded.
+ * </p>
+ */
+public final class Histogram {
+    /**
+     * Creates a new empty histogram.
+     */
+    public Histogram() {
+    }
+
+    //
+    // Constants
+    //
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    //
+    // Variables
+    //
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    //
+    // Recording
+    //
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     *
+     * @param value Value to record
+     */
+    public void record(long value) {
+        final long v = Math.max(0, value);
+
+        counts.incrementAndGet(index(v));
+        count.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    //
+    // Readings
+    //
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return Number of values
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the sum of recorded values.
+     *
+     * @return Sum of values
+     */
+    public long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * Gets the largest recorded value.
+     *
+     * @return Maximum value, or {@code 0} if no values were recorded
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Gets the arithmetic mean of recorded values.
+     *
+     * @return Mean value, or {@code 0} if no values were recorded
+     */
+    public double mean() {
+        final long n = count();
+        return n == 0 ? 0 : (double) sum() / n;
+    }
+
+    /**
+     * Gets the value at given percentile.
+     * The returned value is the upper bound of the bucket containing the percentile.
+     *
+     * @param percentile Percentile in the range of {@code [0, 100]}
+     * @return Value at percentile, or {@code 0} if no values were recorded
+     * @throws IllegalArgumentException When the percentile is out of range
+     */
+    public long percentile(double percentile) throws IllegalArgumentException {
+        if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+
+        if (total == 0) return 0;
+
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(upperBound(i), max());
+        }
+
+        return max();
+    }
+
+    //
+    // Buckets
+    //
+
+    /**
+     * Gets the index of the bucket given value belongs to.
+     *
+     * @param v Non-negative value
+     * @return Bucket index
+     */
+    private static int index(long v) {
+        if (v < SUB_BUCKETS) return (int) v;
+
+        final int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BUCKET_BITS;
+        final int top = (int) (v >>> shift); // In the range of [SUB_BUCKETS, 2 * SUB_BUCKETS)
+
+        return (shift + 1) * SUB_BUCKETS + (top - SUB_BUCKETS);
+    }
+
+    /**
+     * Gets the largest value which belongs to given bucket.
+     *
+     * @param i Bucket index
+     * @return Upper bound of bucket
+     */
+    private static long upperBound(int i) {
+        if (i < SUB_BUCKETS) return i;
+
+        final int shift = i / SUB_BUCKETS - 1;
+        final long top = i % SUB_BUCKETS + SUB_BUCKETS;
+
+        return ((top + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "Histogram{" +
+                "count=" + count() +
+                ", mean=" + mean() +
+                ", p50=" + percentile(50) +
+                ", p99=" + percentile(99) +
+                ", max=" + max() +
+                '}';
+    }
+}
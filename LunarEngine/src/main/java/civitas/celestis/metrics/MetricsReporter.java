@@ -0,0 +1,65 @@
+package civitas.celestis.metrics;
+
+import civitas.celestis.event.EventManager;
+import civitas.celestis.task.Task;
+import civitas.celestis.task.internal.Scheduler;
+import jakarta.annotation.Nonnull;
+
+/**
+ * <h2>MetricsReporter</h2>
+ * <p>
+ * A task which pushes the metrics of a scheduler and an event manager to a {@link MetricsSink}.
+ * Register this task to a scheduler to report metrics at a regular interval.
+ * </p>
+ */
+public final class MetricsReporter implements Task {
+    /**
+     * Creates a new metrics reporter.
+     *
+     * @param scheduler Scheduler to report metrics of
+     * @param events    Event manager to report metrics of
+     * @param sink      Sink to push metrics to
+     * @param interval  Interval between reports in milliseconds
+     * @param reset     Whether to reset metrics after each report
+     */
+    public MetricsReporter(
+            @Nonnull Scheduler scheduler,
+            @Nonnull EventManager events,
+            @Nonnull MetricsSink sink,
+            long interval,
+            boolean reset
+    ) {
+        this.scheduler = scheduler;
+        this.events = events;
+        this.sink = sink;
+        this.interval = interval;
+        this.reset = reset;
+    }
+
+    @Nonnull
+    private final Scheduler scheduler;
+    @Nonnull
+    private final EventManager events;
+    @Nonnull
+    private final MetricsSink sink;
+    private final long interval;
+    private final boolean reset;
+
+    @Override
+    public void execute(long delta) {
+        final SchedulerMetrics s = scheduler.metrics();
+        final EventMetrics e = events.metrics();
+
+        sink.report(s, e);
+
+        if (reset) {
+            s.reset();
+            e.reset();
+        }
+    }
+
+    @Override
+    public long interval() {
+        return interval;
+    }
+}
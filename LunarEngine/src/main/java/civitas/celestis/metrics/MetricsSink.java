@@ -0,0 +1,21 @@
+package civitas.celestis.metrics;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * <h2>MetricsSink</h2>
+ * <p>
+ * A destination which metrics are periodically pushed to by a {@link MetricsReporter}.
+ * Sinks are called from a scheduler thread, and should return quickly.
+ * </p>
+ */
+@FunctionalInterface
+public interface MetricsSink {
+    /**
+     * Receives the current metrics of the engine.
+     *
+     * @param scheduler Metrics of the scheduler
+     * @param events    Metrics of the event manager
+     */
+    void report(@Nonnull SchedulerMetrics scheduler, @Nonnull EventMetrics events);
+}
@@ -0,0 +1,141 @@
+package civitas.celestis.metrics;
+
+import civitas.celestis.task.Task;
+import jakarta.annotation.Nonnull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h2>SchedulerMetrics</h2>
+ * <p>
+ * Runtime statistics of a scheduler.
+ * Metrics can be polled at any time, or pushed to a {@link MetricsSink} by a {@link MetricsReporter}.
+ * </p>
+ * <p>
+ * Timing statistics are only collected while these metrics are enabled (the default).
+ * Failure counts are always collected.
+ * </p>
+ */
+public final class SchedulerMetrics {
+    /**
+     * Creates a new set of scheduler metrics.
+     *
+     * @param cores Metrics of each core of the scheduler
+     */
+    public SchedulerMetrics(@Nonnull List<CoreMetrics> cores) {
+        this.cores = List.copyOf(cores);
+    }
+
+    @Nonnull
+    private final List<CoreMetrics> cores;
+    private final Map<Task, TaskMetrics> tasks = new ConcurrentHashMap<>();
+    private volatile boolean enabled = true;
+
+    //
+    // Toggle
+    //
+
+    /**
+     * Checks if timing statistics are collected.
+     *
+     * @return {@code true} if these metrics are enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether timing statistics are collected.
+     *
+     * @param enabled {@code true} to enable these metrics
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    //
+    // Tasks
+    //
+
+    /**
+     * Gets the metrics of a task, creating them if they do not exist.
+     *
+     * @param task Task to get metrics of
+     * @return Metrics of the task
+     */
+    @Nonnull
+    public TaskMetrics task(@Nonnull Task task) {
+        return tasks.computeIfAbsent(task, t -> new TaskMetrics(this, t));
+    }
+
+    /**
+     * Removes the metrics of a task. Called when a task is unregistered.
+     *
+     * @param task Task to remove metrics of
+     */
+    public void remove(@Nonnull Task task) {
+        tasks.remove(task);
+    }
+
+    /**
+     * Gets the metrics of every registered task.
+     *
+     * @return Unmodifiable view of task metrics
+     */
+    @Nonnull
+    public Map<Task, TaskMetrics> tasks() {
+        return Collections.unmodifiableMap(tasks);
+    }
+
+    //
+    // Cores
+    //
+
+    /**
+     * Gets the metrics of each core of the scheduler.
+     *
+     * @return List of core metrics
+     */
+    @Nonnull
+    public List<CoreMetrics> cores() {
+        return cores;
+    }
+
+    //
+    // Aggregates
+    //
+
+    /**
+     * Gets the total number of failed executions across all registered tasks.
+     *
+     * @return Number of failures
+     */
+    public long failures() {
+        long sum = 0;
+
+        for (final TaskMetrics t : tasks.values()) {
+            sum += t.failures();
+        }
+
+        return sum;
+    }
+
+    /**
+     * Resets every statistic.
+     */
+    public void reset() {
+        tasks.values().forEach(TaskMetrics::reset);
+        cores.forEach(CoreMetrics::reset);
+    }
+
+    @Override
+    public String toString() {
+        return "SchedulerMetrics{" +
+                "cores=" + cores +
+                ", tasks=" + tasks.values() +
+                '}';
+    }
+}
@@ -0,0 +1,26 @@
+package civitas.celestis.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * <h2>TaskExecutionEvent</h2>
+ * <p>
+ * A JFR event recorded for each execution of a scheduled task.
+ * The duration of the event is the execution time of the task.
+ * </p>
+ */
+@Name("civitas.celestis.TaskExecution")
+@Label("Task Execution")
+@Category("Lunar")
+@StackTrace(false)
+public final class TaskExecutionEvent extends Event {
+    @Label("Task")
+    public String task;
+
+    @Label("Lateness")
+    @Timespan(Timespan.NANOSECONDS)
+    public long lateness;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,108 @@
+package civitas.celestis.metrics;
+
+import civitas.celestis.task.Task;
+import jakarta.annotation.Nonnull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h2>TaskMetrics</h2>
+ * <p>
+ * Runtime statistics of a single task.
+ * All durations are in nanoseconds.
+ * </p>
+ */
+public final class TaskMetrics {
+    /**
+     * Creates a new set of task metrics.
+     *
+     * @param owner Scheduler metrics which own this object
+     * @param task  Task to measure
+     */
+    TaskMetrics(@Nonnull SchedulerMetrics owner, @Nonnull Task task) {
+        this.owner = owner;
+        this.task = task;
+    }
+
+    @Nonnull
+    private final SchedulerMetrics owner;
+    @Nonnull
+    private final Task task;
+    private final Histogram executionTime = new Histogram();
+    private final Histogram lateness = new Histogram();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Records an execution of the task.
+     * This does nothing when the owning metrics are disabled.
+     *
+     * @param duration Execution time
+     * @param late     Duration between the deadline and the start of execution
+     * @param failed   Whether the task threw an exception
+     */
+    public void record(long duration, long late, boolean failed) {
+        if (failed) failures.increment();
+        if (!owner.isEnabled()) return;
+
+        executionTime.record(duration);
+        lateness.record(late);
+    }
+
+    /**
+     * Gets the measured task.
+     *
+     * @return Task
+     */
+    @Nonnull
+    public Task task() {
+        return task;
+    }
+
+    /**
+     * Gets the histogram of execution times.
+     *
+     * @return Execution time histogram
+     */
+    @Nonnull
+    public Histogram executionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Gets the histogram of lateness (duration between each deadline and the actual start of execution).
+     *
+     * @return Lateness histogram
+     */
+    @Nonnull
+    public Histogram lateness() {
+        return lateness;
+    }
+
+    /**
+     * Gets the number of executions which threw an exception.
+     *
+     * @return Number of failed executions
+     */
+    public long failures() {
+        return failures.sum();
+    }
+
+    /**
+     * Resets every statistic of this task.
+     */
+    public void reset() {
+        executionTime.reset();
+        lateness.reset();
+        failures.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "TaskMetrics{" +
+                "task=" + task +
+                ", executionTime=" + executionTime +
+                ", lateness=" + lateness +
+                ", failures=" + failures() +
+                '}';
+    }
+}
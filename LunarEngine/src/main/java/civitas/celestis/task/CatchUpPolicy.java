@@ -0,0 +1,29 @@
+package civitas.celestis.task;
+
+/**
+ * <h2>CatchUpPolicy</h2>
+ * <p>
+ * Determines how a {@link FixedRateTask} recovers when one or more of its ticks were missed,
+ * for example because the scheduler was busy or the previous tick took longer than its period.
+ * </p>
+ */
+public enum CatchUpPolicy {
+    /**
+     * Missed ticks are dropped.
+     * The task is executed once with a delta of one period, and resumes on its original grid of deadlines.
+     */
+    SKIP,
+
+    /**
+     * Missed ticks are executed back-to-back, each with a delta of one period.
+     * This keeps fixed-step simulations deterministic,
+     * but a task whose ticks take longer than its period will never catch up.
+     */
+    BURST,
+
+    /**
+     * Missed ticks are merged into a single execution,
+     * whose delta is the sum of the periods of every missed tick.
+     */
+    COALESCE;
+}
@@ -0,0 +1,54 @@
+package civitas.celestis.task;
+
+/**
+ * <h2>FixedRateTask</h2>
+ * <p>
+ * A task which is executed at a fixed rate with nanosecond precision.
+ * </p>
+ * <p>
+ * Unlike a regular {@link Task}, which is rescheduled relative to the time it was last executed,
+ * a fixed-rate task is scheduled against ideal deadlines ({@code start + n * period}).
+ * Execution delays therefore do not accumulate into drift.
+ * When ticks are missed, the task recovers according to its {@link CatchUpPolicy}.
+ * </p>
+ */
+public interface FixedRateTask extends Task {
+    /**
+     * Executes one tick of this task.
+     *
+     * @param delta    Simulated duration of this tick (in nanoseconds)
+     * @param lateness Duration between the ideal deadline of this tick and its actual execution (in nanoseconds)
+     */
+    void tick(long delta, long lateness);
+
+    /**
+     * Gets the period of this task.
+     *
+     * @return Period of this task in nanoseconds
+     */
+    long period();
+
+    /**
+     * Gets the policy used to recover from missed ticks.
+     *
+     * @return Catch-up policy
+     */
+    default CatchUpPolicy policy() {return CatchUpPolicy.SKIP;}
+
+    /**
+     * Executes this task as a regular task.
+     * Schedulers which support fixed-rate tasks call {@link #tick(long, long)} instead.
+     *
+     * @param delta Duration between the last execution and now (in milliseconds)
+     */
+    @Override
+    default void execute(long delta) {tick(delta * 1_000_000L, 0);}
+
+    /**
+     * Gets the period of this task, rounded down to milliseconds.
+     *
+     * @return Interval of this task in milliseconds
+     */
+    @Override
+    default long interval() {return period() / 1_000_000L;}
+}
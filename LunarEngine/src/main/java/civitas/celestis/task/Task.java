@@ -6,6 +6,10 @@ package civitas.celestis.task;
  * A task.
  * Tasks can be scheduled to be executed in regular intervals.
  * </p>
+ * <p>
+ * Each execution is rescheduled relative to the time of the previous execution.
+ * For drift-free execution with nanosecond precision, use {@link FixedRateTask}.
+ * </p>
  */
 public interface Task {
     /**
@@ -1,40 +1,137 @@
 package civitas.celestis.task.internal;
 
+import civitas.celestis.metrics.CoreMetrics;
+import civitas.celestis.metrics.SchedulerMetrics;
 import civitas.celestis.task.Task;
+import civitas.celestis.util.concurrent.MpscQueue;
 import civitas.celestis.util.counter.Reiterator;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 
-import java.util.Collection;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * <h2>AsyncScheduler</h2>
  * <p>
- * An asynchronous scheduler.
+ * An asynchronous, work-stealing scheduler.
+ * </p>
+ * <p>
+ * A timer thread keeps every task in a deadline heap, and hands due tasks to a pool of workers.
+ * Each task has a home worker, assigned round-robin on registration.
+ * Due tasks are pushed onto the deque of their home worker,
+ * and workers which run out of tasks steal from the other end of busy workers' deques,
+ * so that a single slow task does not stall every other task assigned to its worker.
+ * </p>
+ * <p>
+ * Tasks registered together with {@link #registerSync(Collection)} are pinned to the same worker,
+ * and are never stolen. They therefore always run serially on one thread.
+ * A task is never executed concurrently with itself. If a task is unregistered while it is running
+ * and then registered again, the new registration takes effect once the running execution completes.
  * </p>
  */
 public final class AsyncScheduler implements Scheduler {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new asynchronous scheduler with one worker per available processor.
+     */
+    public AsyncScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new asynchronous scheduler.
+     *
+     * @param cores Number of worker threads
+     * @throws IllegalArgumentException When the number of workers is not positive
+     */
+    public AsyncScheduler(int cores) throws IllegalArgumentException {
+        if (cores <= 0) throw new IllegalArgumentException("A scheduler requires at least one core.");
+
+        this.workers = new Worker[cores];
+        this.distributor = new Reiterator(cores);
+
+        final List<CoreMetrics> coreMetrics = new ArrayList<>(cores);
+
+        for (int i = 0; i < cores; i++) {
+            workers[i] = new Worker("AsyncSchedulerCore-" + (i + 1));
+            coreMetrics.add(workers[i].core);
+        }
+
+        this.metrics = new SchedulerMetrics(coreMetrics);
+
+        this.timer = new Thread(() -> {
+
+            while (true) {
+                final long now = System.nanoTime();
+
+                // Hand due tasks to workers
+                for (ScheduledTask t = heap.peek(); t != null && t.deadline - now <= 0; t = heap.peek()) {
+                    dispatch(heap.poll());
+                }
+
+                // Wait for the next deadline, registration, or completion (respects interruption)
+                final ScheduledTask next = heap.peek();
+                final Command command;
+
+                try {
+                    command = next == null ? commands.take() : commands.poll(next.deadline - System.nanoTime());
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                // Apply pending commands
+                for (Command c = command; c != null; c = commands.poll()) {
+                    apply(c);
+                }
+            }
+
+        }, "AsyncScheduler");
+    }
+
+    //
+    // Lifecycle
+    //
+
     @Override
     public void start() {
-        for (final AsyncSchedulerCore core : cores) {
-            core.start();
+        for (final Worker w : workers) {
+            w.thread.start();
         }
+
+        timer.start();
     }
 
     @Override
     public void stop() {
-        for (final AsyncSchedulerCore core : cores) {
-            core.stop();
+        stopped = true;
+        timer.interrupt();
+
+        for (final Worker w : workers) {
+            w.thread.interrupt();
         }
     }
 
+    //
+    // Registration
+    //
+
     @Override
     public void register(@Nonnull Task task) {
-        cores[distributor.next()].register(task);
+        commands.offer(new Register(task, nextCore(), false));
     }
 
     @Override
     public void registerSync(@Nonnull Collection<Task> tasks) {
-        cores[distributor.next()].register(tasks);
+        final int core = nextCore();
+
+        for (final Task t : tasks) {
+            commands.offer(new Register(t, core, true));
+        }
     }
 
     @Override
@@ -44,28 +141,211 @@ public final class AsyncScheduler implements Scheduler {
 
     @Override
     public void unregister(@Nonnull Task task) {
-        for (final AsyncSchedulerCore core : cores) {
-            core.unregister(task);
-        }
+        commands.offer(new Unregister(task));
     }
 
     @Override
     public void unregister(@Nonnull Collection<Task> tasks) {
-        for (final AsyncSchedulerCore core : cores) {
-            core.unregister(tasks);
+        tasks.forEach(this::unregister);
+    }
+
+    @Nonnull
+    @Override
+    public SchedulerMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets the index of the next worker to assign tasks to.
+     *
+     * @return Index of worker
+     */
+    private synchronized int nextCore() {
+        return distributor.next() % workers.length;
+    }
+
+    //
+    // Timer
+    //
+
+    /**
+     * Applies a command on the timer thread.
+     *
+     * @param c Command to apply
+     */
+    private void apply(@Nonnull Command c) {
+        if (c instanceof Register r) {
+            if (tasks.containsKey(r.task())) return;
+
+            // An unregistered instance of this task is still running, so registration waits for its completion
+            if (running.containsKey(r.task())) {
+                deferred.put(r.task(), r);
+                return;
+            }
+
+            final ScheduledTask t = new ScheduledTask(r.task(), metrics.task(r.task()), System.nanoTime());
+            t.home = r.core();
+            t.pinned = r.pinned();
+
+            tasks.put(r.task(), t);
+            heap.add(t);
+        } else if (c instanceof Unregister u) {
+            // Tasks which are currently running are not in the heap, and will be dropped on completion
+            final ScheduledTask t = tasks.remove(u.task());
+            if (t != null) heap.remove(t);
+            deferred.remove(u.task());
+
+            metrics.remove(u.task());
+        } else if (c instanceof Complete done) {
+            final Task task = done.task().task;
+            running.remove(task);
+
+            // Only reschedule tasks which are still registered, otherwise apply a registration held back above
+            if (tasks.get(task) == done.task()) {
+                heap.add(done.task());
+            } else {
+                final Register r = deferred.remove(task);
+                if (r != null) apply(r);
+            }
         }
     }
 
-    private final AsyncSchedulerCore[] cores = {
-            new AsyncSchedulerCore("AsyncSchedulerCore-1"),
-            new AsyncSchedulerCore("AsyncSchedulerCore-2"),
-            new AsyncSchedulerCore("AsyncSchedulerCore-3"),
-            new AsyncSchedulerCore("AsyncSchedulerCore-4"),
-            new AsyncSchedulerCore("AsyncSchedulerCore-5"),
-            new AsyncSchedulerCore("AsyncSchedulerCore-6"),
-            new AsyncSchedulerCore("AsyncSchedulerCore-7"),
-            new AsyncSchedulerCore("AsyncSchedulerCore-8")
-    };
-
-    private final Reiterator distributor = new Reiterator(cores.length);
+    /**
+     * Hands a due task to its home worker, waking an idle worker to run or steal it.
+     * The task is running until its completion is applied, even if it is unregistered in the meantime.
+     *
+     * @param t Task to dispatch
+     */
+    private void dispatch(@Nonnull ScheduledTask t) {
+        final Worker home = workers[t.home];
+        running.put(t.task, t);
+
+        if (t.pinned) {
+            home.pinned.offer(t);
+            home.wake();
+            return;
+        }
+
+        home.shared.offerLast(t);
+
+        if (home.idle) {
+            home.wake();
+            return;
+        }
+
+        // Home worker is busy; wake another worker to steal the task
+        for (final Worker w : workers) {
+            if (w.idle) {
+                w.wake();
+                return;
+            }
+        }
+    }
+
+    //
+    // Workers
+    //
+
+    /**
+     * A worker thread with its own deques of due tasks.
+     */
+    private final class Worker {
+        private Worker(@Nonnull String name) {
+            this.core = new CoreMetrics(name);
+            this.thread = new Thread(() -> {
+
+                while (true) {
+                    // Respect interruption (tasks may swallow the interrupt itself)
+                    if (Thread.interrupted() || stopped) return;
+
+                    // Run own tasks first, then steal from other workers
+                    ScheduledTask t = pinned.poll();
+                    if (t == null) t = shared.pollFirst();
+                    if (t == null) t = steal();
+
+                    if (t != null) {
+                        core.record(t.execute(System.nanoTime()));
+                        commands.offer(new Complete(t));
+                        continue;
+                    }
+
+                    // Publish idleness before re-checking, so that a concurrent dispatch cannot be missed
+                    idle = true;
+                    if (!hasWork()) LockSupport.park(this);
+                    idle = false;
+                }
+
+            }, name);
+        }
+
+        @Nonnull
+        private final Thread thread;
+        @Nonnull
+        private final CoreMetrics core;
+        private final MpscQueue<ScheduledTask> pinned = new MpscQueue<>(); // Consumed only by this worker
+        private final ConcurrentLinkedDeque<ScheduledTask> shared = new ConcurrentLinkedDeque<>();
+        private volatile boolean idle = false;
+
+        private void wake() {
+            LockSupport.unpark(thread);
+        }
+
+        /**
+         * Steals a due task from the tail of another worker's deque.
+         *
+         * @return Stolen task, or {@code null} if no other worker has a due task
+         */
+        @Nullable
+        private ScheduledTask steal() {
+            for (final Worker w : workers) {
+                if (w == this) continue;
+
+                final ScheduledTask t = w.shared.pollLast();
+                if (t != null) return t;
+            }
+
+            return null;
+        }
+
+        /**
+         * Checks if this worker could run or steal a task.
+         *
+         * @return {@code true} if a task is available
+         */
+        private boolean hasWork() {
+            if (!pinned.isEmpty()) return true;
+
+            for (final Worker w : workers) {
+                if (!w.shared.isEmpty()) return true;
+            }
+
+            return false;
+        }
+    }
+
+    //
+    // Commands
+    //
+
+    /**
+     * A command sent to the timer thread.
+     */
+    private sealed interface Command permits Register, Unregister, Complete {}
+
+    private record Register(@Nonnull Task task, int core, boolean pinned) implements Command {}
+
+    private record Unregister(@Nonnull Task task) implements Command {}
+
+    private record Complete(@Nonnull ScheduledTask task) implements Command {}
+
+    private final Worker[] workers;
+    private final Reiterator distributor;
+    private final SchedulerMetrics metrics;
+    private final Thread timer;
+    private volatile boolean stopped = false;
+    private final MpscQueue<Command> commands = new MpscQueue<>();
+    private final DeadlineHeap heap = new DeadlineHeap(); // Only accessed by the timer thread
+    private final Map<Task, ScheduledTask> tasks = new HashMap<>(); // Only accessed by the timer thread
+    private final Map<Task, ScheduledTask> running = new HashMap<>(); // Dispatched but not completed, only accessed by the timer thread
+    private final Map<Task, Register> deferred = new HashMap<>(); // Registrations waiting for a running task, only accessed by the timer thread
 }
@@ -1,34 +1,64 @@
 package civitas.celestis.task.internal;
 
+import civitas.celestis.metrics.CoreMetrics;
+import civitas.celestis.metrics.SchedulerMetrics;
+import civitas.celestis.task.FixedRateTask;
 import civitas.celestis.task.Task;
+import civitas.celestis.util.concurrent.MpscQueue;
 import jakarta.annotation.Nonnull;
 
-import java.util.*;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * <h2>AsyncSchedulerCore</h2>
  * <p>
- * A scheduler core for an asynchronous scheduler.
+ * A single-threaded scheduler core.
+ * An asynchronous scheduler runs several cores, and a synchronous scheduler runs one.
+ * </p>
+ * <p>
+ * Registered tasks are kept in a min-heap ordered by their next deadline.
+ * The core thread only inspects the earliest task, executes every task which is due,
+ * then parks until the next deadline or until a task is registered.
+ * CPU usage therefore scales with the number of due tasks, not the number of registered tasks,
+ * and a core without tasks does not occupy a processor.
+ * </p>
+ * <p>
+ * {@link FixedRateTask Fixed-rate tasks} are rescheduled against their ideal deadlines,
+ * and receive deltas and lateness in nanoseconds.
  * </p>
  */
 public final class AsyncSchedulerCore {
     public AsyncSchedulerCore(@Nonnull String name) {
+        this.core = new CoreMetrics(name);
+        this.metrics = new SchedulerMetrics(List.of(core));
         this.thread = new Thread(() -> {
 
             while (true) {
-                if (Thread.interrupted()) return;
-
-                for (final Task t : List.copyOf(tasks)) {
+                final long now = System.nanoTime();
 
-                    final long now = System.currentTimeMillis();
-                    final long previous = times.getOrDefault(t, now);
+                // Execute due tasks
+                for (ScheduledTask t = heap.peek(); t != null && t.deadline - now <= 0; t = heap.peek()) {
+                    heap.poll();
+                    core.record(t.execute(System.nanoTime()));
+                    heap.add(t);
+                }
 
-                    final long delta = now - previous;
+                // Wait for the next deadline or registration (respects interruption)
+                final ScheduledTask next = heap.peek();
+                final Command command;
 
-                    if (delta < t.interval()) continue;
+                try {
+                    command = next == null ? commands.take() : commands.poll(next.deadline - System.nanoTime());
+                } catch (InterruptedException e) {
+                    return;
+                }
 
-                    t.execute(delta);
-                    times.put(t, now);
+                // Apply pending registrations
+                for (Command c = command; c != null; c = commands.poll()) {
+                    apply(c);
                 }
             }
 
@@ -44,8 +74,7 @@ public final class AsyncSchedulerCore {
     }
 
     public void register(@Nonnull Task t) {
-        tasks.add(t);
-        times.put(t, System.currentTimeMillis());
+        commands.offer(new Command(t, true));
     }
 
     public void register(@Nonnull Collection<Task> t) {
@@ -53,15 +82,50 @@ public final class AsyncSchedulerCore {
     }
 
     public void unregister(@Nonnull Task t) {
-        tasks.remove(t);
-        times.remove(t);
+        commands.offer(new Command(t, false));
     }
 
     public void unregister(@Nonnull Collection<Task> t) {
         t.forEach(this::unregister);
     }
 
-    private final List<Task> tasks = new ArrayList<>();
-    private final Map<Task, Long> times = new HashMap<>();
+    @Nonnull
+    public SchedulerMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Applies a registration command on the core thread.
+     *
+     * @param c Command to apply
+     */
+    private void apply(@Nonnull Command c) {
+        if (c.register()) {
+            if (tasks.containsKey(c.task())) return;
+
+            final ScheduledTask t = new ScheduledTask(c.task(), metrics.task(c.task()), System.nanoTime());
+            tasks.put(c.task(), t);
+            heap.add(t);
+        } else {
+            final ScheduledTask t = tasks.remove(c.task());
+            if (t != null) heap.remove(t);
+
+            metrics.remove(c.task());
+        }
+    }
+
+    /**
+     * A pending registration or unregistration.
+     *
+     * @param task     Task to register or unregister
+     * @param register {@code true} to register, {@code false} to unregister
+     */
+    private record Command(@Nonnull Task task, boolean register) {}
+
+    private final MpscQueue<Command> commands = new MpscQueue<>();
+    private final DeadlineHeap heap = new DeadlineHeap(); // Only accessed by the core thread
+    private final Map<Task, ScheduledTask> tasks = new HashMap<>(); // Only accessed by the core thread
     private final Thread thread;
+    private final CoreMetrics core;
+    private final SchedulerMetrics metrics;
 }
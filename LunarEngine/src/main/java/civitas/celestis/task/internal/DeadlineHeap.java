@@ -0,0 +1,128 @@
+package civitas.celestis.task.internal;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * <h2>DeadlineHeap</h2>
+ * <p>
+ * A binary min-heap of scheduled tasks, ordered by deadline.
+ * Each task tracks its own index, so that arbitrary tasks can be removed in logarithmic time.
+ * This class is not thread-safe, and is only accessed by the thread of its scheduler core.
+ * </p>
+ */
+final class DeadlineHeap {
+    private ScheduledTask[] heap = new ScheduledTask[16];
+    private int size = 0;
+
+    /**
+     * Gets the number of tasks in this heap.
+     *
+     * @return Number of tasks
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the task with the earliest deadline without removing it.
+     *
+     * @return Earliest task, or {@code null} if this heap is empty
+     */
+    @Nullable
+    ScheduledTask peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    /**
+     * Adds a task to this heap.
+     *
+     * @param t Task to add
+     */
+    void add(@Nonnull ScheduledTask t) {
+        if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+
+        t.index = size;
+        heap[size++] = t;
+        siftUp(t.index);
+    }
+
+    /**
+     * Removes and returns the task with the earliest deadline.
+     *
+     * @return Earliest task, or {@code null} if this heap is empty
+     */
+    @Nullable
+    ScheduledTask poll() {
+        if (size == 0) return null;
+
+        final ScheduledTask first = heap[0];
+        removeAt(0);
+        return first;
+    }
+
+    /**
+     * Removes a task from this heap.
+     *
+     * @param t Task to remove
+     */
+    void remove(@Nonnull ScheduledTask t) {
+        if (t.index < 0 || t.index >= size || heap[t.index] != t) return;
+        removeAt(t.index);
+    }
+
+    private void removeAt(int i) {
+        final ScheduledTask removed = heap[i];
+        final ScheduledTask last = heap[--size];
+
+        heap[size] = null;
+        removed.index = -1;
+
+        if (i == size) return;
+
+        heap[i] = last;
+        last.index = i;
+
+        siftDown(i);
+        if (heap[i] == last) siftUp(i);
+    }
+
+    private void siftUp(int i) {
+        final ScheduledTask t = heap[i];
+
+        while (i > 0) {
+            final int parent = (i - 1) >>> 1;
+            final ScheduledTask p = heap[parent];
+            if (p.deadline - t.deadline <= 0) break;
+
+            heap[i] = p;
+            p.index = i;
+            i = parent;
+        }
+
+        heap[i] = t;
+        t.index = i;
+    }
+
+    private void siftDown(int i) {
+        final ScheduledTask t = heap[i];
+        final int half = size >>> 1;
+
+        while (i < half) {
+            int child = 2 * i + 1;
+            final int right = child + 1;
+
+            if (right < size && heap[right].deadline - heap[child].deadline < 0) child = right;
+            if (t.deadline - heap[child].deadline <= 0) break;
+
+            heap[i] = heap[child];
+            heap[i].index = i;
+            i = child;
+        }
+
+        heap[i] = t;
+        t.index = i;
+    }
+}
@@ -0,0 +1,141 @@
+package civitas.celestis.task.internal;
+
+import civitas.celestis.LunarEngine;
+import civitas.celestis.metrics.FlightRecording;
+import civitas.celestis.metrics.TaskExecutionEvent;
+import civitas.celestis.metrics.TaskMetrics;
+import civitas.celestis.task.FixedRateTask;
+import civitas.celestis.task.Task;
+import jakarta.annotation.Nonnull;
+
+/**
+ * <h2>ScheduledTask</h2>
+ * <p>
+ * The scheduling state of a task registered to a scheduler core.
+ * </p>
+ */
+final class ScheduledTask {
+    private static final FlightRecording RECORDING = new FlightRecording(TaskExecutionEvent.class);
+
+    /**
+     * Creates a new scheduled task.
+     *
+     * @param task    Task to schedule
+     * @param metrics Metrics of the task
+     * @param now     Current time in nanoseconds
+     */
+    ScheduledTask(@Nonnull Task task, @Nonnull TaskMetrics metrics, long now) {
+        this.task = task;
+        this.metrics = metrics;
+        this.previous = now;
+        this.deadline = now + intervalNanos();
+    }
+
+    @Nonnull
+    final Task task;
+    @Nonnull
+    final TaskMetrics metrics;
+
+    /**
+     * Time of the previous execution (or registration) in nanoseconds.
+     */
+    long previous;
+
+    /**
+     * Time this task is next due in nanoseconds.
+     */
+    long deadline;
+
+    /**
+     * Index of this task in its {@link DeadlineHeap}, or {@code -1} if it is not in a heap.
+     */
+    int index = -1;
+
+    /**
+     * Index of the worker this task prefers to run on.
+     * Only used by schedulers with multiple workers.
+     */
+    int home = 0;
+
+    /**
+     * Whether this task must run on its home worker.
+     * Pinned tasks cannot be stolen by other workers.
+     */
+    boolean pinned = false;
+
+    /**
+     * Gets the interval of the task.
+     * Intervals are at least one nanosecond, so that a task is executed at most once per pass.
+     *
+     * @return Interval in nanoseconds
+     */
+    long intervalNanos() {
+        if (task instanceof FixedRateTask f) return Math.max(1, f.period());
+        return Math.max(1, task.interval() * 1_000_000L);
+    }
+
+    /**
+     * Executes this task, then schedules its next execution.
+     * Regular tasks are rescheduled relative to now,
+     * and fixed-rate tasks are rescheduled against their ideal deadlines.
+     * Exceptions thrown by the task are logged.
+     * The JFR event of the execution is skipped entirely unless task executions are being recorded.
+     *
+     * @param now Current time in nanoseconds
+     * @return Execution time in nanoseconds
+     */
+    long execute(long now) {
+        final TaskExecutionEvent event = RECORDING.isEnabled() ? new TaskExecutionEvent() : null;
+        if (event != null) event.begin();
+
+        final long lateness = now - deadline;
+        final long period = intervalNanos();
+        final long missed = Math.max(0, lateness / period); // Number of ticks missed in addition to this one
+        boolean failed = false;
+
+        try {
+            if (task instanceof FixedRateTask f) tick(f, period, missed, lateness);
+            else task.execute((now - previous) / 1_000_000L);
+        } catch (RuntimeException e) {
+            failed = true;
+            LunarEngine.getLogger().warning("Error occurred while executing a task.");
+            LunarEngine.getLogger().warning(e.getMessage());
+        }
+
+        final long duration = System.nanoTime() - now;
+
+        previous = now;
+        deadline = task instanceof FixedRateTask ? deadline + period * (missed + 1) : now + period;
+
+        metrics.record(duration, lateness, failed);
+
+        if (event != null && event.shouldCommit()) {
+            event.task = task.getClass().getName();
+            event.lateness = lateness;
+            event.failed = failed;
+            event.commit();
+        }
+
+        return duration;
+    }
+
+    /**
+     * Executes a due fixed-rate task according to its catch-up policy.
+     *
+     * @param f        Fixed-rate task to execute
+     * @param period   Period of the task in nanoseconds
+     * @param missed   Number of ticks missed in addition to this one
+     * @param lateness Duration between the ideal deadline and now in nanoseconds
+     */
+    private void tick(@Nonnull FixedRateTask f, long period, long missed, long lateness) {
+        switch (f.policy()) {
+            case SKIP -> f.tick(period, lateness);
+            case COALESCE -> f.tick(period * (missed + 1), lateness);
+            case BURST -> {
+                for (long i = 0, ideal = deadline; i <= missed; i++, ideal += period) {
+                    f.tick(period, System.nanoTime() - ideal);
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package civitas.celestis.task.internal;
 
+import civitas.celestis.metrics.SchedulerMetrics;
 import civitas.celestis.task.Task;
 import jakarta.annotation.Nonnull;
 
@@ -56,4 +57,12 @@ public interface Scheduler {
      * @param tasks Collection of tasks to unregister
      */
     void unregister(@Nonnull Collection<Task> tasks);
+
+    /**
+     * Gets the runtime metrics of this scheduler.
+     *
+     * @return Scheduler metrics
+     */
+    @Nonnull
+    SchedulerMetrics metrics();
 }
@@ -0,0 +1,143 @@
+package civitas.celestis;
+
+import civitas.celestis.event.Event;
+import civitas.celestis.event.EventHandler;
+import civitas.celestis.event.Listener;
+import civitas.celestis.event.internal.AsyncEventManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncEventManagerTest {
+    private static final int PRODUCERS = 4;
+    private static final int KEYS_PER_PRODUCER = 16;
+    private static final int EVENTS_PER_KEY = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        final AsyncEventManager manager = new AsyncEventManager(4, e -> ((KeyedEvent) e).key);
+        final RecordingListener listener = new RecordingListener(PRODUCERS * KEYS_PER_PRODUCER * EVENTS_PER_KEY);
+
+        manager.register(listener);
+        manager.start();
+
+        final Thread[] producers = new Thread[PRODUCERS];
+
+        for (int p = 0; p < PRODUCERS; p++) {
+            final int producer = p;
+
+            producers[p] = new Thread(() -> {
+                final Random random = new Random(producer);
+                final int[] next = new int[KEYS_PER_PRODUCER];
+                int remaining = KEYS_PER_PRODUCER * EVENTS_PER_KEY;
+
+                // Interleave the keys of this producer, mixing single calls and batches
+                while (remaining > 0) {
+                    final boolean batch = random.nextBoolean();
+                    final List<Event> events = new ArrayList<>();
+
+                    for (int i = random.nextInt(1, 32); i > 0 && remaining > 0; i--) {
+                        final int k = random.nextInt(KEYS_PER_PRODUCER);
+                        if (next[k] == EVENTS_PER_KEY) continue;
+
+                        final KeyedEvent e = new KeyedEvent(producer * KEYS_PER_PRODUCER + k, next[k]++);
+                        remaining--;
+
+                        if (batch) events.add(e);
+                        else manager.call(e);
+                    }
+
+                    if (batch) manager.callAll(events);
+                }
+            });
+
+            producers[p].start();
+        }
+
+        for (final Thread t : producers) t.join();
+
+        if (!listener.done.await(30, TimeUnit.SECONDS)) {
+            manager.stop();
+            throw new AssertionError(listener.done.getCount() + " events were not handled.");
+        }
+
+        manager.stop();
+
+        listener.sequences.forEach((key, sequence) -> {
+            if (sequence.size() != EVENTS_PER_KEY) {
+                throw new AssertionError("Key " + key + " handled " + sequence.size() + " events.");
+            }
+
+            for (int i = 0; i < sequence.size(); i++) {
+                if (sequence.get(i) != i) {
+                    throw new AssertionError("Key " + key + " handled event " + sequence.get(i) + " at position " + i + ".");
+                }
+            }
+        });
+
+        // Every key is handled by one lane, and keys are spread over more than one lane
+        final Set<String> lanes = new HashSet<>();
+
+        listener.threads.forEach((key, threads) -> {
+            if (threads.size() != 1) throw new AssertionError("Key " + key + " was handled by " + threads + ".");
+            lanes.addAll(threads);
+        });
+
+        if (lanes.size() < 2) throw new AssertionError("Events were handled by only " + lanes + ".");
+
+        nullKeys();
+    }
+
+    /**
+     * Events without a key must still be handled, in order and by a single lane.
+     */
+    private static void nullKeys() throws Exception {
+        final AsyncEventManager manager = new AsyncEventManager(4, e -> null);
+        final RecordingListener listener = new RecordingListener(100);
+
+        manager.register(listener);
+        manager.start();
+
+        for (int i = 0; i < 100; i++) manager.call(new KeyedEvent(0, i));
+
+        final boolean done = listener.done.await(10, TimeUnit.SECONDS);
+        manager.stop();
+
+        if (!done) throw new AssertionError(listener.done.getCount() + " events without a key were not handled.");
+        final List<Integer> sequence = listener.sequences.get(0);
+
+        for (int i = 0; i < sequence.size(); i++) {
+            if (sequence.get(i) != i) throw new AssertionError("Events without a key were handled out of order.");
+        }
+
+        if (listener.threads.get(0).size() != 1) throw new AssertionError("Events without a key were handled by several lanes.");
+    }
+
+    public static final class KeyedEvent implements Event {
+        private KeyedEvent(int key, int sequence) {
+            this.key = key;
+            this.sequence = sequence;
+        }
+
+        private final int key;
+        private final int sequence;
+    }
+
+    public static final class RecordingListener implements Listener {
+        private RecordingListener(int expected) {
+            this.done = new CountDownLatch(expected);
+        }
+
+        private final CountDownLatch done;
+        private final Map<Integer, List<Integer>> sequences = new ConcurrentHashMap<>();
+        private final Map<Integer, Set<String>> threads = new ConcurrentHashMap<>();
+
+        @EventHandler
+        public void onEvent(KeyedEvent e) {
+            sequences.computeIfAbsent(e.key, k -> Collections.synchronizedList(new ArrayList<>())).add(e.sequence);
+            threads.computeIfAbsent(e.key, k -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread().getName());
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package civitas.celestis;
+
+import civitas.celestis.task.Task;
+import civitas.celestis.task.internal.AsyncScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncSchedulerTest {
+    public static void main(String[] args) throws Exception {
+        pinned();
+        overlap();
+        stealing();
+    }
+
+    /**
+     * Tasks registered together must run one at a time, on a single thread.
+     */
+    private static void pinned() throws Exception {
+        final AsyncScheduler scheduler = new AsyncScheduler(4);
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger runs = new AtomicInteger();
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+        final List<String> errors = new ArrayList<>();
+
+        final List<Task> group = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            group.add(delta -> {
+                if (active.incrementAndGet() != 1) {
+                    synchronized (errors) {
+                        errors.add("Pinned tasks ran concurrently.");
+                    }
+                }
+
+                threads.add(Thread.currentThread().getName());
+                runs.incrementAndGet();
+                busy(100_000);
+
+                active.decrementAndGet();
+            });
+        }
+
+        scheduler.start();
+        scheduler.registerSync(group);
+        Thread.sleep(200);
+        scheduler.stop();
+
+        if (!errors.isEmpty()) throw new AssertionError(errors.get(0));
+        if (runs.get() < group.size()) throw new AssertionError("Only " + runs.get() + " pinned executions.");
+        if (threads.size() != 1) throw new AssertionError("Pinned tasks ran on " + threads + ".");
+    }
+
+    /**
+     * A task which takes longer than its interval must never run concurrently with itself,
+     * even though idle workers could steal it.
+     */
+    private static void overlap() throws Exception {
+        final AsyncScheduler scheduler = new AsyncScheduler(4);
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        final AtomicInteger runs = new AtomicInteger();
+
+        final Task task = delta -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            runs.incrementAndGet();
+            busy(20_000_000);
+            active.decrementAndGet();
+        };
+
+        scheduler.start();
+        scheduler.register(task);
+        Thread.sleep(200);
+
+        if (runs.get() < 2) throw new AssertionError("Slow task ran only " + runs.get() + " times.");
+
+        // Registering again while an unregistered execution is still running must wait for it
+        for (int i = 0; i < 10; i++) {
+            while (active.get() == 0) Thread.onSpinWait();
+
+            scheduler.unregister(task);
+            scheduler.register(task);
+        }
+
+        final int before = runs.get();
+        Thread.sleep(100);
+        scheduler.stop();
+
+        if (maxActive.get() != 1) throw new AssertionError("Task ran " + maxActive.get() + " times concurrently.");
+        if (runs.get() == before) throw new AssertionError("Task stopped running after it was registered again.");
+    }
+
+    /**
+     * A fast task must keep running while a slow task occupies its home worker.
+     */
+    private static void stealing() throws Exception {
+        final AsyncScheduler scheduler = new AsyncScheduler(2);
+        final AtomicInteger fastRuns = new AtomicInteger();
+        final AtomicInteger duringSlow = new AtomicInteger();
+        final AtomicInteger slowActive = new AtomicInteger();
+
+        final Task slow = new Task() {
+            @Override
+            public void execute(long delta) {
+                slowActive.set(1);
+                busy(100_000_000);
+                slowActive.set(0);
+            }
+
+            @Override
+            public long interval() {
+                return 10;
+            }
+        };
+
+        final Task idle = new Task() {
+            @Override
+            public void execute(long delta) {}
+
+            @Override
+            public long interval() {
+                return 60_000;
+            }
+        };
+
+        final Task fast = delta -> {
+            fastRuns.incrementAndGet();
+            if (slowActive.get() == 1) duringSlow.incrementAndGet();
+        };
+
+        // Workers are assigned round-robin, so the slow and fast tasks share a home worker
+        scheduler.start();
+        scheduler.register(slow);
+        scheduler.register(idle);
+        scheduler.register(fast);
+        Thread.sleep(300);
+        scheduler.stop();
+
+        if (duringSlow.get() < 10) {
+            throw new AssertionError("Fast task ran " + duringSlow.get() + " times while its home worker was busy.");
+        }
+    }
+
+    /**
+     * Busy-waits without sleeping, so that the worker stays occupied.
+     */
+    private static void busy(long nanos) {
+        final long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) Thread.onSpinWait();
+    }
+}
@@ -0,0 +1,82 @@
+package civitas.celestis;
+
+import civitas.celestis.event.Event;
+import civitas.celestis.event.EventHandler;
+import civitas.celestis.event.Listener;
+import civitas.celestis.event.internal.HandlerRegistry;
+import civitas.celestis.metrics.EventMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventBatchTest {
+    public static void main(String[] args) {
+        final HandlerRegistry registry = new HandlerRegistry(new EventMetrics(() -> 0));
+        final RecordingListener listener = new RecordingListener();
+        registry.register(listener);
+
+        final NamedEvent a1 = new A("A1"), a2 = new A("A2"), a3 = new A("A3");
+        final NamedEvent b1 = new B("B1");
+
+        // A mixed batch must be handled in its own order
+        registry.dispatchAll(List.of(a1, b1, a2, a3));
+
+        expect(listener.events, List.of("A1", "B1", "A2", "A3"));
+
+        // Batch handlers receive each consecutive run of their class
+        expect(listener.runs, List.of("[A1]", "[A2, A3]"));
+
+        listener.events.clear();
+        listener.runs.clear();
+
+        // A batch of one class is a single run
+        registry.dispatchAll(List.of(a1, a2, a3));
+
+        expect(listener.events, List.of("A1", "A2", "A3"));
+        expect(listener.runs, List.of("[A1, A2, A3]"));
+    }
+
+    private static void expect(List<String> actual, List<String> expected) {
+        if (!actual.equals(expected)) throw new AssertionError("Expected " + expected + ", got " + actual + ".");
+    }
+
+    public static abstract class NamedEvent implements Event {
+        private NamedEvent(String name) {
+            this.name = name;
+        }
+
+        private final String name;
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    public static final class A extends NamedEvent {
+        private A(String name) {
+            super(name);
+        }
+    }
+
+    public static final class B extends NamedEvent {
+        private B(String name) {
+            super(name);
+        }
+    }
+
+    public static final class RecordingListener implements Listener {
+        private final List<String> events = new ArrayList<>();
+        private final List<String> runs = new ArrayList<>();
+
+        @EventHandler
+        public void onEvent(NamedEvent e) {
+            events.add(e.toString());
+        }
+
+        @EventHandler(batch = true)
+        public void onBatch(List<A> batch) {
+            runs.add(batch.toString());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package civitas.celestis.task.internal;
+
+import civitas.celestis.metrics.SchedulerMetrics;
+import civitas.celestis.task.Task;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DeadlineHeapTest {
+    public static void main(String[] args) throws Exception {
+        heap();
+        scheduler();
+    }
+
+    /**
+     * The heap must always yield the earliest deadline, including after arbitrary removals
+     * and across the wrap-around of {@link System#nanoTime()}.
+     */
+    private static void heap() {
+        final SchedulerMetrics metrics = new SchedulerMetrics(List.of());
+        final Random random = new Random(0);
+
+        final DeadlineHeap heap = new DeadlineHeap();
+        final List<ScheduledTask> reference = new ArrayList<>();
+
+        // Deadlines are compared by difference, so they may straddle Long.MAX_VALUE
+        final long base = Long.MAX_VALUE - 500_000;
+
+        for (int round = 0; round < 20_000; round++) {
+            final int op = random.nextInt(4);
+
+            if (op < 2 || reference.isEmpty()) {
+                final Task task = delta -> {};
+                final ScheduledTask t = new ScheduledTask(task, metrics.task(task), 0);
+                t.deadline = base + random.nextInt(1_000_000);
+
+                heap.add(t);
+                reference.add(t);
+            } else if (op == 2) {
+                final ScheduledTask t = reference.remove(random.nextInt(reference.size()));
+                heap.remove(t);
+
+                if (t.index != -1) throw new AssertionError("Removed task still has an index.");
+
+                // Removing a task which is not in the heap has no effect
+                heap.remove(t);
+            } else {
+                long earliest = Long.MAX_VALUE;
+                for (final ScheduledTask t : reference) earliest = Math.min(earliest, t.deadline - base);
+
+                // Tasks with equal deadlines may be polled in any order
+                final ScheduledTask actual = heap.poll();
+
+                if (actual == null || actual.deadline - base != earliest || !reference.remove(actual)) {
+                    throw new AssertionError("Heap did not yield the earliest deadline.");
+                }
+            }
+
+            if (heap.size() != reference.size()) {
+                throw new AssertionError("Heap has " + heap.size() + " tasks, expected " + reference.size() + ".");
+            }
+        }
+
+        long previous = Long.MIN_VALUE;
+
+        for (ScheduledTask t = heap.poll(); t != null; t = heap.poll()) {
+            if (t.deadline - base < previous) throw new AssertionError("Heap is not ordered by deadline.");
+            previous = t.deadline - base;
+        }
+    }
+
+    /**
+     * A scheduler must run tasks at their intervals, run tasks registered while it is idle,
+     * and stop running tasks once they are unregistered.
+     */
+    private static void scheduler() throws Exception {
+        final SyncScheduler scheduler = new SyncScheduler();
+        scheduler.start();
+
+        try {
+            // Registered while the core is waiting with an empty heap
+            Thread.sleep(20);
+
+            final CountDownLatch fast = new CountDownLatch(20);
+            final AtomicInteger slowRuns = new AtomicInteger();
+
+            final Task fastTask = delta -> fast.countDown();
+            final Task slowTask = new Task() {
+                @Override
+                public void execute(long delta) {
+                    slowRuns.incrementAndGet();
+                }
+
+                @Override
+                public long interval() {
+                    return 10_000;
+                }
+            };
+
+            scheduler.register(slowTask);
+            scheduler.register(fastTask);
+
+            if (!fast.await(5, TimeUnit.SECONDS)) throw new AssertionError("Task registered while idle did not run.");
+
+            // The slow task is not due yet, and must not have run early
+            if (slowRuns.get() != 0) throw new AssertionError("Task ran before its deadline.");
+
+            final AtomicInteger runs = new AtomicInteger();
+            final Task counted = delta -> runs.incrementAndGet();
+
+            scheduler.register(counted);
+            Thread.sleep(50);
+            scheduler.unregister(counted);
+            Thread.sleep(20);
+
+            final int after = runs.get();
+            if (after == 0) throw new AssertionError("Registered task did not run.");
+
+            Thread.sleep(50);
+            if (runs.get() != after) throw new AssertionError("Unregistered task kept running.");
+        } finally {
+            scheduler.stop();
+        }
+    }
+}